@@ -3,19 +3,30 @@ CanineCare+ Backend API
 Main Flask Application
 """
 
-from flask import Flask, request, jsonify, render_template
+from flask import Flask, Response, request, jsonify, render_template
 from flask_cors import CORS
 import pandas as pd
 import joblib
 import os
+import json
+import threading
+import time
 from datetime import datetime, timedelta
 import numpy as np
-from collections import deque
+from collections import deque, OrderedDict
+from bisect import bisect_left, bisect_right
+from itertools import count
+from functools import wraps
 import requests
 from config import config
 import firebase_admin
 from firebase_admin import credentials, firestore
 
+try:
+    import msgpack  # optional: compact binary responses for clients that ask for them
+except ImportError:
+    msgpack = None
+
 # Initialize Flask app
 app = Flask(__name__, 
             template_folder='../frontend/templates', 
@@ -37,6 +48,20 @@ except Exception as e:
     next_heat_model = None
     breed_mapping = {}
 
+# Same models as JSON for on-device prediction (optional, see ml/export_model.py)
+fertility_model_export = None
+fertility_model_version = None
+try:
+    with open(app.config['FERTILITY_MODEL_EXPORT'], 'rb') as f:
+        fertility_model_export = f.read()
+    fertility_model_version = json.loads(fertility_model_export)["version"]
+    print(f"✅ Fertility model export loaded (version {fertility_model_version})")
+except FileNotFoundError:
+    print("⚠️ No fertility model export; run ml/export_model.py to enable on-device prediction")
+except Exception as e:
+    print(f"⚠️ Error loading fertility model export: {e}")
+    fertility_model_export = None
+
 # ============== Firebase Initialization ==============
 try:
     # Initialize Firebase (use your own credentials)
@@ -59,11 +84,79 @@ except Exception as e:
 
 # ============== Data Storage ==============
 sensor_data_buffer = deque(maxlen=app.config['MAX_SENSOR_BUFFER'])
-alert_history = deque(maxlen=app.config['MAX_ALERT_HISTORY'])
+sensor_data_ids = deque(maxlen=app.config['MAX_SENSOR_BUFFER'])  # SSE event id of each buffered reading
+sensor_data_condition = threading.Condition()  # wakes /api/sensor-stream subscribers
+# Seeded with the start time in microseconds, so ids keep increasing across restarts
+reading_ids = count(time.time_ns() // 1000)
+alert_history = deque(maxlen=app.config['MAX_ALERT_HISTORY'])  # ascending "id"
+alert_lock = threading.Lock()
+# Seeded like reading_ids, so a client's alert cursor stays valid across restarts
+alert_ids = count(time.time_ns() // 1000)
 dog_profiles = {}  # Local fallback storage
 
 # ============== Helper Functions ==============
 
+def record_sensor_reading(reading):
+    """Buffer a sensor reading and wake any live stream subscribers"""
+    with sensor_data_condition:
+        sensor_data_buffer.append(reading)
+        sensor_data_ids.append(next(reading_ids))
+        sensor_data_condition.notify_all()
+
+def record_alert(alert):
+    """Keep a copy of an alert with the next id (the keyset /api/alerts pages by)"""
+    # A copy, as callers also buffer the same dict as a sensor reading
+    alert = dict(alert)
+    with alert_lock:
+        alert["id"] = next(alert_ids)
+        alert_history.append(alert)
+
+def first_id_after_timestamp(timestamp):
+    """Sequence id just before the first buffered reading newer than an ISO timestamp
+    (caller holds sensor_data_condition); only for clients that still hold a timestamp cursor"""
+    for i, reading in enumerate(sensor_data_buffer):
+        if reading.get("timestamp", "") > timestamp:
+            return sensor_data_ids[i] - 1
+    return sensor_data_ids[-1] if sensor_data_ids else 0
+
+def events_after(last_event_id):
+    """[(event id, reading)] buffered after the given event id (caller holds sensor_data_condition)"""
+    start = bisect_right(sensor_data_ids, last_event_id)
+    return [(sensor_data_ids[i], sensor_data_buffer[i]) for i in range(start, len(sensor_data_ids))]
+
+def parse_event_id(value):
+    """Last-Event-ID as an int, or None when missing or not one of ours (e.g. an old timestamp id)"""
+    try:
+        return int(value)
+    except (TypeError, ValueError):
+        return None
+
+def suggested_poll_interval():
+    """Seconds until the next reading is expected, from the recent arrival cadence.
+
+    Sent as X-Poll-Interval so polling clients do not ask again before the
+    collar is due to report; falls back to the configured default while
+    there is too little history to tell.
+    """
+    default = app.config['SENSOR_POLL_INTERVAL']
+    with sensor_data_condition:
+        recent = list(sensor_data_buffer)[-6:]
+    try:
+        arrivals = [datetime.fromisoformat(d["timestamp"]) for d in recent]
+    except (KeyError, TypeError, ValueError):
+        return default
+    if len(arrivals) < 3:
+        return default
+    
+    gaps = sorted((b - a).total_seconds() for a, b in zip(arrivals, arrivals[1:]))
+    cadence = gaps[len(gaps) // 2]
+    if cadence <= 0:
+        return default
+    
+    elapsed = (datetime.now() - arrivals[-1]).total_seconds()
+    remaining = cadence - elapsed if elapsed < cadence else cadence
+    return int(max(app.config['SENSOR_POLL_MIN_INTERVAL'], min(remaining + 1, app.config['SENSOR_POLL_MAX_INTERVAL'])))
+
 def calculate_distance(lat1, lon1, lat2, lon2):
     """Calculate distance between two GPS coordinates in meters"""
     from math import radians, sin, cos, sqrt, atan2
@@ -127,6 +220,98 @@ def calculate_stress_level(activity_percent):
     else:
         return "Normal"
 
+# ============== Response Hooks ==============
+
+MSGPACK_MIMETYPE = 'application/x-msgpack'
+BINARY_ENDPOINTS = ('/api/sensor-data', '/api/alerts', '/api/heat-cycles/')
+
+def encode_binary_if_accepted(response):
+    """Re-encode JSON as MessagePack for clients that prefer it (Accept header)"""
+    if msgpack is None or not request.path.startswith(BINARY_ENDPOINTS):
+        return response
+    
+    response.vary.add('Accept')
+    best = request.accept_mimetypes.best_match(['application/json', MSGPACK_MIMETYPE])
+    if best != MSGPACK_MIMETYPE or response.mimetype != 'application/json':
+        return response
+    
+    payload = response.get_json(silent=True)
+    if payload is None:
+        return response
+    response.set_data(msgpack.packb(payload, use_bin_type=True))
+    response.mimetype = MSGPACK_MIMETYPE
+    return response
+
+@app.after_request
+def finalize_api_response(response):
+    """Negotiate the wire format, then tag API GET responses with an ETag so
+    clients can revalidate with If-None-Match (304)"""
+    if (request.method == 'GET' and request.path.startswith('/api/')
+            and response.status_code == 200 and not response.is_streamed):
+        response = encode_binary_if_accepted(response)
+        response.add_etag()
+        response.make_conditional(request)
+    return response
+
+# ============== Idempotent Writes ==============
+
+idempotent_responses = OrderedDict()  # (path, key) -> (body, status, mimetype)
+idempotent_running = {}  # (path, key) -> Event set when the first attempt finishes
+idempotent_lock = threading.Lock()
+
+def idempotent(view):
+    """Answer a retried write with the response of the first attempt.
+
+    Clients send an Idempotency-Key header with writes they may retry (the
+    app's offline queue does); a repeat of a key seen before gets the stored
+    response back instead of being applied again. Server errors are not
+    stored, so those can be retried for real.
+
+    The first request with a key claims it under the lock; a repeat that
+    arrives while it is still running waits for it and then gets its stored
+    response, so two concurrent retries never both run the view.
+    """
+    @wraps(view)
+    def wrapper(*args, **kwargs):
+        key = request.headers.get('Idempotency-Key')
+        if not key:
+            return view(*args, **kwargs)
+        
+        cache_key = (request.path, key)
+        claimed = None
+        while claimed is None:
+            with idempotent_lock:
+                stored = idempotent_responses.get(cache_key)
+                if stored is not None:
+                    idempotent_responses.move_to_end(cache_key)
+                    break
+                running = idempotent_running.get(cache_key)
+                if running is None:
+                    claimed = idempotent_running[cache_key] = threading.Event()
+            if claimed is None:
+                # Another attempt with this key is in the view; if it fails
+                # with a 5xx nothing is stored and the loop claims the key
+                running.wait()
+        if stored is not None:
+            body, status, mimetype = stored
+            replay = Response(body, status=status, mimetype=mimetype)
+            replay.headers['Idempotent-Replayed'] = 'true'
+            return replay
+        
+        try:
+            response = app.make_response(view(*args, **kwargs))
+            if response.status_code < 500 and not response.is_streamed:
+                with idempotent_lock:
+                    idempotent_responses[cache_key] = (response.get_data(), response.status_code, response.mimetype)
+                    while len(idempotent_responses) > app.config['IDEMPOTENCY_CACHE_SIZE']:
+                        idempotent_responses.popitem(last=False)
+        finally:
+            with idempotent_lock:
+                del idempotent_running[cache_key]
+            claimed.set()
+        return response
+    return wrapper
+
 # ============== Routes ==============
 
 @app.route('/')
@@ -147,6 +332,7 @@ def mobile():
 # ============== API Endpoints ==============
 
 @app.route('/api/predict-fertility', methods=['POST'])
+@idempotent
 def predict_fertility():
     """Predict fertility cycle (first heat or next heat)"""
     try:
@@ -273,6 +459,20 @@ def predict_fertility():
     except Exception as e:
         return jsonify({"error": str(e)}), 500
 
+@app.route('/api/fertility-model', methods=['GET'])
+def get_fertility_model():
+    """Exported fertility models for on-device prediction.
+
+    The ETag is the model version, so a client that already has it gets a
+    304 instead of the (large) body.
+    """
+    if fertility_model_export is None:
+        return jsonify({"error": "Fertility model not exported"}), 404
+    
+    response = Response(fertility_model_export, mimetype='application/json')
+    response.set_etag(fertility_model_version)
+    return response
+
 @app.route('/api/health-check', methods=['POST'])
 def health_check():
     """Analyze health based on temperature and activity"""
@@ -345,16 +545,78 @@ def health_check():
         
         # Store alert if severity is medium or higher
         if severity in ["medium", "high", "critical"]:
-            alert_history.append(result)
+            record_alert(result)
         
         # Store in buffer
-        sensor_data_buffer.append(result)
+        record_sensor_reading(result)
         
         return jsonify(result)
         
     except Exception as e:
         return jsonify({"error": str(e)}), 500
 
+def health_rule_set():
+    """The rules of health_check() and get_health_recommendations() as data.
+
+    The app evaluates these on the device for an instant answer; keep them in
+    step with the two functions above and bump HEALTH_RULES_VERSION.
+    Within a group only the first matching rule counts, the first status set
+    wins unless a rule overrides it, and severity is the highest matched.
+    """
+    c = app.config
+    normal = " (Normal: 38-39.2°C)"
+    
+    def rule(rule_id, group, when, status, severity, alert=None, recommendations=(), override=False):
+        return {
+            "id": rule_id,
+            "group": group,
+            "when": [{"metric": m, "op": op, "value": v} for m, op, v in when],
+            "status": status,
+            "severity": severity,
+            "override": override,
+            "alert": alert,
+            "recommendations": list(recommendations)
+        }
+    
+    return {
+        "version": c['HEALTH_RULES_VERSION'],
+        "rules": [
+            rule("temp_critical_high", "temperature", [("temperature", ">=", c['TEMP_CRITICAL_HIGH'])],
+                 "Critical Fever", "critical", "CRITICAL: Temperature {temperature}°C" + normal,
+                 ["🚨 EMERGENCY: Contact veterinarian immediately", "Keep dog hydrated and cool",
+                  "Monitor temperature every 30 minutes"]),
+            rule("temp_fever", "temperature", [("temperature", ">=", c['TEMP_FEVER'])],
+                 "Fever Detected", "high", "High temperature: {temperature}°C" + normal,
+                 ["Contact veterinarian soon", "Keep dog hydrated", "Monitor temperature every 2 hours"]),
+            rule("temp_critical_low", "temperature", [("temperature", "<=", c['TEMP_CRITICAL_LOW'])],
+                 "Critical Hypothermia", "critical", "CRITICAL: Temperature {temperature}°C" + normal,
+                 ["🚨 EMERGENCY: Contact veterinarian immediately", "Warm the dog gradually with blankets",
+                  "Avoid direct heat sources"]),
+            rule("temp_hypothermia", "temperature", [("temperature", "<=", c['TEMP_HYPOTHERMIA'])],
+                 "Hypothermia Risk", "high", "Low temperature: {temperature}°C" + normal,
+                 ["Warm the dog gradually", "Contact veterinarian"]),
+            rule("temp_below_normal", "temperature", [("temperature", "<", c['TEMP_NORMAL_MIN'])],
+                 "Temperature Abnormal", "medium", "Temperature slightly abnormal: {temperature}°C"),
+            rule("temp_above_normal", "temperature", [("temperature", ">", c['TEMP_NORMAL_MAX'])],
+                 "Temperature Abnormal", "medium", "Temperature slightly abnormal: {temperature}°C"),
+            rule("activity_low", "activity", [("activity_percent", "<", c['ACTIVITY_LOW_THRESHOLD'])],
+                 "Low Activity", "medium", "Low activity: {activity_percent}% (Possible lethargy)",
+                 ["Monitor for signs of pain or discomfort", "Check for appetite changes", "Ensure adequate rest"]),
+            rule("activity_high", "activity", [("activity_percent", ">", c['ACTIVITY_HIGH_THRESHOLD'])],
+                 "High Activity", "medium", "High activity: {activity_percent}% (Possible stress/anxiety)",
+                 ["Check for stress triggers", "Provide calming environment", "Monitor for anxiety symptoms"]),
+            rule("fever_lethargy", "combined",
+                 [("temperature", ">=", c['TEMP_FEVER']), ("activity_percent", "<", c['ACTIVITY_LOW_THRESHOLD'])],
+                 "Critical: Fever + Lethargy", "critical", override=True)
+        ],
+        "default_recommendations": ["✅ Continue regular monitoring", "Maintain healthy diet and exercise"]
+    }
+
+@app.route('/api/health-rules', methods=['GET'])
+def get_health_rules():
+    """Health rules for on-device evaluation (see health_rule_set)"""
+    return jsonify(health_rule_set())
+
 @app.route('/api/behavior-analysis', methods=['POST'])
 def behavior_analysis():
     """Analyze behavior patterns from accelerometer data"""
@@ -443,7 +705,7 @@ def location_update():
         }
         
         if not is_safe:
-            alert_history.append(result)
+            record_alert(result)
         
         return jsonify(result)
         
@@ -512,7 +774,7 @@ def emergency_check():
         }
         
         if emergencies:
-            alert_history.append(result)
+            record_alert(result)
         
         return jsonify(result)
         
@@ -521,17 +783,119 @@ def emergency_check():
 
 @app.route('/api/sensor-data', methods=['GET'])
 def get_sensor_data():
-    """Get recent sensor data"""
+    """Get recent sensor data.
+
+    With ?since=<cursor> only readings after that cursor are returned, oldest
+    first, so clients can sync incrementally; has_more tells them to fetch
+    again from the returned cursor. The cursor is the sequence id of the last
+    reading returned (the same ids the sensor stream uses), so readings that
+    share a timestamp are not skipped across a page boundary. An ISO
+    timestamp is still accepted as since, e.g. from a client that only has
+    the readings it saved before a restart.
+    """
     limit = int(request.args.get('limit', 20))
-    data = list(sensor_data_buffer)[-limit:]
-    return jsonify({"data": data, "count": len(data)})
+    since = request.args.get('since')
+    
+    with sensor_data_condition:
+        if since:
+            after = parse_event_id(since)
+            if after is None:
+                after = first_id_after_timestamp(since)
+            newer = events_after(after)
+            page = newer[:limit]
+            has_more = len(newer) > limit
+            cursor = str(page[-1][0]) if page else str(after)
+        else:
+            page = list(zip(sensor_data_ids, sensor_data_buffer))[-limit:]
+            has_more = False
+            cursor = str(page[-1][0]) if page else None
+    
+    data = [reading for _, reading in page]
+    response = jsonify({"data": data, "count": len(data), "cursor": cursor, "has_more": has_more})
+    response.headers['X-Poll-Interval'] = str(suggested_poll_interval())
+    return response
+
+@app.route('/api/sensor-stream', methods=['GET'])
+def sensor_stream():
+    """Push sensor readings as Server-Sent Events.
+
+    Each event id is a server-side sequence number, so a client reconnecting
+    with Last-Event-ID (or ?since=) only receives readings it has not seen
+    yet, even when two readings share a timestamp or the clock steps back.
+    A fresh connection, or one with an id this server never issued, starts
+    with the latest reading.
+    """
+    last_id = parse_event_id(request.headers.get('Last-Event-ID') or request.args.get('since'))
+    keepalive = app.config['SENSOR_STREAM_KEEPALIVE']
+    retry_ms = app.config['SENSOR_STREAM_RETRY_MS']
+    
+    def generate(last_id):
+        yield f"retry: {retry_ms}\n\n"
+        
+        latest = []
+        with sensor_data_condition:
+            newest = sensor_data_ids[-1] if sensor_data_ids else -1
+            if last_id is None or last_id > newest:
+                if sensor_data_buffer:
+                    latest = [(newest, sensor_data_buffer[-1])]
+                last_id = newest
+        for event_id, reading in latest:
+            yield f"id: {event_id}\nevent: reading\ndata: {json.dumps(reading)}\n\n"
+        
+        while True:
+            with sensor_data_condition:
+                pending = events_after(last_id)
+                if not pending:
+                    sensor_data_condition.wait(timeout=keepalive)
+                    pending = events_after(last_id)
+            
+            if not pending:
+                yield ": keepalive\n\n"
+                continue
+            
+            for event_id, reading in pending:
+                last_id = event_id
+                yield f"id: {event_id}\nevent: reading\ndata: {json.dumps(reading)}\n\n"
+    
+    return Response(generate(last_id), mimetype='text/event-stream',
+                    headers={'Cache-Control': 'no-cache', 'X-Accel-Buffering': 'no'})
 
 @app.route('/api/alerts', methods=['GET'])
 def get_alerts():
-    """Get alert history"""
-    limit = int(request.args.get('limit', 50))
-    alerts = list(alert_history)[-limit:]
-    return jsonify({"alerts": alerts, "count": len(alerts)})
+    """Get alert history, a page at a time.
+
+    Pages are keyset-paginated on the alert id: ?before=<id> returns the
+    newest `limit` alerts older than that id, ?after=<id> the oldest `limit`
+    newer than it, and neither the newest `limit`. Alerts are oldest first;
+    oldest_id/newest_id are the cursors for the neighbouring pages and
+    has_older/has_newer say whether there are any.
+    """
+    limit = max(1, int(request.args.get('limit', 50)))
+    before = request.args.get('before', type=int)
+    after = request.args.get('after', type=int)
+    
+    with alert_lock:
+        end = len(alert_history)
+        if before is not None:
+            end = bisect_left(alert_history, before, key=lambda a: a["id"])
+            start = max(0, end - limit)
+        elif after is not None:
+            start = bisect_right(alert_history, after, key=lambda a: a["id"])
+            end = min(len(alert_history), start + limit)
+        else:
+            start = max(0, end - limit)
+        alerts = [alert_history[i] for i in range(start, end)]
+        has_older = start > 0
+        has_newer = end < len(alert_history)
+    
+    return jsonify({
+        "alerts": alerts,
+        "count": len(alerts),
+        "oldest_id": alerts[0]["id"] if alerts else before,
+        "newest_id": alerts[-1]["id"] if alerts else after,
+        "has_older": has_older,
+        "has_newer": has_newer,
+    })
 
 @app.route('/api/dog-profile/<dog_name>', methods=['GET'])
 def get_dog_profile(dog_name):
@@ -553,6 +917,7 @@ def get_dog_profile(dog_name):
         return jsonify({"error": "Dog profile not found"}), 404
 
 @app.route('/api/dog-profile', methods=['POST'])
+@idempotent
 def create_or_update_dog_profile():
     """Create or update dog profile"""
     try:
@@ -34,8 +34,23 @@ class Config:
     DEFAULT_SAFE_ZONE_RADIUS = 100  # meters
     
     # Data Storage
-    MAX_SENSOR_BUFFER = 100  # Store last 100 readings
-    MAX_ALERT_HISTORY = 200  # Store last 200 alerts
+    MAX_SENSOR_BUFFER = 1000  # Store last 1000 readings (clients sync incrementally)
+    MAX_ALERT_HISTORY = 200  # Store last 200 alerts (clients page through them by id)
+    
+    # Live sensor stream (Server-Sent Events)
+    SENSOR_STREAM_KEEPALIVE = 15  # seconds between keepalive comments
+    SENSOR_STREAM_RETRY_MS = 3000  # reconnect delay suggested to clients
+    
+    # Poll hint for clients without the stream (X-Poll-Interval, seconds)
+    SENSOR_POLL_INTERVAL = 15  # default, matches the collar's send interval
+    SENSOR_POLL_MIN_INTERVAL = 2
+    SENSOR_POLL_MAX_INTERVAL = 60
+    
+    # Replayed answers for retried writes (Idempotency-Key header)
+    IDEMPOTENCY_CACHE_SIZE = 1000  # most recent keys remembered
+    
+    # On-device health rules (/api/health-rules); bump when the rules change
+    HEALTH_RULES_VERSION = 1
     
     # API Rate Limiting
     API_RATE_LIMIT = "100 per hour"
@@ -49,6 +64,7 @@ class Config:
     FIRST_HEAT_MODEL = os.path.join(MODEL_DIR, 'First_Heat_Best_Model.pkl')
     NEXT_HEAT_MODEL = os.path.join(MODEL_DIR, 'Next_Heat_Best_Model.pkl')
     BREED_MAPPING = os.path.join(MODEL_DIR, 'breed_mapping.pkl')
+    FERTILITY_MODEL_EXPORT = os.path.join(MODEL_DIR, 'fertility_model.json')  # ml/export_model.py
     
     # Data Paths
     DATA_DIR = os.path.join(os.path.dirname(os.path.dirname(__file__)), 'ml', 'data')
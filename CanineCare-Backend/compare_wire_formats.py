@@ -0,0 +1,63 @@
+"""
+CanineCare+ Wire Format Comparison
+Fetches the binary-capable endpoints as JSON and as MessagePack and reports
+payload size and decode time for each.
+
+Requires the backend running with `msgpack` installed (pip install msgpack).
+Post some readings first (test_api.py) so the payloads are not empty.
+"""
+
+import json
+import time
+import requests
+import msgpack
+
+# Backend URL
+BACKEND_URL = "http://localhost:5000"
+
+ENDPOINTS = [
+    "/api/sensor-data?limit=1000",
+    "/api/alerts?limit=200",
+    "/api/heat-cycles/Bella?limit=20",
+]
+
+def fetch(path, accept):
+    response = requests.get(f"{BACKEND_URL}{path}", headers={"Accept": accept}, timeout=10)
+    response.raise_for_status()
+    return response.headers.get("Content-Type", ""), response.content
+
+def time_decode(decode, body, rounds=50):
+    start = time.perf_counter()
+    for _ in range(rounds):
+        decode(body)
+    return (time.perf_counter() - start) / rounds * 1000
+
+def main():
+    print("="*72)
+    print("  JSON vs MessagePack")
+    print("="*72)
+    print(f"{'Endpoint':<34}{'JSON':>10}{'MsgPack':>10}{'Ratio':>8}{'JSON ms':>10}{'MP ms':>8}")
+
+    for path in ENDPOINTS:
+        try:
+            _, json_body = fetch(path, "application/json")
+            content_type, mp_body = fetch(path, "application/x-msgpack, application/json;q=0.5")
+        except Exception as e:
+            print(f"{path:<34}❌ {e}")
+            continue
+
+        if "msgpack" not in content_type:
+            print(f"{path:<34}⚠️ backend answered {content_type} (is msgpack installed?)")
+            continue
+
+        if json.loads(json_body) != msgpack.unpackb(mp_body, raw=False):
+            print(f"{path:<34}❌ payloads differ")
+            continue
+
+        json_ms = time_decode(json.loads, json_body)
+        mp_ms = time_decode(lambda b: msgpack.unpackb(b, raw=False), mp_body)
+        print(f"{path:<34}{len(json_body):>10}{len(mp_body):>10}"
+              f"{len(mp_body) / len(json_body):>8.2f}{json_ms:>10.3f}{mp_ms:>8.3f}")
+
+if __name__ == "__main__":
+    main()
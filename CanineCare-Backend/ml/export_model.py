@@ -0,0 +1,232 @@
+"""
+CanineCare+ Fertility Model Export
+Writes the trained first/next heat ensembles as plain JSON so the mobile app
+can run the same prediction on the device (served at /api/fertility-model).
+
+Format (FORMAT_VERSION 1):
+    {
+      "format": 1,
+      "version": "<hash of the .pkl files>",
+      "features": [...],             # column order the trees index into
+      "breeds": {"Pug": 7, ...},     # breed -> Breed_enc, unknown breeds are -1
+      "first_heat": <ensemble>,
+      "next_heat": <ensemble>
+    }
+    ensemble  = {"weights": [...], "estimators": [<estimator>, ...]}
+    estimator = {"type": "forest", "trees": [<tree>, ...]}
+              | {"type": "boosting", "init": x, "learning_rate": x, "trees": [<tree>, ...]}
+              | {"type": "linear", "coef": [...], "intercept": x}
+    tree      = {"left": [...], "right": [...], "feature": [...],
+                 "threshold": [...], "value": [...]}       # left == -1 at a leaf
+
+Trees compare float32 feature values against float64 thresholds, as
+scikit-learn does; the linear model works in float64.
+
+The export is checked against the pickled models on the training data and
+refused if any prediction differs by more than TOLERANCE.
+
+With --fixture it also writes the export together with scikit-learn's own
+predict() output for every row of the training data, for the app's
+FertilityModelTest (core/src/test/resources/fertility/sklearn_fixture.json).
+"""
+
+import hashlib
+import json
+import os
+import struct
+import sys
+import time
+
+import joblib
+import pandas as pd
+
+FORMAT_VERSION = 1
+TOLERANCE = 1e-6
+
+FEATURES = ["Age_Months", "Weight_kg", "Breed_enc", "Days_Since_Last_Heat",
+            "Weight_Category", "Age_Category", "Weight_Age_Ratio"]
+
+SCRIPT_DIR = os.path.dirname(os.path.abspath(__file__))
+MODEL_DIR = os.path.join(SCRIPT_DIR, "models")
+DATA_PATH = os.path.join(SCRIPT_DIR, "data", "dog.csv")
+OUTPUT_PATH = os.path.join(MODEL_DIR, "fertility_model.json")
+FIXTURE_PATH = os.path.join(SCRIPT_DIR, "..", "..", "core", "src", "test", "resources",
+                            "fertility", "sklearn_fixture.json")
+
+# ============== Export ==============
+
+def export_tree(tree):
+    return {
+        "left": tree.children_left.tolist(),
+        "right": tree.children_right.tolist(),
+        "feature": tree.feature.tolist(),
+        "threshold": tree.threshold.tolist(),
+        "value": tree.value[:, 0, 0].tolist()
+    }
+
+def export_estimator(estimator):
+    kind = type(estimator).__name__
+    if kind == "RandomForestRegressor":
+        return {"type": "forest", "trees": [export_tree(t.tree_) for t in estimator.estimators_]}
+    if kind == "GradientBoostingRegressor":
+        init = estimator.init_
+        init_value = 0.0 if init == "zero" else float(init.constant_.ravel()[0])
+        return {
+            "type": "boosting",
+            "init": init_value,
+            "learning_rate": float(estimator.learning_rate),
+            "trees": [export_tree(t.tree_) for t in estimator.estimators_[:, 0]]
+        }
+    if kind in ("Ridge", "LinearRegression"):
+        return {
+            "type": "linear",
+            "coef": [float(c) for c in estimator.coef_.ravel()],
+            "intercept": float(estimator.intercept_)
+        }
+    raise ValueError(f"Cannot export {kind}")
+
+def export_ensemble(model):
+    estimators = model.estimators_ if hasattr(model, "estimators_") else [model]
+    weights = getattr(model, "weights", None)
+    if weights is None:
+        weights = [1.0] * len(estimators)
+    return {
+        "weights": [float(w) for w in weights],
+        "estimators": [export_estimator(e) for e in estimators]
+    }
+
+def model_version(*paths):
+    digest = hashlib.sha256()
+    for path in paths:
+        with open(path, "rb") as f:
+            digest.update(f.read())
+    return digest.hexdigest()[:16]
+
+# ============== Reference Evaluation ==============
+# Mirrors the app's FertilityModel; used to check the export
+
+def as_float32(x):
+    return struct.unpack("f", struct.pack("f", x))[0]
+
+def predict_tree(tree, row32):
+    node = 0
+    while tree["left"][node] != -1:
+        if row32[tree["feature"][node]] <= tree["threshold"][node]:
+            node = tree["left"][node]
+        else:
+            node = tree["right"][node]
+    return tree["value"][node]
+
+def predict_estimator(estimator, row, row32):
+    if estimator["type"] == "forest":
+        trees = estimator["trees"]
+        return sum(predict_tree(t, row32) for t in trees) / len(trees)
+    if estimator["type"] == "boosting":
+        return estimator["init"] + estimator["learning_rate"] * sum(
+            predict_tree(t, row32) for t in estimator["trees"])
+    return estimator["intercept"] + sum(c * x for c, x in zip(estimator["coef"], row))
+
+def predict_ensemble(ensemble, row):
+    row32 = [as_float32(x) for x in row]
+    weights = ensemble["weights"]
+    total = sum(w * predict_estimator(e, row, row32) for w, e in zip(weights, ensemble["estimators"]))
+    return total / sum(weights)
+
+def server_features(df, breed_mapping, days_since_last):
+    """Feature rows built the way /api/predict-fertility builds them"""
+    rows = []
+    for _, r in df.iterrows():
+        age, weight = int(r["Age_Months"]), float(r["Weight_kg"])
+        rows.append([
+            age,
+            weight,
+            breed_mapping.get(r["Breed"], -1),
+            int(r["Days_Since_Last_Heat"]) if days_since_last and not pd.isna(r["Days_Since_Last_Heat"]) else 0,
+            0 if weight < 10 else (1 if weight < 25 else 2),
+            0 if age < 12 else (1 if age < 36 else 2),
+            weight / (age + 1)
+        ])
+    return rows
+
+def check(name, model, ensemble, rows):
+    frame = pd.DataFrame(rows, columns=FEATURES)
+    expected = model.predict(frame)
+    worst = max(abs(predict_ensemble(ensemble, row) - float(e)) for row, e in zip(rows, expected))
+
+    start = time.perf_counter()
+    for i in range(len(rows)):
+        model.predict(frame.iloc[[i]])
+    sklearn_ms = (time.perf_counter() - start) / len(rows) * 1000
+
+    print(f"  {name:<12} rows={len(rows):<5} max |diff|={worst:.2e}  sklearn predict: {sklearn_ms:.2f} ms/row")
+    return worst
+
+# ============== Test Fixture ==============
+
+def fixture_cases(df, model, breed_mapping, days_since_last):
+    """Requests as the app would send them, with the model's predict() output"""
+    expected = model.predict(pd.DataFrame(server_features(df, breed_mapping, days_since_last), columns=FEATURES))
+    cases = []
+    for (_, r), value in zip(df.iterrows(), expected):
+        last = None
+        if days_since_last:
+            last = 0 if pd.isna(r["Days_Since_Last_Heat"]) else int(r["Days_Since_Last_Heat"])
+        cases.append({
+            "breed": r["Breed"],
+            "age_months": int(r["Age_Months"]),
+            "weight_kg": float(r["Weight_kg"]),
+            "last_heat_days": last,
+            "expected": float(value)
+        })
+    return cases
+
+def write_fixture(export, df, first_heat_model, next_heat_model, breed_mapping):
+    fixture = {
+        "model": export,
+        "cases": fixture_cases(df, first_heat_model, breed_mapping, False)
+                 + fixture_cases(df, next_heat_model, breed_mapping, True)
+    }
+    os.makedirs(os.path.dirname(FIXTURE_PATH), exist_ok=True)
+    with open(FIXTURE_PATH, "w") as f:
+        json.dump(fixture, f, separators=(",", ":"))
+    print(f"✅ Saved: {os.path.normpath(FIXTURE_PATH)} ({len(fixture['cases'])} cases)")
+
+# ============== Main ==============
+
+def main():
+    first_path = os.path.join(MODEL_DIR, "First_Heat_Best_Model.pkl")
+    next_path = os.path.join(MODEL_DIR, "Next_Heat_Best_Model.pkl")
+    breed_path = os.path.join(MODEL_DIR, "breed_mapping.pkl")
+
+    first_heat_model = joblib.load(first_path)
+    next_heat_model = joblib.load(next_path)
+    breed_mapping = joblib.load(breed_path)
+
+    export = {
+        "format": FORMAT_VERSION,
+        "version": model_version(first_path, next_path, breed_path),
+        "features": FEATURES,
+        "breeds": {str(k): int(v) for k, v in breed_mapping.items()},
+        "first_heat": export_ensemble(first_heat_model),
+        "next_heat": export_ensemble(next_heat_model)
+    }
+
+    print("🔍 Checking export against the trained models...")
+    df = pd.read_csv(DATA_PATH)
+    worst = max(
+        check("first_heat", first_heat_model, export["first_heat"], server_features(df, breed_mapping, False)),
+        check("next_heat", next_heat_model, export["next_heat"], server_features(df, breed_mapping, True)))
+    if worst > TOLERANCE:
+        print(f"❌ Export differs from the models by {worst:.2e} (tolerance {TOLERANCE:.0e}), not written")
+        sys.exit(1)
+
+    with open(OUTPUT_PATH, "w") as f:
+        json.dump(export, f, separators=(",", ":"))
+    print(f"✅ Saved: {OUTPUT_PATH} (version {export['version']}, "
+          f"{os.path.getsize(OUTPUT_PATH) / 1024:.0f} KB)")
+
+    if "--fixture" in sys.argv[1:]:
+        write_fixture(export, df, first_heat_model, next_heat_model, breed_mapping)
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,148 @@
+"""
+CanineCare+ Mock Sensor Stream
+Stand-in for the backend's live sensor endpoints, for testing the app's
+stream/polling paths without the collar or the full Flask server.
+
+Serves:
+  GET /api/sensor-stream   Server-Sent Events, resumes after Last-Event-ID
+  GET /api/sensor-data     Polling fallback (?limit=N)
+  GET /api/health          Liveness
+
+Usage:
+  python mock_sensor_stream.py --rate 2 --port 5001
+"""
+
+import argparse
+import json
+import random
+import threading
+import time
+from collections import deque
+from datetime import datetime
+from itertools import count
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+from urllib.parse import urlparse, parse_qs
+
+readings = deque(maxlen=1000)  # (event id, reading), ids ascending like the backend's
+reading_ids = count(int(time.time() * 1_000_000))
+readings_condition = threading.Condition()
+
+def generate_readings(rate, dog_name):
+    """Emit random-walk readings at `rate` per second"""
+    temperature = 38.6
+    activity = 50
+    latitude, longitude = 12.9716, 77.5946
+
+    while True:
+        temperature = min(41.0, max(36.5, temperature + random.uniform(-0.1, 0.1)))
+        activity = min(100, max(0, activity + random.randint(-5, 5)))
+        latitude += random.uniform(-0.00005, 0.00005)
+        longitude += random.uniform(-0.00005, 0.00005)
+
+        reading = {
+            "dog_name": dog_name,
+            "temperature": round(temperature, 2),
+            "activity_percent": activity,
+            "health_status": "Normal",
+            "latitude": latitude,
+            "longitude": longitude,
+            "timestamp": datetime.now().isoformat()
+        }
+        with readings_condition:
+            readings.append((next(reading_ids), reading))
+            readings_condition.notify_all()
+        time.sleep(1.0 / rate)
+
+def readings_after(last_id):
+    return [(event_id, r) for event_id, r in readings if event_id > last_id]
+
+def parse_event_id(value):
+    try:
+        return int(value)
+    except (TypeError, ValueError):
+        return None
+
+class MockHandler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_GET(self):
+        url = urlparse(self.path)
+        query = parse_qs(url.query)
+
+        if url.path == "/api/sensor-stream":
+            self.stream(parse_event_id(self.headers.get("Last-Event-ID") or query.get("since", [""])[0]))
+        elif url.path == "/api/sensor-data":
+            limit = int(query.get("limit", ["20"])[0])
+            with readings_condition:
+                data = [r for _, r in list(readings)[-limit:]]
+            self.send_json({"data": data, "count": len(data)})
+        elif url.path == "/api/health":
+            self.send_json({"status": "healthy", "models_loaded": False})
+        else:
+            self.send_json({"error": "Not found"}, 404)
+
+    def send_json(self, payload, status=200):
+        body = json.dumps(payload).encode()
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+    def stream(self, last_id):
+        self.send_response(200)
+        self.send_header("Content-Type", "text/event-stream")
+        self.send_header("Cache-Control", "no-cache")
+        self.send_header("Connection", "close")
+        self.end_headers()
+
+        try:
+            self.wfile.write(b"retry: 1000\n\n")
+            latest = []
+            with readings_condition:
+                newest = readings[-1][0] if readings else -1
+                if last_id is None or last_id > newest:
+                    latest = list(readings)[-1:]
+                    last_id = newest
+            for event_id, reading in latest:
+                self.write_event(event_id, reading)
+
+            while True:
+                with readings_condition:
+                    pending = readings_after(last_id)
+                    if not pending:
+                        readings_condition.wait(timeout=15)
+                        pending = readings_after(last_id)
+
+                if not pending:
+                    self.wfile.write(b": keepalive\n\n")
+                for event_id, reading in pending:
+                    last_id = event_id
+                    self.write_event(event_id, reading)
+                self.wfile.flush()
+        except (BrokenPipeError, ConnectionResetError):
+            pass
+
+    def write_event(self, event_id, reading):
+        event = f"id: {event_id}\nevent: reading\ndata: {json.dumps(reading)}\n\n"
+        self.wfile.write(event.encode())
+
+    def log_message(self, format, *args):
+        pass
+
+def main():
+    parser = argparse.ArgumentParser(description="Mock CanineCare+ sensor stream")
+    parser.add_argument("--port", type=int, default=5001)
+    parser.add_argument("--rate", type=float, default=1.0, help="readings per second")
+    parser.add_argument("--dog", default="Max")
+    args = parser.parse_args()
+
+    threading.Thread(target=generate_readings, args=(args.rate, args.dog), daemon=True).start()
+
+    server = ThreadingHTTPServer(("0.0.0.0", args.port), MockHandler)
+    server.daemon_threads = True
+    print(f"🐶 Mock sensor stream on http://localhost:{args.port}/api/sensor-stream ({args.rate}/s)")
+    server.serve_forever()
+
+if __name__ == "__main__":
+    main()
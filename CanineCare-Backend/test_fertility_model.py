@@ -0,0 +1,66 @@
+"""
+CanineCare+ On-Device Fertility Model Check
+Downloads the exported model from /api/fertility-model, evaluates it locally
+the way the app does, and compares against the trained models' own predict()
+for every dog in the dataset. Read-only: nothing is posted to the backend, so
+running it leaves no predictions or profiles behind.
+
+Run ml/export_model.py (or train_models.bat) and start the backend first.
+"""
+
+import os
+import sys
+import time
+import joblib
+import requests
+import pandas as pd
+
+sys.path.insert(0, os.path.join(os.path.dirname(os.path.abspath(__file__)), "ml"))
+from export_model import DATA_PATH, FEATURES, MODEL_DIR, TOLERANCE, predict_ensemble, server_features
+
+# Backend URL
+BACKEND_URL = "http://localhost:5000"
+
+def compare(name, model, ensemble, rows):
+    frame = pd.DataFrame(rows, columns=FEATURES)
+
+    start = time.perf_counter()
+    expected = model.predict(frame)
+    sklearn_s = time.perf_counter() - start
+
+    start = time.perf_counter()
+    local = [predict_ensemble(ensemble, row) for row in rows]
+    local_s = time.perf_counter() - start
+
+    worst = max(abs(l - float(e)) for l, e in zip(local, expected))
+    print(f"{name:<12} rows={len(rows):<5} max |diff|={worst:.2e}  "
+          f"sklearn: {sklearn_s / len(rows) * 1000:.3f} ms/row  local: {local_s / len(rows) * 1000:.3f} ms/row")
+    return worst
+
+def main():
+    print("="*60)
+    print("  On-Device Fertility Model vs Trained Models")
+    print("="*60)
+
+    response = requests.get(f"{BACKEND_URL}/api/fertility-model", timeout=30)
+    if response.status_code != 200:
+        print(f"❌ No model export: {response.status_code} {response.text}")
+        sys.exit(1)
+    model = response.json()
+    print(f"Model version {model['version']} ({len(response.content) / 1024:.0f} KB)")
+
+    breed_mapping = joblib.load(os.path.join(MODEL_DIR, "breed_mapping.pkl"))
+    df = pd.read_csv(DATA_PATH)
+    worst = max(
+        compare("first_heat", joblib.load(os.path.join(MODEL_DIR, "First_Heat_Best_Model.pkl")),
+                model["first_heat"], server_features(df, breed_mapping, False)),
+        compare("next_heat", joblib.load(os.path.join(MODEL_DIR, "Next_Heat_Best_Model.pkl")),
+                model["next_heat"], server_features(df, breed_mapping, True)))
+
+    if worst > TOLERANCE:
+        print(f"❌ Served model differs from the trained models by {worst:.2e} (tolerance {TOLERANCE:.0e})")
+        sys.exit(1)
+    print("✅ Served model agrees with the trained models")
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,79 @@
+"""
+CanineCare+ Sensor Stream Test
+Checks the live stream delivers readings in order and resumes after a reconnect.
+
+Runs against the mock stand-in by default:
+  python mock_sensor_stream.py --rate 5
+  python test_sensor_stream.py
+Pass a URL to test the real backend instead:
+  python test_sensor_stream.py http://localhost:5000
+Exits non-zero if a check fails.
+"""
+
+import sys
+import time
+import requests
+
+# Backend URL (mock_sensor_stream.py listens on 5001)
+BACKEND_URL = sys.argv[1] if len(sys.argv) > 1 else "http://localhost:5001"
+
+def read_events(count, last_event_id=None):
+    """Read `count` reading events from the stream, returns [(id, data)]"""
+    headers = {"Accept": "text/event-stream"}
+    if last_event_id is not None:
+        headers["Last-Event-ID"] = str(last_event_id)
+
+    events = []
+    event_id = None
+    with requests.get(f"{BACKEND_URL}/api/sensor-stream", headers=headers, stream=True, timeout=30) as response:
+        assert response.status_code == 200, f"HTTP {response.status_code}"
+        for line in response.iter_lines(decode_unicode=True):
+            if line.startswith("id:"):
+                event_id = int(line[3:].strip())
+            elif line.startswith("data:"):
+                events.append((event_id, line[5:].strip()))
+                if len(events) >= count:
+                    break
+    return events
+
+def test_stream():
+    print("="*60)
+    print("  Testing Live Sensor Stream")
+    print("="*60)
+
+    start = time.time()
+    first = read_events(5)
+    elapsed = time.time() - start
+    ids = [event_id for event_id, _ in first]
+    print(f"Received {len(first)} readings in {elapsed:.1f}s: {ids}")
+
+    assert len(first) == 5, f"Expected 5 readings, got {len(first)}"
+    assert None not in ids, "Reading without an event id"
+    assert ids == sorted(set(ids)), "Readings out of order or duplicated"
+
+    # Miss a few readings, then resume from the last one we saw
+    time.sleep(2)
+    resumed = read_events(3, last_event_id=ids[-1])
+    resumed_ids = [event_id for event_id, _ in resumed]
+    print(f"Resumed after {ids[-1]}: {resumed_ids}")
+
+    assert resumed_ids, "Nothing received after resuming"
+    assert all(event_id > ids[-1] for event_id in resumed_ids), \
+        "Resume replayed readings that were already delivered"
+    # Ids are consecutive, so the first one after the resume point means nothing was skipped
+    assert resumed_ids[0] == ids[-1] + 1, \
+        f"Resume skipped readings {ids[-1] + 1}..{resumed_ids[0] - 1}"
+    assert resumed_ids == sorted(set(resumed_ids)), "Resumed readings out of order or duplicated"
+
+    # An id this server never issued starts over from the latest reading
+    fresh = read_events(1, last_event_id="2024-05-01T14:03:07")
+    assert len(fresh) == 1 and fresh[0][0] >= resumed_ids[-1], f"Unexpected start for a foreign id: {fresh}"
+
+    print("✅ Stream delivers in order and resumes without gaps or duplicates")
+
+if __name__ == "__main__":
+    try:
+        test_stream()
+    except (AssertionError, requests.RequestException) as e:
+        print(f"❌ {e}")
+        sys.exit(1)
@@ -9,6 +9,7 @@ echo.
 
 cd /d "%~dp0"
 python ml/train_models.py
+python ml/export_model.py
 
 echo.
 echo ========================================
@@ -0,0 +1,117 @@
+package org.caninecare.app.api;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.caninecare.app.models.DogProfile;
+import org.caninecare.app.models.FertilityRequest;
+import org.caninecare.app.models.HealthCheckRequest;
+import org.caninecare.app.utils.ApiConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The app's own client stack (RetrofitClient: interceptors, HTTP cache,
+ * call coalescing and converters) under load from {@link LoadGenerator},
+ * against a {@link MockBackend} on the device.
+ *
+ * Run with ./gradlew connectedAndroidTest; results are logged under the
+ * ClientLoadTest tag. The client logs the headers of every call, which is
+ * part of what is measured.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ClientLoadTest {
+
+    private static final String TAG = "ClientLoadTest";
+    private static final long WARMUP_MILLIS = 2_000;
+    private static final long RUN_MILLIS = 10_000;
+
+    private MockBackend backend;
+
+    @Before
+    public void setUp() throws Exception {
+        backend = new MockBackend();
+        backend.start();
+        RetrofitClient.setBaseUrl(backend.getBaseUrl());
+        RetrofitClient.getTelemetry().reset();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        RetrofitClient.setBaseUrl(ApiConfig.BASE_URL);
+        backend.close();
+    }
+
+    /**
+     * Every route, weighted roughly like a session on the health and alert
+     * screens, over a LAN-like link.
+     */
+    @Test
+    public void mixedTraffic() throws Exception {
+        backend.setRows(50).setLatency(20, 10);
+        LoadGenerator.Result result = new LoadGenerator(RetrofitClient.getApiService(), backend)
+                .add(4, api -> api.getSensorData(50))
+                .add(3, api -> api.getAlertsPage(null, null, ApiConfig.ALERT_PAGE_SIZE))
+                .add(2, api -> api.checkHealth(new HealthCheckRequest("Max", 39.6f, 20)))
+                .add(1, api -> api.getHeatCycles("Max", 20))
+                .add(1, api -> api.getDogProfile("Max"))
+                .add(1, api -> api.createOrUpdateProfile(UUID.randomUUID().toString(),
+                        new DogProfile("Max", "Beagle", 30, 12.5f)))
+                .add(1, api -> api.predictFertility(UUID.randomUUID().toString(),
+                        new FertilityRequest("Bella", "Beagle", 30, 12.5f, 120)))
+                .add(1, api -> api.getBreeds())
+                .add(1, api -> api.getHealthRules())
+                .add(1, api -> api.checkApiHealth())
+                .run(8, WARMUP_MILLIS, RUN_MILLIS);
+
+        NetworkTelemetry.Snapshot telemetry = RetrofitClient.getTelemetry().snapshot();
+        Log.i(TAG, "Mixed: " + result);
+        Log.i(TAG, "Mixed, per endpoint:\n" + telemetry);
+        assertTrue("No calls completed", result.calls > 0);
+        assertEquals("Calls failed without injected errors", 0, result.failures);
+        assertTrue("Sensor calls not recorded", telemetry.getEndpoints().containsKey("getSensorData"));
+    }
+
+    /**
+     * Sensor pages of growing size with no added latency, so the client's
+     * own cost dominates.
+     */
+    @Test
+    public void payloadSizes() throws Exception {
+        for (int rows : new int[]{1, 100, 1_000, 10_000}) {
+            backend.setRows(rows);
+            LoadGenerator.Result result = new LoadGenerator(RetrofitClient.getApiService(), backend)
+                    .add(1, api -> api.getSensorData(rows))
+                    .run(4, WARMUP_MILLIS, RUN_MILLIS / 2);
+
+            Log.i(TAG, "Sensor pages of " + rows + ": " + result);
+            assertEquals(0, result.failures);
+        }
+    }
+
+    /**
+     * Injected 500s and dropped connections surface as failed calls, not as
+     * crashes or hangs.
+     */
+    @Test
+    public void injectedFailures() throws Exception {
+        backend.setRows(50).setLatency(5, 5).setErrorRate(0.2).setDisconnectRate(0.05);
+        LoadGenerator.Result result = new LoadGenerator(RetrofitClient.getApiService(), backend)
+                .add(2, api -> api.getSensorData(50))
+                .add(1, api -> api.checkHealth(new HealthCheckRequest("Max", 38.6f, 50)))
+                .run(8, WARMUP_MILLIS, RUN_MILLIS);
+
+        Log.i(TAG, "Injected failures: " + result + ", " + backend.getFailureCount() + " injected");
+        Log.i(TAG, "Injected failures, per endpoint:\n" + RetrofitClient.getTelemetry().snapshot());
+        assertTrue("No injected failure reached the client", result.failures > 0);
+        assertTrue("Every call failed", result.failures < result.calls);
+    }
+}
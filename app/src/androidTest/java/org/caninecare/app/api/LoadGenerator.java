@@ -0,0 +1,205 @@
+package org.caninecare.app.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Drives an {@link ApiService} from several threads for a fixed time and
+ * measures what the client sees: calls per second, latency percentiles and
+ * failures. Run it against a {@link MockBackend} to also get the requests
+ * and bytes that reached the server; the two differ when the HTTP cache or
+ * the {@link CallCoalescer} answer a call without going to the network.
+ *
+ * Each thread picks calls from the mix by weight and executes them one
+ * after another, decoding the body as the app would.
+ */
+final class LoadGenerator {
+
+    /**
+     * One kind of call in the mix.
+     */
+    interface Request {
+        Call<?> create(ApiService api);
+    }
+
+    private final ApiService api;
+    private final MockBackend backend;
+    private final List<Request> requests = new ArrayList<>();
+    private final List<Integer> weights = new ArrayList<>();
+    private int totalWeight;
+
+    /**
+     * @param backend the server {@code api} talks to, or null if it is not a mock
+     */
+    LoadGenerator(ApiService api, MockBackend backend) {
+        this.api = api;
+        this.backend = backend;
+    }
+
+    LoadGenerator add(int weight, Request request) {
+        requests.add(request);
+        weights.add(weight);
+        totalWeight += weight;
+        return this;
+    }
+
+    /**
+     * Runs the mix from {@code threads} threads for {@code durationMillis},
+     * after an unmeasured warm-up.
+     */
+    Result run(int threads, long warmupMillis, long durationMillis) throws Exception {
+        if (requests.isEmpty()) {
+            throw new IllegalStateException("No requests to send");
+        }
+        drive(threads, warmupMillis);
+
+        long serverRequests = backend != null ? backend.getRequestCount() : 0;
+        long requestBytes = backend != null ? backend.getRequestBytes() : 0;
+        long responseBytes = backend != null ? backend.getResponseBytes() : 0;
+        long start = System.nanoTime();
+        List<Worker> workers = drive(threads, durationMillis);
+        long elapsed = System.nanoTime() - start;
+
+        Result result = new Result(threads, elapsed);
+        for (Worker worker : workers) {
+            result.add(worker);
+        }
+        if (backend != null) {
+            result.serverRequests = backend.getRequestCount() - serverRequests;
+            result.requestBytes = backend.getRequestBytes() - requestBytes;
+            result.responseBytes = backend.getResponseBytes() - responseBytes;
+        }
+        result.finish();
+        return result;
+    }
+
+    private List<Worker> drive(int threads, long durationMillis) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Worker> workers = new ArrayList<>();
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Worker worker = new Worker(deadline);
+                workers.add(worker);
+                running.add(executor.submit(worker));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+            return workers;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Request pick() {
+        int target = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < requests.size(); i++) {
+            target -= weights.get(i);
+            if (target < 0) {
+                return requests.get(i);
+            }
+        }
+        return requests.get(requests.size() - 1);
+    }
+
+    private final class Worker implements Runnable {
+        private final long deadline;
+        private long[] latencies = new long[1024];
+        private int calls;
+        private int failures;
+
+        Worker(long deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                Call<?> call = pick().create(api);
+                long start = System.nanoTime();
+                boolean ok;
+                try {
+                    Response<?> response = call.execute();
+                    ok = response.isSuccessful() && response.body() != null;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long latency = System.nanoTime() - start;
+                if (calls == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, calls * 2);
+                }
+                latencies[calls++] = latency;
+                if (!ok) {
+                    failures++;
+                }
+            }
+        }
+    }
+
+    static final class Result {
+        final int threads;
+        final long elapsedNanos;
+        int calls;
+        int failures;
+        long serverRequests;
+        long requestBytes;
+        long responseBytes;
+        private long[] latencies = new long[0];
+
+        private Result(int threads, long elapsedNanos) {
+            this.threads = threads;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private void add(Worker worker) {
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + worker.calls);
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.calls);
+            calls += worker.calls;
+            failures += worker.failures;
+        }
+
+        private void finish() {
+            Arrays.sort(latencies);
+        }
+
+        double callsPerSecond() {
+            return calls / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Latency at {@code percentile} (0 to 100) in milliseconds.
+         */
+        double latencyMillis(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(latencies.length - 1, index))] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format(Locale.US,
+                    "%d threads, %.1f s: %d calls (%.0f/s), %d failed; latency ms p50 %.1f p90 %.1f"
+                            + " p99 %.1f max %.1f; server %d requests, %.1f KB in, %.1f KB out (%.0f KB/s)",
+                    threads, seconds, calls, callsPerSecond(), failures,
+                    latencyMillis(50), latencyMillis(90), latencyMillis(99), latencyMillis(100),
+                    serverRequests, requestBytes / 1024.0, responseBytes / 1024.0,
+                    (requestBytes + responseBytes) / 1024.0 / seconds);
+        }
+    }
+}
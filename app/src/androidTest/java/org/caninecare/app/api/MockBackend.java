@@ -0,0 +1,346 @@
+package org.caninecare.app.api;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.health.DefaultHealthRules;
+import org.caninecare.app.health.HealthRuleEngine;
+import org.caninecare.app.models.DogProfile;
+import org.caninecare.app.models.FertilityRequest;
+import org.caninecare.app.models.FertilityResponse;
+import org.caninecare.app.models.HealthCheckRequest;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.utils.IsoTimestamps;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ServerSocketFactory;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+/**
+ * A stand-in for the Flask backend, served from the device itself, so the
+ * network stack can be exercised without the real server.
+ *
+ * Covers every {@link ApiService} route with responses shaped like the
+ * backend's: health checks are answered by the default health rules, list
+ * routes return up to {@link #setRows} generated rows (fewer if the request
+ * asks for fewer). Latency and failures can be dialled in, and changed
+ * while requests are running:
+ * - {@link #setLatency}: delay before the response headers, plus up to
+ *   {@code jitterMillis} at random
+ * - {@link #setErrorRate}: share of requests answered with a 500
+ * - {@link #setDisconnectRate}: share of requests whose connection is
+ *   dropped without a response
+ *
+ * Responses are JSON and generated once per shape, so serving them costs
+ * little next to the client. Byte counts are of request and response bodies.
+ */
+public final class MockBackend extends Dispatcher implements Closeable {
+
+    private static final String JSON = "application/json";
+    private static final String[] BREEDS = {"Beagle", "Boxer", "Dachshund", "German Shepherd",
+            "Golden Retriever", "Labrador Retriever", "Pomeranian", "Poodle", "Pug", "Rottweiler"};
+    private static final long START_MICROS = IsoTimestamps.parseMicros("2024-05-01T09:00:00");
+
+    private final MockWebServer server = new MockWebServer();
+    private final Gson gson = ModelAdapters.newGson();
+    private final HealthRuleEngine rules = HealthRuleEngine.compile(DefaultHealthRules.ruleSet());
+    private final Map<String, String> bodies = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+
+    private volatile int rows = 50;
+    private volatile long latencyMillis;
+    private volatile long jitterMillis;
+    private volatile double errorRate;
+    private volatile double disconnectRate;
+
+    public MockBackend() {
+        server.setDispatcher(this);
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+    }
+
+    public void start() throws IOException {
+        server.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Base URL to hand to {@link RetrofitClient#setBaseUrl}.
+     */
+    public String getBaseUrl() {
+        return server.url("/api/").toString();
+    }
+
+    public MockBackend setRows(int rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    public MockBackend setLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        return this;
+    }
+
+    public MockBackend setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public MockBackend setDisconnectRate(double disconnectRate) {
+        this.disconnectRate = disconnectRate;
+        return this;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Requests answered with an injected error or disconnect.
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    @NonNull
+    @Override
+    public MockResponse dispatch(@NonNull RecordedRequest request) {
+        requests.incrementAndGet();
+        requestBytes.addAndGet(request.getBodySize());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        MockResponse response;
+        if (random.nextDouble() < disconnectRate) {
+            failures.incrementAndGet();
+            return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+        } else if (random.nextDouble() < errorRate) {
+            failures.incrementAndGet();
+            response = json(500, "{\"error\":\"Injected failure\"}");
+        } else {
+            response = route(request);
+        }
+
+        long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+        return delay > 0 ? response.setHeadersDelay(delay, TimeUnit.MILLISECONDS) : response;
+    }
+
+    private MockResponse route(RecordedRequest request) {
+        HttpUrl url = request.getRequestUrl();
+        String path = url != null ? url.encodedPath() : "";
+        if (!path.startsWith("/api/")) {
+            return json(404, "{\"error\":\"Not found\"}");
+        }
+        path = path.substring("/api/".length());
+        boolean post = "POST".equals(request.getMethod());
+
+        if (path.equals("sensor-data") && !post) {
+            int count = Math.min(rows, intParam(url, "limit", 100));
+            return json(200, bodies.computeIfAbsent("sensor-data:" + count, key -> sensorPage(count)));
+        } else if (path.equals("alerts") && !post) {
+            return alerts(url);
+        } else if (path.startsWith("heat-cycles/") && !post) {
+            String dog = path.substring("heat-cycles/".length());
+            int count = Math.min(rows, intParam(url, "limit", 20));
+            return json(200, bodies.computeIfAbsent("heat-cycles:" + dog + ":" + count,
+                    key -> heatCycles(dog, count)));
+        } else if (path.startsWith("dog-profile/") && !post) {
+            String dog = path.substring("dog-profile/".length());
+            return json(200, gson.toJson(new DogProfile(dog, "Beagle", 30, 12.5f)));
+        } else if (path.equals("dog-profile") && post) {
+            String profile = gson.toJson(gson.fromJson(request.getBody().readUtf8(), DogProfile.class));
+            return json(200, "{\"success\":true,\"profile\":" + profile + "}");
+        } else if (path.equals("health-check") && post) {
+            HealthCheckRequest check = gson.fromJson(request.getBody().readUtf8(), HealthCheckRequest.class);
+            return json(200, gson.toJson(rules.evaluate(check.getDogName(), check.getTemperature(),
+                    check.getActivityPercent())));
+        } else if (path.equals("health-rules") && !post) {
+            return json(200, bodies.computeIfAbsent(path, key -> gson.toJson(DefaultHealthRules.ruleSet())));
+        } else if (path.equals("predict-fertility") && post) {
+            return json(200, gson.toJson(predict(
+                    gson.fromJson(request.getBody().readUtf8(), FertilityRequest.class))));
+        } else if (path.equals("breeds") && !post) {
+            return json(200, bodies.computeIfAbsent(path, key -> gson.toJson(
+                    Collections.singletonMap("breeds", BREEDS))));
+        } else if (path.equals("health") && !post) {
+            return json(200, "{\"status\":\"healthy\",\"models_loaded\":true}");
+        }
+        return json(404, "{\"error\":\"Not found\"}");
+    }
+
+    private MockResponse json(int code, String body) {
+        MockResponse response = new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", JSON)
+                .setBody(body);
+        responseBytes.addAndGet(response.getBody() != null ? response.getBody().size() : 0);
+        return response;
+    }
+
+    /**
+     * Keyset pages over alerts 1 to rows, as /api/alerts serves them.
+     */
+    private MockResponse alerts(HttpUrl url) {
+        int total = rows;
+        int limit = Math.max(1, intParam(url, "limit", 50));
+        String before = url.queryParameter("before");
+        String after = url.queryParameter("after");
+        int start;
+        int end;
+        if (before != null) {
+            end = (int) Math.max(0, Math.min(total, Long.parseLong(before) - 1));
+            start = Math.max(0, end - limit);
+        } else if (after != null) {
+            start = (int) Math.max(0, Math.min(total, Long.parseLong(after)));
+            end = Math.min(total, start + limit);
+        } else {
+            end = total;
+            start = Math.max(0, end - limit);
+        }
+        return json(200, bodies.computeIfAbsent("alerts:" + start + ":" + end + ":" + total,
+                key -> alertsPage(start, end, total)));
+    }
+
+    private static int intParam(HttpUrl url, String name, int fallback) {
+        String value = url.queryParameter(name);
+        try {
+            return value != null ? Integer.parseInt(value) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static FertilityResponse predict(FertilityRequest request) {
+        boolean first = request.getLastHeatDays() == null;
+        float value = first ? 9.5f : Math.max(1, 180 - request.getLastHeatDays());
+        return new FertilityResponse(request.getDogName(), request.getBreed(), request.getAgeMonths(),
+                request.getWeightKg(), first ? "First Heat" : "Next Heat", value, first ? "months" : "days",
+                LocalDate.now().plusDays(first ? (long) (value * 30) : (long) value).toString(),
+                first ? "Puppy - Awaiting First Heat" : "Normal Cycle", "low");
+    }
+
+    // Readings 2 s apart, newest first, with the noise mock_sensor_stream.py adds
+    private static String sensorPage(int count) {
+        Random random = new Random(count);
+        StringBuilder json = new StringBuilder(count * 200 + 100).append("{\"data\":[");
+        for (int i = 0; i < count; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"dog_name\":\"Max\",\"temperature\":")
+                    .append(Math.round((38 + random.nextDouble() * 2) * 100) / 100.0)
+                    .append(",\"activity_percent\":").append(random.nextInt(101))
+                    .append(",\"health_status\":\"Normal\",\"timestamp\":\"")
+                    .append(IsoTimestamps.format(START_MICROS + (count - i) * 2_000_000L + 123_456))
+                    .append("\",\"latitude\":").append(12.9716 + random.nextDouble() * 0.001)
+                    .append(",\"longitude\":").append(77.5946 + random.nextDouble() * 0.001)
+                    .append('}');
+        }
+        return json.append("],\"count\":").append(count).append('}').toString();
+    }
+
+    private static String alertsPage(int start, int end, int total) {
+        StringBuilder json = new StringBuilder((end - start) * 450 + 100).append("{\"alerts\":[");
+        for (int id = start + 1; id <= end; id++) {
+            json.append(id > start + 1 ? "," : "")
+                    .append("{\"id\":").append(id)
+                    .append(",\"dog_name\":\"Max\",\"health_status\":\"Fever Detected\",\"severity\":\"high\"")
+                    .append(",\"alerts\":[\"High temperature: 39.8°C (Normal: 38-39.2°C)\"]")
+                    .append(",\"timestamp\":\"").append(IsoTimestamps.format(START_MICROS + id * 60_000_000L))
+                    .append("\",\"temperature\":39.8,\"activity_percent\":35");
+            if (id % 3 == 0) {
+                json.append(",\"emergency_level\":\"critical\",\"emergencies\":[{\"type\":\"HEATSTROKE\"")
+                        .append(",\"message\":\"Temperature critical\"")
+                        .append(",\"action\":\"Cool the dog down and call a vet\"}]");
+            }
+            json.append('}');
+        }
+        return json.append("],\"count\":").append(end - start)
+                .append(",\"oldest_id\":").append(end > start ? String.valueOf(start + 1) : "null")
+                .append(",\"newest_id\":").append(end > start ? String.valueOf(end) : "null")
+                .append(",\"has_older\":").append(start > 0)
+                .append(",\"has_newer\":").append(end < total).append('}').toString();
+    }
+
+    /**
+     * Without TCP_NODELAY a response written as headers then body waits on
+     * the client's delayed ACK, adding ~40 ms to every call over loopback.
+     */
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new ServerSocket() {
+                @Override
+                public Socket accept() throws IOException {
+                    Socket socket = super.accept();
+                    socket.setTcpNoDelay(true);
+                    return socket;
+                }
+            };
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static String heatCycles(String dog, int count) {
+        StringBuilder json = new StringBuilder(count * 300 + 50).append("{\"cycles\":[");
+        for (int i = 0; i < count; i++) {
+            LocalDate created = LocalDate.of(2024, 5, 1).minusDays(i * 30L);
+            json.append(i > 0 ? "," : "")
+                    .append("{\"id\":\"cycle-").append(i)
+                    .append("\",\"dog_name\":\"").append(dog)
+                    .append("\",\"prediction_type\":\"Next Heat\",\"prediction_value\":").append(150 + i % 60)
+                    .append(",\"prediction_unit\":\"days\",\"estimated_date\":\"")
+                    .append(created.plusDays(150 + i % 60))
+                    .append("\",\"fertility_status\":\"Normal Cycle\",\"alert_level\":\"low\"")
+                    .append(",\"created_at\":\"").append(created).append("T10:00:00\"}");
+        }
+        return json.append("],\"count\":").append(count).append('}').toString();
+    }
+}
@@ -0,0 +1,172 @@
+package org.caninecare.app.api;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.caninecare.app.data.SensorRingBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link SensorStreamClient} reconnecting to a {@link MockWebServer} that
+ * drops the stream: the next connection carries the id of the last reading
+ * delivered as Last-Event-ID, and a reading sent again is not delivered twice.
+ * Every dog's readings go to the recorder, only the client's dog's to its
+ * window.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SensorStreamClientTest {
+
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private MockWebServer server;
+    private SensorStreamClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (client != null) {
+            main.post(client::stop);
+        }
+        server.shutdown();
+    }
+
+    @Test
+    public void resumesAfterTheLastEventIdWhenTheStreamDrops() throws Exception {
+        // Each body ends, so the stream closes after it and the client reconnects
+        server.enqueue(stream(event(41, 1), event(42, 2)));
+        // The server repeats 42 around the reconnect; the window must not take it twice
+        server.enqueue(stream(event(42, 2), event(43, 3)));
+
+        CountDownLatch readings = new CountDownLatch(3);
+        AtomicInteger delivered = new AtomicInteger();
+        SensorRingBuffer window = new SensorRingBuffer(16);
+        start(window, () -> {
+            delivered.incrementAndGet();
+            readings.countDown();
+        });
+
+        assertTrue("Readings not delivered", readings.await(10, TimeUnit.SECONDS));
+        RecordedRequest first = server.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest second = server.takeRequest(1, TimeUnit.SECONDS);
+        assertNull(first.getHeader("Last-Event-ID"));
+        assertEquals("42", second.getHeader("Last-Event-ID"));
+        assertEquals(3, window.size());
+        assertEquals(3, delivered.get());
+        assertEquals("43", lastEventId());
+    }
+
+    @Test
+    public void keepsTheLastEventIdAcrossFailedAttempts() throws Exception {
+        server.enqueue(stream(event(7, 1)));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(stream(event(8, 2)));
+
+        CountDownLatch readings = new CountDownLatch(2);
+        start(new SensorRingBuffer(16), readings::countDown);
+
+        assertTrue("Readings not delivered", readings.await(15, TimeUnit.SECONDS));
+        assertNull(server.takeRequest(1, TimeUnit.SECONDS).getHeader("Last-Event-ID"));
+        assertEquals("7", server.takeRequest(1, TimeUnit.SECONDS).getHeader("Last-Event-ID"));
+        assertEquals("7", server.takeRequest(1, TimeUnit.SECONDS).getHeader("Last-Event-ID"));
+        assertEquals("8", lastEventId());
+    }
+
+    @Test
+    public void recordsEveryDogsReadingsButWindowsOnlyItsOwn() throws Exception {
+        server.enqueue(stream(event(41, 1), event("Bella", 42, 2)));
+        server.enqueue(stream(event(43, 3)));
+
+        CountDownLatch recorded = new CountDownLatch(3);
+        List<String> follows = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger delivered = new AtomicInteger();
+        SensorRingBuffer window = new SensorRingBuffer(16);
+        start("Max", window, delivered::incrementAndGet, (reading, followsPrevious) -> {
+            follows.add(reading.getDogName() + " " + followsPrevious);
+            recorded.countDown();
+        });
+
+        assertTrue("Readings not recorded", recorded.await(10, TimeUnit.SECONDS));
+        // Only the very first reading may have a gap before it; the reconnect resumed by Last-Event-ID
+        assertEquals(Arrays.asList("Max false", "Bella true", "Max true"), follows);
+        assertEquals(2, window.size());
+        assertEquals(2, delivered.get());
+    }
+
+    private void start(SensorRingBuffer window, Runnable onReading) {
+        start(null, window, onReading, null);
+    }
+
+    private void start(String dogName, SensorRingBuffer window, Runnable onReading,
+                       SensorStreamClient.Recorder recorder) {
+        client = new SensorStreamClient(new OkHttpClient(), server.url("/api/sensor-stream").toString(), dogName, window,
+                new SensorStreamClient.Listener() {
+                    @Override
+                    public void onStreamConnected() {
+                    }
+
+                    @Override
+                    public void onReading() {
+                        onReading.run();
+                    }
+
+                    @Override
+                    public void onStreamUnavailable() {
+                    }
+                });
+        client.setRecorder(recorder);
+        main.post(client::start);
+    }
+
+    private String lastEventId() throws InterruptedException {
+        String[] id = new String[1];
+        CountDownLatch read = new CountDownLatch(1);
+        main.post(() -> {
+            id[0] = client.getLastEventId();
+            read.countDown();
+        });
+        read.await(1, TimeUnit.SECONDS);
+        return id[0];
+    }
+
+    private static MockResponse stream(String... events) {
+        return new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("retry: 100\n\n" + String.join("", events));
+    }
+
+    private static String event(long id, int second) {
+        return event("Max", id, second);
+    }
+
+    private static String event(String dogName, long id, int second) {
+        return "id: " + id + "\nevent: reading\ndata: {\"dog_name\": \"" + dogName + "\", \"temperature\": 38.6,"
+                + " \"activity_percent\": 50, \"latitude\": 12.97, \"longitude\": 77.59,"
+                + " \"timestamp\": \"2024-05-01T14:03:0" + second + "\"}\n\n";
+    }
+}
@@ -0,0 +1,123 @@
+package org.caninecare.app.data;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.caninecare.app.api.CallTracker;
+import org.caninecare.app.api.MockBackend;
+import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.utils.ApiConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The request counts behind binding polling to the visible lifecycle, as
+ * HomeActivity does: stopping cancels the poll in flight and nothing is
+ * requested or delivered afterwards, and starting again syncs at once
+ * rather than after the poll interval.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SensorPollSchedulerTest {
+
+    private final Handler main = new Handler(Looper.getMainLooper());
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Semaphore syncs = new Semaphore(0);
+    private MockBackend backend;
+    private SensorHistorySync sync;
+    private SensorPollScheduler scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        backend = new MockBackend().setRows(5);
+        backend.start();
+        RetrofitClient.setBaseUrl(backend.getBaseUrl());
+        sync = new SensorHistorySync(RetrofitClient.getApiService(),
+                new SensorHistoryStore(100, new SensorRingBuffer(100)), null, null);
+        scheduler = new SensorPollScheduler(sync, new SensorHistorySync.Listener() {
+            @Override
+            public void onSyncComplete(int newReadings) {
+                completed.incrementAndGet();
+                syncs.release();
+            }
+
+            @Override
+            public void onSyncFailed(String message) {
+                failed.incrementAndGet();
+                syncs.release();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        onMain(this::stopScreen);
+        RetrofitClient.setBaseUrl(ApiConfig.BASE_URL);
+        backend.close();
+    }
+
+    @Test
+    public void stoppingCancelsThePollInFlightAndRequestsNothingMore() throws Exception {
+        backend.setLatency(500, 0);
+        long canceledBefore = CallTracker.getCanceledCallCount();
+
+        onMain(scheduler::start);
+        awaitRequests(1);
+        onMain(this::stopScreen);
+
+        // Past the response the cancelled poll would have got
+        Thread.sleep(1_500);
+        assertEquals(1, backend.getRequestCount());
+        assertEquals(1, scheduler.getPollCount());
+        assertEquals(1, CallTracker.getCanceledCallCount() - canceledBefore);
+        assertEquals(0, completed.get());
+        assertEquals(0, failed.get());
+    }
+
+    @Test
+    public void startingAgainSyncsWithoutWaitingForTheInterval() throws Exception {
+        onMain(scheduler::start);
+        assertTrue("First poll did not finish", syncs.tryAcquire(5, TimeUnit.SECONDS));
+        onMain(this::stopScreen);
+        onMain(scheduler::start);
+
+        // Well inside HOME_REFRESH_INTERVAL, so it is not the regular poll
+        assertTrue("No catch-up poll", syncs.tryAcquire(5, TimeUnit.SECONDS));
+        assertEquals(2, backend.getRequestCount());
+        assertEquals(2, completed.get());
+    }
+
+    private void stopScreen() {
+        scheduler.stop();
+        sync.cancel();
+    }
+
+    private void awaitRequests(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (backend.getRequestCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, backend.getRequestCount());
+    }
+
+    private void onMain(Runnable action) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        main.post(() -> {
+            action.run();
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
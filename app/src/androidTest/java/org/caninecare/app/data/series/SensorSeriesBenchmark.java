@@ -0,0 +1,186 @@
+package org.caninecare.app.data.series;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.IsoTimestamps;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SensorSeriesStore against a sensor_readings table like the app's own
+ * (same columns and indexes), on the device: bytes per reading and full
+ * range scan throughput for the same readings.
+ *
+ * Run with ./gradlew connectedAndroidTest; results are logged under the
+ * SensorSeriesBenchmark tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SensorSeriesBenchmark {
+
+    private static final String TAG = "SensorSeriesBenchmark";
+    private static final String DOG = "Max";
+    private static final int READINGS = 100_000;
+    private static final int BATCH = 200; // one sync page
+    private static final int SCANS = 5;
+
+    private File directory;
+    private List<SensorDataResponse.SensorData> readings;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        directory = new File(context.getCacheDir(), "series-benchmark");
+        delete(directory);
+        directory.mkdirs();
+        readings = generate();
+    }
+
+    @After
+    public void tearDown() {
+        delete(directory);
+    }
+
+    @Test
+    public void seriesBeatsSqlite() throws Exception {
+        // SQLite, the way SensorReadingDao stores readings
+        File dbFile = new File(directory, "readings.db");
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(dbFile, null);
+        db.enableWriteAheadLogging();
+        db.execSQL("CREATE TABLE sensor_readings ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "dog_name TEXT NOT NULL DEFAULT '', "
+                + "timestamp TEXT NOT NULL, "
+                + "temperature REAL NOT NULL, "
+                + "activity_percent INTEGER NOT NULL, "
+                + "health_status TEXT, "
+                + "latitude REAL NOT NULL, "
+                + "longitude REAL NOT NULL, "
+                + "UNIQUE (dog_name, timestamp))");
+        db.execSQL("CREATE INDEX idx_sensor_readings_timestamp ON sensor_readings (timestamp)");
+        long sqliteWrite = System.nanoTime();
+        ContentValues values = new ContentValues();
+        for (int start = 0; start < READINGS; start += BATCH) {
+            db.beginTransaction();
+            try {
+                for (SensorDataResponse.SensorData reading : readings.subList(start, Math.min(READINGS, start + BATCH))) {
+                    values.clear();
+                    values.put("dog_name", reading.getDogName());
+                    values.put("timestamp", reading.getTimestamp());
+                    values.put("temperature", reading.getTemperature());
+                    values.put("activity_percent", reading.getActivityPercent());
+                    values.put("health_status", reading.getHealthStatus());
+                    values.put("latitude", reading.getLatitude());
+                    values.put("longitude", reading.getLongitude());
+                    db.insertWithOnConflict("sensor_readings", null, values, SQLiteDatabase.CONFLICT_IGNORE);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+        sqliteWrite = System.nanoTime() - sqliteWrite;
+        db.rawQuery("PRAGMA wal_checkpoint(TRUNCATE)", null).close();
+        long sqliteBytes = dbFile.length() + new File(dbFile.getPath() + "-wal").length();
+
+        long sqliteScan = Long.MAX_VALUE;
+        for (int i = 0; i < SCANS; i++) {
+            long start = System.nanoTime();
+            int rows = 0;
+            double checksum = 0;
+            try (Cursor cursor = db.rawQuery("SELECT timestamp, temperature, activity_percent, latitude, longitude"
+                    + " FROM sensor_readings WHERE dog_name = ? ORDER BY timestamp", new String[]{DOG})) {
+                while (cursor.moveToNext()) {
+                    checksum += IsoTimestamps.parseMicros(cursor.getString(0)) + cursor.getFloat(1)
+                            + cursor.getInt(2) + cursor.getDouble(3) + cursor.getDouble(4);
+                    rows++;
+                }
+            }
+            sqliteScan = Math.min(sqliteScan, System.nanoTime() - start);
+            assertEquals(READINGS, rows);
+            assertTrue(checksum != 0);
+        }
+        db.close();
+
+        // The series store, appended in the same batches and compacted
+        SensorSeriesStore store = new SensorSeriesStore(new File(directory, "series"), 256 * 1024,
+                TimeUnit.HOURS.toMicros(24), TimeUnit.DAYS.toMicros(365));
+        long seriesWrite = System.nanoTime();
+        for (int start = 0; start < READINGS; start += BATCH) {
+            store.append(readings.subList(start, Math.min(READINGS, start + BATCH)));
+        }
+        seriesWrite = System.nanoTime() - seriesWrite;
+        store.compact();
+        long seriesBytes = store.sizeOnDisk(DOG);
+
+        long seriesScan = Long.MAX_VALUE;
+        for (int i = 0; i < SCANS; i++) {
+            double[] checksum = {0};
+            long start = System.nanoTime();
+            int rows = store.scan(DOG, Long.MIN_VALUE, Long.MAX_VALUE,
+                    (timestamp, temperature, activity, latitude, longitude) ->
+                            checksum[0] += timestamp + temperature + activity + latitude + longitude);
+            seriesScan = Math.min(seriesScan, System.nanoTime() - start);
+            assertEquals(READINGS, rows);
+            assertTrue(checksum[0] != 0);
+        }
+
+        Log.i(TAG, String.format("SQLite: %.1f bytes/reading, write %.1f us/reading, scan %.2f M readings/s",
+                (double) sqliteBytes / READINGS, sqliteWrite / 1e3 / READINGS, READINGS / (sqliteScan / 1e9) / 1e6));
+        Log.i(TAG, String.format("Series: %.1f bytes/reading, write %.1f us/reading, scan %.2f M readings/s",
+                (double) seriesBytes / READINGS, seriesWrite / 1e3 / READINGS, READINGS / (seriesScan / 1e9) / 1e6));
+        assertTrue("Series should take fewer bytes per reading", seriesBytes < sqliteBytes);
+        assertTrue("Series should scan faster", seriesScan < sqliteScan);
+    }
+
+    /**
+     * About two days of 2 s readings from a random walk, like mock_sensor_stream.py.
+     */
+    private static List<SensorDataResponse.SensorData> generate() {
+        Random random = new Random(42);
+        List<SensorDataResponse.SensorData> generated = new ArrayList<>(READINGS);
+        long timestamp = IsoTimestamps.parseMicros("2024-05-01T09:00:00");
+        double temperature = 38.6;
+        int activity = 50;
+        double latitude = 12.9716;
+        double longitude = 77.5946;
+        for (int i = 0; i < READINGS; i++) {
+            timestamp += 2_000_000 + random.nextInt(3000);
+            temperature = Math.min(41.0, Math.max(36.5, temperature + random.nextDouble() * 0.2 - 0.1));
+            activity = Math.min(100, Math.max(0, activity + random.nextInt(11) - 5));
+            latitude += random.nextDouble() * 0.0001 - 0.00005;
+            longitude += random.nextDouble() * 0.0001 - 0.00005;
+            generated.add(new SensorDataResponse.SensorData(DOG, (float) (Math.round(temperature * 100) / 100.0),
+                    activity, "Normal", IsoTimestamps.format(timestamp), latitude, longitude));
+        }
+        return generated;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
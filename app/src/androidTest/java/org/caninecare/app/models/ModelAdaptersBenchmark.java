@@ -0,0 +1,136 @@
+package org.caninecare.app.models;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The models' own TypeAdapters ({@link ModelAdapters}) against Gson's
+ * reflective ones, on the device: the first decode with a new Gson, which
+ * includes building the adapters, and decode throughput for sensor history
+ * and alert pages.
+ *
+ * Run with ./gradlew connectedAndroidTest; results are logged under the
+ * ModelAdaptersBenchmark tag. Timings only; nothing is asserted about them,
+ * as they vary with the device. That the adapters match reflection is
+ * checked by ModelAdaptersTest in :core.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ModelAdaptersBenchmark {
+
+    private static final String TAG = "ModelAdaptersBenchmark";
+    private static final int FIRST_CALLS = 51;
+    private static final int READINGS = 2000;
+    private static final int ALERTS = 500;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void compareAdaptersWithReflection() {
+        String sensorJson = sensorPage();
+        String alertsJson = alertsPage();
+
+        Gson reflective = new Gson();
+        Gson adapted = ModelAdapters.newGson();
+
+        // Adapters are cached per Gson, so a new one pays the setup again
+        String firstJson = alertsPage(1);
+        long[] reflectiveFirst = new long[FIRST_CALLS];
+        long[] adaptedFirst = new long[FIRST_CALLS];
+        for (int i = 0; i < FIRST_CALLS; i++) {
+            long start = System.nanoTime();
+            new Gson().fromJson(firstJson, AlertsResponse.class);
+            reflectiveFirst[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            ModelAdapters.newGson().fromJson(firstJson, AlertsResponse.class);
+            adaptedFirst[i] = System.nanoTime() - start;
+        }
+
+        long reflectiveSensor = bestOf(reflective, sensorJson, SensorDataResponse.class);
+        long adaptedSensor = bestOf(adapted, sensorJson, SensorDataResponse.class);
+        long reflectiveAlerts = bestOf(reflective, alertsJson, AlertsResponse.class);
+        long adaptedAlerts = bestOf(adapted, alertsJson, AlertsResponse.class);
+
+        Log.i(TAG, String.format("Reflective: first call %.1f us, %.2f M readings/s, %.2f M alerts/s",
+                median(reflectiveFirst) / 1e3, READINGS / (reflectiveSensor / 1e9) / 1e6,
+                ALERTS / (reflectiveAlerts / 1e9) / 1e6));
+        Log.i(TAG, String.format("Adapters: first call %.1f us, %.2f M readings/s, %.2f M alerts/s",
+                median(adaptedFirst) / 1e3, READINGS / (adaptedSensor / 1e9) / 1e6,
+                ALERTS / (adaptedAlerts / 1e9) / 1e6));
+    }
+
+    private static long bestOf(Gson gson, String json, Class<?> type) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            assertTrue(gson.fromJson(json, type) != null);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * One /api/sensor-data page of 2 s readings, like mock_sensor_stream.py.
+     */
+    private static String sensorPage() {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < READINGS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"dog_name\":\"Max\",\"temperature\":")
+                    .append(Math.round((38 + random.nextDouble() * 2) * 100) / 100.0)
+                    .append(",\"activity_percent\":").append(random.nextInt(101))
+                    .append(",\"health_status\":\"Normal\",\"timestamp\":\"2024-05-01T09:")
+                    .append(String.format("%02d:%02d", i / 30 % 60, i * 2 % 60))
+                    .append(".123456\",\"latitude\":").append(12.9716 + random.nextDouble() * 0.001)
+                    .append(",\"longitude\":").append(77.5946 + random.nextDouble() * 0.001)
+                    .append('}');
+        }
+        return json.append("],\"count\":").append(READINGS)
+                .append(",\"cursor\":\"2024-05-01T10:06:38.123456\",\"has_more\":true}").toString();
+    }
+
+    private static String alertsPage() {
+        return alertsPage(ALERTS);
+    }
+
+    /**
+     * One /api/alerts page, newest alert last.
+     */
+    private static String alertsPage(int count) {
+        StringBuilder json = new StringBuilder("{\"alerts\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"dog_name\":\"Max\",\"health_status\":\"High Fever\",\"severity\":\"high\"")
+                    .append(",\"alerts\":[\"Temperature above 39.5°C\",\"Low activity\"]")
+                    .append(",\"timestamp\":\"2024-05-01T09:00:00.123456\",\"emergency_level\":\"critical\"")
+                    .append(",\"emergencies\":[{\"type\":\"HEATSTROKE\",\"message\":\"Temperature critical\"")
+                    .append(",\"action\":\"Cool the dog down and call a vet\"}]")
+                    .append(",\"temperature\":40.2,\"activity_percent\":8.5,\"immobile_duration\":900}");
+        }
+        return json.append("],\"count\":").append(count)
+                .append(",\"oldest_id\":1,\"newest_id\":").append(count)
+                .append(",\"has_older\":false,\"has_newer\":false}").toString();
+    }
+}
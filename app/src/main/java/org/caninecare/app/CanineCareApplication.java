@@ -0,0 +1,39 @@
+package org.caninecare.app;
+
+import android.app.Application;
+
+import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.data.WriteOutbox;
+import org.caninecare.app.data.local.CanineCareDatabase;
+import org.caninecare.app.data.series.SensorSeriesStore;
+import org.caninecare.app.fertility.FertilityModels;
+import org.caninecare.app.health.AnomalyMonitor;
+
+/**
+ * Application class - wires app-wide singletons that need a Context
+ */
+public class CanineCareApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // HTTP response cache lives under the app cache directory
+        RetrofitClient.init(this);
+        
+        // Local copy of readings, alerts, heat cycles and profiles
+        CanineCareDatabase.init(this);
+
+        // Months of compressed sensor history per dog
+        SensorSeriesStore.init(this);
+
+        // Per-dog baselines over synced readings; notifies on unusual ones
+        AnomalyMonitor.init(this);
+
+        // Profile saves and predictions waiting for the network
+        WriteOutbox.init(this);
+        
+        // Downloaded fertility model for on-device predictions
+        FertilityModels.init(this);
+    }
+}
@@ -1,6 +1,9 @@
 package org.caninecare.app;
 
+import android.Manifest;
 import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.os.Build;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Toast;
@@ -20,6 +23,8 @@ import org.caninecare.app.activities.LocationActivity;
  */
 public class MainActivity extends AppCompatActivity {
 
+    private static final int REQUEST_NOTIFICATIONS = 1;
+
     private CardView cardHome, cardHealth, cardFertility, cardLocation, cardAlerts, cardProfile;
 
     @Override
@@ -33,6 +38,12 @@ public class MainActivity extends AppCompatActivity {
         // Set click listeners
         setupClickListeners();
 
+        // Unusual readings are reported as notifications
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && checkSelfPermission(Manifest.permission.POST_NOTIFICATIONS) != PackageManager.PERMISSION_GRANTED) {
+            requestPermissions(new String[]{Manifest.permission.POST_NOTIFICATIONS}, REQUEST_NOTIFICATIONS);
+        }
+
         // Show welcome message
         Toast.makeText(this, "Welcome to CanineCare+", Toast.LENGTH_SHORT).show();
     }
@@ -8,21 +8,42 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import org.caninecare.app.R;
-import org.caninecare.app.api.ApiService;
+import org.caninecare.app.adapters.AlertsAdapter;
 import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.data.AlertPager;
+import org.caninecare.app.data.local.CanineCareDatabase;
 import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.ui.ScreenPipeline;
+import org.caninecare.app.utils.ApiConfig;
+import org.caninecare.app.utils.AppExecutors;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
-public class AlertsActivity extends AppCompatActivity {
+public class AlertsActivity extends AppCompatActivity implements AlertPager.Listener {
 
-    private TextView tvAlertsList, tvNoAlerts;
+    private TextView tvNoAlerts;
+    private RecyclerView rvAlerts;
+    private LinearLayoutManager layoutManager;
     private Button btnRefresh;
     private ProgressBar progressBar;
+    
+    private final AlertsAdapter adapter = new AlertsAdapter();
+    private AlertPager pager;
+    private ScreenPipeline pipeline;
+    private PrecomputedTextCompat.Params detailsParams;
+    // Rows are built once per page, in the background, and dropped with it
+    private Map<AlertPager.Page, List<AlertsAdapter.Row>> pageRows = new IdentityHashMap<>();
+    private boolean reloadOnStart;
+    private boolean showingStored;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -35,8 +56,11 @@ public class AlertsActivity extends AppCompatActivity {
                 getSupportActionBar().setTitle("Alerts");
             }
 
+            pager = new AlertPager(RetrofitClient.getApiService(), this);
+            pipeline = new ScreenPipeline(this);
             initViews();
             setupListeners();
+            loadStoredAlerts();
             loadAlerts();
         } catch (Exception e) {
             e.printStackTrace();
@@ -45,194 +69,190 @@ public class AlertsActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (pipeline != null) {
+            pipeline.destroy();
+        }
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (reloadOnStart) {
+            reloadOnStart = false;
+            loadAlerts();
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Nothing is fetched while hidden; pages already shown are kept
+        if (pager != null && pager.isLoading()) {
+            pager.cancel();
+            progressBar.setVisibility(View.GONE);
+            btnRefresh.setEnabled(true);
+            reloadOnStart = pager.getPages().isEmpty();
+        }
+    }
+
     private void initViews() {
-        tvAlertsList = findViewById(R.id.tvAlertsList);
         tvNoAlerts = findViewById(R.id.tvNoAlerts);
+        rvAlerts = findViewById(R.id.rvAlerts);
         btnRefresh = findViewById(R.id.btnRefresh);
         progressBar = findViewById(R.id.progressBar);
+
+        layoutManager = new LinearLayoutManager(this);
+        rvAlerts.setLayoutManager(layoutManager);
+        rvAlerts.setHasFixedSize(true);
+        rvAlerts.setAdapter(adapter);
+        detailsParams = AlertsAdapter.detailsParams(
+                getLayoutInflater().inflate(R.layout.item_alert, rvAlerts, false));
     }
 
     private void setupListeners() {
         btnRefresh.setOnClickListener(v -> loadAlerts());
+        rvAlerts.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                prefetch();
+            }
+        });
     }
 
-    private void loadAlerts() {
-        try {
-            progressBar.setVisibility(View.VISIBLE);
-            btnRefresh.setEnabled(false);
-            
-            ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-            Call<AlertsResponse> call = apiService.getAlerts(10);
-
-            call.enqueue(new Callback<AlertsResponse>() {
-                @Override
-                public void onResponse(Call<AlertsResponse> call, Response<AlertsResponse> response) {
-                    try {
-                        progressBar.setVisibility(View.GONE);
-                        btnRefresh.setEnabled(true);
-                        
-                        if (response.isSuccessful() && response.body() != null) {
-                            displayAlerts(response.body());
-                        } else {
-                            showError("Failed to load alerts (Code: " + response.code() + ")");
-                        }
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                        showError("Error processing alerts: " + e.getMessage());
-                    }
-                }
+    // Asks for the next page when the visible rows are near either end
+    private void prefetch() {
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || showingStored) {
+            return;
+        }
+        pager.onScrolled(first, adapter.getItemCount() - 1 - last);
+    }
 
-                @Override
-                public void onFailure(Call<AlertsResponse> call, Throwable t) {
-                    try {
-                        progressBar.setVisibility(View.GONE);
-                        btnRefresh.setEnabled(true);
-                        showError("Connection error: " + t.getMessage());
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
+    // Alerts saved on the device, shown until the first page from the network arrives
+    private void loadStoredAlerts() {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database == null) {
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            List<AlertsResponse.Alert> stored = database.alerts().getRecent(ApiConfig.ALERT_PAGE_SIZE);
+            Collections.reverse(stored);
+            AppExecutors.mainThread().execute(() -> {
+                if (stored.isEmpty() || !pager.getPages().isEmpty()) {
+                    return;
                 }
+                pipeline.submit("alerts", () -> {
+                    AlertsAdapter.Rows rows = new AlertsAdapter.Rows(getResources(), detailsParams);
+                    rows.addAll(stored);
+                    return rows.snapshot();
+                }, rows -> {
+                    if (pager.getPages().isEmpty()) {
+                        showingStored = true;
+                        showRows(rows);
+                    }
+                });
             });
-        } catch (Exception e) {
-            e.printStackTrace();
-            progressBar.setVisibility(View.GONE);
-            btnRefresh.setEnabled(true);
-            showError("Error loading alerts: " + e.getMessage());
+        });
+    }
+
+    // The newest page is kept on the device for the next offline start
+    private void saveAlerts(List<AlertsResponse.Alert> newestFirst) {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database != null) {
+            List<AlertsResponse.Alert> alerts = new ArrayList<>(newestFirst);
+            Collections.reverse(alerts);
+            AppExecutors.background().execute(() -> database.alerts().replaceAll(alerts));
         }
     }
 
-    private void displayAlerts(AlertsResponse response) {
-        if (response == null || response.getAlerts() == null || response.getAlerts().isEmpty()) {
-            tvNoAlerts.setVisibility(View.VISIBLE);
-            tvAlertsList.setVisibility(View.GONE);
-            tvNoAlerts.setText("No alerts available");
-            return;
+    private void loadAlerts() {
+        progressBar.setVisibility(View.VISIBLE);
+        btnRefresh.setEnabled(false);
+        pager.refresh();
+    }
+
+    @Override
+    public void onPagesChanged(List<AlertPager.Page> pages) {
+        progressBar.setVisibility(View.GONE);
+        btnRefresh.setEnabled(true);
+        if (!pages.get(0).hasNewer()) {
+            saveAlerts(pages.get(0).getAlerts());
         }
 
-        tvNoAlerts.setVisibility(View.GONE);
-        tvAlertsList.setVisibility(View.VISIBLE);
-
-        StringBuilder alertsText = new StringBuilder();
-        int count = 1;
-        
-        for (AlertsResponse.Alert alert : response.getAlerts()) {
-            if (alert == null) continue;
-            
-            // Determine severity - use emergency_level if available, otherwise severity
-            String severity = alert.getEmergencyLevel() != null ? 
-                            alert.getEmergencyLevel().toLowerCase() : 
-                            (alert.getSeverity() != null ? alert.getSeverity().toLowerCase() : "low");
-            String emoji = getSeverityEmoji(severity);
-            +m
-            // Health Status or Emergency Type
-            String title = alert.getHealthStatus() != null ? alert.getHealthStatus() : "Alert";
-            alertsText.append(emoji).append(" ").append(count++).append(". ").append(title).append("\n");
-            
-            // Severity/Emergency Level
-            String severityDisplay = severity.toUpperCase();
-            alertsText.append("   Level: ").append(severityDisplay).append("\n");
-            
-            // Temperature & Activity (if available)
-            if (alert.getTemperature() > 0) {
-                alertsText.append("   Temperature: ").append(String.format("%.1f°C", alert.getTemperature())).append("\n");
-            }
-            if (alert.getActivityPercent() > 0) {
-                alertsText.append("   Activity: ").append(String.format("%.0f%%", alert.getActivityPercent())).append("\n");
-            }
-            
-            // Immobile Duration (if available)
-            if (alert.getImmobileDuration() > 0) {
-                int minutes = alert.getImmobileDuration() / 60;
-                alertsText.append("   Immobile: ").append(minutes).append(" minutes\n");
-            }
-            
-            // Emergency Details (structured emergencies)
-            if (alert.getEmergencies() != null && !alert.getEmergencies().isEmpty()) {
-                alertsText.append("   \n   🚨 EMERGENCIES:\n");
-                for (AlertsResponse.Emergency emergency : alert.getEmergencies()) {
-                    alertsText.append("   ━━━━━━━━━━━━━━━━\n");
-                    alertsText.append("   Type: ").append(emergency.getType()).append("\n");
-                    alertsText.append("   ⚠️ ").append(emergency.getMessage()).append("\n");
-                    alertsText.append("   ➤ ").append(emergency.getAction()).append("\n");
+        // Only pages not seen before are formatted
+        List<AlertPager.Page> current = new ArrayList<>(pages);
+        Map<AlertPager.Page, List<AlertsAdapter.Row>> known = new IdentityHashMap<>(pageRows);
+        pipeline.submit("alerts", () -> {
+            Map<AlertPager.Page, List<AlertsAdapter.Row>> byPage = new IdentityHashMap<>();
+            List<AlertsAdapter.Row> rows = new ArrayList<>();
+            for (AlertPager.Page page : current) {
+                List<AlertsAdapter.Row> built = known.get(page);
+                if (built == null) {
+                    AlertsAdapter.Rows pageAlerts = new AlertsAdapter.Rows(getResources(), detailsParams);
+                    pageAlerts.addAll(page.getAlerts());
+                    built = pageAlerts.snapshot();
                 }
+                byPage.put(page, built);
+                rows.addAll(built);
             }
-            
-            // Alert Messages (simple alerts)
-            if (alert.getAlertMessages() != null && !alert.getAlertMessages().isEmpty()) {
-                alertsText.append("   \n   Details:\n");
-                for (String message : alert.getAlertMessages()) {
-                    alertsText.append("   • ").append(message).append("\n");
+            return new PageRows(byPage, rows);
+        }, model -> {
+            boolean refreshed = showingStored || pageRows.isEmpty();
+            showingStored = false;
+            pageRows = model.byPage;
+            if (model.rows.isEmpty()) {
+                showRows(model.rows);
+                tvNoAlerts.setVisibility(View.VISIBLE);
+                rvAlerts.setVisibility(View.GONE);
+                tvNoAlerts.setText("No alerts available");
+            } else {
+                showRows(model.rows);
+                if (refreshed) {
+                    Toast.makeText(this, "Latest alerts loaded", Toast.LENGTH_SHORT).show();
                 }
             }
-            
-            // Timestamp - format it nicely
-            if (alert.getTimestamp() != null) {
-                String formattedTime = formatTimestamp(alert.getTimestamp());
-                alertsText.append("   Time: ").append(formattedTime).append("\n");
-            }
-            
-            alertsText.append("\n");
-        }
-
-        tvAlertsList.setText(alertsText.toString());
-        Toast.makeText(this, response.getCount() + " alerts loaded", Toast.LENGTH_SHORT).show();
+        });
     }
-    
-    private String getSeverityEmoji(String severity) {
-        switch (severity.toLowerCase()) {
-            case "critical":
-                return "🚨";
-            case "high":
-                return "⚠️";
-            case "medium":
-                return "⚡";
-            case "low":
-            default:
-                return "ℹ️";
-        }
-    }
-    
-    private String formatTimestamp(String timestamp) {
-        try {
-            // Backend sends ISO format: 2025-10-21T18:30:15.123456
-            // Display as: 21 Oct 2025, 18:30
-            if (timestamp.contains("T")) {
-                String[] parts = timestamp.split("T");
-                String date = parts[0];
-                String time = parts[1].substring(0, 5); // Get HH:MM
-                
-                String[] dateParts = date.split("-");
-                String year = dateParts[0];
-                String month = getMonthName(dateParts[1]);
-                String day = dateParts[2];
-                
-                return day + " " + month + " " + year + ", " + time;
-            }
-            return timestamp;
-        } catch (Exception e) {
-            return timestamp;
+
+    @Override
+    public void onLoadFailed(String message) {
+        progressBar.setVisibility(View.GONE);
+        btnRefresh.setEnabled(true);
+        if (showingStored) {
+            Toast.makeText(this, "Showing saved alerts - " + message, Toast.LENGTH_SHORT).show();
+        } else if (adapter.getItemCount() > 0) {
+            Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+        } else {
+            showError(message);
         }
     }
-    
-    private String getMonthName(String month) {
-        String[] months = {"", "Jan", "Feb", "Mar", "Apr", "May", "Jun", 
-                          "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
-        try {
-            int m = Integer.parseInt(month);
-            if (m >= 1 && m <= 12) {
-                return months[m];
-            }
-        } catch (Exception e) {
-            // ignore
-        }
-        return month;
+
+    private void showRows(List<AlertsAdapter.Row> rows) {
+        tvNoAlerts.setVisibility(View.GONE);
+        rvAlerts.setVisibility(View.VISIBLE);
+        // A short list may not fill the screen, so check again once it is laid out
+        adapter.submitList(rows, () -> rvAlerts.post(this::prefetch));
     }
 
     private void showError(String message) {
         Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
         tvNoAlerts.setText("Error: " + message);
         tvNoAlerts.setVisibility(View.VISIBLE);
-        tvAlertsList.setVisibility(View.GONE);
+        rvAlerts.setVisibility(View.GONE);
+    }
+
+    private static final class PageRows {
+        final Map<AlertPager.Page, List<AlertsAdapter.Row>> byPage;
+        final List<AlertsAdapter.Row> rows;
+
+        PageRows(Map<AlertPager.Page, List<AlertsAdapter.Row>> byPage, List<AlertsAdapter.Row> rows) {
+            this.byPage = byPage;
+            this.rows = rows;
+        }
     }
 
     @Override
@@ -16,8 +16,11 @@ import androidx.appcompat.app.AppCompatActivity;
 import org.caninecare.app.R;
 import org.caninecare.app.api.ApiService;
 import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.data.WriteOutbox;
+import org.caninecare.app.data.local.CanineCareDatabase;
 import org.caninecare.app.models.DogProfile;
 import org.caninecare.app.models.DogProfileResponse;
+import org.caninecare.app.utils.AppExecutors;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +36,8 @@ public class DogProfileActivity extends AppCompatActivity {
     private Button btnSaveProfile, btnLoadProfile;
     private ProgressBar progressBar;
     private TextView tvProfileStatus;
+    // Profiles shown from the server so far; touched on the main thread only
+    private int serverProfilesShown;
     
     private SharedPreferences prefs;
     private static final String PREFS_NAME = "CanineCarePrefs";
@@ -69,7 +74,7 @@ public class DogProfileActivity extends AppCompatActivity {
 
     private void setupBreedSpinner() {
         // Load breeds from API
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        ApiService apiService = RetrofitClient.getApiService();
         Call<BreedsResponse> call = apiService.getBreeds();
         
         call.enqueue(new Callback<BreedsResponse>() {
@@ -140,18 +145,39 @@ public class DogProfileActivity extends AppCompatActivity {
 
         DogProfile profile = new DogProfile(name, breed, ageMonths, weight);
         
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<DogProfileResponse> call = apiService.createOrUpdateProfile(profile);
+        // Writes already queued for this dog go first; queue behind them
+        WriteOutbox.getInstance().hasPending(name, hasPending -> {
+            if (hasPending) {
+                queueProfile(profile, WriteOutbox.newIdempotencyKey());
+            } else {
+                sendProfile(profile);
+            }
+        });
+    }
+
+    private void sendProfile(DogProfile profile) {
+        String idempotencyKey = WriteOutbox.newIdempotencyKey();
+        ApiService apiService = RetrofitClient.getApiService();
+        Call<DogProfileResponse> call = apiService.createOrUpdateProfile(idempotencyKey, profile);
 
         call.enqueue(new Callback<DogProfileResponse>() {
             @Override
             public void onResponse(Call<DogProfileResponse> call, Response<DogProfileResponse> response) {
+                if (response.code() >= 500) {
+                    queueProfile(profile, idempotencyKey);
+                    return;
+                }
                 progressBar.setVisibility(View.GONE);
                 btnSaveProfile.setEnabled(true);
                 
+                if (response.isSuccessful()) {
+                    // The cached GET of this profile predates the write
+                    AppExecutors.background().execute(() -> RetrofitClient.evictDogProfile(profile.getName()));
+                }
                 if (response.isSuccessful() && response.body() != null) {
-                    // Save dog name locally
-                    prefs.edit().putString(KEY_DOG_NAME, name).apply();
+                    // Save dog name and profile locally
+                    prefs.edit().putString(KEY_DOG_NAME, profile.getName()).apply();
+                    saveProfileLocally(profile);
                     
                     tvProfileStatus.setText("✅ Profile saved successfully!");
                     tvProfileStatus.setVisibility(View.VISIBLE);
@@ -163,13 +189,26 @@ public class DogProfileActivity extends AppCompatActivity {
 
             @Override
             public void onFailure(Call<DogProfileResponse> call, Throwable t) {
-                progressBar.setVisibility(View.GONE);
-                btnSaveProfile.setEnabled(true);
-                showError("Connection error: " + t.getMessage());
+                // Same key: if the request did get through, the backend won't apply it twice
+                queueProfile(profile, idempotencyKey);
             }
         });
     }
 
+    private void queueProfile(DogProfile profile, String idempotencyKey) {
+        WriteOutbox.getInstance().enqueueProfile(profile, idempotencyKey);
+        
+        // Keep the edit on the device right away; the server copy follows
+        prefs.edit().putString(KEY_DOG_NAME, profile.getName()).apply();
+        saveProfileLocally(profile);
+        
+        progressBar.setVisibility(View.GONE);
+        btnSaveProfile.setEnabled(true);
+        tvProfileStatus.setText("⏳ Profile saved on device - it will sync when the connection is back");
+        tvProfileStatus.setVisibility(View.VISIBLE);
+        Toast.makeText(this, "Profile queued", Toast.LENGTH_SHORT).show();
+    }
+
     private void loadProfileFromServer() {
         String name = etDogName.getText().toString().trim();
         
@@ -181,7 +220,11 @@ public class DogProfileActivity extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         btnLoadProfile.setEnabled(false);
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        ApiService apiService = RetrofitClient.getApiService();
+        
+        // Show the saved copy right away; the network call below refreshes it
+        showStoredProfile(name);
+        
         Call<DogProfile> call = apiService.getDogProfile(name);
 
         call.enqueue(new Callback<DogProfile>() {
@@ -192,7 +235,9 @@ public class DogProfileActivity extends AppCompatActivity {
                 
                 if (response.isSuccessful() && response.body() != null) {
                     DogProfile profile = response.body();
+                    serverProfilesShown++;
                     displayProfile(profile);
+                    saveProfileLocally(profile);
                     Toast.makeText(DogProfileActivity.this, "Profile loaded!", Toast.LENGTH_SHORT).show();
                 } else {
                     showError("Profile not found");
@@ -212,6 +257,35 @@ public class DogProfileActivity extends AppCompatActivity {
         String savedName = prefs.getString(KEY_DOG_NAME, "");
         if (!savedName.isEmpty()) {
             etDogName.setText(savedName);
+            showStoredProfile(savedName);
+        }
+    }
+
+    private void showStoredProfile(String name) {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database == null) {
+            return;
+        }
+        int shownBefore = serverProfilesShown;
+        AppExecutors.background().execute(() -> {
+            DogProfile stored = database.dogProfiles().get(name);
+            AppExecutors.mainThread().execute(() -> {
+                // Skip if the user moved on to another dog meanwhile, or the
+                // server's copy arrived first and is already on screen
+                if (stored != null && name.equals(etDogName.getText().toString().trim())
+                        && shownBefore == serverProfilesShown) {
+                    displayProfile(stored);
+                    tvProfileStatus.setText("✅ Profile loaded from device");
+                    tvProfileStatus.setVisibility(View.VISIBLE);
+                }
+            });
+        });
+    }
+
+    private void saveProfileLocally(DogProfile profile) {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database != null) {
+            AppExecutors.background().execute(() -> database.dogProfiles().save(profile));
         }
     }
 
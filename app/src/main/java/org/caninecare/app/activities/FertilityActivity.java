@@ -3,6 +3,8 @@ package org.caninecare.app.activities;
 import android.app.DatePickerDialog;
 import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
 import android.widget.Button;
 import android.widget.EditText;
@@ -11,6 +13,8 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -21,8 +25,15 @@ import java.util.concurrent.TimeUnit;
 import org.caninecare.app.R;
 import org.caninecare.app.api.ApiService;
 import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.data.WriteOutbox;
+import org.caninecare.app.data.local.CanineCareDatabase;
+import org.caninecare.app.domain.Severity;
+import org.caninecare.app.fertility.FertilityModel;
+import org.caninecare.app.fertility.FertilityModels;
 import org.caninecare.app.models.FertilityRequest;
 import org.caninecare.app.models.FertilityResponse;
+import org.caninecare.app.ui.ScreenPipeline;
+import org.caninecare.app.utils.AppExecutors;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -34,7 +45,10 @@ public class FertilityActivity extends AppCompatActivity {
     private Button btnPredict, btnViewHistory;
     private ProgressBar progressBar;
     private TextView tvResults;
+    private PrecomputedTextCompat.Params resultsParams;
+    private ScreenPipeline pipeline;
     private Calendar lastHeatCalendar;
+    private boolean showingOnDevice;
     private SharedPreferences prefs;
     private static final String PREFS_NAME = "CanineCarePrefs";
     private static final String KEY_DOG_NAME = "dog_name";
@@ -49,8 +63,22 @@ public class FertilityActivity extends AppCompatActivity {
             getSupportActionBar().setTitle("Fertility Prediction");
         }
 
+        pipeline = new ScreenPipeline(this);
         initViews();
         setupListeners();
+        FertilityModels.refresh(RetrofitClient.getApiService());
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        showQueuedResult();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        pipeline.destroy();
     }
 
     private void initViews() {
@@ -62,6 +90,7 @@ public class FertilityActivity extends AppCompatActivity {
         btnViewHistory = findViewById(R.id.btnViewHistory);
         progressBar = findViewById(R.id.progressBar);
         tvResults = findViewById(R.id.tvResults);
+        resultsParams = TextViewCompat.getTextMetricsParams(tvResults);
         lastHeatCalendar = Calendar.getInstance();
         prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
         
@@ -74,6 +103,25 @@ public class FertilityActivity extends AppCompatActivity {
         btnPredict.setOnClickListener(v -> predictFertility());
         btnViewHistory.setOnClickListener(v -> viewHeatHistory());
         etLastHeat.setOnClickListener(v -> showDatePicker());
+        
+        TextWatcher preview = new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                previewPrediction();
+            }
+        };
+        etBreed.addTextChangedListener(preview);
+        etAge.addTextChangedListener(preview);
+        etWeight.addTextChangedListener(preview);
+        etLastHeat.addTextChangedListener(preview);
     }
     
     private void showDatePicker() {
@@ -118,18 +166,50 @@ public class FertilityActivity extends AppCompatActivity {
     }
 
     private void predictFertility() {
+        FertilityRequest request = buildRequest();
+        if (request == null) {
+            Toast.makeText(this, "Please fill all required fields", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        // Answer from the on-device model right away if we have it; the
+        // backend's answer replaces it and is what gets recorded
+        showingOnDevice = showOnDevicePrediction(request);
+        
+        progressBar.setVisibility(View.VISIBLE);
+        btnPredict.setEnabled(false);
+        
+        // Writes already queued for this dog go first; queue behind them
+        WriteOutbox.getInstance().hasPending(request.getDogName(), hasPending -> {
+            if (hasPending) {
+                queuePrediction(request, WriteOutbox.newIdempotencyKey());
+            } else {
+                sendPrediction(request);
+            }
+        });
+    }
+
+    /**
+     * The request for the current inputs, or null while a required field is missing.
+     */
+    private FertilityRequest buildRequest() {
         String breed = etBreed.getText().toString().trim();
         String ageStr = etAge.getText().toString().trim();
         String weightStr = etWeight.getText().toString().trim();
         String lastHeatStr = etLastHeat.getText().toString().trim();
 
         if (breed.isEmpty() || ageStr.isEmpty() || weightStr.isEmpty()) {
-            Toast.makeText(this, "Please fill all required fields", Toast.LENGTH_SHORT).show();
-            return;
+            return null;
         }
 
-        int age = Integer.parseInt(ageStr);
-        float weight = Float.parseFloat(weightStr);
+        int age;
+        float weight;
+        try {
+            age = Integer.parseInt(ageStr);
+            weight = Float.parseFloat(weightStr);
+        } catch (NumberFormatException e) {
+            return null;
+        }
         
         // Calculate days since last heat from calendar
         Integer lastHeat = null;
@@ -138,24 +218,51 @@ public class FertilityActivity extends AppCompatActivity {
             lastHeat = (int) TimeUnit.MILLISECONDS.toDays(diffInMillis);
         }
 
-        progressBar.setVisibility(View.VISIBLE);
-        btnPredict.setEnabled(false);
-
         // Get dog name from preferences or use default
         String dogName = prefs.getString(KEY_DOG_NAME, "Max");
-        FertilityRequest request = new FertilityRequest(dogName, breed, age, weight, lastHeat);
-        
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<FertilityResponse> call = apiService.predictFertility(request);
+        return new FertilityRequest(dogName, breed, age, weight, lastHeat);
+    }
+
+    /**
+     * Re-predicts on the device as the inputs change, so trying values out
+     * needs no network.
+     */
+    private void previewPrediction() {
+        FertilityRequest request = buildRequest();
+        if (request != null) {
+            showingOnDevice = showOnDevicePrediction(request);
+        }
+    }
+
+    private boolean showOnDevicePrediction(FertilityRequest request) {
+        FertilityModel model = FertilityModels.getModel();
+        if (model == null) {
+            return false;
+        }
+        // Predicting and formatting both happen off the main thread
+        pipeline.submit("results", () -> formatResults(model.predict(request), true), this::showResults);
+        return true;
+    }
+
+    private void sendPrediction(FertilityRequest request) {
+        String idempotencyKey = WriteOutbox.newIdempotencyKey();
+        ApiService apiService = RetrofitClient.getApiService();
+        Call<FertilityResponse> call = apiService.predictFertility(idempotencyKey, request);
 
         call.enqueue(new Callback<FertilityResponse>() {
             @Override
             public void onResponse(Call<FertilityResponse> call, Response<FertilityResponse> response) {
+                if (response.code() >= 500) {
+                    queuePrediction(request, idempotencyKey);
+                    return;
+                }
                 progressBar.setVisibility(View.GONE);
                 btnPredict.setEnabled(true);
                 
                 if (response.isSuccessful() && response.body() != null) {
-                    displayResults(response.body());
+                    showingOnDevice = false;
+                    FertilityResponse body = response.body();
+                    pipeline.submit("results", () -> formatResults(body, false), FertilityActivity.this::showResults);
                 } else {
                     showError("Prediction failed");
                 }
@@ -163,28 +270,70 @@ public class FertilityActivity extends AppCompatActivity {
 
             @Override
             public void onFailure(Call<FertilityResponse> call, Throwable t) {
-                progressBar.setVisibility(View.GONE);
-                btnPredict.setEnabled(true);
-                showError("Connection error: " + t.getMessage());
+                // Same key: if the request did get through, the backend won't run it twice
+                queuePrediction(request, idempotencyKey);
+            }
+        });
+    }
+
+    /**
+     * Shows the backend's answer to a prediction that went through the
+     * outbox while this screen was away, once.
+     */
+    private void showQueuedResult() {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database == null) {
+            return;
+        }
+        String dogName = prefs.getString(KEY_DOG_NAME, "Max");
+        AppExecutors.background().execute(() -> {
+            FertilityResponse queued = database.fertilityResults().take(dogName);
+            if (queued == null) {
+                return;
             }
+            AppExecutors.mainThread().execute(() -> {
+                showingOnDevice = false;
+                pipeline.submit("results", () -> formatResults(queued, false), this::showResults);
+            });
         });
     }
 
-    private void displayResults(FertilityResponse response) {
+    private void queuePrediction(FertilityRequest request, String idempotencyKey) {
+        WriteOutbox.getInstance().enqueueFertility(request, idempotencyKey);
+        progressBar.setVisibility(View.GONE);
+        btnPredict.setEnabled(true);
+        Toast.makeText(this, "Prediction queued", Toast.LENGTH_SHORT).show();
+        if (showingOnDevice) {
+            // Keep the on-device answer up; the backend's replaces it once sent
+            return;
+        }
+        pipeline.cancel("results");
+        tvResults.setText("⏳ Prediction queued - it will be sent when the connection is back. "
+                + "Results will show up here and in heat history.");
+        tvResults.setVisibility(View.VISIBLE);
+    }
+
+    // Runs in the background
+    private PrecomputedTextCompat formatResults(FertilityResponse response, boolean onDevice) {
         StringBuilder results = new StringBuilder();
-        results.append("🔬 Prediction Results\n\n");
+        results.append(onDevice ? "🔬 Prediction Results (on device)\n\n" : "🔬 Prediction Results\n\n");
         results.append("Prediction Type: ").append(response.getPredictionType()).append("\n\n");
         results.append("Predicted: ").append(response.getPredictionValue())
                 .append(" ").append(response.getPredictionUnit()).append("\n\n");
         results.append("Estimated Date: ").append(response.getEstimatedDate()).append("\n\n");
         results.append("Fertility Status: ").append(response.getFertilityStatus()).append("\n\n");
-        results.append("Alert Level: ").append(response.getAlertLevel().toUpperCase());
+        Severity alertLevel = Severity.parse(response.getAlertLevel());
+        results.append("Alert Level: ").append(alertLevel != null ? alertLevel.name() : "N/A");
+        return PrecomputedTextCompat.create(results, resultsParams);
+    }
 
-        tvResults.setText(results.toString());
+    private void showResults(PrecomputedTextCompat results) {
+        TextViewCompat.setPrecomputedText(tvResults, results);
         tvResults.setVisibility(View.VISIBLE);
     }
 
     private void showError(String message) {
+        pipeline.cancel("results");
         Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
         tvResults.setText("Error: " + message);
         tvResults.setVisibility(View.VISIBLE);
@@ -1,6 +1,7 @@
 package org.caninecare.app.activities;
 
 import android.os.Bundle;
+import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ProgressBar;
@@ -9,12 +10,27 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.github.mikephil.charting.charts.LineChart;
+
 import org.caninecare.app.R;
+import org.caninecare.app.adapters.AlertsAdapter;
 import org.caninecare.app.api.ApiService;
+import org.caninecare.app.api.CallTracker;
 import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.charts.DownsamplePyramid;
+import org.caninecare.app.charts.SensorChart;
+import org.caninecare.app.data.series.SensorSeriesStore;
+import org.caninecare.app.domain.HealthAssessment;
+import org.caninecare.app.health.HealthRules;
 import org.caninecare.app.models.HealthCheckRequest;
 import org.caninecare.app.models.HealthCheckResponse;
 import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+import org.caninecare.app.utils.AppExecutors;
+import org.caninecare.app.utils.IsoTimestamps;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -22,12 +38,20 @@ import retrofit2.Response;
 
 public class HealthActivity extends AppCompatActivity {
 
+    private static final String TAG = "HealthActivity";
+    private static final String DOG_NAME = "Max";
+
     private TextView tvCurrentTemp, tvCurrentActivity, tvHealthStatus, tvSeverity, tvRecommendations;
+    private TextView tvHistoryTitle;
+    private SensorChart temperatureHistory, activityHistory;
     private Button btnFetchData, btnAnalyze;
     private ProgressBar progressBar;
     
     private float currentTemp = 38.5f;
     private int currentActivity = 50;
+    
+    private final CallTracker calls = new CallTracker();
+    private boolean reloadOnStart;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -42,6 +66,28 @@ public class HealthActivity extends AppCompatActivity {
         initViews();
         setupListeners();
         fetchSensorData();
+        loadHistory();
+        HealthRules.refresh(RetrofitClient.getApiService());
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (reloadOnStart) {
+            reloadOnStart = false;
+            fetchSensorData();
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Don't deliver into a hidden screen; pick the fetch up again on return
+        if (calls.getPendingCount() > 0) {
+            reloadOnStart = true;
+            calls.cancelAll();
+            progressBar.setVisibility(View.GONE);
+        }
     }
 
     private void initViews() {
@@ -53,6 +99,9 @@ public class HealthActivity extends AppCompatActivity {
         btnFetchData = findViewById(R.id.btnFetchData);
         btnAnalyze = findViewById(R.id.btnAnalyze);
         progressBar = findViewById(R.id.progressBar);
+        tvHistoryTitle = findViewById(R.id.tvHistoryTitle);
+        temperatureHistory = SensorChart.temperature((LineChart) findViewById(R.id.chartTemperatureHistory));
+        activityHistory = SensorChart.activity((LineChart) findViewById(R.id.chartActivityHistory));
     }
 
     private void setupListeners() {
@@ -63,10 +112,10 @@ public class HealthActivity extends AppCompatActivity {
     private void fetchSensorData() {
         progressBar.setVisibility(View.VISIBLE);
         
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        ApiService apiService = RetrofitClient.getApiService();
         Call<SensorDataResponse> call = apiService.getSensorData(1);
 
-        call.enqueue(new Callback<SensorDataResponse>() {
+        calls.enqueue(call, new Callback<SensorDataResponse>() {
             @Override
             public void onResponse(Call<SensorDataResponse> call, Response<SensorDataResponse> response) {
                 progressBar.setVisibility(View.GONE);
@@ -98,12 +147,57 @@ public class HealthActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Charts the last {@link ApiConfig#CHART_HISTORY_DAYS} days from the
+     * on-device series; the series is read and indexed in the background.
+     */
+    private void loadHistory() {
+        SensorSeriesStore store = SensorSeriesStore.getInstance();
+        if (store == null) {
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            DownsamplePyramid temperatures = new DownsamplePyramid();
+            DownsamplePyramid activities = new DownsamplePyramid();
+            long[] base = {IsoTimestamps.INVALID};
+            try {
+                long last = store.lastTimestamp(DOG_NAME);
+                if (last != IsoTimestamps.INVALID) {
+                    long from = last - TimeUnit.DAYS.toMicros(ApiConfig.CHART_HISTORY_DAYS);
+                    store.scan(DOG_NAME, from, last, (timestamp, temperature, activity, latitude, longitude) -> {
+                        if (base[0] == IsoTimestamps.INVALID) {
+                            base[0] = timestamp;
+                        }
+                        float x = (timestamp - base[0]) / 1e6f;
+                        temperatures.append(x, temperature);
+                        activities.append(x, activity);
+                    });
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Could not read sensor history: " + e.getMessage());
+            }
+            AppExecutors.mainThread().execute(() -> {
+                if (isDestroyed()) {
+                    return;
+                }
+                temperatureHistory.setSeries(base[0], temperatures);
+                activityHistory.setSeries(base[0], activities);
+                tvHistoryTitle.setText(String.format("History - %,d readings, last %d days",
+                        temperatures.size(), ApiConfig.CHART_HISTORY_DAYS));
+            });
+        });
+    }
+
     private void analyzeHealth() {
+        // Answer from the on-device rules right away; the backend confirms it
+        // (and records the alert) when it can be reached
+        displayHealthResults(HealthAssessment.from(
+                HealthRules.getEngine().evaluate(DOG_NAME, currentTemp, currentActivity)), false);
         progressBar.setVisibility(View.VISIBLE);
         
-        HealthCheckRequest request = new HealthCheckRequest("Max", currentTemp, currentActivity);
+        HealthCheckRequest request = new HealthCheckRequest(DOG_NAME, currentTemp, currentActivity);
         
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        ApiService apiService = RetrofitClient.getApiService();
         Call<HealthCheckResponse> call = apiService.checkHealth(request);
 
         call.enqueue(new Callback<HealthCheckResponse>() {
@@ -112,45 +206,33 @@ public class HealthActivity extends AppCompatActivity {
                 progressBar.setVisibility(View.GONE);
                 
                 if (response.isSuccessful() && response.body() != null) {
-                    displayHealthResults(response.body());
+                    displayHealthResults(HealthAssessment.from(response.body()), true);
                 } else {
-                    showError("Analysis failed");
+                    Toast.makeText(HealthActivity.this, "Server analysis failed - showing on-device result",
+                            Toast.LENGTH_SHORT).show();
                 }
             }
 
             @Override
             public void onFailure(Call<HealthCheckResponse> call, Throwable t) {
                 progressBar.setVisibility(View.GONE);
-                showError("Connection error: " + t.getMessage());
+                Toast.makeText(HealthActivity.this, "Offline - showing on-device result",
+                        Toast.LENGTH_SHORT).show();
             }
         });
     }
 
-    private void displayHealthResults(HealthCheckResponse response) {
-        tvHealthStatus.setText("Status: " + response.getHealthStatus());
-        tvSeverity.setText("Severity: " + response.getSeverity().toUpperCase());
+    private void displayHealthResults(HealthAssessment result, boolean confirmed) {
+        tvHealthStatus.setText("Status: " + result.getStatusLabel() + (confirmed ? "" : " (on device)"));
+        tvSeverity.setText("Severity: " + result.getSeverity().name());
         
         // Color code severity
-        switch (response.getSeverity().toLowerCase()) {
-            case "critical":
-                tvSeverity.setTextColor(getResources().getColor(R.color.severityCritical));
-                break;
-            case "high":
-                tvSeverity.setTextColor(getResources().getColor(R.color.severityHigh));
-                break;
-            case "medium":
-                tvSeverity.setTextColor(getResources().getColor(R.color.severityMedium));
-                break;
-            default:
-                tvSeverity.setTextColor(getResources().getColor(R.color.severityLow));
-        }
+        tvSeverity.setTextColor(getResources().getColor(AlertsAdapter.severityColor(result.getSeverity()), null));
         
         // Display recommendations
         StringBuilder recommendations = new StringBuilder("Recommendations:\n\n");
-        if (response.getRecommendations() != null) {
-            for (String rec : response.getRecommendations()) {
-                recommendations.append("• ").append(rec).append("\n");
-            }
+        for (String rec : result.getRecommendations()) {
+            recommendations.append("• ").append(rec).append("\n");
         }
         tvRecommendations.setText(recommendations.toString());
     }
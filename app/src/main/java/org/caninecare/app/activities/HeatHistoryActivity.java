@@ -13,9 +13,12 @@ import androidx.recyclerview.widget.RecyclerView;
 import org.caninecare.app.R;
 import org.caninecare.app.api.ApiService;
 import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.data.local.CanineCareDatabase;
 import org.caninecare.app.models.HeatCycle;
 import org.caninecare.app.models.HeatCyclesResponse;
 import org.caninecare.app.adapters.HeatCycleAdapter;
+import org.caninecare.app.ui.ScreenPipeline;
+import org.caninecare.app.utils.AppExecutors;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,7 +33,9 @@ public class HeatHistoryActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     private TextView tvEmpty;
     private HeatCycleAdapter adapter;
+    private ScreenPipeline pipeline;
     private String dogName;
+    private boolean loadedFromNetwork;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,25 +54,67 @@ public class HeatHistoryActivity extends AppCompatActivity {
             return;
         }
 
+        pipeline = new ScreenPipeline(this);
         initViews();
+        loadStoredHeatHistory();
         loadHeatHistory();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (pipeline != null) {
+            pipeline.destroy();
+        }
+    }
+
     private void initViews() {
         recyclerView = findViewById(R.id.recyclerViewHeatHistory);
         progressBar = findViewById(R.id.progressBar);
         tvEmpty = findViewById(R.id.tvEmpty);
 
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new HeatCycleAdapter(new ArrayList<>());
+        adapter = new HeatCycleAdapter();
         recyclerView.setAdapter(adapter);
     }
 
+    // History saved on the device, shown until the network copy arrives
+    private void loadStoredHeatHistory() {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database == null) {
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            List<HeatCycle> cycles = database.heatCycles().getForDog(dogName, 20);
+            if (cycles.isEmpty()) {
+                return;
+            }
+            AppExecutors.mainThread().execute(() -> {
+                if (loadedFromNetwork) {
+                    return;
+                }
+                pipeline.submit("heatHistory", () -> HeatCycleAdapter.format(cycles), items -> {
+                    if (!loadedFromNetwork) {
+                        adapter.submitList(items);
+                        recyclerView.setVisibility(View.VISIBLE);
+                    }
+                });
+            });
+        });
+    }
+
+    private void saveHeatHistory(List<HeatCycle> cycles) {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database != null) {
+            AppExecutors.background().execute(() -> database.heatCycles().replaceForDog(dogName, cycles));
+        }
+    }
+
     private void loadHeatHistory() {
         progressBar.setVisibility(View.VISIBLE);
         tvEmpty.setVisibility(View.GONE);
 
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        ApiService apiService = RetrofitClient.getApiService();
         Call<HeatCyclesResponse> call = apiService.getHeatCycles(dogName, 20);
 
         call.enqueue(new Callback<HeatCyclesResponse>() {
@@ -76,11 +123,15 @@ public class HeatHistoryActivity extends AppCompatActivity {
                 progressBar.setVisibility(View.GONE);
 
                 if (response.isSuccessful() && response.body() != null) {
+                    loadedFromNetwork = true;
                     List<HeatCycle> cycles = response.body().getCycles();
+                    saveHeatHistory(cycles != null ? cycles : new ArrayList<>());
                     if (cycles != null && !cycles.isEmpty()) {
-                        adapter.updateData(cycles);
-                        recyclerView.setVisibility(View.VISIBLE);
-                        tvEmpty.setVisibility(View.GONE);
+                        pipeline.submit("heatHistory", () -> HeatCycleAdapter.format(cycles), items -> {
+                            adapter.submitList(items);
+                            recyclerView.setVisibility(View.VISIBLE);
+                            tvEmpty.setVisibility(View.GONE);
+                        });
                     } else {
                         showEmptyState();
                     }
@@ -1,32 +1,52 @@
 package org.caninecare.app.activities;
 
 import android.os.Bundle;
-import android.os.Handler;
+import android.util.Log;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 
+import com.github.mikephil.charting.charts.LineChart;
+
 import org.caninecare.app.R;
-import org.caninecare.app.api.ApiService;
+import org.caninecare.app.api.CallTracker;
 import org.caninecare.app.api.RetrofitClient;
-import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.api.SensorStreamClient;
+import org.caninecare.app.charts.SensorChart;
+import org.caninecare.app.data.SensorHistorySync;
+import org.caninecare.app.data.SensorPollScheduler;
+import org.caninecare.app.data.SensorRingBuffer;
 import org.caninecare.app.utils.ApiConfig;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import org.caninecare.app.utils.IsoTimestamps;
 
 /**
  * Home Activity - Real-time monitoring dashboard
+ *
+ * The live stream and fallback polling only run while the screen is visible
+ * (onStart..onStop); coming back triggers an immediate catch-up sync.
+ *
+ * Both feed the dog's own {@link SensorRingBuffer} (the dog saved in the
+ * profile), which the dashboard reads its values and live charts from.
  */
 public class HomeActivity extends AppCompatActivity {
 
+    private static final String TAG = "HomeActivity";
+    private static final String PREFS_NAME = "CanineCarePrefs";
+    private static final String KEY_DOG_NAME = "dog_name";
+
     private TextView tvTemperature, tvActivity, tvLocation, tvStatus;
     private SwipeRefreshLayout swipeRefresh;
-    private Handler handler;
-    private Runnable refreshRunnable;
+    private SensorStreamClient sensorStream;
+    private String dogName;
+    private SensorHistorySync historySync;
+    private SensorPollScheduler pollScheduler;
+    private SensorRingBuffer window;
+    private SensorChart temperatureChart, activityChart;
+    private long chartedUpTo = IsoTimestamps.INVALID; // newest window timestamp on the charts
+    private long[] plotTimestamps;
+    private float[] plotTemperatures, plotActivities;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -39,10 +59,38 @@ public class HomeActivity extends AppCompatActivity {
             getSupportActionBar().setTitle("Home Dashboard");
         }
 
+        dogName = getSharedPreferences(PREFS_NAME, MODE_PRIVATE).getString(KEY_DOG_NAME, "Max");
+        historySync = new SensorHistorySync(dogName);
+        window = historySync.getStore().getWindow();
+        pollScheduler = new SensorPollScheduler(historySync, syncListener);
+        
         initViews();
         setupSwipeRefresh();
-        startAutoRefresh();
+        setupLiveStream();
+        
+        // Last known reading from the device while the network catches up
+        historySync.restore(this::showStoredReading);
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // Catch up on whatever arrived while the screen was hidden
         loadSensorData();
+        sensorStream.start();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        sensorStream.stop();
+        pollScheduler.stop();
+        historySync.cancel();
+        swipeRefresh.setRefreshing(false);
+        
+        Log.d(TAG, "Stopped after " + pollScheduler.getPollCount() + " polls; "
+                + RetrofitClient.getCoalescer().getNetworkCallCount() + " network calls, "
+                + CallTracker.getCanceledCallCount() + " cancelled on stop");
     }
 
     private void initViews() {
@@ -51,6 +99,11 @@ public class HomeActivity extends AppCompatActivity {
         tvLocation = findViewById(R.id.tvLocation);
         tvStatus = findViewById(R.id.tvStatus);
         swipeRefresh = findViewById(R.id.swipeRefresh);
+        // Live charts cover what the window holds, so they stop growing with it
+        temperatureChart = SensorChart.temperature((LineChart) findViewById(R.id.chartTemperature))
+                .setCapacity(window.capacity());
+        activityChart = SensorChart.activity((LineChart) findViewById(R.id.chartActivity))
+                .setCapacity(window.capacity());
     }
 
     private void setupSwipeRefresh() {
@@ -59,50 +112,93 @@ public class HomeActivity extends AppCompatActivity {
         });
     }
 
-    private void startAutoRefresh() {
-        handler = new Handler();
-        refreshRunnable = new Runnable() {
+    private void setupLiveStream() {
+        sensorStream = new SensorStreamClient(dogName, new SensorStreamClient.Listener() {
             @Override
-            public void run() {
-                loadSensorData();
-                handler.postDelayed(this, ApiConfig.HOME_REFRESH_INTERVAL);
+            public void onStreamConnected() {
+                pollScheduler.stop();
+                tvStatus.setText("Status: Live");
+                tvStatus.setTextColor(getResources().getColor(R.color.healthNormal));
             }
-        };
-        handler.post(refreshRunnable);
-    }
-
-    private void loadSensorData() {
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
-        Call<SensorDataResponse> call = apiService.getSensorData(1);
 
-        call.enqueue(new Callback<SensorDataResponse>() {
             @Override
-            public void onResponse(Call<SensorDataResponse> call, Response<SensorDataResponse> response) {
-                swipeRefresh.setRefreshing(false);
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    SensorDataResponse data = response.body();
-                    if (data.getData() != null && !data.getData().isEmpty()) {
-                        updateUI(data.getData().get(0));
-                    } else {
-                        showNoDataMessage();
-                    }
-                } else {
-                    showError("Failed to load data");
-                }
+            public void onReading() {
+                // Already in the window and recorded by historySync
+                showLatest();
+                tvStatus.setText("Status: Live");
             }
 
             @Override
-            public void onFailure(Call<SensorDataResponse> call, Throwable t) {
-                swipeRefresh.setRefreshing(false);
-                showError("Connection error: " + t.getMessage());
+            public void onStreamUnavailable() {
+                // Polling is the fallback path, only used while the live stream is down
+                pollScheduler.start();
             }
         });
+        // Stored as they arrive, not just on the next sync
+        sensorStream.setRecorder(historySync::recordLive);
+    }
+
+    private void loadSensorData() {
+        // Only fetches readings newer than what the history store already holds
+        historySync.sync(syncListener);
+    }
+
+    private final SensorHistorySync.Listener syncListener = new SensorHistorySync.Listener() {
+        @Override
+        public void onSyncComplete(int newReadings) {
+            swipeRefresh.setRefreshing(false);
+            
+            if (!showLatest()) {
+                showNoDataMessage();
+            }
+        }
+
+        @Override
+        public void onSyncFailed(String message) {
+            swipeRefresh.setRefreshing(false);
+            showError(message);
+        }
+    };
+
+    private void showStoredReading() {
+        if (showLatest()) {
+            tvStatus.setText("Status: Last known reading");
+        }
     }
 
-    private void updateUI(SensorDataResponse.SensorData data) {
+    /**
+     * Shows the newest reading in the window; false if there is none yet.
+     */
+    private boolean showLatest() {
+        if (window.size() == 0) {
+            return false;
+        }
+        updateUI(window.lastTemperature(), window.lastActivity(), window.lastLatitude(), window.lastLongitude());
+        plotWindow();
+        return true;
+    }
+
+    /**
+     * Adds the window's readings newer than those already charted, as one
+     * batch per chart.
+     */
+    private void plotWindow() {
+        if (plotTimestamps == null) {
+            plotTimestamps = new long[window.capacity()];
+            plotTemperatures = new float[window.capacity()];
+            plotActivities = new float[window.capacity()];
+        }
+        int count = window.copyAfter(chartedUpTo, plotTimestamps, plotTemperatures, plotActivities);
+        if (count == 0) {
+            return;
+        }
+        temperatureChart.appendAll(plotTimestamps, plotTemperatures, count);
+        activityChart.appendAll(plotTimestamps, plotActivities, count);
+        chartedUpTo = plotTimestamps[count - 1];
+    }
+
+    private void updateUI(float temp, int activity, double lat, double lon) {
         // Update temperature
-        float temp = data.getTemperature();
         tvTemperature.setText(String.format("%.1f°C", temp));
         
         // Color code temperature
@@ -115,12 +211,9 @@ public class HomeActivity extends AppCompatActivity {
         }
 
         // Update activity
-        int activity = data.getActivityPercent();
         tvActivity.setText(activity + "%");
 
         // Update location
-        double lat = data.getLatitude();
-        double lon = data.getLongitude();
         if (lat != 0.0 && lon != 0.0) {
             tvLocation.setText(String.format("GPS: %.4f, %.4f", lat, lon));
         } else {
@@ -146,14 +239,6 @@ public class HomeActivity extends AppCompatActivity {
         tvStatus.setTextColor(getResources().getColor(R.color.healthDanger));
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (handler != null && refreshRunnable != null) {
-            handler.removeCallbacks(refreshRunnable);
-        }
-    }
-
     @Override
     public boolean onSupportNavigateUp() {
         finish();
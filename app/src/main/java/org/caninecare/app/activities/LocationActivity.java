@@ -11,6 +11,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import org.caninecare.app.R;
 import org.caninecare.app.api.ApiService;
+import org.caninecare.app.api.CallTracker;
 import org.caninecare.app.api.RetrofitClient;
 import org.caninecare.app.models.SensorDataResponse;
 
@@ -24,6 +25,8 @@ public class LocationActivity extends AppCompatActivity {
     private Button btnRefresh;
     private ProgressBar progressBar;
     private SensorDataResponse.SensorData currentData;
+    private final CallTracker calls = new CallTracker();
+    private boolean reloadOnStart;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -40,6 +43,25 @@ public class LocationActivity extends AppCompatActivity {
         loadLocationData();
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (reloadOnStart) {
+            reloadOnStart = false;
+            loadLocationData();
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Don't deliver into a hidden screen; pick the load up again on return
+        if (calls.getPendingCount() > 0) {
+            reloadOnStart = true;
+            calls.cancelAll();
+        }
+    }
+
     private void initViews() {
         tvLatitude = findViewById(R.id.tvLatitude);
         tvLongitude = findViewById(R.id.tvLongitude);
@@ -56,10 +78,10 @@ public class LocationActivity extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         btnRefresh.setEnabled(false);
         
-        ApiService apiService = RetrofitClient.getClient().create(ApiService.class);
+        ApiService apiService = RetrofitClient.getApiService();
         Call<SensorDataResponse> call = apiService.getSensorData(1);
 
-        call.enqueue(new Callback<SensorDataResponse>() {
+        calls.enqueue(call, new Callback<SensorDataResponse>() {
             @Override
             public void onResponse(Call<SensorDataResponse> call, Response<SensorDataResponse> response) {
                 progressBar.setVisibility(View.GONE);
@@ -0,0 +1,360 @@
+package org.caninecare.app.adapters;
+
+import android.content.res.Resources;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.caninecare.app.R;
+import org.caninecare.app.domain.DogAlert;
+import org.caninecare.app.domain.Severity;
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.utils.DisplayDates;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Alerts as a list of rows: one per health alert, followed by one per
+ * structured emergency it carries.
+ *
+ * Row text is built once when alerts are added ({@link Rows}), off the main
+ * thread, with the multi-line details as PrecomputedText so binding only
+ * sets ready values. Rows have stable ids derived from the alert, and
+ * {@link ListAdapter} diffs each new list on a background thread, so a
+ * refresh only rebinds the rows that changed.
+ */
+public class AlertsAdapter extends ListAdapter<AlertsAdapter.Row, RecyclerView.ViewHolder> {
+
+    public static final int TYPE_ALERT = 0;
+    public static final int TYPE_EMERGENCY = 1;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final DiffUtil.ItemCallback<Row> DIFF = new DiffUtil.ItemCallback<Row>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row oldRow, @NonNull Row newRow) {
+            return oldRow.id == newRow.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row oldRow, @NonNull Row newRow) {
+            return oldRow.equals(newRow);
+        }
+    };
+
+    public AlertsAdapter() {
+        super(DIFF);
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).id;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getItem(position).type;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == TYPE_EMERGENCY) {
+            return new EmergencyViewHolder(inflater.inflate(R.layout.item_emergency, parent, false));
+        }
+        return new AlertViewHolder(inflater.inflate(R.layout.item_alert, parent, false));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        Row row = getItem(position);
+        if (holder instanceof EmergencyViewHolder) {
+            EmergencyViewHolder emergency = (EmergencyViewHolder) holder;
+            emergency.tvType.setText(row.title);
+            emergency.tvMessage.setText(row.details);
+            emergency.tvAction.setText(row.footer);
+        } else {
+            AlertViewHolder alert = (AlertViewHolder) holder;
+            alert.tvTitle.setText(row.title);
+            alert.tvLevel.setText(row.level);
+            alert.tvLevel.setTextColor(row.levelColor);
+            if (row.details instanceof PrecomputedTextCompat) {
+                TextViewCompat.setPrecomputedText(alert.tvDetails, (PrecomputedTextCompat) row.details);
+            } else {
+                alert.tvDetails.setText(row.details);
+            }
+            alert.tvDetails.setVisibility(row.detailsText.isEmpty() ? View.GONE : View.VISIBLE);
+            alert.tvTime.setText(row.footer);
+            alert.tvTime.setVisibility(row.footer.isEmpty() ? View.GONE : View.VISIBLE);
+        }
+    }
+
+    /**
+     * Text metrics to precompute details with, from an item view inflated
+     * with the same parent as the list's rows. Call on the main thread.
+     */
+    public static PrecomputedTextCompat.Params detailsParams(View alertItem) {
+        return TextViewCompat.getTextMetricsParams(alertItem.findViewById(R.id.tvAlertDetails));
+    }
+
+    /**
+     * Color resource for a severity, shared with the other screens that show one.
+     */
+    public static int severityColor(Severity severity) {
+        switch (severity) {
+            case CRITICAL:
+                return R.color.severityCritical;
+            case HIGH:
+                return R.color.severityHigh;
+            case MEDIUM:
+                return R.color.severityMedium;
+            case LOW:
+            default:
+                return R.color.severityLow;
+        }
+    }
+
+    /**
+     * One line of the list, with its text ready to bind. Equal rows show the
+     * same thing.
+     */
+    public static final class Row {
+        final long id;
+        final int type;
+        final String title;
+        final String level;
+        final int levelColor;
+        final String detailsText;
+        final CharSequence details; // detailsText, precomputed when possible
+        final String footer;
+
+        Row(long id, int type, String title, String level, int levelColor,
+            String detailsText, CharSequence details, String footer) {
+            this.id = id;
+            this.type = type;
+            this.title = title;
+            this.level = level;
+            this.levelColor = levelColor;
+            this.detailsText = detailsText;
+            this.details = details;
+            this.footer = footer;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Row)) return false;
+            Row row = (Row) o;
+            return id == row.id && type == row.type && title.equals(row.title) && level.equals(row.level)
+                    && levelColor == row.levelColor && detailsText.equals(row.detailsText)
+                    && footer.equals(row.footer);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, type, title, level, levelColor, detailsText, footer);
+        }
+    }
+
+    /**
+     * Rows for alerts added in order. A row's id is the alert's id, or for
+     * alerts saved before the backend gave them one a hash of the dog, time
+     * and status; repeats get the next free id. Each alert is decoded into a
+     * {@link DogAlert} once and the row built from that. Nothing in a row depends on
+     * its position, so a refresh that shifts the list leaves existing rows
+     * unchanged.
+     */
+    public static final class Rows {
+        private final Resources resources;
+        private final PrecomputedTextCompat.Params detailsParams;
+        private final List<Row> rows = new ArrayList<>();
+        private final Set<Long> ids = new HashSet<>();
+        private int alertCount;
+
+        /**
+         * Safe to fill on a background thread.
+         *
+         * @param detailsParams text metrics of the details view (see
+         *                      {@link #detailsParams(View)}), or null to
+         *                      skip precomputing
+         */
+        public Rows(Resources resources, PrecomputedTextCompat.Params detailsParams) {
+            this.resources = resources;
+            this.detailsParams = detailsParams;
+        }
+
+        public void clear() {
+            rows.clear();
+            ids.clear();
+            alertCount = 0;
+        }
+
+        public int alertCount() {
+            return alertCount;
+        }
+
+        /**
+         * A copy to hand to {@link AlertsAdapter#submitList}; the adapter must not see
+         * later additions before it diffs them.
+         */
+        public List<Row> snapshot() {
+            return new ArrayList<>(rows);
+        }
+
+        public void addAll(List<AlertsResponse.Alert> alerts) {
+            for (AlertsResponse.Alert alert : alerts) {
+                if (alert != null) {
+                    add(DogAlert.from(alert));
+                }
+            }
+        }
+
+        private void add(DogAlert alert) {
+            alertCount++;
+
+            Severity severity = alert.getSeverity();
+            String title = alert.getStatusLabel() != null ? alert.getStatusLabel() : "Alert";
+            long alertId = uniqueId(alert.getId() > 0 ? alert.getId()
+                    : hash(hash(hash(FNV_OFFSET, alert.getDogName()), alert.getTimestampMillis()), title));
+
+            StringBuilder details = new StringBuilder();
+            if (alert.getTemperature() > 0) {
+                line(details).append("Temperature: ")
+                        .append(String.format(Locale.getDefault(), "%.1f°C", alert.getTemperature()));
+            }
+            if (alert.getActivityPercent() > 0) {
+                line(details).append("Activity: ")
+                        .append(String.format(Locale.getDefault(), "%.0f%%", alert.getActivityPercent()));
+            }
+            if (alert.getImmobileSeconds() > 0) {
+                line(details).append("Immobile: ").append(alert.getImmobileSeconds() / 60).append(" minutes");
+            }
+            for (String message : alert.getMessages()) {
+                line(details).append("• ").append(message);
+            }
+
+            String detailsText = details.toString();
+            rows.add(new Row(alertId, TYPE_ALERT,
+                    getSeverityEmoji(severity) + " " + title,
+                    severity.name(),
+                    resources.getColor(severityColor(severity), null),
+                    detailsText,
+                    detailsParams != null && !detailsText.isEmpty()
+                            ? PrecomputedTextCompat.create(detailsText, detailsParams) : detailsText,
+                    DisplayDates.dateTime(alert.getTimestampMillis(), "")));
+
+            if (!alert.getEmergencies().isEmpty()) {
+                int index = 0;
+                for (DogAlert.Emergency emergency : alert.getEmergencies()) {
+                    String message = "⚠️ " + emergency.getMessage();
+                    rows.add(new Row(uniqueId(hash(alertId, ++index)), TYPE_EMERGENCY,
+                            "🚨 " + emergency.getType(),
+                            "",
+                            0,
+                            message,
+                            message,
+                            "➤ " + emergency.getAction()));
+                }
+            }
+        }
+
+        private long uniqueId(long id) {
+            while (id == RecyclerView.NO_ID || !ids.add(id)) {
+                id = hash(id, 1);
+            }
+            return id;
+        }
+
+        private static StringBuilder line(StringBuilder text) {
+            return text.length() > 0 ? text.append('\n') : text;
+        }
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            return hash(hash, 0);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0x1f) * FNV_PRIME;
+    }
+
+    private static long hash(long hash, long value) {
+        return hash(hash(hash, (int) value), (int) (value >>> 32));
+    }
+
+    private static long hash(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String getSeverityEmoji(Severity severity) {
+        switch (severity) {
+            case CRITICAL:
+                return "🚨";
+            case HIGH:
+                return "⚠️";
+            case MEDIUM:
+                return "⚡";
+            case LOW:
+            default:
+                return "ℹ️";
+        }
+    }
+
+    static class AlertViewHolder extends RecyclerView.ViewHolder {
+        TextView tvTitle;
+        TextView tvLevel;
+        TextView tvDetails;
+        TextView tvTime;
+
+        AlertViewHolder(View itemView) {
+            super(itemView);
+            tvTitle = itemView.findViewById(R.id.tvAlertTitle);
+            tvLevel = itemView.findViewById(R.id.tvAlertLevel);
+            tvDetails = itemView.findViewById(R.id.tvAlertDetails);
+            tvTime = itemView.findViewById(R.id.tvAlertTime);
+        }
+    }
+
+    static class EmergencyViewHolder extends RecyclerView.ViewHolder {
+        TextView tvType;
+        TextView tvMessage;
+        TextView tvAction;
+
+        EmergencyViewHolder(View itemView) {
+            super(itemView);
+            tvType = itemView.findViewById(R.id.tvEmergencyType);
+            tvMessage = itemView.findViewById(R.id.tvEmergencyMessage);
+            tvAction = itemView.findViewById(R.id.tvEmergencyAction);
+        }
+    }
+}
@@ -8,28 +8,78 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import org.caninecare.app.R;
+import org.caninecare.app.domain.HeatPrediction;
+import org.caninecare.app.domain.Severity;
 import org.caninecare.app.models.HeatCycle;
+import org.caninecare.app.utils.DisplayDates;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
+/**
+ * Heat cycle history. Items are formatted up front with {@link #format(List)},
+ * off the main thread, so binding only sets text and a color.
+ *
+ * Items are keyed by the cycle's id, with stable ids, and each new list is
+ * diffed on a background thread by {@link AsyncListDiffer}. A changed item
+ * carries which of its fields changed as the payload, and only those views
+ * are updated.
+ */
 public class HeatCycleAdapter extends RecyclerView.Adapter<HeatCycleAdapter.ViewHolder> {
 
-    private List<HeatCycle> cycles;
+    private static final int CHANGED_TYPE = 1;
+    private static final int CHANGED_VALUE = 1 << 1;
+    private static final int CHANGED_ESTIMATED_DATE = 1 << 2;
+    private static final int CHANGED_STATUS = 1 << 3;
+    private static final int CHANGED_CREATED_AT = 1 << 4;
+    private static final int CHANGED_COLOR = 1 << 5;
+    private static final int CHANGED_ALL = (1 << 6) - 1;
 
-    public HeatCycleAdapter(List<HeatCycle> cycles) {
-        this.cycles = cycles;
+    private static final int COLOR_NONE = Color.parseColor("#E3F2FD"); // Light blue
+    private static final int COLOR_HIGH = Color.parseColor("#FFEBEE"); // Light red
+    private static final int COLOR_MEDIUM = Color.parseColor("#FFF3E0"); // Light orange
+    private static final int COLOR_LOW = Color.parseColor("#E8F5E9"); // Light green
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final DiffUtil.ItemCallback<Item> DIFF = new DiffUtil.ItemCallback<Item>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Item oldItem, @NonNull Item newItem) {
+            return oldItem.id == newItem.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Item oldItem, @NonNull Item newItem) {
+            return oldItem.changes(newItem) == 0;
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull Item oldItem, @NonNull Item newItem) {
+            return oldItem.changes(newItem);
+        }
+    };
+
+    private final AsyncListDiffer<Item> differ = new AsyncListDiffer<>(this, DIFF);
+
+    public HeatCycleAdapter() {
+        setHasStableIds(true);
     }
 
-    public void updateData(List<HeatCycle> newCycles) {
-        this.cycles = newCycles;
-        notifyDataSetChanged();
+    /**
+     * Shows the items; the list must not be changed afterwards.
+     */
+    public void submitList(List<Item> items) {
+        differ.submitList(items);
     }
 
     @NonNull
@@ -42,62 +92,141 @@ public class HeatCycleAdapter extends RecyclerView.Adapter<HeatCycleAdapter.View
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        HeatCycle cycle = cycles.get(position);
-        
-        holder.tvPredictionType.setText(cycle.getPredictionType());
-        holder.tvPredictionValue.setText(String.format(Locale.getDefault(), 
-            "%.1f %s", cycle.getPredictionValue(), cycle.getPredictionUnit()));
-        holder.tvEstimatedDate.setText("Est. Date: " + formatDate(cycle.getEstimatedDate()));
-        holder.tvFertilityStatus.setText(cycle.getFertilityStatus());
-        holder.tvCreatedAt.setText("Recorded: " + formatDate(cycle.getCreatedAt()));
-        
-        // Set color based on alert level
-        int color = getColorForAlertLevel(cycle.getAlertLevel());
-        holder.cardView.setCardBackgroundColor(color);
+        bind(holder, differ.getCurrentList().get(position), CHANGED_ALL);
     }
 
     @Override
-    public int getItemCount() {
-        return cycles.size();
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        int changed = 0;
+        for (Object payload : payloads) {
+            changed |= payload instanceof Integer ? (Integer) payload : CHANGED_ALL;
+        }
+        bind(holder, differ.getCurrentList().get(position), changed);
     }
 
-    private String formatDate(String dateStr) {
-        if (dateStr == null || dateStr.isEmpty()) {
-            return "N/A";
+    private static void bind(ViewHolder holder, Item item, int changed) {
+        if ((changed & CHANGED_TYPE) != 0) {
+            holder.tvPredictionType.setText(item.predictionType);
         }
-        
-        try {
-            // Try parsing ISO format
-            SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-            Date date = inputFormat.parse(dateStr);
-            SimpleDateFormat outputFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
-            return outputFormat.format(date);
-        } catch (ParseException e) {
-            try {
-                // Try parsing date only format
-                SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-                Date date = inputFormat.parse(dateStr);
-                SimpleDateFormat outputFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
-                return outputFormat.format(date);
-            } catch (ParseException ex) {
-                return dateStr;
+        if ((changed & CHANGED_VALUE) != 0) {
+            holder.tvPredictionValue.setText(item.predictionValue);
+        }
+        if ((changed & CHANGED_ESTIMATED_DATE) != 0) {
+            holder.tvEstimatedDate.setText(item.estimatedDate);
+        }
+        if ((changed & CHANGED_STATUS) != 0) {
+            holder.tvFertilityStatus.setText(item.fertilityStatus);
+        }
+        if ((changed & CHANGED_CREATED_AT) != 0) {
+            holder.tvCreatedAt.setText(item.createdAt);
+        }
+        if ((changed & CHANGED_COLOR) != 0) {
+            holder.cardView.setCardBackgroundColor(item.color);
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).id;
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    /**
+     * Builds the items for the cycles; safe to call on a background thread.
+     */
+    public static List<Item> format(List<HeatCycle> cycles) {
+        Set<Long> ids = new HashSet<>();
+        List<Item> items = new ArrayList<>(cycles.size());
+        for (HeatCycle cycle : cycles) {
+            if (cycle == null) {
+                continue;
+            }
+            HeatPrediction prediction = HeatPrediction.from(cycle);
+            // Cycles saved without an id are keyed by what they predicted and when
+            long id = prediction.getId() != null ? hash(FNV_OFFSET, prediction.getId())
+                    : hash(hash(FNV_OFFSET ^ 1, prediction.getType()), cycle.getCreatedAt());
+            while (id == RecyclerView.NO_ID || !ids.add(id)) {
+                id = hash(id, "");
             }
+            items.add(new Item(id,
+                    prediction.getType(),
+                    String.format(Locale.getDefault(), "%.1f %s", prediction.getValue(), prediction.getUnit()),
+                    "Est. Date: " + DisplayDates.date(prediction.getEstimatedDateMillis(), "N/A"),
+                    prediction.getFertilityStatus(),
+                    "Recorded: " + DisplayDates.date(prediction.getCreatedAtMillis(), "N/A"),
+                    getColorForAlertLevel(prediction.getAlertLevel())));
         }
+        return items;
     }
 
-    private int getColorForAlertLevel(String alertLevel) {
+    private static int getColorForAlertLevel(Severity alertLevel) {
         if (alertLevel == null) {
-            return Color.parseColor("#E3F2FD"); // Light blue
+            return COLOR_NONE;
         }
         
-        switch (alertLevel.toLowerCase()) {
-            case "high":
-                return Color.parseColor("#FFEBEE"); // Light red
-            case "medium":
-                return Color.parseColor("#FFF3E0"); // Light orange
-            case "low":
+        switch (alertLevel) {
+            case CRITICAL:
+            case HIGH:
+                return COLOR_HIGH;
+            case MEDIUM:
+                return COLOR_MEDIUM;
+            case LOW:
             default:
-                return Color.parseColor("#E8F5E9"); // Light green
+                return COLOR_LOW;
+        }
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ 0x1f) * FNV_PRIME;
+    }
+
+    /**
+     * One heat cycle, with its text ready to bind.
+     */
+    public static final class Item {
+        final long id;
+        final String predictionType;
+        final String predictionValue;
+        final String estimatedDate;
+        final String fertilityStatus;
+        final String createdAt;
+        final int color;
+
+        Item(long id, String predictionType, String predictionValue, String estimatedDate,
+             String fertilityStatus, String createdAt, int color) {
+            this.id = id;
+            this.predictionType = predictionType;
+            this.predictionValue = predictionValue;
+            this.estimatedDate = estimatedDate;
+            this.fertilityStatus = fertilityStatus;
+            this.createdAt = createdAt;
+            this.color = color;
+        }
+
+        // Which fields differ from the other item, as CHANGED_* flags
+        int changes(Item other) {
+            int changed = 0;
+            if (!Objects.equals(predictionType, other.predictionType)) changed |= CHANGED_TYPE;
+            if (!predictionValue.equals(other.predictionValue)) changed |= CHANGED_VALUE;
+            if (!estimatedDate.equals(other.estimatedDate)) changed |= CHANGED_ESTIMATED_DATE;
+            if (!Objects.equals(fertilityStatus, other.fertilityStatus)) changed |= CHANGED_STATUS;
+            if (!createdAt.equals(other.createdAt)) changed |= CHANGED_CREATED_AT;
+            if (color != other.color) changed |= CHANGED_COLOR;
+            return changed;
         }
     }
 
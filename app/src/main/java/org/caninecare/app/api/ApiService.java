@@ -3,6 +3,7 @@ package org.caninecare.app.api;
 import org.caninecare.app.models.SensorDataResponse;
 import org.caninecare.app.models.HealthCheckRequest;
 import org.caninecare.app.models.HealthCheckResponse;
+import org.caninecare.app.models.HealthRuleSet;
 import org.caninecare.app.models.FertilityRequest;
 import org.caninecare.app.models.FertilityResponse;
 import org.caninecare.app.models.AlertsResponse;
@@ -11,39 +12,72 @@ import org.caninecare.app.models.DogProfileResponse;
 import org.caninecare.app.models.HeatCyclesResponse;
 import org.caninecare.app.activities.DogProfileActivity;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 /**
  * API Service interface for Retrofit
  */
 public interface ApiService {
     
+    // Writes carry a client-generated key so a retry is applied only once
+    String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
+    // Prefer the compact MessagePack encoding; JSON is the fallback (see WireFormat)
+    String ACCEPT_BINARY = "Accept: " + WireFormat.MSGPACK + ", application/json;q=0.5";
+    
+    @Headers(ACCEPT_BINARY)
     @GET("sensor-data")
     Call<SensorDataResponse> getSensorData(@Query("limit") int limit);
     
+    // Readings newer than the cursor (a reading timestamp), oldest first; null means latest
+    @Headers(ACCEPT_BINARY)
+    @GET("sensor-data")
+    Call<SensorDataResponse> getSensorDataSince(@Query("since") String since, @Query("limit") int limit);
+    
     @POST("health-check")
     Call<HealthCheckResponse> checkHealth(@Body HealthCheckRequest request);
     
+    // Rules behind health-check, evaluated on the device (see HealthRules)
+    @GET("health-rules")
+    Call<HealthRuleSet> getHealthRules();
+    
     @POST("predict-fertility")
-    Call<FertilityResponse> predictFertility(@Body FertilityRequest request);
+    Call<FertilityResponse> predictFertility(@Header(IDEMPOTENCY_KEY) String idempotencyKey,
+                                             @Body FertilityRequest request);
+    
+    // Exported fertility model (see FertilityModels); the ETag is the model version.
+    // Too big for the HTTP cache, the app stores it itself
+    @Streaming
+    @Headers("Cache-Control: no-store")
+    @GET("fertility-model")
+    Call<ResponseBody> downloadFertilityModel(@Header("If-None-Match") String etag);
     
+    // A page of alerts, oldest first: older than before, newer than after, or the newest
+    @Headers(ACCEPT_BINARY)
     @GET("alerts")
-    Call<AlertsResponse> getAlerts(@Query("limit") int limit);
+    Call<AlertsResponse> getAlertsPage(@Query("before") Long before, @Query("after") Long after,
+                                       @Query("limit") int limit);
     
     @GET("health")
     Call<ApiHealthResponse> checkApiHealth();
     
     @POST("dog-profile")
-    Call<DogProfileResponse> createOrUpdateProfile(@Body DogProfile profile);
+    Call<DogProfileResponse> createOrUpdateProfile(@Header(IDEMPOTENCY_KEY) String idempotencyKey,
+                                                   @Body DogProfile profile);
     
     @GET("dog-profile/{name}")
     Call<DogProfile> getDogProfile(@Path("name") String name);
     
+    @Headers(ACCEPT_BINARY)
     @GET("heat-cycles/{name}")
     Call<HeatCyclesResponse> getHeatCycles(@Path("name") String name, @Query("limit") int limit);
     
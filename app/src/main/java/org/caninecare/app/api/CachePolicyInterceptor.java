@@ -0,0 +1,56 @@
+package org.caninecare.app.api;
+
+import androidx.annotation.NonNull;
+
+import org.caninecare.app.utils.ApiConfig;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that applies per-endpoint freshness to reference data
+ * (breeds, dog profiles, heat cycles, health rules) when the backend doesn't send its own
+ * Cache-Control. Once a cached copy expires OkHttp revalidates it with
+ * If-None-Match / If-Modified-Since, so unchanged data comes back as a 304.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || response.header("Cache-Control") != null) {
+            return response;
+        }
+
+        long maxAge = maxAgeFor(request.url().encodedPath());
+        if (maxAge < 0) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", "private, max-age=" + maxAge)
+                .build();
+    }
+
+    /**
+     * Freshness in seconds for the given path, or -1 to leave the response alone.
+     */
+    static long maxAgeFor(String path) {
+        if (path.endsWith("/" + ApiConfig.BREEDS)) {
+            return ApiConfig.CACHE_MAX_AGE_BREEDS;
+        } else if (path.contains("/dog-profile/")) {
+            return ApiConfig.CACHE_MAX_AGE_DOG_PROFILE;
+        } else if (path.contains("/heat-cycles/")) {
+            return ApiConfig.CACHE_MAX_AGE_HEAT_CYCLES;
+        } else if (path.endsWith("/" + ApiConfig.HEALTH_RULES)) {
+            return ApiConfig.CACHE_MAX_AGE_HEALTH_RULES;
+        }
+        return -1;
+    }
+}
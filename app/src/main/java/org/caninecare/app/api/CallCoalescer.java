@@ -0,0 +1,252 @@
+package org.caninecare.app.api;
+
+import org.caninecare.app.utils.AppExecutors;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Streaming;
+
+/**
+ * Single-flight wrapper around {@link ApiService}.
+ *
+ * Concurrent GET calls for the same URL share one network request and the
+ * result is fanned out to every caller's {@link Callback}. Non-GET calls and
+ * streaming calls go straight to the wrapped service.
+ */
+public class CallCoalescer implements InvocationHandler {
+
+    private final ApiService delegate;
+    private final ApiService service;
+    private final Map<String, InFlight<?>> inFlight = new HashMap<>();
+
+    private final AtomicLong networkCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    public CallCoalescer(ApiService delegate) {
+        this.delegate = delegate;
+        this.service = (ApiService) Proxy.newProxyInstance(
+                ApiService.class.getClassLoader(),
+                new Class<?>[]{ApiService.class},
+                this);
+    }
+
+    /**
+     * Returns the coalescing view of the wrapped service.
+     */
+    public ApiService getService() {
+        return service;
+    }
+
+    /**
+     * Number of calls that actually went to the network.
+     */
+    public long getNetworkCallCount() {
+        return networkCalls.get();
+    }
+
+    /**
+     * Number of calls that were served by joining a request already in flight.
+     */
+    public long getCoalescedCallCount() {
+        return coalescedCalls.get();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+
+        Object result;
+        try {
+            result = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        if (result instanceof Call
+                && method.isAnnotationPresent(GET.class)
+                && !method.isAnnotationPresent(Streaming.class)) {
+            return new CoalescedCall<>((Call<?>) result);
+        }
+        return result;
+    }
+
+    private static String keyFor(Request request) {
+        // Cache-Control is part of the key so a cache-only read never joins a network read
+        String cacheControl = request.header("Cache-Control");
+        return request.method() + " " + request.url()
+                + (cacheControl != null ? " " + cacheControl : "");
+    }
+
+    /**
+     * One real network request and the callers waiting on it.
+     */
+    private class InFlight<T> implements Callback<T> {
+        final String key;
+        final Call<T> call;
+        final List<CoalescedCall<T>> waiters = new ArrayList<>();
+
+        InFlight(String key, Call<T> call) {
+            this.key = key;
+            this.call = call;
+        }
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            for (CoalescedCall<T> waiter : finish()) {
+                waiter.callback.onResponse(waiter, response);
+            }
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            for (CoalescedCall<T> waiter : finish()) {
+                waiter.callback.onFailure(waiter, t);
+            }
+        }
+
+        private List<CoalescedCall<T>> finish() {
+            synchronized (inFlight) {
+                if (inFlight.get(key) == this) {
+                    inFlight.remove(key);
+                }
+                List<CoalescedCall<T>> done = new ArrayList<>(waiters);
+                waiters.clear();
+                return done;
+            }
+        }
+    }
+
+    /**
+     * The {@link Call} handed to callers. Enqueueing joins an identical request
+     * in flight if there is one; cancelling only detaches this caller, and the
+     * shared request is cancelled once nobody is waiting on it.
+     *
+     * Note: every waiter receives the same {@link Response}, so an error body
+     * can only be read by one of them.
+     */
+    private class CoalescedCall<T> implements Call<T> {
+        private final Call<T> call;
+        private Callback<T> callback;
+        private InFlight<T> joined;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+
+        CoalescedCall(Call<T> call) {
+            this.call = call;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            markExecuted();
+            networkCalls.incrementAndGet();
+            return call.execute();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void enqueue(Callback<T> callback) {
+            markExecuted();
+            this.callback = callback;
+
+            String key = keyFor(call.request());
+            InFlight<T> started = null;
+            synchronized (inFlight) {
+                InFlight<T> existing = (InFlight<T>) inFlight.get(key);
+                if (existing != null) {
+                    coalescedCalls.incrementAndGet();
+                    joined = existing;
+                } else {
+                    networkCalls.incrementAndGet();
+                    started = new InFlight<>(key, call);
+                    inFlight.put(key, started);
+                    joined = started;
+                }
+                joined.waiters.add(this);
+            }
+            if (started != null) {
+                started.call.enqueue(started);
+            }
+        }
+
+        private void markExecuted() {
+            synchronized (this) {
+                if (executed) {
+                    throw new IllegalStateException("Already executed.");
+                }
+                executed = true;
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        /**
+         * Like an OkHttp call cancelled while queued or running, a waiting
+         * caller gets onFailure with IOException("Canceled"), on the main
+         * thread where Retrofit delivers the shared request's callbacks.
+         */
+        @Override
+        public void cancel() {
+            canceled = true;
+            Call<T> orphaned = null;
+            boolean detached = false;
+            synchronized (inFlight) {
+                if (joined == null) {
+                    orphaned = call;
+                } else if (joined.waiters.remove(this)) {
+                    detached = true;
+                    if (joined.waiters.isEmpty()) {
+                        inFlight.remove(joined.key);
+                        orphaned = joined.call;
+                    }
+                }
+            }
+            if (orphaned != null) {
+                orphaned.cancel();
+            }
+            if (detached) {
+                IOException canceled = new IOException("Canceled");
+                AppExecutors.mainThread().execute(() -> callback.onFailure(this, canceled));
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new CoalescedCall<>(call.clone());
+        }
+
+        @Override
+        public Request request() {
+            return call.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return call.timeout();
+        }
+    }
+}
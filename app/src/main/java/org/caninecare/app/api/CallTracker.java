@@ -0,0 +1,66 @@
+package org.caninecare.app.api;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Pending calls owned by one screen (or loader), cancelled together when it
+ * stops so responses never reach views nobody is looking at.
+ *
+ * A cancelled call reports nothing: its callback gets neither the response
+ * nor the "Canceled" IOException OkHttp raises.
+ *
+ * Use from the main thread only (Retrofit delivers callbacks there).
+ */
+public class CallTracker {
+
+    private static final AtomicLong canceledCalls = new AtomicLong();
+
+    private final Set<Call<?>> pending = new HashSet<>();
+
+    public <T> void enqueue(Call<T> call, Callback<T> callback) {
+        pending.add(call);
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> c, Response<T> response) {
+                if (pending.remove(call) && !call.isCanceled()) {
+                    callback.onResponse(c, response);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> c, Throwable t) {
+                if (pending.remove(call) && !call.isCanceled()) {
+                    callback.onFailure(c, t);
+                }
+            }
+        });
+    }
+
+    public void cancelAll() {
+        List<Call<?>> calls = new ArrayList<>(pending);
+        pending.clear();
+        for (Call<?> call : calls) {
+            call.cancel();
+        }
+        canceledCalls.addAndGet(calls.size());
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Calls cancelled by any tracker since the process started.
+     */
+    public static long getCanceledCallCount() {
+        return canceledCalls.get();
+    }
+}
@@ -0,0 +1,65 @@
+package org.caninecare.app.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Response converter that decodes MessagePack or JSON bodies, depending on the
+ * Content-Type the server answered with, through the same Gson TypeAdapters.
+ *
+ * Register before GsonConverterFactory; request bodies are left to Gson.
+ */
+public class NegotiatingConverterFactory extends Converter.Factory {
+
+    private final Gson gson;
+
+    public static NegotiatingConverterFactory create(Gson gson) {
+        return new NegotiatingConverterFactory(gson);
+    }
+
+    private NegotiatingConverterFactory(Gson gson) {
+        this.gson = gson;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (type == ResponseBody.class || type == Void.class) {
+            return null;
+        }
+        return new BodyConverter<>(gson.getAdapter(TypeToken.get(type)));
+    }
+
+    private class BodyConverter<T> implements Converter<ResponseBody, T> {
+        private final TypeAdapter<T> adapter;
+
+        BodyConverter(TypeAdapter<T> adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public T convert(ResponseBody body) throws IOException {
+            JsonReader reader = WireFormat.newReader(gson, body);
+            try {
+                T result = adapter.read(reader);
+                if (reader.peek() != JsonToken.END_DOCUMENT) {
+                    throw new JsonIOException("Response body not fully consumed.");
+                }
+                return result;
+            } finally {
+                body.close();
+            }
+        }
+    }
+}
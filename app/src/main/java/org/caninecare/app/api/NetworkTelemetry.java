@@ -0,0 +1,495 @@
+package org.caninecare.app.api;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Where the time and bytes of each API call go, per {@link ApiService}
+ * method, from OkHttp's call events.
+ *
+ * Each call gets its own listener, which times the phases it goes through
+ * and adds them to its endpoint's {@link LatencyHistogram}s:
+ * - DNS, CONNECT, TLS: only when a new connection is opened
+ * - REQUEST: writing the request headers and body
+ * - FIRST_BYTE: from the end of the request to the response headers
+ * - BODY: from the first read of the response body to its end, by
+ *   whoever reads it first (see below)
+ * - TOTAL: the whole call, including retries and follow-ups
+ * A retried call goes through the network phases more than once.
+ *
+ * BODY times the read, not a particular reader. Retrofit reads the body of
+ * an ordinary call in full before its converter runs, so there BODY is the
+ * transfer; for a {@code @Streaming} call it also covers decoding, as the
+ * caller pulls rows from the stream. An interceptor that reads the body
+ * ahead of the caller takes the read over: with HttpLoggingInterceptor at
+ * BODY level, BODY would time the logger's read and the app's decoding
+ * would not show up at all. RetrofitClient logs headers only, partly for
+ * this reason.
+ *
+ * Alongside are header and body bytes each way, how many connections were
+ * reused, cache hits, and failures by cause: the exception for calls that
+ * failed, "HTTP nnn" for error responses. Everything is counted with atomics,
+ * so calls never wait on each other or on a {@link #snapshot()}.
+ *
+ * Calls made without Retrofit (the sensor stream) are keyed by method and
+ * path instead.
+ */
+public final class NetworkTelemetry implements EventListener.Factory {
+
+    public enum Phase {
+        DNS, CONNECT, TLS, REQUEST, FIRST_BYTE, BODY, TOTAL
+    }
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @NonNull
+    @Override
+    public EventListener create(@NonNull Call call) {
+        return new CallListener();
+    }
+
+    public Snapshot snapshot() {
+        Map<String, EndpointSnapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+        }
+        return new Snapshot(System.currentTimeMillis(), snapshots);
+    }
+
+    /**
+     * Drops everything counted so far, e.g. between load test runs.
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    static String endpointName(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            return invocation.method().getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+
+    private static String failureCause(Call call, IOException e) {
+        if (call.isCanceled()) {
+            return "Canceled";
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    private static final class Endpoint {
+        final EnumMap<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong requestBytes = new AtomicLong();
+        final AtomicLong responseBytes = new AtomicLong();
+        final AtomicLong connections = new AtomicLong();
+        final AtomicLong reusedConnections = new AtomicLong();
+        final AtomicLong cacheHits = new AtomicLong();
+        final AtomicLong conditionalCacheHits = new AtomicLong();
+        final ConcurrentMap<String, AtomicLong> failureCauses = new ConcurrentHashMap<>();
+
+        Endpoint() {
+            // Filled before the endpoint is published and never changed, so
+            // reading it from any thread is safe
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        void record(Phase phase, long startNanos, long endNanos) {
+            phases.get(phase).record(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos));
+        }
+
+        void fail(String cause) {
+            failures.incrementAndGet();
+            AtomicLong count = failureCauses.get(cause);
+            if (count == null) {
+                AtomicLong created = new AtomicLong();
+                count = failureCauses.putIfAbsent(cause, created);
+                if (count == null) {
+                    count = created;
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        EndpointSnapshot snapshot(String name) {
+            EnumMap<Phase, LatencyHistogram.Snapshot> histograms = new EnumMap<>(Phase.class);
+            for (Map.Entry<Phase, LatencyHistogram> entry : phases.entrySet()) {
+                histograms.put(entry.getKey(), entry.getValue().snapshot());
+            }
+            Map<String, Long> causes = new TreeMap<>();
+            for (Map.Entry<String, AtomicLong> entry : failureCauses.entrySet()) {
+                causes.put(entry.getKey(), entry.getValue().get());
+            }
+            return new EndpointSnapshot(name, calls.get(), failures.get(), requestBytes.get(),
+                    responseBytes.get(), connections.get(), reusedConnections.get(), cacheHits.get(),
+                    conditionalCacheHits.get(), histograms, causes);
+        }
+    }
+
+    /**
+     * Events of one call. OkHttp delivers them in order, one at a time.
+     */
+    private final class CallListener extends EventListener {
+        private Endpoint endpoint;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestStart;
+        private long requestEnd;
+        private long bodyStart;
+        private boolean connecting;
+        private boolean failed;
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            String name = endpointName(call.request());
+            Endpoint existing = endpoints.get(name);
+            if (existing == null) {
+                Endpoint created = new Endpoint();
+                existing = endpoints.putIfAbsent(name, created);
+                if (existing == null) {
+                    existing = created;
+                }
+            }
+            endpoint = existing;
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                           @NonNull List<InetAddress> inetAddressList) {
+            endpoint.record(Phase.DNS, dnsStart, System.nanoTime());
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                                 @NonNull Proxy proxy) {
+            connectStart = System.nanoTime();
+            connecting = true;
+        }
+
+        @Override
+        public void secureConnectStart(@NonNull Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+            endpoint.record(Phase.TLS, secureConnectStart, System.nanoTime());
+        }
+
+        @Override
+        public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                               @NonNull Proxy proxy, Protocol protocol) {
+            endpoint.record(Phase.CONNECT, connectStart, System.nanoTime());
+        }
+
+        @Override
+        public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+            endpoint.connections.incrementAndGet();
+            if (!connecting) {
+                endpoint.reusedConnections.incrementAndGet();
+            }
+            connecting = false;
+        }
+
+        @Override
+        public void requestHeadersStart(@NonNull Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+            endpoint.requestBytes.addAndGet(request.headers().byteCount());
+            requestEnd = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(@NonNull Call call, long byteCount) {
+            endpoint.requestBytes.addAndGet(byteCount);
+            requestEnd = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            long now = System.nanoTime();
+            endpoint.record(Phase.REQUEST, requestStart, requestEnd);
+            endpoint.record(Phase.FIRST_BYTE, requestEnd, now);
+        }
+
+        @Override
+        public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+            endpoint.responseBytes.addAndGet(response.headers().byteCount());
+            if (response.code() >= 400 && !failed) {
+                failed = true;
+                endpoint.fail("HTTP " + response.code());
+            }
+        }
+
+        @Override
+        public void responseBodyStart(@NonNull Call call) {
+            bodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(@NonNull Call call, long byteCount) {
+            endpoint.record(Phase.BODY, bodyStart, System.nanoTime());
+            endpoint.responseBytes.addAndGet(byteCount);
+        }
+
+        @Override
+        public void cacheHit(@NonNull Call call, @NonNull Response response) {
+            endpoint.cacheHits.incrementAndGet();
+        }
+
+        @Override
+        public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+            endpoint.conditionalCacheHits.incrementAndGet();
+        }
+
+        @Override
+        public void satisfactionFailure(@NonNull Call call, @NonNull Response response) {
+            // Only-if-cached with nothing cached: the app's offline fallback came up empty
+            if (!failed) {
+                failed = true;
+                endpoint.fail("Not cached");
+            }
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            finish();
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            if (!failed) {
+                failed = true;
+                endpoint.fail(failureCause(call, ioe));
+            }
+            finish();
+        }
+
+        private void finish() {
+            endpoint.calls.incrementAndGet();
+            endpoint.record(Phase.TOTAL, callStart, System.nanoTime());
+        }
+    }
+
+    /**
+     * One endpoint's counters and phase histograms at one point in time.
+     */
+    public static final class EndpointSnapshot {
+        private final String name;
+        private final long calls;
+        private final long failures;
+        private final long requestBytes;
+        private final long responseBytes;
+        private final long connections;
+        private final long reusedConnections;
+        private final long cacheHits;
+        private final long conditionalCacheHits;
+        private final Map<Phase, LatencyHistogram.Snapshot> phases;
+        private final Map<String, Long> failureCauses;
+
+        EndpointSnapshot(String name, long calls, long failures, long requestBytes, long responseBytes,
+                         long connections, long reusedConnections, long cacheHits, long conditionalCacheHits,
+                         Map<Phase, LatencyHistogram.Snapshot> phases, Map<String, Long> failureCauses) {
+            this.name = name;
+            this.calls = calls;
+            this.failures = failures;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.connections = connections;
+            this.reusedConnections = reusedConnections;
+            this.cacheHits = cacheHits;
+            this.conditionalCacheHits = conditionalCacheHits;
+            this.phases = Collections.unmodifiableMap(phases);
+            this.failureCauses = Collections.unmodifiableMap(failureCauses);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getRequestBytes() {
+            return requestBytes;
+        }
+
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+
+        public long getConnections() {
+            return connections;
+        }
+
+        public long getReusedConnections() {
+            return reusedConnections;
+        }
+
+        /**
+         * Share of connections taken from the pool rather than opened, 0 to 1.
+         */
+        public double getConnectionReuseRate() {
+            return connections > 0 ? (double) reusedConnections / connections : 0;
+        }
+
+        public long getCacheHits() {
+            return cacheHits;
+        }
+
+        /**
+         * Cached responses revalidated with a 304.
+         */
+        public long getConditionalCacheHits() {
+            return conditionalCacheHits;
+        }
+
+        public LatencyHistogram.Snapshot getPhase(Phase phase) {
+            return phases.get(phase);
+        }
+
+        public Map<String, Long> getFailureCauses() {
+            return failureCauses;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format(Locale.US,
+                    "%s: %d calls, %d failed, %.1f KB out, %.1f KB in, %.0f%% reused, %d cached",
+                    name, calls, failures, requestBytes / 1024.0, responseBytes / 1024.0,
+                    getConnectionReuseRate() * 100, cacheHits + conditionalCacheHits));
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram.Snapshot histogram = phases.get(phase);
+                if (histogram.getCount() > 0) {
+                    text.append(String.format(Locale.US, "\n  %-10s p50 %.1f p90 %.1f p99 %.1f max %.1f ms",
+                            phase, histogram.getPercentileMicros(50) / 1e3, histogram.getPercentileMicros(90) / 1e3,
+                            histogram.getPercentileMicros(99) / 1e3, histogram.getMaxMicros() / 1e3));
+                }
+            }
+            if (!failureCauses.isEmpty()) {
+                text.append("\n  failures ").append(failureCauses);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Every endpoint called since the start or the last {@link #reset()}.
+     */
+    public static final class Snapshot {
+        private final long takenAtMillis;
+        private final Map<String, EndpointSnapshot> endpoints;
+
+        Snapshot(long takenAtMillis, Map<String, EndpointSnapshot> endpoints) {
+            this.takenAtMillis = takenAtMillis;
+            this.endpoints = Collections.unmodifiableMap(endpoints);
+        }
+
+        public long getTakenAtMillis() {
+            return takenAtMillis;
+        }
+
+        /**
+         * By endpoint name, in name order.
+         */
+        public Map<String, EndpointSnapshot> getEndpoints() {
+            return endpoints;
+        }
+
+        /**
+         * Writes the snapshot as one JSON object, times in microseconds,
+         * for export.
+         */
+        public void writeJson(JsonWriter out) throws IOException {
+            out.beginObject();
+            out.name("taken_at").value(takenAtMillis);
+            out.name("endpoints").beginObject();
+            for (EndpointSnapshot endpoint : endpoints.values()) {
+                out.name(endpoint.name).beginObject();
+                out.name("calls").value(endpoint.calls);
+                out.name("failures").value(endpoint.failures);
+                out.name("request_bytes").value(endpoint.requestBytes);
+                out.name("response_bytes").value(endpoint.responseBytes);
+                out.name("connections").value(endpoint.connections);
+                out.name("reused_connections").value(endpoint.reusedConnections);
+                out.name("cache_hits").value(endpoint.cacheHits);
+                out.name("conditional_cache_hits").value(endpoint.conditionalCacheHits);
+                out.name("failure_causes").beginObject();
+                for (Map.Entry<String, Long> cause : endpoint.failureCauses.entrySet()) {
+                    out.name(cause.getKey()).value(cause.getValue());
+                }
+                out.endObject();
+                out.name("phases").beginObject();
+                for (Map.Entry<Phase, LatencyHistogram.Snapshot> phase : endpoint.phases.entrySet()) {
+                    LatencyHistogram.Snapshot histogram = phase.getValue();
+                    out.name(phase.getKey().name().toLowerCase(Locale.ROOT)).beginObject()
+                            .name("count").value(histogram.getCount())
+                            .name("mean").value(Math.round(histogram.getMeanMicros()))
+                            .name("p50").value(histogram.getPercentileMicros(50))
+                            .name("p90").value(histogram.getPercentileMicros(90))
+                            .name("p99").value(histogram.getPercentileMicros(99))
+                            .name("max").value(histogram.getMaxMicros())
+                            .endObject();
+                }
+                out.endObject();
+                out.endObject();
+            }
+            out.endObject();
+            out.endObject();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (EndpointSnapshot endpoint : endpoints.values()) {
+                text.append(text.length() > 0 ? "\n" : "").append(endpoint);
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.caninecare.app.api;
+
+import androidx.annotation.NonNull;
+
+import org.caninecare.app.utils.ApiConfig;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor for "serve stale" mode: when a GET fails because the
+ * backend can't be reached, retry it against the disk cache and accept a stale
+ * copy up to {@link ApiConfig#CACHE_MAX_STALE} seconds old.
+ *
+ * Only reference data ({@link CachePolicyInterceptor#maxAgeFor}) is served
+ * stale. Sensor readings, alerts and the like fail as usual, so a screen
+ * never shows a days-old temperature or position as the current one.
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            if (!"GET".equals(request.method()) || chain.call().isCanceled()
+                    || CachePolicyInterceptor.maxAgeFor(request.url().encodedPath()) < 0) {
+                throw e;
+            }
+
+            Request staleRequest = request.newBuilder()
+                    .cacheControl(new CacheControl.Builder()
+                            .onlyIfCached()
+                            .maxStale((int) ApiConfig.CACHE_MAX_STALE, TimeUnit.SECONDS)
+                            .build())
+                    .build();
+            Response stale = chain.proceed(staleRequest);
+            if (stale.code() == 504) {
+                // Nothing usable in the cache either
+                stale.close();
+                throw e;
+            }
+            return stale;
+        }
+    }
+}
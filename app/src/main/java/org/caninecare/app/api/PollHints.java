@@ -0,0 +1,53 @@
+package org.caninecare.app.api;
+
+import java.util.Date;
+
+import okhttp3.Headers;
+
+/**
+ * Reads server pacing hints from a response: Retry-After (seconds or an
+ * HTTP date, sent with 429/503) and X-Poll-Interval (seconds until the
+ * backend expects new sensor data).
+ */
+public final class PollHints {
+
+    public static final String RETRY_AFTER = "Retry-After";
+    public static final String POLL_INTERVAL = "X-Poll-Interval";
+
+    private PollHints() {
+    }
+
+    /**
+     * Minimum delay in milliseconds before the next poll, or 0 when the
+     * response carries no usable hint. Retry-After wins over X-Poll-Interval.
+     */
+    public static long delayMillis(Headers headers) {
+        if (headers == null) {
+            return 0;
+        }
+        long retryAfter = parseDelay(headers, RETRY_AFTER);
+        return retryAfter > 0 ? retryAfter : parseDelay(headers, POLL_INTERVAL);
+    }
+
+    /**
+     * Retry-After alone in milliseconds, or 0 without one: the backend
+     * refusing requests for a while, as opposed to its estimate of when
+     * new data will arrive.
+     */
+    public static long retryAfterMillis(Headers headers) {
+        return headers != null ? parseDelay(headers, RETRY_AFTER) : 0;
+    }
+
+    private static long parseDelay(Headers headers, String name) {
+        String value = headers.get(name);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = headers.getDate(name);
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : 0;
+        }
+    }
+}
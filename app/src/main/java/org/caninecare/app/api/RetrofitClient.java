@@ -1,12 +1,23 @@
 package org.caninecare.app.api;
 
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.Gson;
+
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+import org.caninecare.app.models.ModelAdapters;
 import org.caninecare.app.utils.ApiConfig;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -14,29 +25,143 @@ import java.util.concurrent.TimeUnit;
  */
 public class RetrofitClient {
     
+    private static final String TAG = "RetrofitClient";
+
     private static Retrofit retrofit = null;
+    private static OkHttpClient httpClient = null;
+    private static CallCoalescer coalescer = null;
+    private static File cacheDir = null;
+    private static String baseUrl = ApiConfig.BASE_URL;
+    private static final NetworkTelemetry telemetry = new NetworkTelemetry();
+
+    /**
+     * Enables the on-disk HTTP cache. Call once from Application.onCreate(),
+     * before the first request.
+     */
+    public static void init(Context context) {
+        cacheDir = new File(context.getCacheDir(), "http");
+    }
+
+    /**
+     * Points the client at another backend, e.g. a local stand-in under test.
+     * Services handed out before keep talking to the old one.
+     */
+    public static synchronized void setBaseUrl(String url) {
+        baseUrl = url;
+        retrofit = null;
+        httpClient = null;
+        coalescer = null;
+    }
+
+    public static synchronized String getBaseUrl() {
+        return baseUrl;
+    }
 
-    public static Retrofit getClient() {
+    /**
+     * Phase timings and byte counts of every call made through these
+     * clients, streaming ones included.
+     */
+    public static NetworkTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    public static synchronized Retrofit getClient() {
         if (retrofit == null) {
-            // Logging interceptor for debugging
+            // Logging interceptor for debugging. Headers only: at BODY level it reads
+            // every response into memory, including the fertility model download
             HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
+            logging.setLevel(HttpLoggingInterceptor.Level.HEADERS);
 
             // OkHttp client with timeouts
-            OkHttpClient client = new OkHttpClient.Builder()
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
                     .addInterceptor(logging)
                     .connectTimeout(ApiConfig.CONNECT_TIMEOUT, TimeUnit.SECONDS)
                     .readTimeout(ApiConfig.READ_TIMEOUT, TimeUnit.SECONDS)
                     .writeTimeout(ApiConfig.WRITE_TIMEOUT, TimeUnit.SECONDS)
-                    .build();
+                    .eventListenerFactory(telemetry);
 
-            // Retrofit instance
+            // Disk cache with conditional revalidation, serving stale reference data when offline
+            if (cacheDir != null) {
+                builder.cache(new Cache(cacheDir, ApiConfig.HTTP_CACHE_SIZE))
+                        .addInterceptor(new OfflineCacheInterceptor())
+                        .addNetworkInterceptor(new CachePolicyInterceptor());
+            }
+            httpClient = builder.build();
+
+            // Retrofit instance; responses are decoded by the JSON/MessagePack
+            // converter, Gson only encodes request bodies.
+            // Either way models go through their own adapters, not reflection
+            Gson gson = ModelAdapters.newGson();
             retrofit = new Retrofit.Builder()
-                    .baseUrl(ApiConfig.BASE_URL)
-                    .addConverterFactory(GsonConverterFactory.create())
-                    .client(client)
+                    .baseUrl(baseUrl)
+                    .addConverterFactory(NegotiatingConverterFactory.create(gson))
+                    .addConverterFactory(GsonConverterFactory.create(gson))
+                    .client(httpClient)
                     .build();
         }
         return retrofit;
     }
+
+    /**
+     * Client for long-lived streams such as the live sensor feed. Shares the
+     * connection pool with {@link #getClient()} but has no interceptors or
+     * cache: an event stream has nothing to cache, the offline fallback must
+     * not answer it with a stale copy, and each logged header block would
+     * only say a stream opened.
+     */
+    public static synchronized OkHttpClient getStreamingClient() {
+        getClient();
+        OkHttpClient.Builder builder = httpClient.newBuilder()
+                .cache(null)
+                .readTimeout(ApiConfig.STREAM_READ_TIMEOUT, TimeUnit.SECONDS);
+        builder.interceptors().clear();
+        builder.networkInterceptors().clear();
+        return builder.build();
+    }
+
+    /**
+     * Drops the cached copy of a dog's profile so the next read goes to the
+     * backend instead of returning what was cached before a write. OkHttp only
+     * invalidates the URL that was written to (POST dog-profile), not the
+     * GET dog-profile/{name} it changes. Blocks on disk.
+     */
+    public static void evictDogProfile(String dogName) {
+        Cache cache;
+        String url;
+        synchronized (RetrofitClient.class) {
+            if (httpClient == null || httpClient.cache() == null) {
+                return;
+            }
+            cache = httpClient.cache();
+            url = HttpUrl.get(baseUrl).newBuilder()
+                    .addPathSegment("dog-profile")
+                    .addPathSegment(dogName)
+                    .build()
+                    .toString();
+        }
+        try {
+            Iterator<String> urls = cache.urls();
+            while (urls.hasNext()) {
+                if (urls.next().equals(url)) {
+                    urls.remove();
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not evict " + url, e);
+        }
+    }
+
+    /**
+     * Shared ApiService; identical GETs issued while one is in flight share a single request.
+     */
+    public static ApiService getApiService() {
+        return getCoalescer().getService();
+    }
+
+    public static synchronized CallCoalescer getCoalescer() {
+        if (coalescer == null) {
+            coalescer = new CallCoalescer(getClient().create(ApiService.class));
+        }
+        return coalescer;
+    }
 }
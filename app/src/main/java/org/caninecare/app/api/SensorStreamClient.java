@@ -0,0 +1,234 @@
+package org.caninecare.app.api;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import org.caninecare.app.data.SensorRingBuffer;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.sse.EventSource;
+import okhttp3.sse.EventSourceListener;
+import okhttp3.sse.EventSources;
+
+/**
+ * Live sensor feed over Server-Sent Events (/api/sensor-stream).
+ *
+ * Reconnects with exponential backoff and resumes from the last reading it
+ * delivered (Last-Event-ID), so nothing is missed or repeated across drops.
+ * After {@link ApiConfig#STREAM_FAILURES_BEFORE_FALLBACK} failed attempts the
+ * listener is told the stream is unavailable so the screen can fall back to
+ * polling; reconnect attempts continue and onStreamConnected() signals recovery.
+ *
+ * The stream carries every dog's readings; the client is bound to one dog.
+ * Its readings are decoded on the OkHttp thread straight into that dog's
+ * {@link SensorRingBuffer}; onReading() only says there is a new one to show.
+ * A {@link Recorder}, if set, is handed every reading as a model object too,
+ * so it can be stored as it arrives.
+ *
+ * All listener callbacks run on the main thread.
+ */
+public class SensorStreamClient {
+
+    private static final String TAG = "SensorStreamClient";
+
+    public interface Listener {
+        void onStreamConnected();
+
+        /**
+         * A new reading is the last one in {@link #getWindow()}.
+         */
+        void onReading();
+
+        void onStreamUnavailable();
+    }
+
+    public interface Recorder {
+        /**
+         * Every reading on the stream, whichever dog it is for.
+         * {@code followsPrevious} is false for the first reading of a
+         * connection that could not resume, as readings may be missing
+         * before it.
+         */
+        void onLiveReading(SensorDataResponse.SensorData reading, boolean followsPrevious);
+    }
+
+    private final OkHttpClient client;
+    private final String url;
+    private final String dogName;
+    private final Listener listener;
+    private final SensorRingBuffer window;
+    private final Gson gson = ModelAdapters.newGson();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable reconnect = this::connect;
+
+    private volatile Recorder recorder;
+    private EventSource eventSource;
+    private String lastEventId;
+    private int failures;
+    private boolean running;
+    private boolean unavailableReported;
+
+    public SensorStreamClient(String dogName, Listener listener) {
+        this(RetrofitClient.getStreamingClient(), RetrofitClient.getBaseUrl() + ApiConfig.SENSOR_STREAM,
+                dogName, SensorRingBuffer.forDog(dogName), listener);
+    }
+
+    /**
+     * @param dogName the dog whose readings go into {@code window}, or null for all
+     */
+    public SensorStreamClient(OkHttpClient client, String url, String dogName, SensorRingBuffer window,
+                              Listener listener) {
+        this.client = client;
+        this.url = url;
+        this.dogName = dogName;
+        this.window = window;
+        this.listener = listener;
+    }
+
+    public void setRecorder(Recorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public SensorRingBuffer getWindow() {
+        return window;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        failures = 0;
+        unavailableReported = false;
+        connect();
+    }
+
+    public void stop() {
+        running = false;
+        handler.removeCallbacks(reconnect);
+        if (eventSource != null) {
+            eventSource.cancel();
+            eventSource = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Event id (the backend's sequence number) of the last reading delivered;
+     * the next connection resumes after it.
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    private void connect() {
+        if (!running) {
+            return;
+        }
+        Request.Builder request = new Request.Builder().url(url);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        eventSource = EventSources.createFactory(client)
+                .newEventSource(request.build(), new StreamListener(lastEventId != null));
+    }
+
+    private void onDisconnected(EventSource source, boolean endpointMissing) {
+        if (!running || source != eventSource) {
+            return;
+        }
+        eventSource = null;
+        failures++;
+
+        if (!unavailableReported
+                && (endpointMissing || failures >= ApiConfig.STREAM_FAILURES_BEFORE_FALLBACK)) {
+            unavailableReported = true;
+            listener.onStreamUnavailable();
+        }
+
+        long delay = Math.min(ApiConfig.STREAM_RECONNECT_MAX_DELAY,
+                ApiConfig.STREAM_RECONNECT_MIN_DELAY << Math.min(failures - 1, 5));
+        handler.postDelayed(reconnect, delay);
+    }
+
+    private class StreamListener extends EventSourceListener {
+
+        // The next reading comes straight after the last one delivered
+        private boolean resumed;
+
+        StreamListener(boolean resumed) {
+            this.resumed = resumed;
+        }
+
+        @Override
+        public void onOpen(@NonNull EventSource source, @NonNull Response response) {
+            handler.post(() -> {
+                if (!running || source != eventSource) {
+                    return;
+                }
+                failures = 0;
+                unavailableReported = false;
+                listener.onStreamConnected();
+            });
+        }
+
+        @Override
+        public void onEvent(@NonNull EventSource source, @Nullable String id,
+                            @Nullable String type, @NonNull String data) {
+            boolean added;
+            SensorDataResponse.SensorData reading;
+            try {
+                // Decode here, on the OkHttp thread, so the main thread only updates views
+                added = SensorReadingDecoder.decode(data, dogName, window);
+                reading = recorder != null ? gson.fromJson(data, SensorDataResponse.SensorData.class) : null;
+            } catch (IllegalArgumentException | JsonParseException e) {
+                Log.w(TAG, "Skipping malformed reading: " + data, e);
+                return;
+            }
+            boolean followsPrevious = resumed;
+            resumed = true;
+
+            handler.post(() -> {
+                if (!running || source != eventSource) {
+                    return;
+                }
+                if (id != null) {
+                    lastEventId = id;
+                }
+                Recorder current = recorder;
+                if (reading != null && current != null) {
+                    current.onLiveReading(reading, followsPrevious);
+                }
+                if (added) {
+                    listener.onReading();
+                }
+            });
+        }
+
+        @Override
+        public void onClosed(@NonNull EventSource source) {
+            handler.post(() -> onDisconnected(source, false));
+        }
+
+        @Override
+        public void onFailure(@NonNull EventSource source, @Nullable Throwable t, @Nullable Response response) {
+            boolean endpointMissing = response != null && response.code() == 404;
+            handler.post(() -> onDisconnected(source, endpointMissing));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.caninecare.app.api;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+/**
+ * Content negotiation between JSON and MessagePack response bodies.
+ *
+ * Endpoints that can answer in MessagePack are annotated with
+ * {@link ApiService#ACCEPT_BINARY}; whatever the backend actually sends is
+ * picked up from the Content-Type, so an older backend that only speaks JSON
+ * keeps working.
+ */
+public final class WireFormat {
+
+    public static final String MSGPACK = "application/x-msgpack";
+
+    private WireFormat() {
+    }
+
+    public static boolean isMessagePack(ResponseBody body) {
+        MediaType type = body.contentType();
+        return type != null && type.subtype().contains("msgpack");
+    }
+
+    /**
+     * A reader over the body in whichever format the server chose.
+     */
+    public static JsonReader newReader(Gson gson, ResponseBody body) {
+        if (isMessagePack(body)) {
+            return new MessagePackReader(body.byteStream());
+        }
+        return gson.newJsonReader(body.charStream());
+    }
+}
@@ -0,0 +1,304 @@
+package org.caninecare.app.charts;
+
+import android.content.res.Resources;
+import android.view.MotionEvent;
+
+import com.github.mikephil.charting.charts.LineChart;
+import com.github.mikephil.charting.components.LimitLine;
+import com.github.mikephil.charting.components.XAxis;
+import com.github.mikephil.charting.components.YAxis;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.github.mikephil.charting.listener.ChartTouchListener;
+import com.github.mikephil.charting.listener.OnChartGestureListener;
+
+import org.caninecare.app.R;
+import org.caninecare.app.utils.ApiConfig;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * One sensor value over time on a {@link LineChart}, with threshold lines.
+ *
+ * The chart never holds the whole series: it is given the points of the
+ * visible range downsampled by a {@link DownsamplePyramid} to one per pixel
+ * of width, recomputed as the user pans and zooms. The x axis is pinned to
+ * the full series so the gestures still cover all of it. Entry objects are
+ * reused between refreshes.
+ *
+ * Live readings are added in batches ({@link #appendAll}), with one
+ * downsample and redraw per batch. A live chart can be given a capacity,
+ * past which its oldest points are dropped.
+ *
+ * X values are seconds after the first reading, as a float is too coarse
+ * for epoch microseconds. Use from the main thread.
+ */
+public class SensorChart implements OnChartGestureListener {
+
+    private static final int DEFAULT_POINTS = 500;
+    private static final float SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final LineChart chart;
+    private final LineDataSet dataSet;
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Entry> pool = new ArrayList<>();
+
+    private DownsamplePyramid series = new DownsamplePyramid();
+    private long baseMicros;
+    private int capacity;
+    private float[] queryX = new float[0];
+    private float[] queryY = new float[0];
+    private float[] appendX = new float[0];
+    private float[] appendY = new float[0];
+
+    public SensorChart(LineChart chart, String label, int color, float axisMinimum, float axisMaximum) {
+        this.chart = chart;
+
+        dataSet = new LineDataSet(entries, label);
+        dataSet.setColor(color);
+        dataSet.setLineWidth(1.5f);
+        dataSet.setDrawCircles(false);
+        dataSet.setDrawValues(false);
+        dataSet.setHighlightEnabled(false);
+        dataSet.setMode(LineDataSet.Mode.LINEAR);
+        chart.setData(new LineData(dataSet));
+
+        chart.getDescription().setEnabled(false);
+        chart.getLegend().setEnabled(false);
+        chart.getAxisRight().setEnabled(false);
+        chart.setNoDataText("No readings yet");
+        chart.setTouchEnabled(true);
+        chart.setDragEnabled(true);
+        chart.setScaleXEnabled(true);
+        chart.setScaleYEnabled(false);
+        chart.setPinchZoom(false);
+        chart.setHighlightPerTapEnabled(false);
+        chart.setOnChartGestureListener(this);
+
+        YAxis axis = chart.getAxisLeft();
+        axis.setAxisMinimum(axisMinimum);
+        axis.setAxisMaximum(axisMaximum);
+        axis.setDrawLimitLinesBehindData(true);
+
+        XAxis xAxis = chart.getXAxis();
+        xAxis.setPosition(XAxis.XAxisPosition.BOTTOM);
+        xAxis.setDrawGridLines(false);
+        xAxis.setLabelCount(4);
+        xAxis.setValueFormatter(new TimeFormatter());
+    }
+
+    /**
+     * Temperature in °C with the normal band and the fever/hypothermia limits.
+     */
+    public static SensorChart temperature(LineChart chart) {
+        Resources resources = chart.getResources();
+        return new SensorChart(chart, "Temperature", resources.getColor(R.color.colorPrimary),
+                ApiConfig.TEMP_CRITICAL_LOW - 1, ApiConfig.TEMP_CRITICAL_HIGH + 1)
+                .addThreshold(ApiConfig.TEMP_FEVER, "Fever", resources.getColor(R.color.tempFever))
+                .addThreshold(ApiConfig.TEMP_NORMAL_MAX, "", resources.getColor(R.color.tempNormal))
+                .addThreshold(ApiConfig.TEMP_NORMAL_MIN, "Normal", resources.getColor(R.color.tempNormal))
+                .addThreshold(ApiConfig.TEMP_HYPOTHERMIA, "Hypothermia", resources.getColor(R.color.tempHypothermia));
+    }
+
+    /**
+     * Activity in percent with the low/high activity limits.
+     */
+    public static SensorChart activity(LineChart chart) {
+        Resources resources = chart.getResources();
+        return new SensorChart(chart, "Activity", resources.getColor(R.color.colorPrimary), 0, 100)
+                .addThreshold(ApiConfig.ACTIVITY_HIGH_THRESHOLD, "High", resources.getColor(R.color.activityHigh))
+                .addThreshold(ApiConfig.ACTIVITY_LOW_THRESHOLD, "Low", resources.getColor(R.color.activityLow));
+    }
+
+    /**
+     * Adds a dashed threshold line, e.g. a fever limit from ApiConfig.
+     */
+    public SensorChart addThreshold(float value, String label, int color) {
+        LimitLine line = new LimitLine(value, label);
+        line.setLineColor(color);
+        line.setLineWidth(1f);
+        line.enableDashedLine(10f, 6f, 0f);
+        line.setTextColor(color);
+        line.setTextSize(10f);
+        line.setLabelPosition(LimitLine.LimitLabelPosition.RIGHT_TOP);
+        chart.getAxisLeft().addLimitLine(line);
+        return this;
+    }
+
+    /**
+     * Shows a series built elsewhere (e.g. off the main thread) whose x
+     * values are seconds after {@code baseMicros}.
+     */
+    public void setSeries(long baseMicros, DownsamplePyramid series) {
+        this.baseMicros = baseMicros;
+        this.series = series;
+        chart.fitScreen();
+        updateXRange();
+        refresh();
+    }
+
+    /**
+     * Keeps at most about {@code capacity} points (0 for no limit). The
+     * oldest are dropped a quarter of the capacity at a time.
+     */
+    public SensorChart setCapacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * Adds live readings, oldest first; ones older than the newest charted
+     * are skipped. If the newest part of the series was on screen, the view
+     * scrolls along with it.
+     */
+    public void appendAll(long[] timestampsMicros, float[] values, int count) {
+        if (count <= 0) {
+            return;
+        }
+        boolean empty = series.size() == 0;
+        if (empty) {
+            baseMicros = timestampsMicros[0];
+        }
+        if (appendX.length < count) {
+            appendX = new float[count];
+            appendY = new float[count];
+        }
+        float lastX = empty ? 0 : series.lastX();
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            float x = (timestampsMicros[i] - baseMicros) / 1e6f;
+            if (x >= lastX) {
+                appendX[kept] = x;
+                appendY[kept] = values[i];
+                lastX = x;
+                kept++;
+            }
+        }
+        if (kept == 0) {
+            return;
+        }
+        boolean following = empty || chart.getHighestVisibleX() >= series.lastX();
+        series.appendAll(appendX, appendY, kept);
+        if (capacity > 0 && series.size() > capacity + capacity / 4) {
+            series.removeFirst(series.size() - capacity);
+        }
+        updateXRange();
+        if (following && chart.getVisibleXRange() < lastX - series.firstX()) {
+            chart.moveViewToX(lastX - chart.getVisibleXRange());
+        }
+        refresh();
+    }
+
+    /**
+     * Re-downsamples the visible range to the chart's width.
+     */
+    public void refresh() {
+        int width = chart.getViewPortHandler() != null ? (int) chart.getViewPortHandler().contentWidth() : 0;
+        int maxPoints = width > 0 ? width : DEFAULT_POINTS;
+        if (queryX.length < maxPoints) {
+            queryX = new float[maxPoints];
+            queryY = new float[maxPoints];
+        }
+
+        int count = 0;
+        if (series.size() > 0) {
+            float from = chart.getLowestVisibleX();
+            float to = chart.getHighestVisibleX();
+            if (to <= from) {
+                from = series.firstX();
+                to = series.lastX();
+            }
+            count = series.query(from, to, maxPoints, queryX, queryY);
+        }
+
+        entries.clear();
+        for (int i = 0; i < count; i++) {
+            if (i == pool.size()) {
+                pool.add(new Entry());
+            }
+            Entry entry = pool.get(i);
+            entry.setX(queryX[i]);
+            entry.setY(queryY[i]);
+            entries.add(entry);
+        }
+        dataSet.notifyDataSetChanged();
+        chart.getData().notifyDataChanged();
+        chart.notifyDataSetChanged();
+        chart.invalidate();
+    }
+
+    private void updateXRange() {
+        XAxis xAxis = chart.getXAxis();
+        if (series.size() == 0) {
+            xAxis.resetAxisMinimum();
+            xAxis.resetAxisMaximum();
+            return;
+        }
+        xAxis.setAxisMinimum(series.firstX());
+        // A single reading still needs some width
+        xAxis.setAxisMaximum(Math.max(series.lastX(), series.firstX() + 1));
+    }
+
+    @Override
+    public void onChartScale(MotionEvent me, float scaleX, float scaleY) {
+        refresh();
+    }
+
+    @Override
+    public void onChartTranslate(MotionEvent me, float dX, float dY) {
+        refresh();
+    }
+
+    @Override
+    public void onChartGestureEnd(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+        refresh();
+    }
+
+    @Override
+    public void onChartDoubleTapped(MotionEvent me) {
+        refresh();
+    }
+
+    @Override
+    public void onChartGestureStart(MotionEvent me, ChartTouchListener.ChartGesture lastPerformedGesture) {
+    }
+
+    @Override
+    public void onChartLongPressed(MotionEvent me) {
+    }
+
+    @Override
+    public void onChartSingleTapped(MotionEvent me) {
+    }
+
+    @Override
+    public void onChartFling(MotionEvent me1, MotionEvent me2, float velocityX, float velocityY) {
+    }
+
+    /**
+     * Wall-clock labels; timestamps are the backend's local time read as UTC.
+     */
+    private class TimeFormatter extends ValueFormatter {
+
+        private final SimpleDateFormat time = new SimpleDateFormat("HH:mm", Locale.getDefault());
+        private final SimpleDateFormat day = new SimpleDateFormat("d MMM", Locale.getDefault());
+
+        TimeFormatter() {
+            time.setTimeZone(TimeZone.getTimeZone("UTC"));
+            day.setTimeZone(TimeZone.getTimeZone("UTC"));
+        }
+
+        @Override
+        public String getFormattedValue(float value) {
+            Date date = new Date(baseMicros / 1000 + (long) (value * 1000));
+            return (chart.getVisibleXRange() > 2 * SECONDS_PER_DAY ? day : time).format(date);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.caninecare.app.data;
+
+import org.caninecare.app.api.ApiService;
+import org.caninecare.app.api.CallTracker;
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.utils.ApiConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Pages through the alert history, newest first, as the list is scrolled.
+ *
+ * Pages come from /api/alerts with keyset cursors (the alert id), so
+ * fetching page n costs the same as page 1 and alerts arriving meanwhile do
+ * not shift the pages. Only a window of {@link ApiConfig#ALERT_MAX_PAGES}
+ * pages is kept: loading past one end drops the page at the other, which is
+ * fetched again if the user scrolls back to it.
+ *
+ * Call {@link #onScrolled(int, int)} with how many items are left above and
+ * below the visible ones; within {@link ApiConfig#ALERT_PREFETCH_DISTANCE}
+ * of either end the next page is fetched. Use from the main thread.
+ */
+public class AlertPager {
+
+    public interface Listener {
+        /**
+         * The loaded pages changed; newest first.
+         */
+        void onPagesChanged(List<Page> pages);
+
+        void onLoadFailed(String message);
+    }
+
+    /**
+     * One response from /api/alerts, newest alert first.
+     */
+    public static final class Page {
+        private final List<AlertsResponse.Alert> alerts;
+        private final long oldestId;
+        private final long newestId;
+        private final boolean hasOlder;
+        private final boolean hasNewer;
+
+        Page(List<AlertsResponse.Alert> alerts, long oldestId, long newestId, boolean hasOlder, boolean hasNewer) {
+            this.alerts = alerts;
+            this.oldestId = oldestId;
+            this.newestId = newestId;
+            this.hasOlder = hasOlder;
+            this.hasNewer = hasNewer;
+        }
+
+        public List<AlertsResponse.Alert> getAlerts() {
+            return alerts;
+        }
+
+        public boolean hasOlder() {
+            return hasOlder;
+        }
+
+        public boolean hasNewer() {
+            return hasNewer;
+        }
+    }
+
+    private final ApiService apiService;
+    private final Listener listener;
+    private final int pageSize;
+    private final int maxPages;
+    private final int prefetchDistance;
+    private final CallTracker calls = new CallTracker();
+
+    private final List<Page> pages = new ArrayList<>();
+    private boolean loadingFirst;
+    private boolean loadingOlder;
+    private boolean loadingNewer;
+
+    public AlertPager(ApiService apiService, Listener listener) {
+        this(apiService, listener, ApiConfig.ALERT_PAGE_SIZE, ApiConfig.ALERT_MAX_PAGES,
+                ApiConfig.ALERT_PREFETCH_DISTANCE);
+    }
+
+    public AlertPager(ApiService apiService, Listener listener, int pageSize, int maxPages, int prefetchDistance) {
+        this.apiService = apiService;
+        this.listener = listener;
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(2, maxPages);
+        this.prefetchDistance = prefetchDistance;
+    }
+
+    public List<Page> getPages() {
+        return Collections.unmodifiableList(pages);
+    }
+
+    public boolean isLoading() {
+        return loadingFirst || loadingOlder || loadingNewer;
+    }
+
+    /**
+     * Drops what is loaded and fetches the newest page.
+     */
+    public void refresh() {
+        cancel();
+        loadingFirst = true;
+        fetch(null, null, new PageCallback() {
+            @Override
+            void done() {
+                loadingFirst = false;
+            }
+
+            @Override
+            void onPage(Page page) {
+                pages.clear();
+                pages.add(page);
+                listener.onPagesChanged(getPages());
+            }
+        });
+    }
+
+    /**
+     * Stops any page in flight; its result is not reported.
+     */
+    public void cancel() {
+        calls.cancelAll();
+        loadingFirst = false;
+        loadingOlder = false;
+        loadingNewer = false;
+    }
+
+    public void onScrolled(int itemsAbove, int itemsBelow) {
+        if (pages.isEmpty() || loadingFirst) {
+            return;
+        }
+        if (itemsBelow < prefetchDistance) {
+            loadOlder();
+        }
+        if (itemsAbove < prefetchDistance) {
+            loadNewer();
+        }
+    }
+
+    private void loadOlder() {
+        Page last = pages.get(pages.size() - 1);
+        if (loadingOlder || !last.hasOlder) {
+            return;
+        }
+        loadingOlder = true;
+        fetch(last.oldestId, null, new PageCallback() {
+            @Override
+            void done() {
+                loadingOlder = false;
+            }
+
+            @Override
+            void onPage(Page page) {
+                if (pages.isEmpty() || pages.get(pages.size() - 1) != last) {
+                    return;
+                }
+                pages.add(page);
+                if (pages.size() > maxPages) {
+                    pages.remove(0);
+                }
+                listener.onPagesChanged(getPages());
+            }
+        });
+    }
+
+    private void loadNewer() {
+        Page first = pages.get(0);
+        if (loadingNewer || !first.hasNewer) {
+            return;
+        }
+        loadingNewer = true;
+        fetch(null, first.newestId, new PageCallback() {
+            @Override
+            void done() {
+                loadingNewer = false;
+            }
+
+            @Override
+            void onPage(Page page) {
+                if (pages.isEmpty() || pages.get(0) != first) {
+                    return;
+                }
+                pages.add(0, page);
+                if (pages.size() > maxPages) {
+                    pages.remove(pages.size() - 1);
+                }
+                listener.onPagesChanged(getPages());
+            }
+        });
+    }
+
+    private void fetch(Long before, Long after, PageCallback callback) {
+        calls.enqueue(apiService.getAlertsPage(before, after, pageSize), callback);
+    }
+
+    private abstract class PageCallback implements Callback<AlertsResponse> {
+
+        // Clears this request's loading flag
+        abstract void done();
+
+        abstract void onPage(Page page);
+
+        @Override
+        public void onResponse(Call<AlertsResponse> call, Response<AlertsResponse> response) {
+            done();
+            AlertsResponse body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                listener.onLoadFailed("Failed to load alerts (Code: " + response.code() + ")");
+                return;
+            }
+            List<AlertsResponse.Alert> alerts = new ArrayList<>();
+            if (body.getAlerts() != null) {
+                for (AlertsResponse.Alert alert : body.getAlerts()) {
+                    if (alert != null) {
+                        alerts.add(alert);
+                    }
+                }
+            }
+            Collections.reverse(alerts);
+            onPage(new Page(alerts,
+                    body.getOldestId() != null ? body.getOldestId() : 0,
+                    body.getNewestId() != null ? body.getNewestId() : 0,
+                    body.hasOlder(), body.hasNewer()));
+        }
+
+        @Override
+        public void onFailure(Call<AlertsResponse> call, Throwable t) {
+            done();
+            listener.onLoadFailed("Connection error: " + t.getMessage());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.caninecare.app.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.api.ApiService;
+import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.data.local.CanineCareDatabase;
+import org.caninecare.app.data.local.OutboxDao;
+import org.caninecare.app.models.DogProfile;
+import org.caninecare.app.models.DogProfileResponse;
+import org.caninecare.app.models.FertilityRequest;
+import org.caninecare.app.models.FertilityResponse;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.utils.ApiConfig;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Response;
+
+/**
+ * Sends what {@link WriteOutbox} queued, as many entries as it can per run.
+ *
+ * - 2xx: the entry is done and removed. A fertility prediction's result is
+ *   stored for the fertility screen to show.
+ * - Other 4xx: the server will never accept it; it is marked failed.
+ * - Connection errors, 5xx, 408 and 429: the entry stays and its dog is
+ *   skipped for the rest of the run, so later writes for that dog never
+ *   overtake it. Other dogs keep going. The run then asks WorkManager to
+ *   retry with exponential backoff.
+ *
+ * After {@link ApiConfig#OUTBOX_MAX_ATTEMPTS} transient failures an entry is
+ * marked failed as well.
+ */
+public class OutboxWorker extends Worker {
+
+    private static final String TAG = "OutboxWorker";
+
+    private final Gson gson = ModelAdapters.newGson();
+
+    public OutboxWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        if (database == null) {
+            CanineCareDatabase.init(getApplicationContext());
+            database = CanineCareDatabase.getInstance();
+        }
+        OutboxDao outbox = database.outbox();
+        ApiService apiService = RetrofitClient.getApiService();
+
+        Set<String> blockedDogs = new HashSet<>();
+        int sent = 0;
+        List<OutboxDao.Entry> batch;
+        while (!isStopped()
+                && !(batch = outbox.nextBatch(blockedDogs, ApiConfig.OUTBOX_BATCH_SIZE)).isEmpty()) {
+            for (OutboxDao.Entry entry : batch) {
+                if (isStopped()) {
+                    break;
+                }
+                if (send(apiService, database, entry)) {
+                    sent++;
+                } else {
+                    blockedDogs.add(entry.dogName);
+                }
+            }
+        }
+
+        Log.d(TAG, "Sent " + sent + ", waiting on " + blockedDogs.size() + " dog(s)");
+        return blockedDogs.isEmpty() && !isStopped() ? Result.success() : Result.retry();
+    }
+
+    /**
+     * Sends one entry; false if it has to be tried again later.
+     */
+    private boolean send(ApiService apiService, CanineCareDatabase database, OutboxDao.Entry entry) {
+        OutboxDao outbox = database.outbox();
+        Response<?> response;
+        try {
+            if (WriteOutbox.KIND_PROFILE.equals(entry.kind)) {
+                response = apiService.createOrUpdateProfile(entry.idempotencyKey,
+                        gson.fromJson(entry.payload, DogProfile.class)).execute();
+            } else if (WriteOutbox.KIND_FERTILITY.equals(entry.kind)) {
+                response = apiService.predictFertility(entry.idempotencyKey,
+                        gson.fromJson(entry.payload, FertilityRequest.class)).execute();
+            } else {
+                outbox.markFailed(entry.id, "Unknown kind: " + entry.kind);
+                return true;
+            }
+        } catch (IOException e) {
+            return retryLater(outbox, entry, "Connection error: " + e.getMessage());
+        }
+
+        int code = response.code();
+        if (response.isSuccessful()) {
+            outbox.delete(entry.id);
+            Object body = response.body();
+            if (WriteOutbox.KIND_PROFILE.equals(entry.kind)) {
+                RetrofitClient.evictDogProfile(entry.dogName);
+            }
+            if (body instanceof DogProfileResponse && ((DogProfileResponse) body).getProfile() != null) {
+                database.dogProfiles().save(((DogProfileResponse) body).getProfile());
+            } else if (body instanceof FertilityResponse) {
+                database.fertilityResults().save(entry.dogName, (FertilityResponse) body);
+            }
+            return true;
+        }
+        if (isTransient(code)) {
+            return retryLater(outbox, entry, "HTTP " + code);
+        }
+        outbox.markFailed(entry.id, "HTTP " + code);
+        return true;
+    }
+
+    private static boolean retryLater(OutboxDao outbox, OutboxDao.Entry entry, String error) {
+        if (entry.attempts + 1 >= ApiConfig.OUTBOX_MAX_ATTEMPTS) {
+            outbox.markFailed(entry.id, error);
+            return true;
+        }
+        outbox.recordAttempt(entry.id, error);
+        return false;
+    }
+
+    static boolean isTransient(int code) {
+        return code >= 500 || code == 408 || code == 429;
+    }
+}
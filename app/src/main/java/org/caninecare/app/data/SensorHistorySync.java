@@ -0,0 +1,255 @@
+package org.caninecare.app.data;
+
+import android.util.Log;
+
+import org.caninecare.app.api.ApiService;
+import org.caninecare.app.api.CallTracker;
+import org.caninecare.app.api.PollHints;
+import org.caninecare.app.api.RetrofitClient;
+import org.caninecare.app.data.local.CanineCareDatabase;
+import org.caninecare.app.data.local.SensorReadingDao;
+import org.caninecare.app.data.series.SensorSeriesStore;
+import org.caninecare.app.health.AnomalyMonitor;
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+import org.caninecare.app.utils.AppExecutors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Cursor-based sync of sensor readings into a {@link SensorHistoryStore}.
+ *
+ * Each sync asks the backend only for readings after the cursor it returned
+ * last time (a sequence id, so readings sharing a timestamp are not skipped)
+ * and keeps paging while the backend reports more, so a refresh costs what is
+ * new rather than the whole history window. Until there is one, e.g. after a
+ * restart, the store's newest timestamp is sent instead.
+ *
+ * Readings are also written to the local database, and the first sync of the
+ * process restores them from there before going to the network, so the
+ * screen has something to show on a cold start and the cursor survives it.
+ * They are appended to the compressed long-term {@link SensorSeriesStore}
+ * as well, which keeps them after the database has trimmed them.
+ *
+ * Readings from the live stream are taken in as they arrive
+ * ({@link #recordLive}), so they are on the device before the next sync.
+ *
+ * The backend's pacing hint (Retry-After / X-Poll-Interval) from the last
+ * response is kept for {@link SensorPollScheduler}.
+ */
+public class SensorHistorySync {
+
+    private static final String TAG = "SensorHistorySync";
+
+    public interface Listener {
+        void onSyncComplete(int newReadings);
+
+        void onSyncFailed(String message);
+    }
+
+    private final ApiService apiService;
+    private final SensorHistoryStore store;
+    private final SensorReadingDao readingDao;
+    private final SensorSeriesStore seriesStore;
+    private final CallTracker calls = new CallTracker();
+    private final List<Runnable> waitingForRestore = new ArrayList<>();
+    private volatile long serverDelayMillis;
+    private volatile long retryAfterMillis;
+    private int generation;
+    private String lastLiveTimestamp;
+    private volatile String syncCursor; // the backend's cursor from the last page
+    private boolean catchingUp;
+
+    /**
+     * Syncs the history of one dog ({@link SensorHistoryStore#forDog(String)}).
+     */
+    public SensorHistorySync(String dogName) {
+        this(RetrofitClient.getApiService(), SensorHistoryStore.forDog(dogName),
+                CanineCareDatabase.getInstance() != null ? CanineCareDatabase.getInstance().sensorReadings() : null,
+                SensorSeriesStore.getInstance());
+    }
+
+    /**
+     * @param readingDao  local copy of the readings, or null to keep them in memory only
+     * @param seriesStore long-term compressed copy, or null for none
+     */
+    public SensorHistorySync(ApiService apiService, SensorHistoryStore store, SensorReadingDao readingDao,
+                             SensorSeriesStore seriesStore) {
+        this.apiService = apiService;
+        this.store = store;
+        this.readingDao = readingDao;
+        this.seriesStore = seriesStore;
+    }
+
+    public SensorHistoryStore getStore() {
+        return store;
+    }
+
+    /**
+     * Minimum wait before the next sync the backend asked for in its last
+     * response, in milliseconds (0 when it gave none).
+     */
+    public long getServerDelayMillis() {
+        return serverDelayMillis;
+    }
+
+    /**
+     * The Retry-After part of {@link #getServerDelayMillis()}, in milliseconds
+     * (0 when the last response had none).
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    public void sync(Listener listener) {
+        int syncGeneration = generation;
+        restore(() -> {
+            if (syncGeneration == generation) {
+                fetchPage(listener, 0);
+            }
+        });
+    }
+
+    /**
+     * Drops any sync in progress; its listener is not called.
+     */
+    public void cancel() {
+        generation++;
+        catchingUp = false;
+        calls.cancelAll();
+    }
+
+    /**
+     * Takes a reading from the live stream into the history and the local
+     * copies right away, instead of waiting for the next sync to fetch it.
+     *
+     * That is only safe while nothing is missing in between: the reading has
+     * to come straight after the previous one on the stream
+     * ({@code followsPrevious}), and that one has to be the newest the store
+     * has seen. Otherwise (a fresh connection, or a sync behind the stream)
+     * the reading is left to a catch-up sync, which this starts.
+     */
+    public void recordLive(SensorDataResponse.SensorData reading, boolean followsPrevious) {
+        String timestamp = reading != null ? reading.getTimestamp() : null;
+        if (timestamp == null) {
+            return;
+        }
+        String cursor = store.getCursor();
+        boolean contiguous = followsPrevious && lastLiveTimestamp != null && lastLiveTimestamp.equals(cursor);
+        lastLiveTimestamp = timestamp;
+        if (contiguous) {
+            store.append(reading);
+            persist(Collections.singletonList(reading));
+        } else if ((cursor == null || timestamp.compareTo(cursor) > 0) && !catchingUp) {
+            catchingUp = true;
+            sync(new Listener() {
+                @Override
+                public void onSyncComplete(int newReadings) {
+                    catchingUp = false;
+                }
+
+                @Override
+                public void onSyncFailed(String message) {
+                    catchingUp = false;
+                }
+            });
+        }
+    }
+
+    /**
+     * Loads the readings saved on the device into the store (once per process)
+     * and then runs {@code then} on the main thread.
+     */
+    public void restore(Runnable then) {
+        if (store.isRestored() || readingDao == null) {
+            then.run();
+            return;
+        }
+        waitingForRestore.add(then);
+        if (waitingForRestore.size() > 1) {
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            List<SensorDataResponse.SensorData> saved = store.getDogName() != null
+                    ? readingDao.getForDog(store.getDogName(), null, ApiConfig.SENSOR_HISTORY_CAPACITY)
+                    : readingDao.getRecent(ApiConfig.SENSOR_HISTORY_CAPACITY);
+            AppExecutors.mainThread().execute(() -> {
+                store.restore(saved);
+                List<Runnable> waiting = new ArrayList<>(waitingForRestore);
+                waitingForRestore.clear();
+                for (Runnable runnable : waiting) {
+                    runnable.run();
+                }
+            });
+        });
+    }
+
+    private void persist(List<SensorDataResponse.SensorData> readings) {
+        AnomalyMonitor anomalies = AnomalyMonitor.getInstance();
+        if ((readingDao == null && seriesStore == null && anomalies == null)
+                || readings == null || readings.isEmpty()) {
+            return;
+        }
+        // In order: the series and the anomaly baselines ignore readings older than their last one
+        AppExecutors.diskWrites().execute(() -> {
+            if (readingDao != null) {
+                readingDao.insert(readings);
+            }
+            if (anomalies != null) {
+                // Before the series append, so a first-seen dog is warmed up from earlier readings only
+                anomalies.observe(readings);
+            }
+            if (seriesStore != null) {
+                try {
+                    seriesStore.append(readings);
+                } catch (IOException e) {
+                    Log.w(TAG, "Could not append to the sensor series: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void fetchPage(Listener listener, int receivedSoFar) {
+        String cursor = syncCursor != null ? syncCursor : store.getCursor();
+        Call<SensorDataResponse> call = apiService.getSensorDataSince(cursor, ApiConfig.SENSOR_SYNC_PAGE_SIZE);
+
+        calls.enqueue(call, new Callback<SensorDataResponse>() {
+            @Override
+            public void onResponse(Call<SensorDataResponse> call, Response<SensorDataResponse> response) {
+                serverDelayMillis = PollHints.delayMillis(response.headers());
+                retryAfterMillis = PollHints.retryAfterMillis(response.headers());
+                if (!response.isSuccessful() || response.body() == null) {
+                    listener.onSyncFailed("Failed to load data");
+                    return;
+                }
+
+                SensorDataResponse page = response.body();
+                int added = store.append(page.getData());
+                persist(page.getData());
+                if (page.getCursor() != null) {
+                    syncCursor = page.getCursor();
+                }
+                // Other dogs' readings add nothing here but still move the cursor on
+                if (page.hasMore() && !Objects.equals(cursor, syncCursor)) {
+                    fetchPage(listener, receivedSoFar + added);
+                } else {
+                    listener.onSyncComplete(receivedSoFar + added);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<SensorDataResponse> call, Throwable t) {
+                serverDelayMillis = 0;
+                listener.onSyncFailed("Connection error: " + t.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package org.caninecare.app.data;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+
+/**
+ * Polls {@link SensorHistorySync} on an interval that follows the data.
+ *
+ * - Near fever/hypothermia, or with activity outside the normal band, it
+ *   polls every {@link ApiConfig#SENSOR_REFRESH_INTERVAL}.
+ * - Otherwise it polls every {@link ApiConfig#HOME_REFRESH_INTERVAL}, doubling
+ *   up to {@link ApiConfig#POLL_MAX_INTERVAL} while readings stay unchanged.
+ * - Failures back off the same way.
+ *
+ * The backend's Retry-After / X-Poll-Interval is a floor on the next delay:
+ * there is no point asking before the collar has reported again. While the
+ * last reading needs attention only Retry-After applies, since
+ * X-Poll-Interval is paced for normal readings and would hold the poll well
+ * past {@link ApiConfig#SENSOR_REFRESH_INTERVAL}.
+ *
+ * Runs on the main thread; listener callbacks are delivered there too.
+ * A poll still in flight when the scheduler stops is not reported.
+ */
+public class SensorPollScheduler {
+
+    private final SensorHistorySync sync;
+    private final SensorHistorySync.Listener listener;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable pollRunnable = this::poll;
+
+    private long interval = ApiConfig.HOME_REFRESH_INTERVAL;
+    private SensorDataResponse.SensorData lastReading;
+    private boolean running;
+    private boolean polling;
+    private int generation;
+    private long pollCount;
+
+    public SensorPollScheduler(SensorHistorySync sync, SensorHistorySync.Listener listener) {
+        this.sync = sync;
+        this.listener = listener;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        handler.post(pollRunnable);
+    }
+
+    public void stop() {
+        running = false;
+        polling = false;
+        generation++;
+        handler.removeCallbacks(pollRunnable);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Delay used after the last poll, before any server hint was applied.
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    public long getPollCount() {
+        return pollCount;
+    }
+
+    private void poll() {
+        if (!running || polling) {
+            return;
+        }
+        polling = true;
+        pollCount++;
+        int pollGeneration = generation;
+        sync.sync(new SensorHistorySync.Listener() {
+            @Override
+            public void onSyncComplete(int newReadings) {
+                if (pollGeneration != generation) {
+                    return;
+                }
+                polling = false;
+                SensorDataResponse.SensorData latest = sync.getStore().getLatest();
+                interval = nextInterval(interval, lastReading, latest);
+                lastReading = latest;
+                scheduleNext();
+                listener.onSyncComplete(newReadings);
+            }
+
+            @Override
+            public void onSyncFailed(String message) {
+                if (pollGeneration != generation) {
+                    return;
+                }
+                polling = false;
+                interval = Math.min(ApiConfig.POLL_MAX_INTERVAL, interval * 2);
+                scheduleNext();
+                listener.onSyncFailed(message);
+            }
+        });
+    }
+
+    private void scheduleNext() {
+        if (!running) {
+            return;
+        }
+        handler.postDelayed(pollRunnable, nextDelay(interval, lastReading,
+                sync.getServerDelayMillis(), sync.getRetryAfterMillis()));
+    }
+
+    /**
+     * Delay before the next poll: {@code interval}, raised to the server's
+     * hint, or only to its Retry-After when {@code latest} needs attention.
+     */
+    static long nextDelay(long interval, SensorDataResponse.SensorData latest,
+                          long serverDelay, long retryAfter) {
+        long floor = latest != null && needsAttention(latest) ? retryAfter : serverDelay;
+        return Math.max(interval, Math.min(floor, ApiConfig.POLL_MAX_SERVER_DELAY));
+    }
+
+    /**
+     * Interval after a successful poll; {@code previous} is the reading the
+     * last poll ended on, {@code latest} the one this poll ended on.
+     */
+    static long nextInterval(long current, SensorDataResponse.SensorData previous,
+                             SensorDataResponse.SensorData latest) {
+        if (latest != null && needsAttention(latest)) {
+            return ApiConfig.SENSOR_REFRESH_INTERVAL;
+        }
+        if (latest == null || unchanged(previous, latest)) {
+            return Math.min(ApiConfig.POLL_MAX_INTERVAL,
+                    Math.max(ApiConfig.HOME_REFRESH_INTERVAL, current * 2));
+        }
+        return ApiConfig.HOME_REFRESH_INTERVAL;
+    }
+
+    static boolean needsAttention(SensorDataResponse.SensorData reading) {
+        float temp = reading.getTemperature();
+        int activity = reading.getActivityPercent();
+        return temp >= ApiConfig.TEMP_FEVER - ApiConfig.POLL_TEMP_MARGIN
+                || temp <= ApiConfig.TEMP_HYPOTHERMIA + ApiConfig.POLL_TEMP_MARGIN
+                || activity < ApiConfig.ACTIVITY_LOW_THRESHOLD
+                || activity > ApiConfig.ACTIVITY_HIGH_THRESHOLD;
+    }
+
+    private static boolean unchanged(SensorDataResponse.SensorData previous,
+                                     SensorDataResponse.SensorData latest) {
+        if (previous == null) {
+            return false;
+        }
+        return previous == latest
+                || (Math.abs(previous.getTemperature() - latest.getTemperature()) < ApiConfig.POLL_UNCHANGED_TEMP_DELTA
+                && Math.abs(previous.getActivityPercent() - latest.getActivityPercent()) < ApiConfig.POLL_UNCHANGED_ACTIVITY_DELTA);
+    }
+}
@@ -0,0 +1,127 @@
+package org.caninecare.app.data;
+
+import android.content.Context;
+
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.data.local.CanineCareDatabase;
+import org.caninecare.app.data.local.OutboxDao;
+import org.caninecare.app.models.DogProfile;
+import org.caninecare.app.models.FertilityRequest;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.utils.ApiConfig;
+import org.caninecare.app.utils.AppExecutors;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable queue of profile saves and fertility predictions that could not be
+ * sent right away. Entries live in the local database and are sent by
+ * {@link OutboxWorker} once the device is online, oldest first per dog, each
+ * with the idempotency key it was created with.
+ *
+ * Screens send directly while a dog has nothing queued and fall back to the
+ * queue on a connection error or 5xx, reusing the same key, so a request that
+ * did reach the server is still applied only once.
+ */
+public class WriteOutbox {
+
+    static final String KIND_PROFILE = "profile";
+    static final String KIND_FERTILITY = "fertility";
+
+    private static final String WORK_NAME = "outbox-drain";
+
+    public interface PendingCallback {
+        void onResult(boolean hasPending);
+    }
+
+    private static WriteOutbox instance = null;
+
+    private final Context context;
+    private final Gson gson = ModelAdapters.newGson();
+
+    /**
+     * Call once from Application.onCreate(), after {@link CanineCareDatabase#init(Context)}.
+     */
+    public static synchronized void init(Context context) {
+        if (instance == null) {
+            instance = new WriteOutbox(context.getApplicationContext());
+        }
+    }
+
+    public static synchronized WriteOutbox getInstance() {
+        return instance;
+    }
+
+    private WriteOutbox(Context context) {
+        this.context = context;
+    }
+
+    public static String newIdempotencyKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Tells on the main thread whether the dog still has writes queued; a new
+     * write for it must then be queued too, to keep them in order.
+     */
+    public void hasPending(String dogName, PendingCallback callback) {
+        OutboxDao outbox = outbox();
+        if (outbox == null) {
+            callback.onResult(false);
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            boolean pending = outbox.countPending(dogName) > 0;
+            AppExecutors.mainThread().execute(() -> callback.onResult(pending));
+        });
+    }
+
+    public void enqueueProfile(DogProfile profile, String idempotencyKey) {
+        enqueue(profile.getName(), KIND_PROFILE, idempotencyKey, gson.toJson(profile));
+    }
+
+    public void enqueueFertility(FertilityRequest request, String idempotencyKey) {
+        enqueue(request.getDogName(), KIND_FERTILITY, idempotencyKey, gson.toJson(request));
+    }
+
+    private void enqueue(String dogName, String kind, String idempotencyKey, String payload) {
+        OutboxDao outbox = outbox();
+        if (outbox == null) {
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            outbox.insert(dogName, kind, idempotencyKey, payload);
+            scheduleDrain();
+        });
+    }
+
+    /**
+     * Queues a drain for when the device is online. A drain already running
+     * finishes first; the new one then picks up whatever is left.
+     */
+    public void scheduleDrain() {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxWorker.class)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, ApiConfig.OUTBOX_BACKOFF_MIN, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    private static OutboxDao outbox() {
+        CanineCareDatabase database = CanineCareDatabase.getInstance();
+        return database != null ? database.outbox() : null;
+    }
+}
@@ -0,0 +1,77 @@
+package org.caninecare.app.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.models.ModelAdapters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Alerts as last received from the backend. Results are the newest
+ * {@code limit}, oldest first like /api/alerts.
+ */
+public class AlertDao {
+
+    private static final String TABLE = CanineCareDatabase.TABLE_ALERTS;
+
+    private final CanineCareDatabase database;
+    private final Gson gson = ModelAdapters.newGson();
+
+    AlertDao(CanineCareDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Replaces the stored alerts with the backend's current list. Alerts have
+     * no id of their own, so the list is kept as a snapshot.
+     */
+    public void replaceAll(List<AlertsResponse.Alert> alerts) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE, null, null);
+            ContentValues values = new ContentValues();
+            for (AlertsResponse.Alert alert : alerts) {
+                if (alert == null) {
+                    continue;
+                }
+                values.clear();
+                values.put("dog_name", alert.getDogName() != null ? alert.getDogName() : "");
+                values.put("timestamp", alert.getTimestamp() != null ? alert.getTimestamp() : "");
+                values.put("severity", alert.getEmergencyLevel() != null ? alert.getEmergencyLevel() : alert.getSeverity());
+                values.put("payload", gson.toJson(alert));
+                db.insert(TABLE, null, values);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public List<AlertsResponse.Alert> getRecent(int limit) {
+        return query(null, null, limit);
+    }
+
+    public List<AlertsResponse.Alert> getForDog(String dogName, int limit) {
+        return query("dog_name = ?", new String[]{dogName}, limit);
+    }
+
+    private List<AlertsResponse.Alert> query(String selection, String[] args, int limit) {
+        List<AlertsResponse.Alert> alerts = new ArrayList<>();
+        try (Cursor cursor = database.getReadableDatabase().query(TABLE, new String[]{"payload"},
+                selection, args, null, null, "timestamp DESC", String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                alerts.add(gson.fromJson(cursor.getString(0), AlertsResponse.Alert.class));
+            }
+        }
+        Collections.reverse(alerts);
+        return alerts;
+    }
+}
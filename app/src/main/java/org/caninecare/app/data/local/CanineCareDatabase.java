@@ -0,0 +1,160 @@
+package org.caninecare.app.data.local;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+/**
+ * On-device copy of what the screens show, so they can render before the
+ * backend answers (and without it).
+ *
+ * Sensor readings get real columns because they are queried by time; alerts,
+ * heat cycles and profiles are stored as their JSON payload next to the
+ * columns they are looked up by. Access goes through the DAOs, which block:
+ * call them from {@link org.caninecare.app.utils.AppExecutors#background()}.
+ *
+ * Every table but the outbox and the fertility results is a copy of backend
+ * data and could be dropped and refetched in a future upgrade; the outbox
+ * holds writes not sent yet and the results are the answers to them not
+ * shown yet, so both must always be migrated.
+ */
+public class CanineCareDatabase extends SQLiteOpenHelper {
+
+    private static final String NAME = "caninecare.db";
+    private static final int VERSION = 3;
+
+    static final String TABLE_SENSOR_READINGS = "sensor_readings";
+    static final String TABLE_ALERTS = "alerts";
+    static final String TABLE_HEAT_CYCLES = "heat_cycles";
+    static final String TABLE_DOG_PROFILES = "dog_profiles";
+    static final String TABLE_OUTBOX = "outbox";
+    static final String TABLE_FERTILITY_RESULTS = "fertility_results";
+
+    private static CanineCareDatabase instance = null;
+
+    private final SensorReadingDao sensorReadingDao = new SensorReadingDao(this);
+    private final AlertDao alertDao = new AlertDao(this);
+    private final HeatCycleDao heatCycleDao = new HeatCycleDao(this);
+    private final DogProfileDao dogProfileDao = new DogProfileDao(this);
+    private final OutboxDao outboxDao = new OutboxDao(this);
+    private final FertilityResultDao fertilityResultDao = new FertilityResultDao(this);
+
+    /**
+     * Call once from Application.onCreate(); the file is opened lazily on first use.
+     */
+    public static synchronized void init(Context context) {
+        if (instance == null) {
+            instance = new CanineCareDatabase(context.getApplicationContext());
+        }
+    }
+
+    /**
+     * The database, or null if {@link #init(Context)} was never called.
+     */
+    public static synchronized CanineCareDatabase getInstance() {
+        return instance;
+    }
+
+    private CanineCareDatabase(Context context) {
+        super(context, NAME, null, VERSION);
+    }
+
+    public SensorReadingDao sensorReadings() {
+        return sensorReadingDao;
+    }
+
+    public AlertDao alerts() {
+        return alertDao;
+    }
+
+    public HeatCycleDao heatCycles() {
+        return heatCycleDao;
+    }
+
+    public DogProfileDao dogProfiles() {
+        return dogProfileDao;
+    }
+
+    public OutboxDao outbox() {
+        return outboxDao;
+    }
+
+    public FertilityResultDao fertilityResults() {
+        return fertilityResultDao;
+    }
+
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        db.enableWriteAheadLogging();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_SENSOR_READINGS + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "dog_name TEXT NOT NULL DEFAULT '', "
+                + "timestamp TEXT NOT NULL, "
+                + "temperature REAL NOT NULL, "
+                + "activity_percent INTEGER NOT NULL, "
+                + "health_status TEXT, "
+                + "latitude REAL NOT NULL, "
+                + "longitude REAL NOT NULL, "
+                + "UNIQUE (dog_name, timestamp))");
+        db.execSQL("CREATE INDEX idx_sensor_readings_timestamp ON " + TABLE_SENSOR_READINGS + " (timestamp)");
+
+        db.execSQL("CREATE TABLE " + TABLE_ALERTS + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "dog_name TEXT NOT NULL DEFAULT '', "
+                + "timestamp TEXT NOT NULL DEFAULT '', "
+                + "severity TEXT, "
+                + "payload TEXT NOT NULL)");
+        db.execSQL("CREATE INDEX idx_alerts_dog_timestamp ON " + TABLE_ALERTS + " (dog_name, timestamp)");
+        db.execSQL("CREATE INDEX idx_alerts_timestamp ON " + TABLE_ALERTS + " (timestamp)");
+
+        db.execSQL("CREATE TABLE " + TABLE_HEAT_CYCLES + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "dog_name TEXT NOT NULL, "
+                + "created_at TEXT NOT NULL DEFAULT '', "
+                + "payload TEXT NOT NULL)");
+        db.execSQL("CREATE INDEX idx_heat_cycles_dog_created ON " + TABLE_HEAT_CYCLES + " (dog_name, created_at)");
+
+        db.execSQL("CREATE TABLE " + TABLE_DOG_PROFILES + " ("
+                + "dog_name TEXT PRIMARY KEY, "
+                + "last_updated TEXT, "
+                + "payload TEXT NOT NULL)");
+
+        createOutbox(db);
+        createFertilityResults(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            createOutbox(db);
+        }
+        if (oldVersion < 3) {
+            createFertilityResults(db);
+        }
+    }
+
+    private static void createOutbox(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_OUTBOX + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "dog_name TEXT NOT NULL, "
+                + "kind TEXT NOT NULL, "
+                + "idempotency_key TEXT NOT NULL UNIQUE, "
+                + "payload TEXT NOT NULL, "
+                + "status TEXT NOT NULL DEFAULT '" + OutboxDao.STATUS_PENDING + "', "
+                + "attempts INTEGER NOT NULL DEFAULT 0, "
+                + "last_error TEXT, "
+                + "created_at INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_outbox_status_dog ON " + TABLE_OUTBOX + " (status, dog_name, id)");
+    }
+
+    private static void createFertilityResults(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_FERTILITY_RESULTS + " ("
+                + "dog_name TEXT PRIMARY KEY, "
+                + "received_at INTEGER NOT NULL, "
+                + "payload TEXT NOT NULL)");
+    }
+}
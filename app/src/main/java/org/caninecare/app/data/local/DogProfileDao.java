@@ -0,0 +1,46 @@
+package org.caninecare.app.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.models.DogProfile;
+import org.caninecare.app.models.ModelAdapters;
+
+/**
+ * Dog profiles keyed by name.
+ */
+public class DogProfileDao {
+
+    private static final String TABLE = CanineCareDatabase.TABLE_DOG_PROFILES;
+
+    private final CanineCareDatabase database;
+    private final Gson gson = ModelAdapters.newGson();
+
+    DogProfileDao(CanineCareDatabase database) {
+        this.database = database;
+    }
+
+    public void save(DogProfile profile) {
+        if (profile == null || profile.getName() == null) {
+            return;
+        }
+        ContentValues values = new ContentValues();
+        values.put("dog_name", profile.getName());
+        values.put("last_updated", profile.getLastUpdated());
+        values.put("payload", gson.toJson(profile));
+        database.getWritableDatabase().insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * The stored profile, or null if this dog has not been saved or loaded yet.
+     */
+    public DogProfile get(String dogName) {
+        try (Cursor cursor = database.getReadableDatabase().query(TABLE, new String[]{"payload"},
+                "dog_name = ?", new String[]{dogName}, null, null, null)) {
+            return cursor.moveToFirst() ? gson.fromJson(cursor.getString(0), DogProfile.class) : null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.caninecare.app.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.models.FertilityResponse;
+import org.caninecare.app.models.ModelAdapters;
+
+/**
+ * The backend's answer to a queued fertility prediction, one per dog, kept
+ * until the fertility screen has shown it.
+ */
+public class FertilityResultDao {
+
+    private static final String TABLE = CanineCareDatabase.TABLE_FERTILITY_RESULTS;
+
+    private final CanineCareDatabase database;
+    private final Gson gson = ModelAdapters.newGson();
+
+    FertilityResultDao(CanineCareDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Stores the result, replacing an older one for the same dog that was never shown.
+     */
+    public void save(String dogName, FertilityResponse response) {
+        if (dogName == null || response == null) {
+            return;
+        }
+        ContentValues values = new ContentValues();
+        values.put("dog_name", dogName);
+        values.put("received_at", System.currentTimeMillis());
+        values.put("payload", gson.toJson(response));
+        database.getWritableDatabase().insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Removes and returns the stored result, or null if there is none.
+     */
+    public FertilityResponse take(String dogName) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            FertilityResponse response = null;
+            try (Cursor cursor = db.query(TABLE, new String[]{"payload"},
+                    "dog_name = ?", new String[]{dogName}, null, null, null)) {
+                if (cursor.moveToFirst()) {
+                    response = gson.fromJson(cursor.getString(0), FertilityResponse.class);
+                }
+            }
+            if (response != null) {
+                db.delete(TABLE, "dog_name = ?", new String[]{dogName});
+            }
+            db.setTransactionSuccessful();
+            return response;
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.caninecare.app.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.models.HeatCycle;
+import org.caninecare.app.models.ModelAdapters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heat cycle history per dog, newest first.
+ */
+public class HeatCycleDao {
+
+    private static final String TABLE = CanineCareDatabase.TABLE_HEAT_CYCLES;
+
+    private final CanineCareDatabase database;
+    private final Gson gson = ModelAdapters.newGson();
+
+    HeatCycleDao(CanineCareDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Replaces the stored history of one dog with the backend's copy.
+     */
+    public void replaceForDog(String dogName, List<HeatCycle> cycles) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE, "dog_name = ?", new String[]{dogName});
+            ContentValues values = new ContentValues();
+            for (HeatCycle cycle : cycles) {
+                if (cycle == null) {
+                    continue;
+                }
+                values.clear();
+                values.put("dog_name", dogName);
+                values.put("created_at", cycle.getCreatedAt() != null ? cycle.getCreatedAt() : "");
+                values.put("payload", gson.toJson(cycle));
+                db.insert(TABLE, null, values);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public List<HeatCycle> getForDog(String dogName, int limit) {
+        List<HeatCycle> cycles = new ArrayList<>();
+        try (Cursor cursor = database.getReadableDatabase().query(TABLE, new String[]{"payload"},
+                "dog_name = ?", new String[]{dogName}, null, null, "created_at DESC", String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                cycles.add(gson.fromJson(cursor.getString(0), HeatCycle.class));
+            }
+        }
+        return cycles;
+    }
+}
@@ -0,0 +1,129 @@
+package org.caninecare.app.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes waiting to be sent to the backend, oldest first.
+ *
+ * Entries of one dog are sent strictly in order, so only the oldest pending
+ * entry of each dog is ever handed out. Entries that give up are kept with
+ * status "failed" for inspection instead of blocking the ones behind them.
+ */
+public class OutboxDao {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_FAILED = "failed";
+
+    private static final String TABLE = CanineCareDatabase.TABLE_OUTBOX;
+
+    /**
+     * One queued write.
+     */
+    public static class Entry {
+        public final long id;
+        public final String dogName;
+        public final String kind;
+        public final String idempotencyKey;
+        public final String payload;
+        public final int attempts;
+
+        Entry(long id, String dogName, String kind, String idempotencyKey, String payload, int attempts) {
+            this.id = id;
+            this.dogName = dogName;
+            this.kind = kind;
+            this.idempotencyKey = idempotencyKey;
+            this.payload = payload;
+            this.attempts = attempts;
+        }
+    }
+
+    private final CanineCareDatabase database;
+
+    OutboxDao(CanineCareDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Queues a write; a second insert with the same idempotency key is ignored.
+     */
+    public void insert(String dogName, String kind, String idempotencyKey, String payload) {
+        ContentValues values = new ContentValues();
+        values.put("dog_name", dogName);
+        values.put("kind", kind);
+        values.put("idempotency_key", idempotencyKey);
+        values.put("payload", payload);
+        values.put("created_at", System.currentTimeMillis());
+        database.getWritableDatabase().insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_IGNORE);
+    }
+
+    /**
+     * The oldest pending entry of each dog not in {@code skipDogs}, up to
+     * {@code limit} of them, oldest first.
+     */
+    public List<Entry> nextBatch(Collection<String> skipDogs, int limit) {
+        StringBuilder selection = new StringBuilder("status = ? AND id IN (SELECT MIN(id) FROM " + TABLE
+                + " WHERE status = ? GROUP BY dog_name)");
+        List<String> args = new ArrayList<>();
+        args.add(STATUS_PENDING);
+        args.add(STATUS_PENDING);
+        if (!skipDogs.isEmpty()) {
+            selection.append(" AND dog_name NOT IN (");
+            for (String dog : skipDogs) {
+                selection.append(args.size() > 2 ? ", ?" : "?");
+                args.add(dog);
+            }
+            selection.append(")");
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        try (Cursor cursor = database.getReadableDatabase().query(TABLE,
+                new String[]{"id", "dog_name", "kind", "idempotency_key", "payload", "attempts"},
+                selection.toString(), args.toArray(new String[0]), null, null, "id", String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                entries.add(new Entry(cursor.getLong(0), cursor.getString(1), cursor.getString(2),
+                        cursor.getString(3), cursor.getString(4), cursor.getInt(5)));
+            }
+        }
+        return entries;
+    }
+
+    public void delete(long id) {
+        database.getWritableDatabase().delete(TABLE, "id = ?", new String[]{String.valueOf(id)});
+    }
+
+    /**
+     * Counts a failed attempt; the entry stays pending for the next run.
+     */
+    public void recordAttempt(long id, String error) {
+        database.getWritableDatabase().execSQL(
+                "UPDATE " + TABLE + " SET attempts = attempts + 1, last_error = ? WHERE id = ?",
+                new Object[]{error, id});
+    }
+
+    /**
+     * Gives up on an entry so the ones behind it can go.
+     */
+    public void markFailed(long id, String error) {
+        ContentValues values = new ContentValues();
+        values.put("status", STATUS_FAILED);
+        values.put("last_error", error);
+        database.getWritableDatabase().update(TABLE, values, "id = ?", new String[]{String.valueOf(id)});
+    }
+
+    public long countPending() {
+        return DatabaseUtils.queryNumEntries(database.getReadableDatabase(), TABLE,
+                "status = ?", new String[]{STATUS_PENDING});
+    }
+
+    public long countPending(String dogName) {
+        return DatabaseUtils.queryNumEntries(database.getReadableDatabase(), TABLE,
+                "status = ? AND dog_name = ?", new String[]{STATUS_PENDING, dogName});
+    }
+}
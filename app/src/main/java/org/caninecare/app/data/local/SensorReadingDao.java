@@ -0,0 +1,105 @@
+package org.caninecare.app.data.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sensor readings, unique per (dog, timestamp). Results are oldest first.
+ */
+public class SensorReadingDao {
+
+    private static final String TABLE = CanineCareDatabase.TABLE_SENSOR_READINGS;
+    private static final String[] COLUMNS = {
+            "dog_name", "timestamp", "temperature", "activity_percent", "health_status", "latitude", "longitude"
+    };
+
+    private final CanineCareDatabase database;
+
+    SensorReadingDao(CanineCareDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Inserts readings not stored yet and trims the table to
+     * {@link ApiConfig#LOCAL_SENSOR_CAPACITY} rows; returns how many were new.
+     */
+    public int insert(List<SensorDataResponse.SensorData> readings) {
+        if (readings == null || readings.isEmpty()) {
+            return 0;
+        }
+        SQLiteDatabase db = database.getWritableDatabase();
+        int inserted = 0;
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            for (SensorDataResponse.SensorData reading : readings) {
+                if (reading == null || reading.getTimestamp() == null) {
+                    continue;
+                }
+                values.clear();
+                values.put("dog_name", reading.getDogName() != null ? reading.getDogName() : "");
+                values.put("timestamp", reading.getTimestamp());
+                values.put("temperature", reading.getTemperature());
+                values.put("activity_percent", reading.getActivityPercent());
+                values.put("health_status", reading.getHealthStatus());
+                values.put("latitude", reading.getLatitude());
+                values.put("longitude", reading.getLongitude());
+                if (db.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_IGNORE) != -1) {
+                    inserted++;
+                }
+            }
+            if (inserted > 0) {
+                db.execSQL("DELETE FROM " + TABLE + " WHERE id <= (SELECT id FROM " + TABLE
+                        + " ORDER BY id DESC LIMIT 1 OFFSET " + ApiConfig.LOCAL_SENSOR_CAPACITY + ")");
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return inserted;
+    }
+
+    /**
+     * The newest {@code limit} readings across all dogs.
+     */
+    public List<SensorDataResponse.SensorData> getRecent(int limit) {
+        return queryNewestFirst(null, null, limit);
+    }
+
+    /**
+     * Readings for one dog newer than {@code since} (null for all), newest {@code limit} of them.
+     */
+    public List<SensorDataResponse.SensorData> getForDog(String dogName, String since, int limit) {
+        if (since == null) {
+            return queryNewestFirst("dog_name = ?", new String[]{dogName}, limit);
+        }
+        return queryNewestFirst("dog_name = ? AND timestamp > ?", new String[]{dogName, since}, limit);
+    }
+
+    private List<SensorDataResponse.SensorData> queryNewestFirst(String selection, String[] args, int limit) {
+        List<SensorDataResponse.SensorData> readings = new ArrayList<>();
+        try (Cursor cursor = database.getReadableDatabase().query(TABLE, COLUMNS, selection, args,
+                null, null, "timestamp DESC", String.valueOf(limit))) {
+            while (cursor.moveToNext()) {
+                readings.add(new SensorDataResponse.SensorData(
+                        cursor.getString(0),
+                        cursor.getFloat(2),
+                        cursor.getInt(3),
+                        cursor.getString(4),
+                        cursor.getString(1),
+                        cursor.getDouble(5),
+                        cursor.getDouble(6)));
+            }
+        }
+        Collections.reverse(readings);
+        return readings;
+    }
+}
@@ -0,0 +1,436 @@
+package org.caninecare.app.data.series;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+import org.caninecare.app.utils.AppExecutors;
+import org.caninecare.app.utils.IsoTimestamps;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Long-term sensor history, compressed, one series per dog.
+ *
+ * Where the database keeps the recent readings the screens start from, this
+ * keeps months of them at a few bytes each (see {@link SeriesCodec}). Each
+ * dog's series is a directory of {@link SeriesSegment} files: one open,
+ * memory-mapped segment taking appends, and sealed ones before it. A segment
+ * is sealed when full or once it spans {@link ApiConfig#SERIES_SEGMENT_SPAN_HOURS},
+ * which keeps range scans to the few files that overlap the range.
+ *
+ * Sealed segments are compacted in the background: rewritten to their exact
+ * size, runs of small ones merged, and those past
+ * {@link ApiConfig#SERIES_RETENTION_DAYS} dropped. A compacted file replaces
+ * the first of its sources by rename; if the process dies before the other
+ * sources are deleted, they are recognised on the next start by lying inside
+ * its time range and removed then.
+ *
+ * Readings must arrive in timestamp order per dog; older or repeated ones are
+ * ignored. Methods block on disk: call them from
+ * {@link AppExecutors#background()}.
+ */
+public class SensorSeriesStore {
+
+    private static final String TAG = "SensorSeriesStore";
+    private static final String DIRECTORY = "sensor-series";
+    private static final String SUFFIX = ".seg";
+
+    private static SensorSeriesStore instance = null;
+
+    private final File root;
+    private final int segmentBytes;
+    private final long segmentSpanMicros;
+    private final long retentionMicros;
+    private final Map<String, Series> series = new HashMap<>();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    /**
+     * Call once from Application.onCreate(); series are opened lazily on first use.
+     */
+    public static synchronized void init(Context context) {
+        if (instance == null) {
+            instance = new SensorSeriesStore(new File(context.getApplicationContext().getFilesDir(), DIRECTORY),
+                    ApiConfig.SERIES_SEGMENT_BYTES,
+                    TimeUnit.HOURS.toMicros(ApiConfig.SERIES_SEGMENT_SPAN_HOURS),
+                    TimeUnit.DAYS.toMicros(ApiConfig.SERIES_RETENTION_DAYS));
+        }
+    }
+
+    /**
+     * The store, or null if {@link #init(Context)} was never called.
+     */
+    public static synchronized SensorSeriesStore getInstance() {
+        return instance;
+    }
+
+    public SensorSeriesStore(File root, int segmentBytes, long segmentSpanMicros, long retentionMicros) {
+        this.root = root;
+        this.segmentBytes = segmentBytes;
+        this.segmentSpanMicros = segmentSpanMicros;
+        this.retentionMicros = retentionMicros;
+    }
+
+    /**
+     * Appends the readings newer than what each dog's series holds and makes
+     * them durable; returns how many were added.
+     */
+    public synchronized int append(List<SensorDataResponse.SensorData> readings) throws IOException {
+        if (readings == null || readings.isEmpty()) {
+            return 0;
+        }
+        List<Series> touched = new ArrayList<>();
+        int added = 0;
+        for (SensorDataResponse.SensorData reading : readings) {
+            long timestamp = reading != null ? IsoTimestamps.parseMicros(reading.getTimestamp()) : IsoTimestamps.INVALID;
+            if (timestamp == IsoTimestamps.INVALID) {
+                continue;
+            }
+            Series dog = series(reading.getDogName() != null ? reading.getDogName() : "");
+            if (dog.append(timestamp, reading.getTemperature(), reading.getActivityPercent(),
+                    reading.getLatitude(), reading.getLongitude())) {
+                added++;
+                if (!touched.contains(dog)) {
+                    touched.add(dog);
+                }
+            }
+        }
+        for (Series dog : touched) {
+            dog.commit();
+        }
+        return added;
+    }
+
+    /**
+     * Appends one reading and makes it durable; false if it is not newer than
+     * the dog's last one. Prefer {@link #append(List)} for batches.
+     */
+    public synchronized boolean append(String dogName, long timestampMicros, float temperature, int activity,
+                                       double latitude, double longitude) throws IOException {
+        Series dog = series(dogName);
+        if (!dog.append(timestampMicros, temperature, activity, latitude, longitude)) {
+            return false;
+        }
+        dog.commit();
+        return true;
+    }
+
+    /**
+     * Visits the dog's readings with {@code fromMicros <= timestamp <= toMicros},
+     * oldest first; returns how many were visited.
+     */
+    public synchronized int scan(String dogName, long fromMicros, long toMicros, ReadingVisitor visitor) throws IOException {
+        int visited = 0;
+        for (SeriesSegment segment : series(dogName).segments) {
+            visited += segment.scan(fromMicros, toMicros, visitor);
+        }
+        return visited;
+    }
+
+    /**
+     * Timestamp of the dog's newest reading, or {@link IsoTimestamps#INVALID}.
+     */
+    public synchronized long lastTimestamp(String dogName) throws IOException {
+        List<SeriesSegment> segments = series(dogName).segments;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i).count() > 0) {
+                return segments.get(i).lastTimestamp();
+            }
+        }
+        return IsoTimestamps.INVALID;
+    }
+
+    public synchronized int count(String dogName) throws IOException {
+        int count = 0;
+        for (SeriesSegment segment : series(dogName).segments) {
+            count += segment.count();
+        }
+        return count;
+    }
+
+    /**
+     * Bytes the dog's readings take on disk, not counting the unused part of
+     * the open segment's preallocated file.
+     */
+    public synchronized long sizeOnDisk(String dogName) throws IOException {
+        long bytes = 0;
+        for (SeriesSegment segment : series(dogName).segments) {
+            bytes += segment.isSealed() ? segment.file.length() : segment.usedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Runs {@link #compact()} in the background unless it is already running.
+     */
+    public void scheduleCompaction() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            try {
+                compact();
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Compaction failed: " + e.getMessage());
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    /**
+     * Compacts the sealed segments of every series on disk. Appends and scans
+     * only wait while a rewritten file is swapped in, not while it is written.
+     */
+    public void compact() throws IOException {
+        File[] directories = root.listFiles(File::isDirectory);
+        if (directories == null) {
+            return;
+        }
+        for (File directory : directories) {
+            String dogName = dogName(directory.getName());
+            if (dogName != null) {
+                compact(dogName);
+            }
+        }
+    }
+
+    private void compact(String dogName) throws IOException {
+        List<SeriesSegment> sealed = new ArrayList<>();
+        long newest;
+        synchronized (this) {
+            Series dog = series(dogName);
+            for (SeriesSegment segment : dog.segments) {
+                if (segment.isSealed()) {
+                    sealed.add(segment);
+                }
+            }
+            newest = lastTimestamp(dogName);
+        }
+
+        // Past retention: dropped whole; sealed segments never straddle much more than a span
+        List<SeriesSegment> expired = new ArrayList<>();
+        while (!sealed.isEmpty() && newest != IsoTimestamps.INVALID
+                && sealed.get(0).lastTimestamp() < newest - retentionMicros) {
+            expired.add(sealed.remove(0));
+        }
+
+        // Runs of consecutive segments that fit one segment together; a run of
+        // one is only worth rewriting if it was never compacted
+        List<List<SeriesSegment>> runs = new ArrayList<>();
+        List<SeriesSegment> run = new ArrayList<>();
+        long runBytes = 0;
+        for (SeriesSegment segment : sealed) {
+            if (!run.isEmpty() && runBytes + segment.usedBytes() > segmentBytes) {
+                runs.add(run);
+                run = new ArrayList<>();
+                runBytes = 0;
+            }
+            run.add(segment);
+            runBytes += segment.usedBytes();
+        }
+        if (!run.isEmpty()) {
+            runs.add(run);
+        }
+
+        List<SeriesSegment> replaced = new ArrayList<>();
+        List<SeriesSegment> written = new ArrayList<>();
+        for (List<SeriesSegment> sources : runs) {
+            if (sources.size() == 1 && sources.get(0).isCompacted()) {
+                continue;
+            }
+            SeriesSegment.ReadingColumns readings = new SeriesSegment.ReadingColumns();
+            for (SeriesSegment source : sources) {
+                source.scan(Long.MIN_VALUE, Long.MAX_VALUE, readings);
+            }
+            if (readings.size() == 0) {
+                expired.addAll(sources);
+                continue;
+            }
+            File target = sources.get(0).file;
+            SeriesSegment.writeCompacted(target, readings);
+            written.add(SeriesSegment.open(target));
+            replaced.addAll(sources);
+        }
+
+        if (expired.isEmpty() && replaced.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            List<SeriesSegment> segments = series(dogName).segments;
+            segments.removeAll(expired);
+            segments.removeAll(replaced);
+            segments.addAll(written);
+            segments.sort(BY_FIRST_TIMESTAMP);
+        }
+        for (SeriesSegment segment : expired) {
+            segment.file.delete();
+        }
+        for (SeriesSegment segment : replaced) {
+            if (!written.isEmpty() && !isTarget(segment, written)) {
+                segment.file.delete();
+            }
+        }
+        Log.d(TAG, dogName + ": compacted " + replaced.size() + " segments into " + written.size()
+                + ", dropped " + expired.size());
+    }
+
+    private static boolean isTarget(SeriesSegment segment, List<SeriesSegment> written) {
+        for (SeriesSegment target : written) {
+            if (target.file.equals(segment.file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Series series(String dogName) throws IOException {
+        Series dog = series.get(dogName);
+        if (dog == null) {
+            dog = new Series(new File(root, directoryName(dogName)));
+            series.put(dogName, dog);
+        }
+        return dog;
+    }
+
+    /**
+     * Dog names can hold any character, so directories are named by their UTF-8 bytes in hex.
+     */
+    private static String directoryName(String dogName) {
+        byte[] bytes = dogName.getBytes(StandardCharsets.UTF_8);
+        StringBuilder name = new StringBuilder("dog-");
+        for (byte b : bytes) {
+            name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return name.toString();
+    }
+
+    private static String dogName(String directoryName) {
+        if (!directoryName.startsWith("dog-") || directoryName.length() % 2 != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(directoryName.length() - 4) / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(directoryName.charAt(4 + 2 * i), 16);
+            int low = Character.digit(directoryName.charAt(5 + 2 * i), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final Comparator<SeriesSegment> BY_FIRST_TIMESTAMP = (a, b) -> {
+        int byFirst = Long.compare(a.firstTimestamp(), b.firstTimestamp());
+        // Of two segments starting together, the one reaching further (a compacted merge) comes first
+        return byFirst != 0 ? byFirst : Long.compare(b.lastTimestamp(), a.lastTimestamp());
+    };
+
+    /**
+     * One dog's segments, oldest first; only the last can be open.
+     */
+    private final class Series {
+
+        final File directory;
+        final List<SeriesSegment> segments = new ArrayList<>();
+
+        Series(File directory) throws IOException {
+            this.directory = directory;
+            File[] files = directory.listFiles();
+            if (files == null) {
+                return;
+            }
+            List<SeriesSegment> found = new ArrayList<>();
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(".tmp")) {
+                    // A compaction that did not finish; its sources are intact
+                    file.delete();
+                } else if (name.endsWith(SUFFIX)) {
+                    try {
+                        SeriesSegment segment = SeriesSegment.open(file);
+                        if (segment.count() > 0) {
+                            found.add(segment);
+                        } else {
+                            // Opened but nothing committed to it
+                            file.delete();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        Log.w(TAG, "Dropping unreadable segment " + file + ": " + e.getMessage());
+                        file.delete();
+                    }
+                }
+            }
+            found.sort(BY_FIRST_TIMESTAMP);
+
+            for (SeriesSegment segment : found) {
+                SeriesSegment previous = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (previous != null && previous.isCompacted()
+                        && segment.lastTimestamp() <= previous.lastTimestamp()) {
+                    // A source of a compaction that was replaced but not yet deleted
+                    segment.file.delete();
+                } else {
+                    if (previous != null && !previous.isSealed()) {
+                        // Only the newest segment stays open
+                        previous.seal();
+                    }
+                    segments.add(segment);
+                }
+            }
+        }
+
+        boolean append(long timestamp, float temperature, int activity, double latitude, double longitude)
+                throws IOException {
+            SeriesSegment open = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (open != null && open.count() > 0 && timestamp <= open.lastTimestamp()) {
+                return false;
+            }
+            if (open != null && !open.isSealed() && open.count() > 0
+                    && timestamp - open.firstTimestamp() > segmentSpanMicros) {
+                seal(open);
+                open = null;
+            }
+            if (open == null || open.isSealed()) {
+                open = newSegment(timestamp);
+            }
+            if (!open.append(timestamp, temperature, activity, latitude, longitude)) {
+                seal(open);
+                open = newSegment(timestamp);
+                open.append(timestamp, temperature, activity, latitude, longitude);
+            }
+            return true;
+        }
+
+        void commit() {
+            if (!segments.isEmpty()) {
+                segments.get(segments.size() - 1).commit();
+            }
+        }
+
+        private void seal(SeriesSegment segment) {
+            segment.seal();
+            scheduleCompaction();
+        }
+
+        private SeriesSegment newSegment(long firstTimestamp) throws IOException {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Could not create " + directory);
+            }
+            File file = new File(directory, String.format("%016x", firstTimestamp) + SUFFIX);
+            SeriesSegment segment = SeriesSegment.create(file, segmentBytes);
+            segments.add(segment);
+            return segment;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.caninecare.app.fertility;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import org.caninecare.app.api.ApiService;
+import org.caninecare.app.models.FertilityModelParams;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.utils.AppExecutors;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * The {@link FertilityModel} in use, or null until one has been downloaded.
+ *
+ * The backend's export is kept in the app's files directory and compiled on
+ * start. {@link #refresh(ApiService)} asks for it with the version on hand as
+ * If-None-Match, so an unchanged model costs a 304. A download only replaces
+ * the stored copy once it has compiled.
+ */
+public final class FertilityModels {
+
+    private static final String TAG = "FertilityModels";
+    private static final String FILE_NAME = "fertility_model.json";
+
+    private static final Gson gson = ModelAdapters.newGson();
+    private static final AtomicBoolean refreshing = new AtomicBoolean();
+    private static final Object fileLock = new Object();
+
+    private static volatile FertilityModel model;
+    private static File file;
+
+    private FertilityModels() {
+    }
+
+    /**
+     * Call once from Application.onCreate(); loads the stored model in the background.
+     */
+    public static synchronized void init(Context context) {
+        if (file != null) {
+            return;
+        }
+        file = new File(context.getApplicationContext().getFilesDir(), FILE_NAME);
+        AppExecutors.background().execute(() -> {
+            synchronized (fileLock) {
+                if (model != null || !file.exists()) {
+                    return;
+                }
+                try (InputStream in = new FileInputStream(file)) {
+                    model = load(in);
+                    Log.d(TAG, "Loaded model " + model.getVersion());
+                } catch (IOException | RuntimeException e) {
+                    Log.w(TAG, "Dropping stored model: " + e.getMessage());
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    public static FertilityModel getModel() {
+        return model;
+    }
+
+    /**
+     * Downloads the backend's model in the background if it has a newer one.
+     */
+    public static void refresh(ApiService apiService) {
+        if (file == null || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        AppExecutors.background().execute(() -> {
+            try {
+                download(apiService);
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Model refresh failed: " + e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private static void download(ApiService apiService) throws IOException {
+        FertilityModel current = model;
+        String etag = current != null ? "\"" + current.getVersion() + "\"" : null;
+        Response<ResponseBody> response = apiService.downloadFertilityModel(etag).execute();
+        try (ResponseBody body = response.body()) {
+            if (!response.isSuccessful() || body == null) {
+                // 304: what we have is current; 404: the backend has no export yet
+                return;
+            }
+            synchronized (fileLock) {
+                File download = new File(file.getPath() + ".tmp");
+                try (InputStream in = body.byteStream(); OutputStream out = new FileOutputStream(download)) {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                    }
+                }
+                FertilityModel downloaded;
+                try (InputStream in = new FileInputStream(download)) {
+                    downloaded = load(in);
+                } catch (RuntimeException e) {
+                    download.delete();
+                    throw e;
+                }
+                if (!download.renameTo(file)) {
+                    throw new IOException("Could not store " + file);
+                }
+                model = downloaded;
+                Log.d(TAG, "Updated to model " + downloaded.getVersion());
+            }
+        }
+    }
+
+    private static FertilityModel load(InputStream in) {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        FertilityModelParams params = gson.fromJson(reader, FertilityModelParams.class);
+        if (params == null) {
+            throw new JsonParseException("Empty model");
+        }
+        return FertilityModel.compile(params);
+    }
+}
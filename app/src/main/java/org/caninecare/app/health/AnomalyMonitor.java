@@ -0,0 +1,142 @@
+package org.caninecare.app.health;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import org.caninecare.app.R;
+import org.caninecare.app.activities.AlertsActivity;
+import org.caninecare.app.data.series.SensorSeriesStore;
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+import org.caninecare.app.utils.IsoTimestamps;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every synced reading through an {@link AnomalyDetector} and posts a
+ * notification for what it flags.
+ *
+ * Baselines live in memory. The first time a dog is seen in this process,
+ * its baseline is rebuilt from the last {@link ApiConfig#ANOMALY_WARMUP_HOURS}
+ * of the {@link SensorSeriesStore}, so a restart does not mean another
+ * warm-up. Call {@link #observe(List)} in reading order, before the same
+ * readings are appended to the series.
+ */
+public final class AnomalyMonitor implements AnomalyDetector.Listener {
+
+    private static final String TAG = "AnomalyMonitor";
+    private static final String CHANNEL_ID = "anomalies";
+
+    private static AnomalyMonitor instance = null;
+
+    private final Context context;
+    private final AnomalyDetector detector;
+    private final SensorSeriesStore seriesStore;
+    private final NotificationManager notifications;
+
+    public static synchronized void init(Context context) {
+        if (instance == null) {
+            instance = new AnomalyMonitor(context.getApplicationContext(),
+                    new AnomalyDetector(ApiConfig.ANOMALY_EWMA_ALPHA, ApiConfig.ANOMALY_Z_THRESHOLD,
+                            ApiConfig.ANOMALY_WARMUP_READINGS, ApiConfig.ANOMALY_MIN_TEMP_DEVIATION,
+                            ApiConfig.ANOMALY_MIN_ACTIVITY_DEVIATION),
+                    SensorSeriesStore.getInstance());
+        }
+    }
+
+    /**
+     * @return the monitor, or null before {@link #init(Context)}
+     */
+    public static synchronized AnomalyMonitor getInstance() {
+        return instance;
+    }
+
+    public AnomalyMonitor(Context context, AnomalyDetector detector, SensorSeriesStore seriesStore) {
+        this.context = context;
+        this.detector = detector;
+        this.seriesStore = seriesStore;
+        this.notifications = context.getSystemService(NotificationManager.class);
+
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID, "Unusual readings",
+                NotificationManager.IMPORTANCE_HIGH);
+        channel.setDescription("Temperature or activity out of the ordinary for the dog");
+        notifications.createNotificationChannel(channel);
+    }
+
+    public AnomalyDetector getDetector() {
+        return detector;
+    }
+
+    /**
+     * Feeds readings, oldest first, to the detector. Runs on the caller's
+     * thread and may read the series on a dog's first reading.
+     */
+    public void observe(List<SensorDataResponse.SensorData> readings) {
+        for (SensorDataResponse.SensorData reading : readings) {
+            if (reading == null || reading.getDogName() == null) {
+                continue;
+            }
+            long timestamp = IsoTimestamps.parseMicros(reading.getTimestamp());
+            if (timestamp == IsoTimestamps.INVALID) {
+                continue;
+            }
+            String dogName = reading.getDogName();
+            if (detector.readings(dogName) == 0) {
+                warmUp(dogName, timestamp);
+            }
+            detector.observe(dogName, timestamp, reading.getTemperature(), reading.getActivityPercent(), this);
+        }
+    }
+
+    // Replays stored history without notifying
+    private void warmUp(String dogName, long beforeMicros) {
+        if (seriesStore == null) {
+            return;
+        }
+        long from = beforeMicros - TimeUnit.HOURS.toMicros(ApiConfig.ANOMALY_WARMUP_HOURS);
+        try {
+            seriesStore.scan(dogName, from, beforeMicros - 1,
+                    (timestamp, temperature, activity, latitude, longitude) ->
+                            detector.observe(dogName, timestamp, temperature, activity, anomaly -> { }));
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read history for " + dogName + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onAnomaly(AnomalyDetector.Anomaly anomaly) {
+        boolean temperature = AnomalyDetector.METRIC_TEMPERATURE.equals(anomaly.getMetric());
+        String title = String.format(Locale.getDefault(), "%s: %s %s", anomaly.getDogName(),
+                anomaly.isHigh() ? "high" : "low", temperature ? "temperature" : "activity");
+        String text = temperature
+                ? String.format(Locale.getDefault(), "%.1f°C, usually %.1f°C",
+                        anomaly.getValue(), anomaly.getBaseline())
+                : String.format(Locale.getDefault(), "%.0f%% activity, usually %.0f%%",
+                        anomaly.getValue(), anomaly.getBaseline());
+        Log.i(TAG, title + " - " + text + " (z " + anomaly.getZScore() + ")");
+
+        Intent intent = new Intent(context, AlertsActivity.class)
+                .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        PendingIntent open = PendingIntent.getActivity(context, 0, intent, PendingIntent.FLAG_IMMUTABLE);
+
+        Notification notification = new Notification.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_launcher_foreground)
+                .setContentTitle(title)
+                .setContentText(text)
+                .setCategory(Notification.CATEGORY_STATUS)
+                .setWhen(TimeUnit.MICROSECONDS.toMillis(anomaly.getTimestampMicros()))
+                .setContentIntent(open)
+                .setAutoCancel(true)
+                .build();
+        // One notification per dog and metric, replaced by the next
+        notifications.notify((anomaly.getDogName() + "/" + anomaly.getMetric()).hashCode(), notification);
+    }
+}
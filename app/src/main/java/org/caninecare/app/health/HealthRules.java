@@ -0,0 +1,66 @@
+package org.caninecare.app.health;
+
+import android.util.Log;
+
+import org.caninecare.app.api.ApiService;
+import org.caninecare.app.models.HealthRuleSet;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * The {@link HealthRuleEngine} in use.
+ *
+ * Starts from {@link DefaultHealthRules}, which match the backend's
+ * /api/health-check, and switches to /api/health-rules once {@link #refresh(ApiService)} gets them. That
+ * response goes through the HTTP cache, so the last rule set fetched is
+ * also what an offline start gets.
+ */
+public final class HealthRules {
+
+    private static final String TAG = "HealthRules";
+
+    private static volatile HealthRuleEngine engine = HealthRuleEngine.compile(DefaultHealthRules.ruleSet());
+
+    private HealthRules() {
+    }
+
+    public static HealthRuleEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Compiles and switches to the given rules; a rule set that does not
+     * compile is ignored and the current one kept.
+     */
+    public static boolean update(HealthRuleSet ruleSet) {
+        try {
+            engine = HealthRuleEngine.compile(ruleSet);
+            return true;
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Ignoring health rules v" + ruleSet.getVersion() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Fetches the backend's rule set in the background.
+     */
+    public static void refresh(ApiService apiService) {
+        apiService.getHealthRules().enqueue(new Callback<HealthRuleSet>() {
+            @Override
+            public void onResponse(Call<HealthRuleSet> call, Response<HealthRuleSet> response) {
+                HealthRuleSet ruleSet = response.body();
+                if (response.isSuccessful() && ruleSet != null && ruleSet.getVersion() != engine.getVersion()) {
+                    update(ruleSet);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<HealthRuleSet> call, Throwable t) {
+                // Keep the rules we have
+            }
+        });
+    }
+}
@@ -0,0 +1,241 @@
+package org.caninecare.app.ui;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Trace;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import org.caninecare.app.utils.AppExecutors;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns responses into ready-to-show UI models off the main thread, then
+ * hands them to the screen.
+ *
+ * {@link #submit} runs the formatter on {@link AppExecutors#background()}
+ * (string formatting, date parsing, PrecomputedText) and the binder on the
+ * main thread, which should only assign the model's values to views. A
+ * newer submit under the same name supersedes one still in flight, and
+ * nothing is bound after {@link #destroy()}.
+ *
+ * Every refresh is timed: format and bind time, the wait for the main
+ * thread, and the frames drawn right after the bind (from FrameMetrics).
+ * Each phase is a trace section ("name:format", "name:bind") and the
+ * totals are logged under {@value #TAG} and passed to the
+ * {@link TimingListener}, if one is set.
+ */
+public class ScreenPipeline {
+
+    private static final String TAG = "ScreenPipeline";
+
+    // Frames after a bind that count towards its refresh
+    private static final int MEASURED_FRAMES = 3;
+    private static final long MEASURE_TIMEOUT_MILLIS = 1000;
+
+    private static Handler metricsHandler;
+
+    public interface Formatter<T> {
+        /**
+         * Runs in the background; must not touch views.
+         */
+        T format();
+    }
+
+    public interface Binder<T> {
+        void bind(T model);
+    }
+
+    public interface TimingListener {
+        void onRefreshTimed(Timing timing);
+    }
+
+    /**
+     * How long one refresh took, in milliseconds.
+     */
+    public static final class Timing {
+        public final String name;
+        public final double formatMillis;
+        public final double waitMillis;
+        public final double bindMillis;
+        public int frames;
+        public double worstFrameMillis;
+        public double totalFrameMillis;
+
+        private final long boundAtNanos;
+
+        Timing(String name, double formatMillis, double waitMillis, double bindMillis, long boundAtNanos) {
+            this.name = name;
+            this.formatMillis = formatMillis;
+            this.waitMillis = waitMillis;
+            this.bindMillis = bindMillis;
+            this.boundAtNanos = boundAtNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s: format %.2f ms, wait %.2f ms, bind %.2f ms, %d frames (worst %.2f ms, total %.2f ms)",
+                    name, formatMillis, waitMillis, bindMillis, frames, worstFrameMillis, totalFrameMillis);
+        }
+    }
+
+    private final Window window;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<String, Integer> generations = new HashMap<>();
+    private final Window.OnFrameMetricsAvailableListener frameListener = this::onFrame;
+    private final Runnable measureTimeout = () -> finishMeasuring(null);
+
+    private TimingListener timingListener;
+    private boolean destroyed;
+
+    // Guarded by this: written on the main thread, read on the metrics thread
+    private Timing measuring;
+
+    public ScreenPipeline(Activity activity) {
+        window = activity.getWindow();
+        window.addOnFrameMetricsAvailableListener(frameListener, metricsHandler());
+    }
+
+    public void setTimingListener(TimingListener timingListener) {
+        this.timingListener = timingListener;
+    }
+
+    /**
+     * Formats in the background and binds the result on the main thread.
+     * Call from the main thread.
+     */
+    public <T> void submit(String name, Formatter<T> formatter, Binder<T> binder) {
+        if (destroyed) {
+            return;
+        }
+        Integer previous = generations.get(name);
+        int generation = previous == null ? 1 : previous + 1;
+        generations.put(name, generation);
+
+        AppExecutors.background().execute(() -> {
+            long formatStart = System.nanoTime();
+            T model;
+            Trace.beginSection(name + ":format");
+            try {
+                model = formatter.format();
+            } catch (RuntimeException e) {
+                Log.w(TAG, name + ": could not format", e);
+                return;
+            } finally {
+                Trace.endSection();
+            }
+            long formatted = System.nanoTime();
+
+            mainHandler.post(() -> {
+                Integer current = generations.get(name);
+                if (destroyed || current == null || current != generation) {
+                    return;
+                }
+                long bindStart = System.nanoTime();
+                Trace.beginSection(name + ":bind");
+                try {
+                    binder.bind(model);
+                } finally {
+                    Trace.endSection();
+                }
+                long bound = System.nanoTime();
+                startMeasuring(new Timing(name, millis(formatted - formatStart),
+                        millis(bindStart - formatted), millis(bound - bindStart), bound));
+            });
+        });
+    }
+
+    /**
+     * Drops a refresh under this name that has not been bound yet, e.g.
+     * before showing something else in the same views.
+     */
+    public void cancel(String name) {
+        Integer previous = generations.get(name);
+        if (previous != null) {
+            generations.put(name, previous + 1);
+        }
+    }
+
+    /**
+     * Drops refreshes in flight and stops timing; call from onDestroy().
+     */
+    public void destroy() {
+        destroyed = true;
+        generations.clear();
+        mainHandler.removeCallbacks(measureTimeout);
+        window.removeOnFrameMetricsAvailableListener(frameListener);
+        synchronized (this) {
+            measuring = null;
+        }
+    }
+
+    private void startMeasuring(Timing timing) {
+        finishMeasuring(null);
+        synchronized (this) {
+            measuring = timing;
+        }
+        mainHandler.postDelayed(measureTimeout, MEASURE_TIMEOUT_MILLIS);
+    }
+
+    // On the metrics thread
+    private void onFrame(Window window, FrameMetrics metrics, int dropCountSinceLastInvocation) {
+        Timing done = null;
+        synchronized (this) {
+            Timing timing = measuring;
+            if (timing == null || metrics.getMetric(FrameMetrics.INTENDED_VSYNC_TIMESTAMP) < timing.boundAtNanos) {
+                return;
+            }
+            double frameMillis = millis(metrics.getMetric(FrameMetrics.TOTAL_DURATION));
+            timing.frames++;
+            timing.totalFrameMillis += frameMillis;
+            timing.worstFrameMillis = Math.max(timing.worstFrameMillis, frameMillis);
+            if (timing.frames >= MEASURED_FRAMES) {
+                done = timing;
+            }
+        }
+        if (done != null) {
+            Timing finished = done;
+            mainHandler.post(() -> finishMeasuring(finished));
+        }
+    }
+
+    /**
+     * Reports the refresh being measured; with {@code expected} set, only if
+     * it is still that one.
+     */
+    private void finishMeasuring(Timing expected) {
+        Timing timing;
+        synchronized (this) {
+            timing = measuring;
+            if (timing == null || (expected != null && timing != expected)) {
+                return;
+            }
+            measuring = null;
+        }
+        mainHandler.removeCallbacks(measureTimeout);
+        Log.d(TAG, timing.toString());
+        if (timingListener != null) {
+            timingListener.onRefreshTimed(timing);
+        }
+    }
+
+    private static synchronized Handler metricsHandler() {
+        if (metricsHandler == null) {
+            HandlerThread thread = new HandlerThread("FrameMetrics");
+            thread.start();
+            metricsHandler = new Handler(thread.getLooper());
+        }
+        return metricsHandler;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,36 @@
+package org.caninecare.app.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared executors so work that must stay off the main thread (parsing,
+ * disk, formatting) doesn't spin up ad-hoc threads.
+ */
+public class AppExecutors {
+
+    private static final ExecutorService BACKGROUND = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+
+    // One thread, so writes that must land in order do
+    private static final ExecutorService DISK_WRITES = Executors.newSingleThreadExecutor();
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    private static final Executor MAIN = MAIN_HANDLER::post;
+
+    public static ExecutorService background() {
+        return BACKGROUND;
+    }
+
+    public static ExecutorService diskWrites() {
+        return DISK_WRITES;
+    }
+
+    public static Executor mainThread() {
+        return MAIN;
+    }
+}
@@ -0,0 +1,63 @@
+package org.caninecare.benchmarks;
+
+import org.caninecare.app.fertility.FertilityModel;
+import org.caninecare.app.models.FertilityModelParams;
+import org.caninecare.app.models.FertilityRequest;
+import org.caninecare.app.models.FertilityResponse;
+import org.caninecare.app.models.ModelAdapters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-device fertility predictions with a model the size of the trained
+ * one, and loading that model from its JSON export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FertilityModelBenchmark {
+
+    private String json;
+    private FertilityModelParams params;
+    private FertilityModel model;
+    private FertilityRequest firstHeat;
+    private FertilityRequest nextHeat;
+
+    @Setup
+    public void setUp() {
+        json = Payloads.fertilityModel();
+        params = ModelAdapters.newGson().fromJson(json, FertilityModelParams.class);
+        model = FertilityModel.compile(params);
+        firstHeat = new FertilityRequest("Bella", "Beagle", 5, 8.5f, null);
+        nextHeat = new FertilityRequest("Bella", "Labrador Retriever", 30, 28.0f, 120);
+    }
+
+    @Benchmark
+    public double predictFirstHeat() {
+        return model.predictValue(firstHeat.getBreed(), firstHeat.getAgeMonths(), firstHeat.getWeightKg(),
+                firstHeat.getLastHeatDays());
+    }
+
+    @Benchmark
+    public FertilityResponse predictNextHeat() {
+        return model.predict(nextHeat);
+    }
+
+    @Benchmark
+    public FertilityModel load() {
+        return FertilityModel.compile(ModelAdapters.newGson().fromJson(json, FertilityModelParams.class));
+    }
+}
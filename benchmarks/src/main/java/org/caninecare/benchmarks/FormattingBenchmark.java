@@ -0,0 +1,84 @@
+package org.caninecare.benchmarks;
+
+import org.caninecare.app.domain.DogAlert;
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.utils.DisplayDates;
+import org.caninecare.app.utils.IsoTimestamps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-row work of the alert and history screens: parsing the backend's
+ * timestamps, formatting them for display, and turning decoded alerts into
+ * {@link DogAlert}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormattingBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int rows;
+
+    private String[] timestamps;
+    private long[] micros;
+    private long[] millis;
+    private List<AlertsResponse.Alert> alerts;
+
+    @Setup
+    public void setUp() {
+        timestamps = Payloads.timestamps(rows);
+        micros = new long[rows];
+        millis = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            micros[i] = IsoTimestamps.parseMicros(timestamps[i]);
+            millis[i] = IsoTimestamps.parseMillis(timestamps[i]);
+        }
+        alerts = ModelAdapters.newGson().fromJson(Payloads.alertsPage(rows), AlertsResponse.class).getAlerts();
+    }
+
+    @Benchmark
+    public void parseTimestamps(Blackhole blackhole) {
+        for (String timestamp : timestamps) {
+            blackhole.consume(IsoTimestamps.parseMicros(timestamp));
+        }
+    }
+
+    @Benchmark
+    public void formatTimestamps(Blackhole blackhole) {
+        for (long value : micros) {
+            blackhole.consume(IsoTimestamps.format(value));
+        }
+    }
+
+    @Benchmark
+    public void displayDateTimes(Blackhole blackhole) {
+        for (long value : millis) {
+            blackhole.consume(DisplayDates.dateTime(value, ""));
+        }
+    }
+
+    @Benchmark
+    public void alertsToDomain(Blackhole blackhole) {
+        for (AlertsResponse.Alert alert : alerts) {
+            blackhole.consume(DogAlert.from(alert));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.caninecare.benchmarks;
+
+import org.caninecare.app.health.DefaultHealthRules;
+import org.caninecare.app.health.HealthRuleEngine;
+import org.caninecare.app.models.HealthRuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying readings with the default rules (the thresholds in ApiConfig),
+ * and compiling the rule set itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HealthRuleEngineBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int rows;
+
+    private HealthRuleSet ruleSet;
+    private HealthRuleEngine engine;
+    private float[] temperatures;
+    private int[] activities;
+
+    @Setup
+    public void setUp() {
+        ruleSet = DefaultHealthRules.ruleSet();
+        engine = HealthRuleEngine.compile(ruleSet);
+        temperatures = Payloads.temperatures(rows);
+        activities = Payloads.activities(rows);
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (int i = 0; i < rows; i++) {
+            blackhole.consume(engine.evaluate("Max", temperatures[i], activities[i]));
+        }
+    }
+
+    @Benchmark
+    public HealthRuleEngine compile() {
+        return HealthRuleEngine.compile(ruleSet);
+    }
+}
@@ -0,0 +1,60 @@
+package org.caninecare.benchmarks;
+
+import com.google.gson.Gson;
+
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.models.SensorDataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding /api/sensor-data and /api/alerts pages, with the models' own
+ * TypeAdapters ({@link ModelAdapters}) or Gson's reflective ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodeBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int rows;
+
+    @Param({"generated", "reflective"})
+    public String adapters;
+
+    private Gson gson;
+    private String sensorPage;
+    private String alertsPage;
+
+    @Setup
+    public void setUp() {
+        gson = "generated".equals(adapters) ? ModelAdapters.newGson() : new Gson();
+        sensorPage = Payloads.sensorPage(rows);
+        alertsPage = Payloads.alertsPage(rows);
+    }
+
+    @Benchmark
+    public SensorDataResponse sensorPage() {
+        return gson.fromJson(sensorPage, SensorDataResponse.class);
+    }
+
+    @Benchmark
+    public AlertsResponse alertsPage() {
+        return gson.fromJson(alertsPage, AlertsResponse.class);
+    }
+}
@@ -0,0 +1,301 @@
+package org.caninecare.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import org.caninecare.app.fertility.FertilityModel;
+import org.caninecare.app.utils.IsoTimestamps;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Backend responses of a given size, shaped like what the app receives.
+ *
+ * Everything is generated from a fixed seed, so each run (and each fork)
+ * measures the same bytes. Readings are 2 s apart from 2024-05-01 with the
+ * noise mock_sensor_stream.py adds; alerts mix the statuses and severities
+ * /api/health-check produces, a third of them with an emergency.
+ */
+final class Payloads {
+
+    static final long START_MICROS = IsoTimestamps.parseMicros("2024-05-01T09:00:00.000000");
+    static final long READING_INTERVAL_MICROS = 2_000_000L;
+
+    private static final long SEED = 42;
+
+    static final String[] BREEDS = {"Beagle", "Boxer", "Dachshund", "German Shepherd", "Golden Retriever",
+            "Labrador Retriever", "Pomeranian", "Poodle", "Pug", "Rottweiler", "Shih Tzu", "Siberian Husky"};
+
+    // Same order as FertilityModel.FEATURES, with the largest value each takes
+    private static final String[] FERTILITY_FEATURES = {"Age_Months", "Weight_kg", "Breed_enc",
+            "Days_Since_Last_Heat", "Weight_Category", "Age_Category", "Weight_Age_Ratio"};
+    private static final double[] FERTILITY_FEATURE_RANGES = {120, 60, BREEDS.length, 365, 2, 2, 5};
+    private static final int FERTILITY_SAMPLES = 850;
+
+    private static final String[][] STATUSES = {
+            {"Normal", "low"},
+            {"Temperature Abnormal", "medium"},
+            {"Low Activity", "medium"},
+            {"Fever Detected", "high"},
+            {"Critical Fever", "critical"},
+            {"Critical: Fever + Lethargy", "critical"},
+    };
+
+    private Payloads() {
+    }
+
+    /**
+     * A /api/sensor-data page of {@code rows} readings.
+     */
+    static String sensorPage(int rows) {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder(rows * 200 + 100).append("{\"data\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendReading(json, random, START_MICROS + i * READING_INTERVAL_MICROS);
+        }
+        return json.append("],\"count\":").append(rows)
+                .append(",\"cursor\":\"").append(IsoTimestamps.format(START_MICROS + rows * READING_INTERVAL_MICROS))
+                .append("\",\"has_more\":true}").toString();
+    }
+
+    /**
+     * {@code rows} readings as separate /api/sensor-stream events.
+     */
+    static String[] sensorEvents(int rows) {
+        Random random = new Random(SEED);
+        String[] events = new String[rows];
+        StringBuilder json = new StringBuilder(256);
+        for (int i = 0; i < rows; i++) {
+            json.setLength(0);
+            appendReading(json, random, START_MICROS + i * READING_INTERVAL_MICROS);
+            events[i] = json.toString();
+        }
+        return events;
+    }
+
+    /**
+     * A /api/alerts page of {@code rows} alerts, oldest first.
+     */
+    static String alertsPage(int rows) {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder(rows * 450 + 100).append("{\"alerts\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String[] status = STATUSES[random.nextInt(STATUSES.length)];
+            json.append("{\"id\":").append(i + 1)
+                    .append(",\"dog_name\":\"Max\",\"health_status\":\"").append(status[0])
+                    .append("\",\"severity\":\"").append(status[1])
+                    .append("\",\"alerts\":[\"High temperature: ").append(temperature(random))
+                    .append("°C (Normal: 38-39.2°C)\",\"Low activity: ").append(random.nextInt(20))
+                    .append("% (Possible lethargy)\"],\"timestamp\":\"")
+                    .append(IsoTimestamps.format(START_MICROS + i * 60_000_000L)).append('"');
+            if (i % 3 == 0) {
+                json.append(",\"emergency_level\":\"critical\",\"emergencies\":[{\"type\":\"HEATSTROKE\"")
+                        .append(",\"message\":\"Temperature critical\"")
+                        .append(",\"action\":\"Cool the dog down and call a vet\"}]")
+                        .append(",\"immobile_duration\":").append(random.nextInt(3600));
+            }
+            json.append(",\"temperature\":").append(temperature(random))
+                    .append(",\"activity_percent\":").append(random.nextInt(101)).append('}');
+        }
+        return json.append("],\"count\":").append(rows)
+                .append(",\"oldest_id\":1,\"newest_id\":").append(rows)
+                .append(",\"has_older\":false,\"has_newer\":false}").toString();
+    }
+
+    /**
+     * {@code rows} backend timestamps, a minute and some microseconds apart.
+     */
+    static String[] timestamps(int rows) {
+        Random random = new Random(SEED);
+        String[] timestamps = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            timestamps[i] = IsoTimestamps.format(START_MICROS + i * 60_000_000L + random.nextInt(1_000_000));
+        }
+        return timestamps;
+    }
+
+    /**
+     * {@code rows} temperatures around 38.6 °C, a few in fever range.
+     */
+    static float[] temperatures(int rows) {
+        Random random = new Random(SEED);
+        float[] temperatures = new float[rows];
+        for (int i = 0; i < rows; i++) {
+            temperatures[i] = (float) (38.6 + random.nextGaussian() * 0.6);
+        }
+        return temperatures;
+    }
+
+    /**
+     * {@code rows} activity percentages, 0 to 100.
+     */
+    static int[] activities(int rows) {
+        Random random = new Random(SEED + 1);
+        int[] activities = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            activities[i] = random.nextInt(101);
+        }
+        return activities;
+    }
+
+    /**
+     * The same document as the backend's msgpack.packb would encode it:
+     * integers as ints, anything with a fraction or exponent as float64.
+     */
+    static byte[] toMessagePack(String json) {
+        try (MessageBufferPacker packer = MessagePack.newDefaultBufferPacker()) {
+            pack(packer, new JsonParser().parse(json));
+            return packer.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A /api/fertility-model export the size of the trained one: a forest of
+     * 200 trees up to 15 deep, 150 boosted trees up to 8 deep and a linear
+     * model, for both first and next heat.
+     */
+    static String fertilityModel() {
+        Random random = new Random(SEED);
+        StringBuilder json = new StringBuilder(16 << 20)
+                .append("{\"format\":").append(FertilityModel.FORMAT)
+                .append(",\"version\":\"bench\",\"features\":[");
+        for (int i = 0; i < FERTILITY_FEATURE_RANGES.length; i++) {
+            json.append(i > 0 ? "," : "").append('"').append(FERTILITY_FEATURES[i]).append('"');
+        }
+        json.append("],\"breeds\":{");
+        for (int i = 0; i < BREEDS.length; i++) {
+            json.append(i > 0 ? "," : "").append('"').append(BREEDS[i]).append("\":").append(i);
+        }
+        json.append("},\"first_heat\":");
+        appendEnsemble(json, random);
+        json.append(",\"next_heat\":");
+        appendEnsemble(json, random);
+        return json.append('}').toString();
+    }
+
+    private static void appendEnsemble(StringBuilder json, Random random) {
+        json.append("{\"weights\":[0.4,0.4,0.2],\"estimators\":[{\"type\":\"forest\",\"trees\":[");
+        for (int t = 0; t < 200; t++) {
+            appendTree(json.append(t > 0 ? "," : ""), random, 15);
+        }
+        json.append("]},{\"type\":\"boosting\",\"init\":").append(random.nextDouble() * 100)
+                .append(",\"learning_rate\":0.1,\"trees\":[");
+        for (int t = 0; t < 150; t++) {
+            appendTree(json.append(t > 0 ? "," : ""), random, 8);
+        }
+        json.append("]},{\"type\":\"linear\",\"intercept\":").append(random.nextDouble() * 50)
+                .append(",\"coef\":[");
+        for (int i = 0; i < FERTILITY_FEATURE_RANGES.length; i++) {
+            json.append(i > 0 ? "," : "").append(random.nextGaussian());
+        }
+        json.append("]}]}");
+    }
+
+    // Random splits over each feature's range, grown like scikit-learn's
+    // trees on the training set (dog.csv): a node splits while it holds at
+    // least 5 samples, leaving at least 2 on each side
+    private static void appendTree(StringBuilder json, Random random, int maxDepth) {
+        List<int[]> nodes = new ArrayList<>(); // left, right, feature
+        List<double[]> splits = new ArrayList<>(); // threshold, value
+        addNode(nodes, splits, random, FERTILITY_SAMPLES, 0, maxDepth);
+        json.append("{\"left\":[");
+        for (int n = 0; n < nodes.size(); n++) {
+            json.append(n > 0 ? "," : "").append(nodes.get(n)[0]);
+        }
+        json.append("],\"right\":[");
+        for (int n = 0; n < nodes.size(); n++) {
+            json.append(n > 0 ? "," : "").append(nodes.get(n)[1]);
+        }
+        json.append("],\"feature\":[");
+        for (int n = 0; n < nodes.size(); n++) {
+            json.append(n > 0 ? "," : "").append(nodes.get(n)[2]);
+        }
+        json.append("],\"threshold\":[");
+        for (int n = 0; n < nodes.size(); n++) {
+            json.append(n > 0 ? "," : "").append(splits.get(n)[0]);
+        }
+        json.append("],\"value\":[");
+        for (int n = 0; n < nodes.size(); n++) {
+            json.append(n > 0 ? "," : "").append(splits.get(n)[1]);
+        }
+        json.append("]}");
+    }
+
+    private static int addNode(List<int[]> nodes, List<double[]> splits, Random random,
+                               int samples, int depth, int maxDepth) {
+        int index = nodes.size();
+        int[] node = {-1, -1, -2};
+        double[] split = {-2, random.nextDouble() * 30};
+        nodes.add(node);
+        splits.add(split);
+        if (depth < maxDepth && samples >= 5) {
+            int feature = random.nextInt(FERTILITY_FEATURE_RANGES.length);
+            int leftSamples = 2 + random.nextInt(samples - 3);
+            node[2] = feature;
+            split[0] = random.nextDouble() * FERTILITY_FEATURE_RANGES[feature];
+            node[0] = addNode(nodes, splits, random, leftSamples, depth + 1, maxDepth);
+            node[1] = addNode(nodes, splits, random, samples - leftSamples, depth + 1, maxDepth);
+        }
+        return index;
+    }
+
+    private static void appendReading(StringBuilder json, Random random, long micros) {
+        json.append("{\"dog_name\":\"Max\",\"temperature\":").append(temperature(random))
+                .append(",\"activity_percent\":").append(random.nextInt(101))
+                .append(",\"health_status\":\"Normal\",\"timestamp\":\"").append(IsoTimestamps.format(micros))
+                .append("\",\"latitude\":").append(12.9716 + random.nextDouble() * 0.001)
+                .append(",\"longitude\":").append(77.5946 + random.nextDouble() * 0.001)
+                .append('}');
+    }
+
+    private static double temperature(Random random) {
+        return Math.round((38 + random.nextDouble() * 2) * 100) / 100.0;
+    }
+
+    private static void pack(MessageBufferPacker packer, JsonElement element) throws IOException {
+        if (element.isJsonNull()) {
+            packer.packNil();
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            packer.packMapHeader(object.size());
+            for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+                packer.packString(member.getKey());
+                pack(packer, member.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            packer.packArrayHeader(array.size());
+            for (JsonElement item : array) {
+                pack(packer, item);
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                packer.packBoolean(primitive.getAsBoolean());
+            } else if (primitive.isString()) {
+                packer.packString(primitive.getAsString());
+            } else if (primitive.getAsString().matches("-?\\d+")) {
+                packer.packLong(primitive.getAsLong());
+            } else {
+                packer.packDouble(primitive.getAsDouble());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.caninecare.benchmarks;
+
+import org.caninecare.app.api.SensorReadingDecoder;
+import org.caninecare.app.data.SensorRingBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding /api/sensor-stream events into the ring buffer the live screen
+ * reads, as the stream does one event at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensorStreamBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int rows;
+
+    private String[] events;
+    private SensorRingBuffer ring;
+
+    @Setup
+    public void setUp() {
+        events = Payloads.sensorEvents(rows);
+        ring = new SensorRingBuffer(rows);
+    }
+
+    @Benchmark
+    public int decode() {
+        // Readings older than the newest are dropped, so start each batch empty
+        ring.clear();
+        int appended = 0;
+        for (String event : events) {
+            if (SensorReadingDecoder.decode(event, ring)) {
+                appended++;
+            }
+        }
+        return appended;
+    }
+}
@@ -0,0 +1,136 @@
+package org.caninecare.benchmarks;
+
+import org.caninecare.app.data.series.BitReader;
+import org.caninecare.app.data.series.BitWriter;
+import org.caninecare.app.data.series.SeriesCodec;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.IsoTimestamps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a series of readings with the codec behind
+ * SensorSeriesStore, in a heap buffer so only the codec is measured.
+ *
+ * "page" takes the readings of a /api/sensor-data page, whose values jump
+ * independently from one reading to the next; "walk" drifts them a little at
+ * a time like a collar does. The encoded size is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeriesCodecBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int rows;
+
+    @Param({"page", "walk"})
+    public String readings;
+
+    private long[] timestamps;
+    private float[] temperatures;
+    private int[] activities;
+    private double[] latitudes;
+    private double[] longitudes;
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setUp() {
+        timestamps = new long[rows];
+        temperatures = new float[rows];
+        activities = new int[rows];
+        latitudes = new double[rows];
+        longitudes = new double[rows];
+        if ("walk".equals(readings)) {
+            walk();
+        } else {
+            page();
+        }
+        buffer = ByteBuffer.allocate((int) ((long) rows * SeriesCodec.MAX_READING_BITS / 8) + 8);
+        long bits = encode();
+        encoded = ByteBuffer.wrap(buffer.array(), 0, (int) ((bits + 7) / 8)).slice();
+        System.out.printf("%n%s, %d rows: %d B, %.1f B/reading%n",
+                readings, rows, encoded.capacity(), (double) encoded.capacity() / rows);
+    }
+
+    @Benchmark
+    public long encode() {
+        SeriesCodec codec = new SeriesCodec();
+        BitWriter out = new BitWriter(buffer, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            codec.write(out, timestamps[i], temperatures[i], activities[i], latitudes[i], longitudes[i]);
+        }
+        return out.position();
+    }
+
+    @Benchmark
+    public double decode() {
+        SeriesCodec codec = new SeriesCodec();
+        BitReader in = new BitReader(encoded, 0);
+        double sum = 0;
+        for (int i = 0; i < rows; i++) {
+            codec.read(in);
+            sum += codec.timestamp() + codec.temperature() + codec.activity() + codec.latitude() + codec.longitude();
+        }
+        return sum;
+    }
+
+    private void page() {
+        List<SensorDataResponse.SensorData> data = ModelAdapters.newGson()
+                .fromJson(Payloads.sensorPage(rows), SensorDataResponse.class).getData();
+        for (int i = 0; i < rows; i++) {
+            SensorDataResponse.SensorData reading = data.get(i);
+            timestamps[i] = IsoTimestamps.parseMicros(reading.getTimestamp());
+            temperatures[i] = reading.getTemperature();
+            activities[i] = reading.getActivityPercent();
+            latitudes[i] = reading.getLatitude();
+            longitudes[i] = reading.getLongitude();
+        }
+    }
+
+    private void walk() {
+        Random random = new Random(42);
+        long timestamp = Payloads.START_MICROS;
+        float temperature = 38.6f;
+        int activity = 40;
+        double latitude = 12.9716;
+        double longitude = 77.5946;
+        for (int i = 0; i < rows; i++) {
+            // Mostly on the 2 s cadence, now and then a little late
+            timestamp += Payloads.READING_INTERVAL_MICROS + (random.nextInt(10) == 0 ? random.nextInt(5_000) : 0);
+            // The collar reports temperature to a tenth of a degree, often unchanged
+            if (random.nextInt(3) == 0) {
+                temperature = Math.round((temperature + (random.nextBoolean() ? 0.1f : -0.1f)) * 10) / 10f;
+            }
+            activity = Math.max(0, Math.min(100, activity + random.nextInt(7) - 3));
+            if (random.nextInt(4) == 0) {
+                latitude += (random.nextDouble() - 0.5) * 1e-5;
+                longitude += (random.nextDouble() - 0.5) * 1e-5;
+            }
+            timestamps[i] = timestamp;
+            temperatures[i] = temperature;
+            activities[i] = activity;
+            latitudes[i] = latitude;
+            longitudes[i] = longitude;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.caninecare.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import org.caninecare.app.api.MessagePackReader;
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.models.SensorDataResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding the same /api/sensor-data and /api/alerts pages from JSON bytes
+ * or MessagePack bytes, the two ways WireFormat.newReader reads a body.
+ * The body sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    public int rows;
+
+    @Param({"json", "msgpack"})
+    public String format;
+
+    private Gson gson;
+    private TypeAdapter<SensorDataResponse> sensorAdapter;
+    private TypeAdapter<AlertsResponse> alertsAdapter;
+    private byte[] sensorPage;
+    private byte[] alertsPage;
+
+    @Setup
+    public void setUp() {
+        gson = ModelAdapters.newGson();
+        sensorAdapter = gson.getAdapter(SensorDataResponse.class);
+        alertsAdapter = gson.getAdapter(AlertsResponse.class);
+        String sensorJson = Payloads.sensorPage(rows);
+        String alertsJson = Payloads.alertsPage(rows);
+        boolean msgpack = "msgpack".equals(format);
+        sensorPage = msgpack ? Payloads.toMessagePack(sensorJson) : sensorJson.getBytes(StandardCharsets.UTF_8);
+        alertsPage = msgpack ? Payloads.toMessagePack(alertsJson) : alertsJson.getBytes(StandardCharsets.UTF_8);
+        System.out.printf("%n%s bodies for %d rows: sensor-data %d B, alerts %d B%n",
+                format, rows, sensorPage.length, alertsPage.length);
+    }
+
+    @Benchmark
+    public SensorDataResponse sensorPage() throws IOException {
+        return sensorAdapter.read(reader(sensorPage));
+    }
+
+    @Benchmark
+    public AlertsResponse alertsPage() throws IOException {
+        return alertsAdapter.read(reader(alertsPage));
+    }
+
+    private JsonReader reader(byte[] body) {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        if ("msgpack".equals(format)) {
+            return new MessagePackReader(in);
+        }
+        return gson.newJsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
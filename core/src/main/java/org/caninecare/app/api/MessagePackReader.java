@@ -0,0 +1,289 @@
+package org.caninecare.app.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ValueType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Presents a MessagePack document through Gson's {@link JsonReader} API, so
+ * the existing @SerializedName models and TypeAdapters decode binary bodies
+ * unchanged. Maps become objects, arrays stay arrays, and numbers can be read
+ * as strings just like Gson allows for JSON.
+ */
+public class MessagePackReader extends JsonReader {
+
+    private static final Reader UNREADABLE_READER = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final MessageUnpacker unpacker;
+
+    // One entry per open container: entries left, whether it is a map, and
+    // whether the next thing in the map is a key
+    private int[] remaining = new int[16];
+    private boolean[] isMap = new boolean[16];
+    private boolean[] expectName = new boolean[16];
+    private int depth;
+    private boolean documentDone;
+
+    public MessagePackReader(InputStream in) {
+        super(UNREADABLE_READER);
+        this.unpacker = MessagePack.newDefaultUnpacker(in);
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        if (depth > 0) {
+            int top = depth - 1;
+            if (remaining[top] == 0) {
+                return isMap[top] ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+            }
+            if (isMap[top] && expectName[top]) {
+                return JsonToken.NAME;
+            }
+        } else if (documentDone || !unpacker.hasNext()) {
+            return JsonToken.END_DOCUMENT;
+        }
+
+        ValueType type = unpacker.getNextFormat().getValueType();
+        switch (type) {
+            case NIL:
+                return JsonToken.NULL;
+            case BOOLEAN:
+                return JsonToken.BOOLEAN;
+            case INTEGER:
+            case FLOAT:
+                return JsonToken.NUMBER;
+            case STRING:
+            case BINARY:
+                return JsonToken.STRING;
+            case ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case MAP:
+                return JsonToken.BEGIN_OBJECT;
+            default:
+                throw new IOException("Unsupported MessagePack type " + type + " at " + getPath());
+        }
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        push(unpacker.unpackArrayHeader(), false);
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        depth--;
+        valueConsumed();
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        push(unpacker.unpackMapHeader(), true);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        depth--;
+        valueConsumed();
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY
+                && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        String name = unpacker.unpackString();
+        expectName[depth - 1] = false;
+        return name;
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        String value;
+        if (token == JsonToken.STRING) {
+            if (unpacker.getNextFormat().getValueType() == ValueType.BINARY) {
+                value = new String(unpacker.readPayload(unpacker.unpackBinaryHeader()), StandardCharsets.UTF_8);
+            } else {
+                value = unpacker.unpackString();
+            }
+        } else if (token == JsonToken.NUMBER) {
+            value = unpacker.getNextFormat().getValueType() == ValueType.INTEGER
+                    ? Long.toString(unpacker.unpackLong())
+                    : Double.toString(unpacker.unpackDouble());
+        } else {
+            throw unexpected(JsonToken.STRING, token);
+        }
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        boolean value = unpacker.unpackBoolean();
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+        unpacker.unpackNil();
+        valueConsumed();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        double value;
+        if (token == JsonToken.NUMBER) {
+            value = unpacker.getNextFormat().getValueType() == ValueType.INTEGER
+                    ? unpacker.unpackLong()
+                    : unpacker.unpackDouble();
+        } else if (token == JsonToken.STRING) {
+            value = Double.parseDouble(unpacker.unpackString());
+        } else {
+            throw unexpected(JsonToken.NUMBER, token);
+        }
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        JsonToken token = peek();
+        long value;
+        if (token == JsonToken.NUMBER && unpacker.getNextFormat().getValueType() == ValueType.INTEGER) {
+            value = unpacker.unpackLong();
+        } else {
+            double asDouble = nextDoubleUnconsumed(token);
+            value = (long) asDouble;
+            if (value != asDouble) {
+                throw new NumberFormatException("Expected a long but was " + asDouble + " at " + getPath());
+            }
+        }
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        JsonToken token = peek();
+        int value;
+        if (token == JsonToken.NUMBER && unpacker.getNextFormat().getValueType() == ValueType.INTEGER) {
+            value = unpacker.unpackInt();
+        } else {
+            double asDouble = nextDoubleUnconsumed(token);
+            value = (int) asDouble;
+            if (value != asDouble) {
+                throw new NumberFormatException("Expected an int but was " + asDouble + " at " + getPath());
+            }
+        }
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.NAME) {
+            nextName();
+            return;
+        }
+        if (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT
+                || token == JsonToken.END_DOCUMENT) {
+            throw new IllegalStateException("Nothing to skip at " + getPath());
+        }
+        unpacker.skipValue();
+        valueConsumed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        depth = 0;
+        documentDone = true;
+        unpacker.close();
+    }
+
+    @Override
+    public String getPath() {
+        return "$" + (depth > 0 ? "[depth " + depth + "]" : "");
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " at " + getPath();
+    }
+
+    private double nextDoubleUnconsumed(JsonToken token) throws IOException {
+        if (token == JsonToken.NUMBER) {
+            return unpacker.unpackDouble();
+        } else if (token == JsonToken.STRING) {
+            return Double.parseDouble(unpacker.unpackString());
+        }
+        throw unexpected(JsonToken.NUMBER, token);
+    }
+
+    private void push(int size, boolean map) {
+        if (depth == remaining.length) {
+            remaining = Arrays.copyOf(remaining, depth * 2);
+            isMap = Arrays.copyOf(isMap, depth * 2);
+            expectName = Arrays.copyOf(expectName, depth * 2);
+        }
+        remaining[depth] = size;
+        isMap[depth] = map;
+        expectName[depth] = map;
+        depth++;
+    }
+
+    private void valueConsumed() {
+        if (depth == 0) {
+            documentDone = true;
+            return;
+        }
+        int top = depth - 1;
+        remaining[top]--;
+        if (isMap[top]) {
+            expectName[top] = true;
+        }
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken actual = peek();
+        if (actual != expected) {
+            throw unexpected(expected, actual);
+        }
+    }
+
+    private IllegalStateException unexpected(JsonToken expected, JsonToken actual) {
+        return new IllegalStateException("Expected " + expected + " but was " + actual + " at " + getPath());
+    }
+}
@@ -0,0 +1,277 @@
+package org.caninecare.app.api;
+
+import org.caninecare.app.data.SensorRingBuffer;
+import org.caninecare.app.utils.IsoTimestamps;
+
+/**
+ * Decodes one sensor reading (a JSON object as sent on /api/sensor-stream)
+ * straight into a {@link SensorRingBuffer}.
+ *
+ * The text is scanned in place: numbers and the timestamp are parsed from
+ * the characters where they lie and every other member is skipped, so beyond
+ * a small cursor no reader, model object or substring is created per reading
+ * (okhttp-sse already hands over the event data as a String). Numbers are read
+ * as the nearest double for up to 18 significant digits, which is exact
+ * enough for anything the sensors report.
+ *
+ * Given a dog name, a reading for another dog is parsed but not appended;
+ * the name is compared against the characters in place, so it must arrive
+ * without JSON escapes (the backend only escapes non-ASCII and quotes).
+ */
+public final class SensorReadingDecoder {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final CharSequence text;
+    private final int end;
+    private int pos;
+
+    private SensorReadingDecoder(CharSequence text) {
+        this.text = text;
+        this.end = text.length();
+    }
+
+    /**
+     * @return false if the reading is not newer than the newest one in {@code ring}
+     * @throws IllegalArgumentException if {@code json} is not a reading
+     */
+    public static boolean decode(CharSequence json, SensorRingBuffer ring) {
+        return new SensorReadingDecoder(json).decodeInto(null, ring);
+    }
+
+    /**
+     * Like {@link #decode(CharSequence, SensorRingBuffer)}, but a reading
+     * whose dog_name is not {@code dogName} is left out of {@code ring}. A
+     * reading without a dog_name is taken as the dog's.
+     *
+     * @return false if the reading is for another dog or not newer than the newest one in {@code ring}
+     */
+    public static boolean decode(CharSequence json, String dogName, SensorRingBuffer ring) {
+        return new SensorReadingDecoder(json).decodeInto(dogName, ring);
+    }
+
+    private boolean decodeInto(String dogName, SensorRingBuffer ring) {
+        boolean otherDog = false;
+        long timestamp = IsoTimestamps.INVALID;
+        float temperature = 0;
+        int activity = 0;
+        float latitude = 0;
+        float longitude = 0;
+
+        expect('{');
+        if (peek() == '}') {
+            throw error("Empty reading");
+        }
+        while (true) {
+            int keyStart = expectString();
+            int keyEnd = pos - 1;
+            expect(':');
+            peek();
+            if (is("temperature", keyStart, keyEnd)) {
+                temperature = (float) number();
+            } else if (is("activity_percent", keyStart, keyEnd)) {
+                activity = (int) number();
+            } else if (is("latitude", keyStart, keyEnd)) {
+                latitude = (float) number();
+            } else if (is("longitude", keyStart, keyEnd)) {
+                longitude = (float) number();
+            } else if (dogName != null && is("dog_name", keyStart, keyEnd) && pos < end && text.charAt(pos) == '"') {
+                int start = expectString();
+                otherDog = !is(dogName, start, pos - 1);
+            } else if (is("timestamp", keyStart, keyEnd) && pos < end && text.charAt(pos) == '"') {
+                int start = expectString();
+                timestamp = IsoTimestamps.parseMicros(text, start, pos - 1);
+                if (timestamp == IsoTimestamps.INVALID) {
+                    throw error("Bad timestamp");
+                }
+            } else {
+                skipValue();
+            }
+            char next = peek();
+            pos++;
+            if (next == '}') {
+                break;
+            }
+            if (next != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+        if (timestamp == IsoTimestamps.INVALID) {
+            throw error("Reading without a timestamp");
+        }
+        if (otherDog) {
+            return false;
+        }
+        return ring.append(timestamp, temperature, activity, latitude, longitude);
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     */
+    private char peek() {
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return c;
+            }
+            pos++;
+        }
+        throw error("Unexpected end of reading");
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    /**
+     * Consumes a string and returns where its contents start; they end at {@code pos - 1}.
+     */
+    private int expectString() {
+        expect('"');
+        int start = pos;
+        while (pos < end) {
+            char c = text.charAt(pos++);
+            if (c == '"') {
+                return start;
+            }
+            if (c == '\\') {
+                pos++;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private boolean is(String name, int start, int stop) {
+        return stop - start == name.length() && regionMatches(name, start);
+    }
+
+    private boolean regionMatches(String name, int start) {
+        for (int i = 0; i < name.length(); i++) {
+            if (text.charAt(start + i) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double number() {
+        if (end - pos >= 4 && regionMatches("null", pos)) {
+            pos += 4;
+            return 0;
+        }
+        boolean negative = false;
+        if (pos < end && text.charAt(pos) == '-') {
+            negative = true;
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean inFraction = false;
+        while (pos < end) {
+            char c = text.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (digits < 18) {
+                    if (mantissa != 0 || c != '0') {
+                        digits++;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (inFraction) {
+                        exponent--;
+                    }
+                } else if (!inFraction) {
+                    exponent++;
+                }
+            } else if (c == '.' && !inFraction) {
+                inFraction = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (!seenDigit) {
+            throw error("Expected a number");
+        }
+        if (pos < end && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < end && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                negativeExponent = text.charAt(pos) == '-';
+                pos++;
+            }
+            int value = 0;
+            boolean seenExponentDigit = false;
+            while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+                value = Math.min(value * 10 + (text.charAt(pos) - '0'), 1000);
+                seenExponentDigit = true;
+                pos++;
+            }
+            if (!seenExponentDigit) {
+                throw error("Expected an exponent");
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        double result = mantissa;
+        if (exponent < 0) {
+            // Exact operands, so one correctly rounded division while 10^-exponent fits a double exactly
+            result = -exponent < POWERS_OF_TEN.length ? result / POWERS_OF_TEN[-exponent] : result * Math.pow(10, exponent);
+        } else if (exponent > 0) {
+            result = exponent < POWERS_OF_TEN.length ? result * POWERS_OF_TEN[exponent] : result * Math.pow(10, exponent);
+        }
+        return negative ? -result : result;
+    }
+
+    private void skipValue() {
+        int depth = 0;
+        do {
+            char c = peek();
+            switch (c) {
+                case '"':
+                    expectString();
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    pos++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0) {
+                        throw error("Unexpected '" + c + "'");
+                    }
+                    depth--;
+                    pos++;
+                    break;
+                case ',':
+                case ':':
+                    if (depth == 0) {
+                        throw error("Missing value");
+                    }
+                    pos++;
+                    break;
+                default:
+                    // A number or literal: runs until the next delimiter
+                    int start = pos;
+                    while (pos < end && ",:}] \t\n\r".indexOf(text.charAt(pos)) < 0) {
+                        pos++;
+                    }
+                    if (pos == start) {
+                        throw error("Unexpected '" + c + "'");
+                    }
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+}
@@ -0,0 +1,251 @@
+package org.caninecare.app.charts;
+
+import java.util.Arrays;
+
+/**
+ * A series kept at several resolutions so any x range can be downsampled
+ * for display in time proportional to the screen width, not the series.
+ *
+ * Level 0 holds every point; each level above picks one point out of every
+ * {@link #FANOUT} of the level below with the LTTB rule. A query starts from
+ * the coarsest level that still has at least twice the requested points in
+ * range and runs {@link Lttb} over just that slice, so panning and zooming
+ * over 100k points touches a few thousand.
+ *
+ * Appends only recompute the last couple of buckets of each level; dropping
+ * the oldest points ({@link #removeFirst(int)}) rebuilds them all. Not
+ * thread-safe; fill it off the main thread and hand it over, or use it from
+ * one thread.
+ */
+public final class DownsamplePyramid {
+
+    static final int FANOUT = 4;
+    private static final int MIN_LEVEL_SIZE = 512;
+
+    private float[][] xs = new float[1][256];
+    private float[][] ys = new float[1][256];
+    private int[] sizes = new int[1];
+    private int levels = 1;
+    private int[] scratch = new int[0];
+
+    public int size() {
+        return sizes[0];
+    }
+
+    public float firstX() {
+        return xs[0][0];
+    }
+
+    public float lastX() {
+        return xs[0][sizes[0] - 1];
+    }
+
+    int levels() {
+        return levels;
+    }
+
+    /**
+     * Points held at {@code level}; level 0 is the series itself.
+     */
+    int levelSize(int level) {
+        return sizes[level];
+    }
+
+    public void clear() {
+        Arrays.fill(sizes, 0);
+        levels = 1;
+    }
+
+    /**
+     * Adds a point; {@code x} must not be below the last one.
+     */
+    public void append(float x, float y) {
+        int changedFrom = sizes[0];
+        put(0, x, y);
+        rebuild(changedFrom);
+    }
+
+    /**
+     * Adds {@code count} points at once, rebuilding the levels above once.
+     */
+    public void appendAll(float[] x, float[] y, int count) {
+        int changedFrom = sizes[0];
+        for (int i = 0; i < count; i++) {
+            put(0, x[i], y[i]);
+        }
+        rebuild(changedFrom);
+    }
+
+    /**
+     * Drops the {@code count} oldest points. The levels above are rebuilt from
+     * scratch, so drop in batches rather than one point per append.
+     */
+    public void removeFirst(int count) {
+        count = Math.min(count, sizes[0]);
+        if (count <= 0) {
+            return;
+        }
+        int remaining = sizes[0] - count;
+        System.arraycopy(xs[0], count, xs[0], 0, remaining);
+        System.arraycopy(ys[0], count, ys[0], 0, remaining);
+        Arrays.fill(sizes, 0);
+        sizes[0] = remaining;
+        levels = 1;
+        rebuild(0);
+    }
+
+    /**
+     * Writes at most {@code maxPoints} points covering {@code [fromX, toX]},
+     * plus the nearest point outside each end so lines reach the edges.
+     *
+     * @return how many points were written to {@code outX}/{@code outY}
+     */
+    public int query(float fromX, float toX, int maxPoints, float[] outX, float[] outY) {
+        if (sizes[0] == 0 || maxPoints <= 0) {
+            return 0;
+        }
+        int level = 0;
+        while (level + 1 < levels && rangeCount(level + 1, fromX, toX) >= 2 * maxPoints) {
+            level++;
+        }
+        int from = Math.max(0, lowerBound(level, fromX) - 1);
+        int to = Math.min(sizes[level], upperBound(level, toX) + 1);
+        if (scratch.length < maxPoints) {
+            scratch = new int[maxPoints];
+        }
+        int count = Lttb.downsample(xs[level], ys[level], from, to, maxPoints, scratch);
+        for (int i = 0; i < count; i++) {
+            outX[i] = xs[level][scratch[i]];
+            outY[i] = ys[level][scratch[i]];
+        }
+        return count;
+    }
+
+    private int rangeCount(int level, float fromX, float toX) {
+        return upperBound(level, toX) - lowerBound(level, fromX);
+    }
+
+    /**
+     * First index with x >= value.
+     */
+    private int lowerBound(int level, float value) {
+        float[] x = xs[level];
+        int low = 0;
+        int high = sizes[level];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index with x > value.
+     */
+    private int upperBound(int level, float value) {
+        float[] x = xs[level];
+        int low = 0;
+        int high = sizes[level];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Recomputes every level above 0 from the buckets that depend on level 0
+     * points at or after {@code changedFrom}.
+     */
+    private void rebuild(int changedFrom) {
+        for (int level = 0; ; level++) {
+            if (level + 1 == levels) {
+                if (sizes[level] < MIN_LEVEL_SIZE * FANOUT) {
+                    return;
+                }
+                addLevel();
+                changedFrom = 0;
+            }
+            // A bucket's pick depends on its own points, the next bucket's and the previous pick
+            int firstBucket = Math.max(0, changedFrom / FANOUT - 2);
+            int below = sizes[level];
+            int buckets = (below + FANOUT - 1) / FANOUT;
+            sizes[level + 1] = firstBucket;
+            for (int bucket = firstBucket; bucket < buckets; bucket++) {
+                pick(level, bucket, below);
+            }
+            changedFrom = firstBucket;
+        }
+    }
+
+    private void pick(int level, int bucket, int below) {
+        float[] x = xs[level];
+        float[] y = ys[level];
+        int start = bucket * FANOUT;
+        int end = Math.min(below, start + FANOUT);
+        // Every level keeps the first and last point, as LTTB does
+        if (start == 0 || end == below) {
+            int kept = start == 0 ? 0 : below - 1;
+            put(level + 1, x[kept], y[kept]);
+            return;
+        }
+
+        int nextStart = end;
+        int nextEnd = Math.min(below, end + FANOUT);
+        double averageX = 0;
+        double averageY = 0;
+        for (int i = nextStart; i < nextEnd; i++) {
+            averageX += x[i];
+            averageY += y[i];
+        }
+        averageX /= nextEnd - nextStart;
+        averageY /= nextEnd - nextStart;
+
+        int above = level + 1;
+        double keptX = xs[above][bucket - 1];
+        double keptY = ys[above][bucket - 1];
+        double largest = -1;
+        int chosen = start;
+        for (int i = start; i < end; i++) {
+            double area = Math.abs((keptX - averageX) * (y[i] - keptY) - (keptX - x[i]) * (averageY - keptY));
+            if (area > largest) {
+                largest = area;
+                chosen = i;
+            }
+        }
+        put(above, x[chosen], y[chosen]);
+    }
+
+    private void put(int level, float x, float y) {
+        int size = sizes[level];
+        if (size == xs[level].length) {
+            xs[level] = Arrays.copyOf(xs[level], size * 2);
+            ys[level] = Arrays.copyOf(ys[level], size * 2);
+        }
+        xs[level][size] = x;
+        ys[level][size] = y;
+        sizes[level] = size + 1;
+    }
+
+    private void addLevel() {
+        if (levels == sizes.length) {
+            xs = Arrays.copyOf(xs, levels + 1);
+            ys = Arrays.copyOf(ys, levels + 1);
+            sizes = Arrays.copyOf(sizes, levels + 1);
+        }
+        if (xs[levels] == null) {
+            xs[levels] = new float[256];
+            ys[levels] = new float[256];
+        }
+        sizes[levels] = 0;
+        levels++;
+    }
+}
@@ -0,0 +1,85 @@
+package org.caninecare.app.charts;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (S. Steinarsson, "Downsampling
+ * Time Series for Visual Representation", 2013).
+ *
+ * Keeps the first and last point and, from each of the buckets in between,
+ * the point forming the largest triangle with the point kept from the
+ * previous bucket and the average of the next one. Peaks and dips survive,
+ * which is what matters for spotting a fever spike in a long series.
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Picks at most {@code threshold} of the points {@code [from, to)}.
+     *
+     * @param x   ascending x values
+     * @param out receives the indices of the points kept, ascending
+     * @return how many indices were written to {@code out}
+     */
+    public static int downsample(float[] x, float[] y, int from, int to, int threshold, int[] out) {
+        int length = to - from;
+        if (threshold >= length || threshold < 3) {
+            int count = Math.min(length, Math.max(threshold, 0));
+            if (count == length) {
+                for (int i = 0; i < length; i++) {
+                    out[i] = from + i;
+                }
+            } else if (count > 0) {
+                // Too few to bucket: the ends
+                out[0] = from;
+                if (count > 1) {
+                    out[1] = to - 1;
+                }
+            }
+            return count;
+        }
+
+        int written = 0;
+        out[written++] = from;
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int kept = from;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = from + 1 + (int) (bucket * bucketSize);
+            int end = from + 1 + (int) ((bucket + 1) * bucketSize);
+
+            // Average of the next bucket (the last point for the last bucket)
+            int nextStart = end;
+            int nextEnd = Math.min(to, from + 1 + (int) ((bucket + 2) * bucketSize));
+            if (bucket == threshold - 3) {
+                nextStart = to - 1;
+                nextEnd = to;
+            }
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            double keptX = x[kept];
+            double keptY = y[kept];
+            double largest = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle's area; the factor doesn't change which is largest
+                double area = Math.abs((keptX - averageX) * (y[i] - keptY) - (keptX - x[i]) * (averageY - keptY));
+                if (area > largest) {
+                    largest = area;
+                    chosen = i;
+                }
+            }
+            out[written++] = chosen;
+            kept = chosen;
+        }
+        out[written++] = to - 1;
+        return written;
+    }
+}
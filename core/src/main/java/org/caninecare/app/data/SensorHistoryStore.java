@@ -0,0 +1,173 @@
+package org.caninecare.app.data;
+
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local, append-only history of sensor readings, oldest first.
+ *
+ * The cursor is the timestamp of the newest reading held; readings at or
+ * before it are ignored on append, so overlapping responses are stored once.
+ *
+ * Everything appended is also fed to a {@link SensorRingBuffer}, the
+ * primitive window the live screens read their latest values from.
+ *
+ * A store can hold a single dog's readings ({@link #forDog(String)}).
+ * Readings of other dogs are not kept, but they still move the cursor past
+ * them, as they come from the same backend feed.
+ */
+public class SensorHistoryStore {
+
+    private static final Map<String, SensorHistoryStore> byDog = new HashMap<>();
+
+    private final ArrayDeque<SensorDataResponse.SensorData> readings = new ArrayDeque<>();
+    private final String dogName;
+    private final int capacity;
+    private final SensorRingBuffer window;
+    private String cursor;
+    private boolean restored;
+
+    /**
+     * The shared history of one dog, feeding {@link SensorRingBuffer#forDog(String)}.
+     */
+    public static SensorHistoryStore forDog(String dogName) {
+        synchronized (byDog) {
+            return byDog.computeIfAbsent(dogName, name -> new SensorHistoryStore(name,
+                    ApiConfig.SENSOR_HISTORY_CAPACITY, SensorRingBuffer.forDog(name)));
+        }
+    }
+
+    /**
+     * A store that keeps the readings of every dog.
+     */
+    public SensorHistoryStore(int capacity, SensorRingBuffer window) {
+        this(null, capacity, window);
+    }
+
+    /**
+     * @param dogName the dog whose readings are kept, or null for all
+     */
+    public SensorHistoryStore(String dogName, int capacity, SensorRingBuffer window) {
+        this.dogName = dogName;
+        this.capacity = capacity;
+        this.window = window;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public SensorRingBuffer getWindow() {
+        return window;
+    }
+
+    /**
+     * Appends readings newer than the cursor and returns how many were added.
+     */
+    public synchronized int append(List<SensorDataResponse.SensorData> newReadings) {
+        if (newReadings == null) {
+            return 0;
+        }
+        int added = 0;
+        for (SensorDataResponse.SensorData reading : newReadings) {
+            if (append(reading)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds readings saved on the device, oldest first, in front of anything
+     * already received; only the first call has an effect.
+     */
+    public synchronized void restore(List<SensorDataResponse.SensorData> saved) {
+        if (restored) {
+            return;
+        }
+        restored = true;
+        if (saved == null || saved.isEmpty()) {
+            return;
+        }
+        SensorDataResponse.SensorData first = readings.peekFirst();
+        ArrayDeque<SensorDataResponse.SensorData> received = new ArrayDeque<>(readings);
+        readings.clear();
+        String restoredCursor = null;
+        for (SensorDataResponse.SensorData reading : saved) {
+            String timestamp = reading.getTimestamp();
+            if (timestamp != null && isOurs(reading)
+                    && (first == null || timestamp.compareTo(first.getTimestamp()) < 0)) {
+                readings.addLast(reading);
+                restoredCursor = timestamp;
+            }
+        }
+        readings.addAll(received);
+        if (cursor == null) {
+            cursor = restoredCursor;
+        }
+        while (readings.size() > capacity) {
+            readings.removeFirst();
+        }
+        if (window.size() == 0) {
+            // The window only grows forward, so it is refilled only when nothing live got there first
+            for (SensorDataResponse.SensorData reading : readings) {
+                window.append(reading);
+            }
+        }
+    }
+
+    public synchronized boolean isRestored() {
+        return restored;
+    }
+
+    public synchronized boolean append(SensorDataResponse.SensorData reading) {
+        String timestamp = reading != null ? reading.getTimestamp() : null;
+        if (timestamp == null || (cursor != null && timestamp.compareTo(cursor) <= 0)) {
+            return false;
+        }
+        cursor = timestamp;
+        if (!isOurs(reading)) {
+            return false;
+        }
+        readings.addLast(reading);
+        window.append(reading);
+        while (readings.size() > capacity) {
+            readings.removeFirst();
+        }
+        return true;
+    }
+
+    private boolean isOurs(SensorDataResponse.SensorData reading) {
+        return dogName == null || reading.getDogName() == null || dogName.equals(reading.getDogName());
+    }
+
+    /**
+     * Timestamp of the newest reading received (held or another dog's), or
+     * null when nothing has been.
+     */
+    public synchronized String getCursor() {
+        return cursor;
+    }
+
+    public synchronized SensorDataResponse.SensorData getLatest() {
+        return readings.peekLast();
+    }
+
+    public synchronized int size() {
+        return readings.size();
+    }
+
+    /**
+     * Snapshot of the held readings, oldest first.
+     */
+    public synchronized List<SensorDataResponse.SensorData> getReadings() {
+        return Collections.unmodifiableList(new ArrayList<>(readings));
+    }
+}
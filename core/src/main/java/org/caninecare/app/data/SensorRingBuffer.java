@@ -0,0 +1,185 @@
+package org.caninecare.app.data;
+
+import org.caninecare.app.models.SensorDataResponse;
+import org.caninecare.app.utils.ApiConfig;
+import org.caninecare.app.utils.IsoTimestamps;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed-capacity window of the most recent sensor readings, kept as
+ * primitive columns so appending and reading never allocate.
+ *
+ * The live stream decodes straight into it (see SensorReadingDecoder) and
+ * {@link SensorHistoryStore} feeds it whatever syncs bring in. Readings must
+ * arrive in timestamp order; one at or before the newest held is ignored, so
+ * the same reading arriving from the stream and from a sync is kept once.
+ * When full, the oldest reading is overwritten.
+ *
+ * Each dog has its own window ({@link #forDog(String)}), since the backend
+ * interleaves the readings of every collar it hears from.
+ *
+ * Index 0 is the oldest reading held. All methods are thread-safe.
+ */
+public class SensorRingBuffer {
+
+    private static final Map<String, SensorRingBuffer> byDog = new HashMap<>();
+
+    private final int capacity;
+    private final long[] timestampMicros;
+    private final float[] temperature;
+    private final int[] activity;
+    private final float[] latitude;
+    private final float[] longitude;
+
+    private int head; // slot the next reading goes into
+    private int size;
+    private long sequence;
+
+    /**
+     * The shared window of one dog's readings, created on first use.
+     */
+    public static SensorRingBuffer forDog(String dogName) {
+        synchronized (byDog) {
+            return byDog.computeIfAbsent(dogName, name -> new SensorRingBuffer(ApiConfig.SENSOR_WINDOW_CAPACITY));
+        }
+    }
+
+    public SensorRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.timestampMicros = new long[capacity];
+        this.temperature = new float[capacity];
+        this.activity = new int[capacity];
+        this.latitude = new float[capacity];
+        this.longitude = new float[capacity];
+    }
+
+    /**
+     * @param timestampMicros see {@link IsoTimestamps#parseMicros(CharSequence)}
+     * @return false if the reading is not newer than the newest one held
+     */
+    public synchronized boolean append(long timestampMicros, float temperature, int activity,
+                                       float latitude, float longitude) {
+        if (timestampMicros == IsoTimestamps.INVALID
+                || (size > 0 && timestampMicros <= this.timestampMicros[slot(size - 1)])) {
+            return false;
+        }
+        this.timestampMicros[head] = timestampMicros;
+        this.temperature[head] = temperature;
+        this.activity[head] = activity;
+        this.latitude[head] = latitude;
+        this.longitude[head] = longitude;
+        head = head + 1 == capacity ? 0 : head + 1;
+        if (size < capacity) {
+            size++;
+        }
+        sequence++;
+        return true;
+    }
+
+    public boolean append(SensorDataResponse.SensorData reading) {
+        return reading != null && append(IsoTimestamps.parseMicros(reading.getTimestamp()),
+                reading.getTemperature(), reading.getActivityPercent(),
+                (float) reading.getLatitude(), (float) reading.getLongitude());
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+        sequence++;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Changes whenever the contents do; lets a screen skip redrawing an unchanged window.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public synchronized long timestampAt(int index) {
+        return timestampMicros[checkedSlot(index)];
+    }
+
+    public synchronized float temperatureAt(int index) {
+        return temperature[checkedSlot(index)];
+    }
+
+    public synchronized int activityAt(int index) {
+        return activity[checkedSlot(index)];
+    }
+
+    public synchronized float latitudeAt(int index) {
+        return latitude[checkedSlot(index)];
+    }
+
+    public synchronized float longitudeAt(int index) {
+        return longitude[checkedSlot(index)];
+    }
+
+    /**
+     * Copies the readings newer than {@code afterMicros}, oldest first, under
+     * one lock; the arrays must hold {@link #capacity()} values.
+     *
+     * @return how many readings were copied
+     */
+    public synchronized int copyAfter(long afterMicros, long[] timestamps, float[] temperatures, float[] activities) {
+        int count = 0;
+        while (count < size && timestampMicros[slot(size - 1 - count)] > afterMicros) {
+            count++;
+        }
+        for (int i = 0; i < count; i++) {
+            int s = slot(size - count + i);
+            timestamps[i] = timestampMicros[s];
+            temperatures[i] = temperature[s];
+            activities[i] = activity[s];
+        }
+        return count;
+    }
+
+    /**
+     * Timestamp of the newest reading, or {@link IsoTimestamps#INVALID} when empty.
+     */
+    public synchronized long lastTimestamp() {
+        return size > 0 ? timestampMicros[slot(size - 1)] : IsoTimestamps.INVALID;
+    }
+
+    public synchronized float lastTemperature() {
+        return temperature[checkedSlot(size - 1)];
+    }
+
+    public synchronized int lastActivity() {
+        return activity[checkedSlot(size - 1)];
+    }
+
+    public synchronized float lastLatitude() {
+        return latitude[checkedSlot(size - 1)];
+    }
+
+    public synchronized float lastLongitude() {
+        return longitude[checkedSlot(size - 1)];
+    }
+
+    private int slot(int index) {
+        int s = head - size + index;
+        return s < 0 ? s + capacity : s;
+    }
+
+    private int checkedSlot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return slot(index);
+    }
+}
@@ -0,0 +1,44 @@
+package org.caninecare.app.data.series;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a bit stream written by {@link BitWriter}.
+ */
+public final class BitReader {
+
+    private final ByteBuffer buffer;
+    private final int base;
+    private long position;
+
+    public BitReader(ByteBuffer buffer, int base) {
+        this.buffer = buffer;
+        this.base = base;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    boolean readBit() {
+        int b = buffer.get(base + (int) (position >>> 3));
+        return ((b >>> (7 - (int) (position++ & 7))) & 1) != 0;
+    }
+
+    /**
+     * Reads {@code count} bits (1 to 64) as an unsigned value.
+     */
+    long read(int count) {
+        long value = 0;
+        while (count > 0) {
+            int used = (int) (position & 7);
+            int free = 8 - used;
+            int take = Math.min(free, count);
+            int b = buffer.get(base + (int) (position >>> 3)) & 0xFF;
+            value = (value << take) | ((b >>> (free - take)) & ((1 << take) - 1));
+            count -= take;
+            position += take;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,59 @@
+package org.caninecare.app.data.series;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes a bit stream, most significant bit first, into a buffer from a
+ * fixed byte offset. Writing clears whatever follows in the byte it ends in,
+ * so a stream can be resumed over bits left by an append that never committed.
+ */
+public final class BitWriter {
+
+    private final ByteBuffer buffer;
+    private final int base;
+    private final long limit;
+    private long position;
+
+    /**
+     * @param base     byte offset of bit 0
+     * @param position bit to continue writing at
+     */
+    public BitWriter(ByteBuffer buffer, int base, long position) {
+        this.buffer = buffer;
+        this.base = base;
+        this.limit = (long) (buffer.capacity() - base) * 8;
+        this.position = position;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Bits that can still be written.
+     */
+    long remaining() {
+        return limit - position;
+    }
+
+    void writeBit(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Writes the low {@code count} bits of {@code value} (1 to 64).
+     */
+    void write(long value, int count) {
+        while (count > 0) {
+            int index = base + (int) (position >>> 3);
+            int used = (int) (position & 7);
+            int free = 8 - used;
+            int take = Math.min(free, count);
+            int bits = (int) (value >>> (count - take)) & ((1 << take) - 1);
+            int kept = used == 0 ? 0 : buffer.get(index) & (0xFF << free) & 0xFF;
+            buffer.put(index, (byte) (kept | (bits << (free - take))));
+            count -= take;
+            position += take;
+        }
+    }
+}
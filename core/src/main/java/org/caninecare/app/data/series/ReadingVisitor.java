@@ -0,0 +1,8 @@
+package org.caninecare.app.data.series;
+
+/**
+ * Receives decoded readings, oldest first, from a scan of a series.
+ */
+public interface ReadingVisitor {
+    void onReading(long timestampMicros, float temperature, int activity, double latitude, double longitude);
+}
@@ -0,0 +1,289 @@
+package org.caninecare.app.data.series;
+
+/**
+ * Gorilla-style encoding of one series of readings (Pelkonen et al.,
+ * "Gorilla: A Fast, Scalable, In-Memory Time Series Database", VLDB 2015).
+ *
+ * The first reading is stored raw. After that:
+ * <ul>
+ *     <li>timestamps as the change in the gap to the previous one
+ *     (delta-of-delta): '0' when the cadence holds, otherwise a prefix
+ *     picking a 7, 9, 12, 32 or 64 bit two's complement value;</li>
+ *     <li>temperature (float) and coordinates (double) as the XOR with the
+ *     previous value: '0' when equal, '10' + the meaningful bits when they
+ *     fit the previous leading/trailing zero window, else '11' + leading
+ *     zeros, length and the meaningful bits;</li>
+ *     <li>activity as the change from the previous value in 0, 4 or 8 bits,
+ *     or the raw value.</li>
+ * </ul>
+ *
+ * The same instance tracks the state either while writing or while reading,
+ * and that state is the same at the same point of the stream, so a writer
+ * can be resumed by reading the stream up to where it should continue.
+ *
+ * Public, with {@link BitWriter} and {@link BitReader}, for SeriesCodecBenchmark.
+ */
+public final class SeriesCodec {
+
+    /**
+     * Upper bound on the bits one reading takes.
+     */
+    public static final int MAX_READING_BITS = 320;
+
+    private int count;
+
+    private long timestamp;
+    private long delta;
+
+    private int temperature;
+    private int temperatureLeading = -1;
+    private int temperatureTrailing;
+
+    private int activity;
+
+    private long latitude;
+    private int latitudeLeading = -1;
+    private int latitudeTrailing;
+
+    private long longitude;
+    private int longitudeLeading = -1;
+    private int longitudeTrailing;
+
+    public int count() {
+        return count;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    public float temperature() {
+        return Float.intBitsToFloat(temperature);
+    }
+
+    public int activity() {
+        return activity;
+    }
+
+    public double latitude() {
+        return Double.longBitsToDouble(latitude);
+    }
+
+    public double longitude() {
+        return Double.longBitsToDouble(longitude);
+    }
+
+    public void write(BitWriter out, long timestampMicros, float temperatureValue, int activityValue,
+                      double latitudeValue, double longitudeValue) {
+        int temperatureBits = Float.floatToRawIntBits(temperatureValue);
+        long latitudeBits = Double.doubleToRawLongBits(latitudeValue);
+        long longitudeBits = Double.doubleToRawLongBits(longitudeValue);
+
+        if (count == 0) {
+            out.write(timestampMicros, 64);
+            out.write(temperatureBits, 32);
+            out.write(activityValue, 32);
+            out.write(latitudeBits, 64);
+            out.write(longitudeBits, 64);
+            timestamp = timestampMicros;
+            temperature = temperatureBits;
+            activity = activityValue;
+            latitude = latitudeBits;
+            longitude = longitudeBits;
+            count = 1;
+            return;
+        }
+
+        long newDelta = timestampMicros - timestamp;
+        writeDeltaOfDelta(out, newDelta - delta);
+        timestamp = timestampMicros;
+        delta = newDelta;
+
+        int xor = temperatureBits ^ temperature;
+        if (xor == 0) {
+            out.writeBit(false);
+        } else {
+            int leading = Integer.numberOfLeadingZeros(xor);
+            int trailing = Integer.numberOfTrailingZeros(xor);
+            out.writeBit(true);
+            if (temperatureLeading >= 0 && leading >= temperatureLeading && trailing >= temperatureTrailing) {
+                out.writeBit(false);
+                out.write(xor >>> temperatureTrailing, 32 - temperatureLeading - temperatureTrailing);
+            } else {
+                out.writeBit(true);
+                int length = 32 - leading - trailing;
+                out.write(leading, 5);
+                out.write(length - 1, 5);
+                out.write(xor >>> trailing, length);
+                temperatureLeading = leading;
+                temperatureTrailing = trailing;
+            }
+            temperature = temperatureBits;
+        }
+
+        long activityDelta = (long) activityValue - activity;
+        if (activityDelta == 0) {
+            out.writeBit(false);
+        } else if (fits(activityDelta, 4)) {
+            out.write(0b10, 2);
+            out.write(activityDelta, 4);
+        } else if (fits(activityDelta, 8)) {
+            out.write(0b110, 3);
+            out.write(activityDelta, 8);
+        } else {
+            out.write(0b111, 3);
+            out.write(activityValue, 32);
+        }
+        activity = activityValue;
+
+        long latitudeXor = latitudeBits ^ latitude;
+        if (latitudeXor == 0) {
+            out.writeBit(false);
+        } else {
+            int leading = Long.numberOfLeadingZeros(latitudeXor);
+            int trailing = Long.numberOfTrailingZeros(latitudeXor);
+            out.writeBit(true);
+            if (latitudeLeading >= 0 && leading >= latitudeLeading && trailing >= latitudeTrailing) {
+                out.writeBit(false);
+                out.write(latitudeXor >>> latitudeTrailing, 64 - latitudeLeading - latitudeTrailing);
+            } else {
+                out.writeBit(true);
+                writeWindow(out, latitudeXor, leading, trailing);
+                latitudeLeading = leading;
+                latitudeTrailing = trailing;
+            }
+            latitude = latitudeBits;
+        }
+
+        long longitudeXor = longitudeBits ^ longitude;
+        if (longitudeXor == 0) {
+            out.writeBit(false);
+        } else {
+            int leading = Long.numberOfLeadingZeros(longitudeXor);
+            int trailing = Long.numberOfTrailingZeros(longitudeXor);
+            out.writeBit(true);
+            if (longitudeLeading >= 0 && leading >= longitudeLeading && trailing >= longitudeTrailing) {
+                out.writeBit(false);
+                out.write(longitudeXor >>> longitudeTrailing, 64 - longitudeLeading - longitudeTrailing);
+            } else {
+                out.writeBit(true);
+                writeWindow(out, longitudeXor, leading, trailing);
+                longitudeLeading = leading;
+                longitudeTrailing = trailing;
+            }
+            longitude = longitudeBits;
+        }
+        count++;
+    }
+
+    /**
+     * Reads the next reading into this codec's current values.
+     */
+    public void read(BitReader in) {
+        if (count == 0) {
+            timestamp = in.read(64);
+            temperature = (int) in.read(32);
+            activity = (int) in.read(32);
+            latitude = in.read(64);
+            longitude = in.read(64);
+            count = 1;
+            return;
+        }
+
+        delta += readDeltaOfDelta(in);
+        timestamp += delta;
+
+        if (in.readBit()) {
+            if (in.readBit()) {
+                temperatureLeading = (int) in.read(5);
+                int length = (int) in.read(5) + 1;
+                temperatureTrailing = 32 - temperatureLeading - length;
+            }
+            int length = 32 - temperatureLeading - temperatureTrailing;
+            temperature ^= (int) in.read(length) << temperatureTrailing;
+        }
+
+        if (in.readBit()) {
+            if (!in.readBit()) {
+                activity += (int) signed(in.read(4), 4);
+            } else if (!in.readBit()) {
+                activity += (int) signed(in.read(8), 8);
+            } else {
+                activity = (int) in.read(32);
+            }
+        }
+
+        if (in.readBit()) {
+            if (in.readBit()) {
+                latitudeLeading = (int) in.read(6);
+                latitudeTrailing = 64 - latitudeLeading - ((int) in.read(6) + 1);
+            }
+            latitude ^= in.read(64 - latitudeLeading - latitudeTrailing) << latitudeTrailing;
+        }
+
+        if (in.readBit()) {
+            if (in.readBit()) {
+                longitudeLeading = (int) in.read(6);
+                longitudeTrailing = 64 - longitudeLeading - ((int) in.read(6) + 1);
+            }
+            longitude ^= in.read(64 - longitudeLeading - longitudeTrailing) << longitudeTrailing;
+        }
+        count++;
+    }
+
+    private static void writeDeltaOfDelta(BitWriter out, long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            out.writeBit(false);
+        } else if (fits(deltaOfDelta, 7)) {
+            out.write(0b10, 2);
+            out.write(deltaOfDelta, 7);
+        } else if (fits(deltaOfDelta, 9)) {
+            out.write(0b110, 3);
+            out.write(deltaOfDelta, 9);
+        } else if (fits(deltaOfDelta, 12)) {
+            out.write(0b1110, 4);
+            out.write(deltaOfDelta, 12);
+        } else if (fits(deltaOfDelta, 32)) {
+            out.write(0b11110, 5);
+            out.write(deltaOfDelta, 32);
+        } else {
+            out.write(0b11111, 5);
+            out.write(deltaOfDelta, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader in) {
+        if (!in.readBit()) {
+            return 0;
+        }
+        if (!in.readBit()) {
+            return signed(in.read(7), 7);
+        }
+        if (!in.readBit()) {
+            return signed(in.read(9), 9);
+        }
+        if (!in.readBit()) {
+            return signed(in.read(12), 12);
+        }
+        if (!in.readBit()) {
+            return signed(in.read(32), 32);
+        }
+        return in.read(64);
+    }
+
+    private static void writeWindow(BitWriter out, long xor, int leading, int trailing) {
+        int length = 64 - leading - trailing;
+        out.write(leading, 6);
+        out.write(length - 1, 6);
+        out.write(xor >>> trailing, length);
+    }
+
+    private static boolean fits(long value, int bits) {
+        long half = 1L << (bits - 1);
+        return value >= -half && value < half;
+    }
+
+    private static long signed(long value, int bits) {
+        return (value << (64 - bits)) >> (64 - bits);
+    }
+}
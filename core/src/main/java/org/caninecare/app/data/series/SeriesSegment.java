@@ -0,0 +1,313 @@
+package org.caninecare.app.data.series;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * One file of a series: a 32 byte header followed by a {@link SeriesCodec}
+ * bit stream.
+ *
+ * <pre>
+ *  0  int   magic "CCTS"
+ *  4  short format
+ *  6  short flags (sealed, compacted)
+ *  8  long  commit: readings &lt;&lt; 32 | bits
+ * 16  long  first timestamp
+ * 24  long  last timestamp (once sealed)
+ * </pre>
+ *
+ * The open segment of a series is preallocated and memory-mapped read-write.
+ * Appends write past the committed end; {@link #commit()} forces them to disk
+ * and only then moves the commit word, a single aligned 8 byte write. A crash
+ * therefore loses at most the readings appended since the last commit, never
+ * the stream before it. Sealed segments are immutable and mapped read-only
+ * while scanned.
+ */
+final class SeriesSegment {
+
+    static final int HEADER_BYTES = 32;
+
+    private static final int MAGIC = 0x43435453;
+    private static final short FORMAT = 1;
+    private static final short FLAG_SEALED = 1;
+    private static final short FLAG_COMPACTED = 2;
+
+    private static final int OFFSET_FLAGS = 6;
+    private static final int OFFSET_COMMIT = 8;
+    private static final int OFFSET_FIRST = 16;
+    private static final int OFFSET_LAST = 24;
+
+    final File file;
+
+    private short flags;
+    private int count;
+    private long bits;
+    private long first;
+    private long last;
+
+    // Open segments only
+    private MappedByteBuffer buffer;
+    private BitWriter writer;
+    private SeriesCodec codec;
+
+    private SeriesSegment(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates an empty open segment with room for {@code capacityBytes} of readings.
+     */
+    static SeriesSegment create(File file, int capacityBytes) throws IOException {
+        SeriesSegment segment = new SeriesSegment(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(HEADER_BYTES + capacityBytes);
+            segment.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+        }
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putShort(4, FORMAT);
+        segment.buffer.putShort(OFFSET_FLAGS, (short) 0);
+        segment.buffer.putLong(OFFSET_COMMIT, 0);
+        segment.buffer.force();
+        segment.writer = new BitWriter(segment.buffer, HEADER_BYTES, 0);
+        segment.codec = new SeriesCodec();
+        return segment;
+    }
+
+    /**
+     * Opens an existing segment; an unsealed one is mapped and its writer
+     * restored by decoding what was committed.
+     *
+     * @throws IOException if the file is not a segment
+     */
+    static SeriesSegment open(File file) throws IOException {
+        SeriesSegment segment = new SeriesSegment(file);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getShort(4) != FORMAT) {
+            throw new IOException("Not a series segment: " + file);
+        }
+        segment.flags = header.getShort(OFFSET_FLAGS);
+        long commit = header.getLong(OFFSET_COMMIT);
+        segment.count = (int) (commit >>> 32);
+        segment.bits = commit & 0xFFFFFFFFL;
+        segment.first = header.getLong(OFFSET_FIRST);
+        segment.last = header.getLong(OFFSET_LAST);
+        if (HEADER_BYTES + (segment.bits + 7) / 8 > file.length()) {
+            throw new IOException("Truncated series segment: " + file);
+        }
+
+        if (!segment.isSealed()) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                segment.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+            }
+            segment.codec = new SeriesCodec();
+            BitReader reader = new BitReader(segment.buffer, HEADER_BYTES);
+            for (int i = 0; i < segment.count; i++) {
+                segment.codec.read(reader);
+            }
+            if (reader.position() != segment.bits) {
+                throw new IOException("Corrupt series segment: " + file);
+            }
+            if (segment.count > 0) {
+                segment.last = segment.codec.timestamp();
+            }
+            segment.writer = new BitWriter(segment.buffer, HEADER_BYTES, segment.bits);
+        }
+        return segment;
+    }
+
+    /**
+     * Writes {@code readings} (decoded from other segments) to {@code file}
+     * as one sealed, compacted segment sized to fit, via a temporary file
+     * renamed into place.
+     */
+    static void writeCompacted(File file, ReadingColumns readings) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES
+                + (int) (((long) readings.size() * SeriesCodec.MAX_READING_BITS + 7) / 8));
+        BitWriter writer = new BitWriter(out, HEADER_BYTES, 0);
+        SeriesCodec codec = new SeriesCodec();
+        for (int i = 0; i < readings.size(); i++) {
+            codec.write(writer, readings.timestamps[i], readings.temperatures[i], readings.activities[i],
+                    readings.latitudes[i], readings.longitudes[i]);
+        }
+        out.putInt(0, MAGIC);
+        out.putShort(4, FORMAT);
+        out.putShort(OFFSET_FLAGS, (short) (FLAG_SEALED | FLAG_COMPACTED));
+        out.putLong(OFFSET_COMMIT, ((long) readings.size() << 32) | writer.position());
+        out.putLong(OFFSET_FIRST, readings.timestamps[0]);
+        out.putLong(OFFSET_LAST, readings.timestamps[readings.size() - 1]);
+        out.limit(HEADER_BYTES + (int) ((writer.position() + 7) / 8));
+
+        File temporary = new File(file.getPath() + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temporary)) {
+            FileChannel channel = stream.getChannel();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            stream.getFD().sync();
+        }
+        if (!temporary.renameTo(file)) {
+            temporary.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    boolean isSealed() {
+        return (flags & FLAG_SEALED) != 0;
+    }
+
+    boolean isCompacted() {
+        return (flags & FLAG_COMPACTED) != 0;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long firstTimestamp() {
+        return first;
+    }
+
+    long lastTimestamp() {
+        return last;
+    }
+
+    /**
+     * Bytes the readings take, header included; the file of an open or
+     * not yet compacted segment is larger.
+     */
+    long usedBytes() {
+        return HEADER_BYTES + (bits + 7) / 8;
+    }
+
+    /**
+     * Appends a reading newer than the last one.
+     *
+     * @return false if the segment is sealed or has no room left
+     */
+    boolean append(long timestampMicros, float temperature, int activity, double latitude, double longitude) {
+        if (writer == null || writer.remaining() < SeriesCodec.MAX_READING_BITS) {
+            return false;
+        }
+        if (count == 0) {
+            buffer.putLong(OFFSET_FIRST, timestampMicros);
+            first = timestampMicros;
+        }
+        codec.write(writer, timestampMicros, temperature, activity, latitude, longitude);
+        count = codec.count();
+        bits = writer.position();
+        last = timestampMicros;
+        return true;
+    }
+
+    /**
+     * Makes every reading appended so far durable.
+     */
+    void commit() {
+        if (buffer == null) {
+            return;
+        }
+        long commit = ((long) count << 32) | bits;
+        if (buffer.getLong(OFFSET_COMMIT) == commit) {
+            return;
+        }
+        buffer.force();
+        buffer.putLong(OFFSET_COMMIT, commit);
+        buffer.force();
+    }
+
+    /**
+     * Commits and closes the segment for appends.
+     */
+    void seal() {
+        if (buffer == null) {
+            return;
+        }
+        commit();
+        flags |= FLAG_SEALED;
+        buffer.putLong(OFFSET_LAST, last);
+        buffer.putShort(OFFSET_FLAGS, flags);
+        buffer.force();
+        buffer = null;
+        writer = null;
+        codec = null;
+    }
+
+    /**
+     * Visits the readings with {@code from <= timestamp <= to}, oldest first;
+     * returns how many were visited.
+     */
+    int scan(long from, long to, ReadingVisitor visitor) throws IOException {
+        if (count == 0 || last < from || first > to) {
+            return 0;
+        }
+        ByteBuffer source = buffer;
+        if (source == null) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                source = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, usedBytes());
+            }
+        }
+        BitReader reader = new BitReader(source, HEADER_BYTES);
+        SeriesCodec decoder = new SeriesCodec();
+        int visited = 0;
+        for (int i = 0; i < count; i++) {
+            decoder.read(reader);
+            long timestamp = decoder.timestamp();
+            if (timestamp > to) {
+                break;
+            }
+            if (timestamp >= from) {
+                visitor.onReading(timestamp, decoder.temperature(), decoder.activity(),
+                        decoder.latitude(), decoder.longitude());
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Growable columns of decoded readings, used while compacting.
+     */
+    static final class ReadingColumns implements ReadingVisitor {
+        long[] timestamps = new long[1024];
+        float[] temperatures = new float[1024];
+        int[] activities = new int[1024];
+        double[] latitudes = new double[1024];
+        double[] longitudes = new double[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        @Override
+        public void onReading(long timestampMicros, float temperature, int activity,
+                              double latitude, double longitude) {
+            if (size == timestamps.length) {
+                int capacity = size * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                temperatures = Arrays.copyOf(temperatures, capacity);
+                activities = Arrays.copyOf(activities, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+            }
+            timestamps[size] = timestampMicros;
+            temperatures[size] = temperature;
+            activities[size] = activity;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+    }
+}
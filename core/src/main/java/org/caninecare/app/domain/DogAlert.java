@@ -0,0 +1,165 @@
+package org.caninecare.app.domain;
+
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.utils.IsoTimestamps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A health alert with its strings decoded once: severity and status as
+ * enums, the time as epoch milliseconds. Immutable, so screens can share,
+ * sort and filter them without parsing again.
+ */
+public final class DogAlert {
+
+    public static final Comparator<DogAlert> NEWEST_FIRST = (a, b) -> {
+        int byTime = Long.compare(b.timestampMillis, a.timestampMillis);
+        return byTime != 0 ? byTime : Long.compare(b.id, a.id);
+    };
+
+    private final long id;
+    private final String dogName;
+    private final HealthStatus status;
+    private final String statusLabel;
+    private final Severity severity;
+    private final long timestampMillis;
+    private final float temperature;
+    private final float activityPercent;
+    private final int immobileSeconds;
+    private final List<String> messages;
+    private final List<Emergency> emergencies;
+
+    private DogAlert(long id, String dogName, HealthStatus status, String statusLabel, Severity severity,
+                     long timestampMillis, float temperature, float activityPercent, int immobileSeconds,
+                     List<String> messages, List<Emergency> emergencies) {
+        this.id = id;
+        this.dogName = dogName;
+        this.status = status;
+        this.statusLabel = statusLabel;
+        this.severity = severity;
+        this.timestampMillis = timestampMillis;
+        this.temperature = temperature;
+        this.activityPercent = activityPercent;
+        this.immobileSeconds = immobileSeconds;
+        this.messages = messages;
+        this.emergencies = emergencies;
+    }
+
+    /**
+     * The emergency level wins over the severity when the alert has both;
+     * without either the alert is {@link Severity#LOW}.
+     */
+    public static DogAlert from(AlertsResponse.Alert alert) {
+        Severity severity = Severity.parse(alert.getEmergencyLevel() != null
+                ? alert.getEmergencyLevel() : alert.getSeverity());
+
+        List<String> messages = Collections.emptyList();
+        if (alert.getAlertMessages() != null && !alert.getAlertMessages().isEmpty()) {
+            messages = Collections.unmodifiableList(new ArrayList<>(alert.getAlertMessages()));
+        }
+        List<Emergency> emergencies = Collections.emptyList();
+        if (alert.getEmergencies() != null && !alert.getEmergencies().isEmpty()) {
+            List<Emergency> list = new ArrayList<>(alert.getEmergencies().size());
+            for (AlertsResponse.Emergency emergency : alert.getEmergencies()) {
+                if (emergency != null) {
+                    list.add(new Emergency(emergency.getType(), emergency.getMessage(), emergency.getAction()));
+                }
+            }
+            emergencies = Collections.unmodifiableList(list);
+        }
+
+        return new DogAlert(alert.getId(), alert.getDogName(), HealthStatus.parse(alert.getHealthStatus()),
+                alert.getHealthStatus(), severity != null ? severity : Severity.LOW,
+                IsoTimestamps.parseMillis(alert.getTimestamp()), alert.getTemperature(),
+                alert.getActivityPercent(), alert.getImmobileDuration(), messages, emergencies);
+    }
+
+    /**
+     * Increasing id the backend pages by; 0 for alerts saved before it had one.
+     */
+    public long getId() {
+        return id;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    /**
+     * @return null if the alert has no status
+     */
+    public HealthStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * The status as the backend wrote it; null if the alert has none.
+     */
+    public String getStatusLabel() {
+        return statusLabel;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    /**
+     * @return {@link IsoTimestamps#INVALID} if the alert had no readable time
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * 0 if not reported.
+     */
+    public float getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * 0 if not reported.
+     */
+    public float getActivityPercent() {
+        return activityPercent;
+    }
+
+    public int getImmobileSeconds() {
+        return immobileSeconds;
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    public List<Emergency> getEmergencies() {
+        return emergencies;
+    }
+
+    public static final class Emergency {
+        private final String type;
+        private final String message;
+        private final String action;
+
+        Emergency(String type, String message, String action) {
+            this.type = type;
+            this.message = message;
+            this.action = action;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getAction() {
+            return action;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.caninecare.app.domain;
+
+import org.caninecare.app.models.HealthCheckResponse;
+import org.caninecare.app.utils.IsoTimestamps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a health check, from the backend or {@code HealthRuleEngine},
+ * with status and severity decoded. Immutable.
+ */
+public final class HealthAssessment {
+
+    private final String dogName;
+    private final float temperature;
+    private final int activityPercent;
+    private final HealthStatus status;
+    private final String statusLabel;
+    private final Severity severity;
+    private final List<String> alerts;
+    private final List<String> recommendations;
+    private final long timestampMillis;
+
+    private HealthAssessment(String dogName, float temperature, int activityPercent, HealthStatus status,
+                             String statusLabel, Severity severity, List<String> alerts,
+                             List<String> recommendations, long timestampMillis) {
+        this.dogName = dogName;
+        this.temperature = temperature;
+        this.activityPercent = activityPercent;
+        this.status = status;
+        this.statusLabel = statusLabel;
+        this.severity = severity;
+        this.alerts = alerts;
+        this.recommendations = recommendations;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Without a severity the result is {@link Severity#LOW}.
+     */
+    public static HealthAssessment from(HealthCheckResponse response) {
+        Severity severity = Severity.parse(response.getSeverity());
+        return new HealthAssessment(response.getDogName(), response.getTemperature(),
+                response.getActivityPercent(), HealthStatus.parse(response.getHealthStatus()),
+                response.getHealthStatus(), severity != null ? severity : Severity.LOW,
+                copy(response.getAlerts()), copy(response.getRecommendations()),
+                IsoTimestamps.parseMillis(response.getTimestamp()));
+    }
+
+    private static List<String> copy(List<String> list) {
+        return list == null || list.isEmpty() ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public float getTemperature() {
+        return temperature;
+    }
+
+    public int getActivityPercent() {
+        return activityPercent;
+    }
+
+    /**
+     * @return null if the result has no status
+     */
+    public HealthStatus getStatus() {
+        return status;
+    }
+
+    public String getStatusLabel() {
+        return statusLabel;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public List<String> getAlerts() {
+        return alerts;
+    }
+
+    public List<String> getRecommendations() {
+        return recommendations;
+    }
+
+    /**
+     * @return {@link IsoTimestamps#INVALID} if missing or unreadable
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
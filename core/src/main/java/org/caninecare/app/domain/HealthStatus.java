@@ -0,0 +1,56 @@
+package org.caninecare.app.domain;
+
+/**
+ * The health statuses the backend and {@code HealthRuleEngine} report. The
+ * status text itself stays free-form (rule sets can add new ones), so
+ * domain objects keep the label next to the parsed value; statuses this
+ * app does not know are {@link #OTHER}.
+ */
+public enum HealthStatus {
+    NORMAL("Normal", false),
+    LOW_ACTIVITY("Low Activity", false),
+    HIGH_ACTIVITY("High Activity", false),
+    TEMPERATURE_ABNORMAL("Temperature Abnormal", false),
+    FEVER("Fever Detected", false),
+    HYPOTHERMIA_RISK("Hypothermia Risk", false),
+    CRITICAL_FEVER("Critical Fever", true),
+    CRITICAL_HYPOTHERMIA("Critical Hypothermia", true),
+    FEVER_AND_LETHARGY("Critical: Fever + Lethargy", true),
+    OTHER(null, false);
+
+    private static final HealthStatus[] VALUES = values();
+
+    private final String label;
+    private final boolean critical;
+
+    HealthStatus(String label, boolean critical) {
+        this.label = label;
+        this.critical = critical;
+    }
+
+    /**
+     * The backend's text for the status; null for {@link #OTHER}.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
+
+    /**
+     * @return null only for null
+     */
+    public static HealthStatus parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        for (HealthStatus status : VALUES) {
+            if (status.label != null && status.label.equalsIgnoreCase(text)) {
+                return status;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,90 @@
+package org.caninecare.app.domain;
+
+import org.caninecare.app.models.HeatCycle;
+import org.caninecare.app.utils.IsoTimestamps;
+
+/**
+ * A recorded heat cycle prediction with its dates as epoch milliseconds and
+ * its alert level as a {@link Severity}. Immutable.
+ */
+public final class HeatPrediction {
+
+    private final String id;
+    private final String dogName;
+    private final String type;
+    private final float value;
+    private final String unit;
+    private final long estimatedDateMillis;
+    private final String fertilityStatus;
+    private final Severity alertLevel;
+    private final long createdAtMillis;
+
+    private HeatPrediction(String id, String dogName, String type, float value, String unit,
+                           long estimatedDateMillis, String fertilityStatus, Severity alertLevel,
+                           long createdAtMillis) {
+        this.id = id;
+        this.dogName = dogName;
+        this.type = type;
+        this.value = value;
+        this.unit = unit;
+        this.estimatedDateMillis = estimatedDateMillis;
+        this.fertilityStatus = fertilityStatus;
+        this.alertLevel = alertLevel;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    public static HeatPrediction from(HeatCycle cycle) {
+        return new HeatPrediction(cycle.getId(), cycle.getDogName(), cycle.getPredictionType(),
+                cycle.getPredictionValue(), cycle.getPredictionUnit(),
+                IsoTimestamps.parseMillis(cycle.getEstimatedDate()), cycle.getFertilityStatus(),
+                Severity.parse(cycle.getAlertLevel()), IsoTimestamps.parseMillis(cycle.getCreatedAt()));
+    }
+
+    /**
+     * @return null for cycles saved without one
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public float getValue() {
+        return value;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return {@link IsoTimestamps#INVALID} if missing or unreadable
+     */
+    public long getEstimatedDateMillis() {
+        return estimatedDateMillis;
+    }
+
+    public String getFertilityStatus() {
+        return fertilityStatus;
+    }
+
+    /**
+     * @return null if the prediction has none
+     */
+    public Severity getAlertLevel() {
+        return alertLevel;
+    }
+
+    /**
+     * @return {@link IsoTimestamps#INVALID} if missing or unreadable
+     */
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+}
@@ -0,0 +1,47 @@
+package org.caninecare.app.domain;
+
+/**
+ * How serious an alert or a heat cycle prediction is; the backend sends
+ * these as "low", "medium", "high" and "critical" in severity,
+ * emergency_level and alert_level. Ordered from least to most serious.
+ */
+public enum Severity {
+    LOW("low"),
+    MEDIUM("medium"),
+    HIGH("high"),
+    CRITICAL("critical");
+
+    private static final Severity[] VALUES = values();
+
+    private final String wireName;
+
+    Severity(String wireName) {
+        this.wireName = wireName;
+    }
+
+    public String getWireName() {
+        return wireName;
+    }
+
+    public boolean isAtLeast(Severity other) {
+        return compareTo(other) >= 0;
+    }
+
+    /**
+     * Case-insensitive and without allocating; anything unknown counts as
+     * {@link #LOW}, the way every screen has shown it.
+     *
+     * @return null only for null
+     */
+    public static Severity parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        for (Severity severity : VALUES) {
+            if (severity.wireName.equalsIgnoreCase(text)) {
+                return severity;
+            }
+        }
+        return LOW;
+    }
+}
@@ -0,0 +1,263 @@
+package org.caninecare.app.fertility;
+
+import org.caninecare.app.models.FertilityModelParams;
+import org.caninecare.app.models.FertilityRequest;
+import org.caninecare.app.models.FertilityResponse;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The backend's first/next heat models, evaluated on the device.
+ *
+ * {@link #predict(FertilityRequest)} builds the same features and applies the
+ * same status rules as /api/predict-fertility. Every ensemble is compiled into
+ * one set of node arrays, with each tree's weight folded into its leaves and
+ * the linear parts merged into a single bias and coefficient vector. A
+ * prediction is then one walk per tree plus a dot product.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class FertilityModel {
+
+    public static final int FORMAT = 1;
+
+    static final List<String> FEATURES = Arrays.asList("Age_Months", "Weight_kg", "Breed_enc",
+            "Days_Since_Last_Heat", "Weight_Category", "Age_Category", "Weight_Age_Ratio");
+
+    private final String version;
+    private final Map<String, Integer> breeds;
+    private final Ensemble firstHeat;
+    private final Ensemble nextHeat;
+
+    private FertilityModel(String version, Map<String, Integer> breeds, Ensemble firstHeat, Ensemble nextHeat) {
+        this.version = version;
+        this.breeds = breeds;
+        this.firstHeat = firstHeat;
+        this.nextHeat = nextHeat;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the parameters are of another
+     *                                  format, use other features or are incomplete
+     */
+    public static FertilityModel compile(FertilityModelParams params) {
+        if (params.getFormat() != FORMAT) {
+            throw new IllegalArgumentException("Unsupported model format " + params.getFormat());
+        }
+        if (!FEATURES.equals(params.getFeatures())) {
+            throw new IllegalArgumentException("Unexpected features " + params.getFeatures());
+        }
+        Map<String, Integer> breeds = params.getBreeds() != null
+                ? Collections.unmodifiableMap(new HashMap<>(params.getBreeds()))
+                : Collections.emptyMap();
+        return new FertilityModel(params.getVersion(), breeds,
+                Ensemble.compile(params.getFirstHeat()), Ensemble.compile(params.getNextHeat()));
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public FertilityResponse predict(FertilityRequest request) {
+        Integer lastHeatDays = request.getLastHeatDays();
+        double value = predictValue(request.getBreed(), request.getAgeMonths(), request.getWeightKg(), lastHeatDays);
+
+        String predictionType;
+        String predictionUnit;
+        LocalDate estimatedDate;
+        String fertilityStatus;
+        String alertLevel;
+        if (lastHeatDays == null) {
+            predictionType = "First Heat";
+            predictionUnit = "months";
+            estimatedDate = LocalDate.now().plusDays((int) (value * 30));
+            fertilityStatus = "Puppy - Awaiting First Heat";
+            alertLevel = "low";
+        } else {
+            predictionType = "Next Heat";
+            predictionUnit = "days";
+            estimatedDate = LocalDate.now().plusDays((int) value);
+            if (value <= 7) {
+                fertilityStatus = "Imminent Heat Cycle";
+                alertLevel = "high";
+            } else if (value <= 30) {
+                fertilityStatus = "Approaching Heat Cycle";
+                alertLevel = "medium";
+            } else {
+                fertilityStatus = "Normal Cycle";
+                alertLevel = "low";
+            }
+        }
+        return new FertilityResponse(request.getDogName(), request.getBreed(), request.getAgeMonths(),
+                request.getWeightKg(), predictionType, (float) (Math.round(value * 10) / 10.0), predictionUnit,
+                estimatedDate.toString(), fertilityStatus, alertLevel);
+    }
+
+    /**
+     * Months to first heat when {@code lastHeatDays} is null, otherwise days to the next one.
+     */
+    public double predictValue(String breed, int ageMonths, float weightKg, Integer lastHeatDays) {
+        // The backend sees the weight as the decimal the app sent, not as a float
+        double weight = Double.parseDouble(Float.toString(weightKg));
+        Integer breedEnc = breed != null ? breeds.get(breed) : null;
+
+        double f0 = ageMonths;
+        double f1 = weight;
+        double f2 = breedEnc != null ? breedEnc : -1;
+        double f3 = lastHeatDays != null ? lastHeatDays : 0;
+        double f4 = weight < 10 ? 0 : (weight < 25 ? 1 : 2);
+        double f5 = ageMonths < 12 ? 0 : (ageMonths < 36 ? 1 : 2);
+        double f6 = weight / (ageMonths + 1);
+        return (lastHeatDays == null ? firstHeat : nextHeat).predict(f0, f1, f2, f3, f4, f5, f6);
+    }
+
+    /**
+     * A compiled ensemble: bias + coef . x + the leaf each tree lands in.
+     */
+    static final class Ensemble {
+
+        final double bias;
+        final double[] coef;
+
+        final int[] roots;
+        final int[] left;
+        final int[] right;
+        final byte[] feature;
+        final float[] threshold;
+        final double[] value;
+
+        private Ensemble(double bias, double[] coef, int trees, int nodes) {
+            this.bias = bias;
+            this.coef = coef;
+            this.roots = new int[trees];
+            this.left = new int[nodes];
+            this.right = new int[nodes];
+            this.feature = new byte[nodes];
+            this.threshold = new float[nodes];
+            this.value = new double[nodes];
+        }
+
+        static Ensemble compile(FertilityModelParams.Ensemble params) {
+            if (params == null || params.getEstimators() == null || params.getEstimators().isEmpty()) {
+                throw new IllegalArgumentException("Missing ensemble");
+            }
+            List<FertilityModelParams.Estimator> estimators = params.getEstimators();
+            double[] weights = params.getWeights();
+            if (weights == null || weights.length != estimators.size()) {
+                throw new IllegalArgumentException("Expected " + estimators.size() + " weights");
+            }
+            double weightSum = 0;
+            for (double weight : weights) {
+                weightSum += weight;
+            }
+
+            // Constant and linear terms of all estimators, and the size of the trees
+            double bias = 0;
+            double[] coef = new double[FEATURES.size()];
+            int trees = 0;
+            int nodes = 0;
+            for (int e = 0; e < estimators.size(); e++) {
+                FertilityModelParams.Estimator estimator = estimators.get(e);
+                double weight = weights[e] / weightSum;
+                if ("linear".equals(estimator.getType())) {
+                    if (estimator.getCoef() == null || estimator.getCoef().length != coef.length) {
+                        throw new IllegalArgumentException("Expected " + coef.length + " coefficients");
+                    }
+                    bias += weight * estimator.getIntercept();
+                    for (int i = 0; i < coef.length; i++) {
+                        coef[i] += weight * estimator.getCoef()[i];
+                    }
+                    continue;
+                }
+                if (!"forest".equals(estimator.getType()) && !"boosting".equals(estimator.getType())) {
+                    throw new IllegalArgumentException("Unknown estimator type: " + estimator.getType());
+                }
+                if (estimator.getTrees() == null || estimator.getTrees().isEmpty()) {
+                    throw new IllegalArgumentException("No trees in " + estimator.getType());
+                }
+                if ("boosting".equals(estimator.getType())) {
+                    bias += weight * estimator.getInit();
+                }
+                for (FertilityModelParams.Tree tree : estimator.getTrees()) {
+                    trees++;
+                    nodes += tree.getLeft().length;
+                }
+            }
+
+            Ensemble ensemble = new Ensemble(bias, coef, trees, nodes);
+            int tree = 0;
+            int offset = 0;
+            for (int e = 0; e < estimators.size(); e++) {
+                FertilityModelParams.Estimator estimator = estimators.get(e);
+                double weight = weights[e] / weightSum;
+                double leafScale;
+                if ("forest".equals(estimator.getType())) {
+                    leafScale = weight / estimator.getTrees().size();
+                } else if ("boosting".equals(estimator.getType())) {
+                    leafScale = weight * estimator.getLearningRate();
+                } else {
+                    continue;
+                }
+                for (FertilityModelParams.Tree treeParams : estimator.getTrees()) {
+                    ensemble.roots[tree++] = offset;
+                    offset = ensemble.copyTree(treeParams, offset, leafScale);
+                }
+            }
+            return ensemble;
+        }
+
+        /**
+         * Appends a tree at {@code offset} with child indices made absolute;
+         * returns the offset after it.
+         */
+        private int copyTree(FertilityModelParams.Tree tree, int offset, double leafScale) {
+            int[] treeLeft = tree.getLeft();
+            for (int n = 0; n < treeLeft.length; n++) {
+                int node = offset + n;
+                if (treeLeft[n] < 0) {
+                    left[node] = -1;
+                    value[node] = tree.getValue()[n] * leafScale;
+                    continue;
+                }
+                int f = tree.getFeature()[n];
+                if (f < 0 || f >= FEATURES.size()) {
+                    throw new IllegalArgumentException("Bad feature index " + f);
+                }
+                left[node] = offset + treeLeft[n];
+                right[node] = offset + tree.getRight()[n];
+                feature[node] = (byte) f;
+                threshold[node] = floatAtMost(tree.getThreshold()[n]);
+            }
+            return offset + treeLeft.length;
+        }
+
+        double predict(double f0, double f1, double f2, double f3, double f4, double f5, double f6) {
+            // Trees see float32 features, as in scikit-learn
+            float[] x = {(float) f0, (float) f1, (float) f2, (float) f3, (float) f4, (float) f5, (float) f6};
+            double sum = bias + coef[0] * f0 + coef[1] * f1 + coef[2] * f2 + coef[3] * f3
+                    + coef[4] * f4 + coef[5] * f5 + coef[6] * f6;
+            for (int root : roots) {
+                int node = root;
+                while (left[node] >= 0) {
+                    node = x[feature[node]] <= threshold[node] ? left[node] : right[node];
+                }
+                sum += value[node];
+            }
+            return sum;
+        }
+
+        /**
+         * The largest float not above {@code threshold}: for any float x,
+         * {@code x <= result} exactly when {@code x <= threshold}.
+         */
+        static float floatAtMost(double threshold) {
+            float f = (float) threshold;
+            return f > threshold ? Math.nextDown(f) : f;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.caninecare.app.health;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flags readings that are unusual for the dog that produced them, as
+ * opposed to the fixed thresholds of {@link HealthRuleEngine}.
+ *
+ * Each dog has a baseline per metric: an exponentially weighted mean and
+ * variance, and running estimates of the 5th and 95th percentiles that
+ * follow the same recent readings. A reading is an anomaly when it is at
+ * least {@code zThreshold} deviations from the mean and also outside the
+ * percentile band, once the baseline has seen {@code warmupReadings}.
+ *
+ * An anomaly is reported once; the metric has to come back within half the
+ * threshold before it is reported again. Anomalous readings still move the
+ * baseline, at a tenth of the usual weight, so a lasting change is absorbed
+ * in time without a single spike skewing it.
+ *
+ * Every update is O(1) and a dog's state is a handful of primitives (about
+ * 150 bytes with object headers). Readings older than the last one seen for
+ * a dog are ignored. Thread-safe; listeners are called outside the lock.
+ */
+public final class AnomalyDetector {
+
+    public static final String METRIC_TEMPERATURE = "temperature";
+    public static final String METRIC_ACTIVITY = "activity_percent";
+
+    private static final float QUANTILE_LOW = 0.05f;
+    private static final float QUANTILE_HIGH = 0.95f;
+    private static final float ANOMALY_WEIGHT = 0.1f;
+
+    public interface Listener {
+        void onAnomaly(Anomaly anomaly);
+    }
+
+    private final float alpha;
+    private final float zThreshold;
+    private final int warmupReadings;
+    private final float minTemperatureDeviation;
+    private final float minActivityDeviation;
+
+    private final Map<String, Baseline> baselines = new HashMap<>();
+
+    /**
+     * @param alpha                   weight of each new reading, e.g. 0.05
+     *                                for a memory of about 20 readings
+     * @param zThreshold              deviations from the mean that count
+     *                                as an anomaly
+     * @param warmupReadings          readings seen before anything is
+     *                                flagged
+     * @param minTemperatureDeviation floor on the temperature deviation so
+     *                                a flat baseline does not flag noise
+     * @param minActivityDeviation    the same for activity
+     */
+    public AnomalyDetector(float alpha, float zThreshold, int warmupReadings,
+                           float minTemperatureDeviation, float minActivityDeviation) {
+        this.alpha = alpha;
+        this.zThreshold = zThreshold;
+        this.warmupReadings = warmupReadings;
+        this.minTemperatureDeviation = minTemperatureDeviation;
+        this.minActivityDeviation = minActivityDeviation;
+    }
+
+    /**
+     * Updates the dog's baseline with a reading and reports what stands out.
+     * The listener is called after the lock is released, so it may take its
+     * time or call back into the detector without holding up other callers.
+     *
+     * @return how many anomalies were passed to {@code listener}
+     */
+    public int observe(String dogName, long timestampMicros, float temperature, int activity,
+                       Listener listener) {
+        Anomaly temperatureAnomaly;
+        Anomaly activityAnomaly;
+        synchronized (this) {
+            Baseline baseline = baselines.get(dogName);
+            if (baseline == null) {
+                baseline = new Baseline();
+                baselines.put(dogName, baseline);
+            } else if (timestampMicros <= baseline.lastTimestamp) {
+                return 0;
+            }
+            baseline.lastTimestamp = timestampMicros;
+
+            temperatureAnomaly = update(baseline.temperature, temperature, minTemperatureDeviation,
+                    dogName, METRIC_TEMPERATURE, timestampMicros);
+            activityAnomaly = update(baseline.activity, activity, minActivityDeviation,
+                    dogName, METRIC_ACTIVITY, timestampMicros);
+        }
+
+        int reported = 0;
+        if (temperatureAnomaly != null) {
+            listener.onAnomaly(temperatureAnomaly);
+            reported++;
+        }
+        if (activityAnomaly != null) {
+            listener.onAnomaly(activityAnomaly);
+            reported++;
+        }
+        return reported;
+    }
+
+    /**
+     * Newest reading seen for the dog, or {@code Long.MIN_VALUE}.
+     */
+    public synchronized long lastTimestamp(String dogName) {
+        Baseline baseline = baselines.get(dogName);
+        return baseline != null ? baseline.lastTimestamp : Long.MIN_VALUE;
+    }
+
+    /**
+     * Readings the dog's baseline has seen; nothing is flagged until this
+     * reaches the warm-up.
+     */
+    public synchronized int readings(String dogName) {
+        Baseline baseline = baselines.get(dogName);
+        return baseline != null ? baseline.temperature.count : 0;
+    }
+
+    public synchronized void forget(String dogName) {
+        baselines.remove(dogName);
+    }
+
+    private Anomaly update(Track track, float value, float minDeviation,
+                           String dogName, String metric, long timestampMicros) {
+        if (track.count == 0) {
+            track.mean = value;
+            track.low = value;
+            track.high = value;
+            track.count = 1;
+            return null;
+        }
+
+        // Judged against the baseline before this reading
+        double deviation = Math.max(Math.sqrt(track.variance), minDeviation);
+        double difference = value - track.mean;
+        double z = difference / deviation;
+        boolean outside = Math.abs(z) >= zThreshold && (value < track.low || value > track.high);
+        boolean ready = track.count >= warmupReadings;
+
+        Anomaly anomaly = null;
+        if (ready && outside && !track.open) {
+            anomaly = new Anomaly(dogName, metric, timestampMicros, value,
+                    (float) track.mean, (float) deviation, (float) z);
+            track.open = true;
+        } else if (track.open && Math.abs(z) < zThreshold / 2) {
+            track.open = false;
+        }
+
+        // Exponentially weighted mean and variance (Finch, "Incremental
+        // calculation of weighted mean and variance", 2009)
+        double weight = ready && outside ? alpha * ANOMALY_WEIGHT : alpha;
+        double increment = weight * difference;
+        track.mean += increment;
+        track.variance = (1 - weight) * (track.variance + difference * increment);
+
+        // Stochastic quantile estimates, stepping in proportion to the spread
+        double step = 2 * weight * deviation;
+        track.low += value < track.low ? -step * (1 - QUANTILE_LOW) : step * QUANTILE_LOW;
+        track.high += value > track.high ? step * QUANTILE_HIGH : -step * (1 - QUANTILE_HIGH);
+
+        if (track.count < Integer.MAX_VALUE) {
+            track.count++;
+        }
+        return anomaly;
+    }
+
+    private static final class Baseline {
+        long lastTimestamp = Long.MIN_VALUE;
+        final Track temperature = new Track();
+        final Track activity = new Track();
+    }
+
+    private static final class Track {
+        double mean;
+        double variance;
+        double low;
+        double high;
+        int count;
+        boolean open;
+    }
+
+    /**
+     * A reading that stood out from its dog's baseline.
+     */
+    public static final class Anomaly {
+        private final String dogName;
+        private final String metric;
+        private final long timestampMicros;
+        private final float value;
+        private final float baseline;
+        private final float deviation;
+        private final float zScore;
+
+        Anomaly(String dogName, String metric, long timestampMicros, float value,
+                float baseline, float deviation, float zScore) {
+            this.dogName = dogName;
+            this.metric = metric;
+            this.timestampMicros = timestampMicros;
+            this.value = value;
+            this.baseline = baseline;
+            this.deviation = deviation;
+            this.zScore = zScore;
+        }
+
+        public String getDogName() {
+            return dogName;
+        }
+
+        /**
+         * {@link #METRIC_TEMPERATURE} or {@link #METRIC_ACTIVITY}.
+         */
+        public String getMetric() {
+            return metric;
+        }
+
+        public long getTimestampMicros() {
+            return timestampMicros;
+        }
+
+        public float getValue() {
+            return value;
+        }
+
+        /**
+         * The dog's mean before this reading.
+         */
+        public float getBaseline() {
+            return baseline;
+        }
+
+        public float getDeviation() {
+            return deviation;
+        }
+
+        /**
+         * Deviations from the baseline; positive when above it.
+         */
+        public float getZScore() {
+            return zScore;
+        }
+
+        public boolean isHigh() {
+            return zScore > 0;
+        }
+    }
+}
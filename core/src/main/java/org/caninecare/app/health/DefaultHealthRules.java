@@ -0,0 +1,78 @@
+package org.caninecare.app.health;
+
+import org.caninecare.app.models.HealthRuleSet;
+import org.caninecare.app.utils.ApiConfig;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The rule set the app starts from, built from the thresholds in
+ * {@link ApiConfig} until the backend's /api/health-rules replace it.
+ */
+public final class DefaultHealthRules {
+
+    private DefaultHealthRules() {
+    }
+
+    /**
+     * Same rules as the backend's health_check(), version 0.
+     */
+    public static HealthRuleSet ruleSet() {
+        String normalRange = " (Normal: 38-39.2°C)";
+        List<HealthRuleSet.Rule> rules = Arrays.asList(
+                rule("temp_critical_high", "temperature", when("temperature", ">=", ApiConfig.TEMP_CRITICAL_HIGH),
+                        "Critical Fever", "critical", "CRITICAL: Temperature {temperature}°C" + normalRange,
+                        "🚨 EMERGENCY: Contact veterinarian immediately",
+                        "Keep dog hydrated and cool",
+                        "Monitor temperature every 30 minutes"),
+                rule("temp_fever", "temperature", when("temperature", ">=", ApiConfig.TEMP_FEVER),
+                        "Fever Detected", "high", "High temperature: {temperature}°C" + normalRange,
+                        "Contact veterinarian soon",
+                        "Keep dog hydrated",
+                        "Monitor temperature every 2 hours"),
+                rule("temp_critical_low", "temperature", when("temperature", "<=", ApiConfig.TEMP_CRITICAL_LOW),
+                        "Critical Hypothermia", "critical", "CRITICAL: Temperature {temperature}°C" + normalRange,
+                        "🚨 EMERGENCY: Contact veterinarian immediately",
+                        "Warm the dog gradually with blankets",
+                        "Avoid direct heat sources"),
+                rule("temp_hypothermia", "temperature", when("temperature", "<=", ApiConfig.TEMP_HYPOTHERMIA),
+                        "Hypothermia Risk", "high", "Low temperature: {temperature}°C" + normalRange,
+                        "Warm the dog gradually",
+                        "Contact veterinarian"),
+                rule("temp_below_normal", "temperature", when("temperature", "<", ApiConfig.TEMP_NORMAL_MIN),
+                        "Temperature Abnormal", "medium", "Temperature slightly abnormal: {temperature}°C"),
+                rule("temp_above_normal", "temperature", when("temperature", ">", ApiConfig.TEMP_NORMAL_MAX),
+                        "Temperature Abnormal", "medium", "Temperature slightly abnormal: {temperature}°C"),
+                rule("activity_low", "activity", when("activity_percent", "<", ApiConfig.ACTIVITY_LOW_THRESHOLD),
+                        "Low Activity", "medium", "Low activity: {activity_percent}% (Possible lethargy)",
+                        "Monitor for signs of pain or discomfort",
+                        "Check for appetite changes",
+                        "Ensure adequate rest"),
+                rule("activity_high", "activity", when("activity_percent", ">", ApiConfig.ACTIVITY_HIGH_THRESHOLD),
+                        "High Activity", "medium", "High activity: {activity_percent}% (Possible stress/anxiety)",
+                        "Check for stress triggers",
+                        "Provide calming environment",
+                        "Monitor for anxiety symptoms"),
+                new HealthRuleSet.Rule("fever_lethargy", "combined",
+                        Arrays.asList(
+                                new HealthRuleSet.Condition("temperature", ">=", ApiConfig.TEMP_FEVER),
+                                new HealthRuleSet.Condition("activity_percent", "<", ApiConfig.ACTIVITY_LOW_THRESHOLD)),
+                        "Critical: Fever + Lethargy", "critical", true, null, Collections.emptyList()));
+        return new HealthRuleSet(0, rules, Arrays.asList(
+                "✅ Continue regular monitoring",
+                "Maintain healthy diet and exercise"));
+    }
+
+    private static HealthRuleSet.Condition when(String metric, String op, float value) {
+        return new HealthRuleSet.Condition(metric, op, value);
+    }
+
+    private static HealthRuleSet.Rule rule(String id, String group, HealthRuleSet.Condition condition,
+                                           String status, String severity, String alert,
+                                           String... recommendations) {
+        return new HealthRuleSet.Rule(id, group, Collections.singletonList(condition), status, severity,
+                false, alert, Arrays.asList(recommendations));
+    }
+}
@@ -0,0 +1,228 @@
+package org.caninecare.app.health;
+
+import org.caninecare.app.models.HealthCheckResponse;
+import org.caninecare.app.models.HealthRuleSet;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies a temperature / activity reading the way /api/health-check does,
+ * without a round trip.
+ *
+ * Rules are applied in order:
+ * - Within a group only the first matching rule counts (an if / elif chain).
+ * - The first matching rule sets the status; an override rule replaces it.
+ * - Severity is the highest of all matching rules, starting from "low".
+ * - Alerts and recommendations are collected from every matching rule; with
+ *   no recommendations the set's defaults are used.
+ *
+ * {@link #compile(HealthRuleSet)} flattens the rules into parallel arrays once,
+ * so {@link #evaluate} is a loop over primitives that only allocates the
+ * response. Instances are immutable and safe to share between threads.
+ */
+public final class HealthRuleEngine {
+
+    public static final String[] SEVERITIES = {"low", "medium", "high", "critical"};
+
+    private static final String METRIC_TEMPERATURE = "temperature";
+    private static final String METRIC_ACTIVITY = "activity_percent";
+
+    private static final byte OP_LT = 0;
+    private static final byte OP_LE = 1;
+    private static final byte OP_GT = 2;
+    private static final byte OP_GE = 3;
+
+    private static final int MAX_GROUPS = Long.SIZE;
+
+    private final int version;
+
+    // Conditions of rule r are condIsActivity/condOp/condValue[ruleCondEnd[r - 1] .. ruleCondEnd[r])
+    private final boolean[] condIsActivity;
+    private final byte[] condOp;
+    private final float[] condValue;
+
+    private final int[] ruleCondEnd;
+    private final long[] ruleGroupBit;
+    private final String[] ruleStatus;
+    private final byte[] ruleSeverity;
+    private final boolean[] ruleOverride;
+    private final String[] ruleAlert;
+    private final String[][] ruleRecommendations;
+    private final List<String> defaultRecommendations;
+
+    private HealthRuleEngine(int version, int ruleCount, int conditionCount, List<String> defaultRecommendations) {
+        this.version = version;
+        this.condIsActivity = new boolean[conditionCount];
+        this.condOp = new byte[conditionCount];
+        this.condValue = new float[conditionCount];
+        this.ruleCondEnd = new int[ruleCount];
+        this.ruleGroupBit = new long[ruleCount];
+        this.ruleStatus = new String[ruleCount];
+        this.ruleSeverity = new byte[ruleCount];
+        this.ruleOverride = new boolean[ruleCount];
+        this.ruleAlert = new String[ruleCount];
+        this.ruleRecommendations = new String[ruleCount][];
+        this.defaultRecommendations = defaultRecommendations;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a rule uses an unknown metric,
+     *                                  operator or severity
+     */
+    public static HealthRuleEngine compile(HealthRuleSet ruleSet) {
+        List<HealthRuleSet.Rule> rules = ruleSet.getRules() != null
+                ? ruleSet.getRules() : Collections.emptyList();
+        int conditionCount = 0;
+        for (HealthRuleSet.Rule rule : rules) {
+            conditionCount += rule.getWhen() != null ? rule.getWhen().size() : 0;
+        }
+        List<String> defaults = ruleSet.getDefaultRecommendations() != null
+                ? Collections.unmodifiableList(new ArrayList<>(ruleSet.getDefaultRecommendations()))
+                : Collections.emptyList();
+
+        HealthRuleEngine engine = new HealthRuleEngine(ruleSet.getVersion(), rules.size(), conditionCount, defaults);
+        Map<String, Integer> groups = new HashMap<>();
+        int c = 0;
+        for (int r = 0; r < rules.size(); r++) {
+            HealthRuleSet.Rule rule = rules.get(r);
+            if (rule.getWhen() != null) {
+                for (HealthRuleSet.Condition condition : rule.getWhen()) {
+                    engine.condIsActivity[c] = isActivity(condition.getMetric());
+                    engine.condOp[c] = op(condition.getOp());
+                    engine.condValue[c] = condition.getValue();
+                    c++;
+                }
+            }
+            engine.ruleCondEnd[r] = c;
+
+            String group = rule.getGroup() != null ? rule.getGroup() : "rule:" + r;
+            Integer groupIndex = groups.get(group);
+            if (groupIndex == null) {
+                if (groups.size() == MAX_GROUPS) {
+                    throw new IllegalArgumentException("More than " + MAX_GROUPS + " rule groups");
+                }
+                groupIndex = groups.size();
+                groups.put(group, groupIndex);
+            }
+            engine.ruleGroupBit[r] = 1L << groupIndex;
+
+            engine.ruleStatus[r] = rule.getStatus();
+            engine.ruleSeverity[r] = severity(rule.getSeverity());
+            engine.ruleOverride[r] = rule.isOverride();
+            engine.ruleAlert[r] = rule.getAlert();
+            engine.ruleRecommendations[r] = rule.getRecommendations() != null
+                    ? rule.getRecommendations().toArray(new String[0]) : new String[0];
+        }
+        return engine;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public HealthCheckResponse evaluate(String dogName, float temperature, int activityPercent) {
+        String status = null;
+        int severity = 0;
+        long matchedGroups = 0;
+        List<String> alerts = new ArrayList<>(2);
+        List<String> recommendations = new ArrayList<>(6);
+
+        int condStart = 0;
+        for (int r = 0; r < ruleCondEnd.length; r++) {
+            int condEnd = ruleCondEnd[r];
+            if ((matchedGroups & ruleGroupBit[r]) == 0
+                    && matches(condStart, condEnd, temperature, activityPercent)) {
+                matchedGroups |= ruleGroupBit[r];
+                if (ruleStatus[r] != null && (status == null || ruleOverride[r])) {
+                    status = ruleStatus[r];
+                }
+                severity = Math.max(severity, ruleSeverity[r]);
+                if (ruleAlert[r] != null) {
+                    alerts.add(format(ruleAlert[r], temperature, activityPercent));
+                }
+                Collections.addAll(recommendations, ruleRecommendations[r]);
+            }
+            condStart = condEnd;
+        }
+
+        if (recommendations.isEmpty()) {
+            recommendations.addAll(defaultRecommendations);
+        }
+        return new HealthCheckResponse(dogName, temperature, activityPercent,
+                status != null ? status : "Normal", alerts, SEVERITIES[severity], recommendations,
+                LocalDateTime.now().toString());
+    }
+
+    private boolean matches(int start, int end, float temperature, int activityPercent) {
+        for (int c = start; c < end; c++) {
+            float value = condIsActivity[c] ? activityPercent : temperature;
+            float threshold = condValue[c];
+            boolean holds;
+            switch (condOp[c]) {
+                case OP_LT:
+                    holds = value < threshold;
+                    break;
+                case OP_LE:
+                    holds = value <= threshold;
+                    break;
+                case OP_GT:
+                    holds = value > threshold;
+                    break;
+                default:
+                    holds = value >= threshold;
+            }
+            if (!holds) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String format(String template, float temperature, int activityPercent) {
+        if (template.indexOf('{') < 0) {
+            return template;
+        }
+        return template
+                .replace("{temperature}", String.valueOf(temperature))
+                .replace("{activity_percent}", String.valueOf(activityPercent));
+    }
+
+    private static boolean isActivity(String metric) {
+        if (METRIC_ACTIVITY.equals(metric)) {
+            return true;
+        } else if (METRIC_TEMPERATURE.equals(metric)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown metric: " + metric);
+    }
+
+    private static byte op(String op) {
+        if ("<".equals(op)) {
+            return OP_LT;
+        } else if ("<=".equals(op)) {
+            return OP_LE;
+        } else if (">".equals(op)) {
+            return OP_GT;
+        } else if (">=".equals(op)) {
+            return OP_GE;
+        }
+        throw new IllegalArgumentException("Unknown operator: " + op);
+    }
+
+    private static byte severity(String severity) {
+        if (severity == null) {
+            return 0;
+        }
+        for (byte i = 0; i < SEVERITIES.length; i++) {
+            if (SEVERITIES[i].equals(severity)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown severity: " + severity);
+    }
+}
@@ -0,0 +1,303 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+public class AlertsResponse {
+    
+    @SerializedName("alerts")
+    private List<Alert> alerts;
+    
+    @SerializedName("count")
+    private int count;
+    
+    // Keyset cursors: pass as before= / after= for the neighbouring pages
+    @SerializedName("oldest_id")
+    private Long oldestId;
+    
+    @SerializedName("newest_id")
+    private Long newestId;
+    
+    @SerializedName("has_older")
+    private boolean hasOlder;
+    
+    @SerializedName("has_newer")
+    private boolean hasNewer;
+
+    public List<Alert> getAlerts() {
+        return alerts;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Long getOldestId() {
+        return oldestId;
+    }
+
+    public Long getNewestId() {
+        return newestId;
+    }
+
+    public boolean hasOlder() {
+        return hasOlder;
+    }
+
+    public boolean hasNewer() {
+        return hasNewer;
+    }
+
+    public static class Alert {
+        @SerializedName("id")
+        private long id;
+        
+        @SerializedName("dog_name")
+        private String dogName;
+        
+        @SerializedName("health_status")
+        private String healthStatus;
+        
+        @SerializedName("severity")
+        private String severity;
+        
+        @SerializedName("alerts")
+        private List<String> alertMessages;
+        
+        @SerializedName("timestamp")
+        private String timestamp;
+        
+        // Emergency fields
+        @SerializedName("emergency_level")
+        private String emergencyLevel;
+        
+        @SerializedName("emergencies")
+        private List<Emergency> emergencies;
+        
+        @SerializedName("temperature")
+        private float temperature;
+        
+        @SerializedName("activity_percent")
+        private float activityPercent;
+        
+        @SerializedName("immobile_duration")
+        private int immobileDuration;
+
+        /**
+         * Increasing id the backend pages by; 0 for alerts saved before it had one.
+         */
+        public long getId() {
+            return id;
+        }
+
+        public String getDogName() {
+            return dogName;
+        }
+
+        public String getHealthStatus() {
+            return healthStatus;
+        }
+
+        public String getSeverity() {
+            return severity;
+        }
+
+        public List<String> getAlertMessages() {
+            return alertMessages;
+        }
+
+        public String getTimestamp() {
+            return timestamp;
+        }
+        
+        public String getEmergencyLevel() {
+            return emergencyLevel;
+        }
+        
+        public List<Emergency> getEmergencies() {
+            return emergencies;
+        }
+        
+        public float getTemperature() {
+            return temperature;
+        }
+        
+        public float getActivityPercent() {
+            return activityPercent;
+        }
+        
+        public int getImmobileDuration() {
+            return immobileDuration;
+        }
+
+        static final TypeAdapter<Alert> ADAPTER = new JsonFields.ObjectAdapter<Alert>() {
+            @Override
+            Alert create() {
+                return new Alert();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, Alert value) throws IOException {
+                switch (name) {
+                    case "id":
+                        value.id = JsonFields.readLong(in, value.id);
+                        break;
+                    case "dog_name":
+                        value.dogName = JsonFields.readString(in);
+                        break;
+                    case "health_status":
+                        value.healthStatus = JsonFields.readString(in);
+                        break;
+                    case "severity":
+                        value.severity = JsonFields.readString(in);
+                        break;
+                    case "alerts":
+                        value.alertMessages = JsonFields.readList(in, JsonFields.STRING);
+                        break;
+                    case "timestamp":
+                        value.timestamp = JsonFields.readString(in);
+                        break;
+                    case "emergency_level":
+                        value.emergencyLevel = JsonFields.readString(in);
+                        break;
+                    case "emergencies":
+                        value.emergencies = JsonFields.readList(in, Emergency.ADAPTER);
+                        break;
+                    case "temperature":
+                        value.temperature = JsonFields.readFloat(in, value.temperature);
+                        break;
+                    case "activity_percent":
+                        value.activityPercent = JsonFields.readFloat(in, value.activityPercent);
+                        break;
+                    case "immobile_duration":
+                        value.immobileDuration = JsonFields.readInt(in, value.immobileDuration);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, Alert value) throws IOException {
+                out.name("id").value(value.id);
+                out.name("dog_name").value(value.dogName);
+                out.name("health_status").value(value.healthStatus);
+                out.name("severity").value(value.severity);
+                out.name("alerts");
+                JsonFields.writeList(out, value.alertMessages, JsonFields.STRING);
+                out.name("timestamp").value(value.timestamp);
+                out.name("emergency_level").value(value.emergencyLevel);
+                out.name("emergencies");
+                JsonFields.writeList(out, value.emergencies, Emergency.ADAPTER);
+                out.name("temperature");
+                JsonFields.writeFloat(out, value.temperature);
+                out.name("activity_percent");
+                JsonFields.writeFloat(out, value.activityPercent);
+                out.name("immobile_duration").value(value.immobileDuration);
+            }
+        };
+    }
+    
+    public static class Emergency {
+        @SerializedName("type")
+        private String type;
+        
+        @SerializedName("message")
+        private String message;
+        
+        @SerializedName("action")
+        private String action;
+        
+        public String getType() {
+            return type;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public String getAction() {
+            return action;
+        }
+
+        static final TypeAdapter<Emergency> ADAPTER = new JsonFields.ObjectAdapter<Emergency>() {
+            @Override
+            Emergency create() {
+                return new Emergency();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, Emergency value) throws IOException {
+                switch (name) {
+                    case "type":
+                        value.type = JsonFields.readString(in);
+                        break;
+                    case "message":
+                        value.message = JsonFields.readString(in);
+                        break;
+                    case "action":
+                        value.action = JsonFields.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, Emergency value) throws IOException {
+                out.name("type").value(value.type);
+                out.name("message").value(value.message);
+                out.name("action").value(value.action);
+            }
+        };
+    }
+
+    static final TypeAdapter<AlertsResponse> ADAPTER = new JsonFields.ObjectAdapter<AlertsResponse>() {
+        @Override
+        AlertsResponse create() {
+            return new AlertsResponse();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, AlertsResponse value) throws IOException {
+            switch (name) {
+                case "alerts":
+                    value.alerts = JsonFields.readList(in, Alert.ADAPTER);
+                    break;
+                case "count":
+                    value.count = JsonFields.readInt(in, value.count);
+                    break;
+                case "oldest_id":
+                    value.oldestId = JsonFields.readBoxedLong(in);
+                    break;
+                case "newest_id":
+                    value.newestId = JsonFields.readBoxedLong(in);
+                    break;
+                case "has_older":
+                    value.hasOlder = JsonFields.readBoolean(in, value.hasOlder);
+                    break;
+                case "has_newer":
+                    value.hasNewer = JsonFields.readBoolean(in, value.hasNewer);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, AlertsResponse value) throws IOException {
+            out.name("alerts");
+            JsonFields.writeList(out, value.alerts, Alert.ADAPTER);
+            out.name("count").value(value.count);
+            out.name("oldest_id").value(value.oldestId);
+            out.name("newest_id").value(value.newestId);
+            out.name("has_older").value(value.hasOlder);
+            out.name("has_newer").value(value.hasNewer);
+        }
+    };
+}
@@ -0,0 +1,115 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class DogProfile {
+    @SerializedName("name")
+    private String name;
+    
+    @SerializedName("breed")
+    private String breed;
+    
+    @SerializedName("age_months")
+    private int ageMonths;
+    
+    @SerializedName("weight_kg")
+    private float weightKg;
+    
+    @SerializedName("last_updated")
+    private String lastUpdated;
+
+    public DogProfile() {
+    }
+
+    public DogProfile(String name, String breed, int ageMonths, float weightKg) {
+        this.name = name;
+        this.breed = breed;
+        this.ageMonths = ageMonths;
+        this.weightKg = weightKg;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBreed() {
+        return breed;
+    }
+
+    public void setBreed(String breed) {
+        this.breed = breed;
+    }
+
+    public int getAgeMonths() {
+        return ageMonths;
+    }
+
+    public void setAgeMonths(int ageMonths) {
+        this.ageMonths = ageMonths;
+    }
+
+    public float getWeightKg() {
+        return weightKg;
+    }
+
+    public void setWeightKg(float weightKg) {
+        this.weightKg = weightKg;
+    }
+
+    public String getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(String lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    static final TypeAdapter<DogProfile> ADAPTER = new JsonFields.ObjectAdapter<DogProfile>() {
+        @Override
+        DogProfile create() {
+            return new DogProfile();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, DogProfile value) throws IOException {
+            switch (name) {
+                case "name":
+                    value.name = JsonFields.readString(in);
+                    break;
+                case "breed":
+                    value.breed = JsonFields.readString(in);
+                    break;
+                case "age_months":
+                    value.ageMonths = JsonFields.readInt(in, value.ageMonths);
+                    break;
+                case "weight_kg":
+                    value.weightKg = JsonFields.readFloat(in, value.weightKg);
+                    break;
+                case "last_updated":
+                    value.lastUpdated = JsonFields.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, DogProfile value) throws IOException {
+            out.name("name").value(value.name);
+            out.name("breed").value(value.breed);
+            out.name("age_months").value(value.ageMonths);
+            out.name("weight_kg");
+            JsonFields.writeFloat(out, value.weightKg);
+            out.name("last_updated").value(value.lastUpdated);
+        }
+    };
+}
@@ -0,0 +1,75 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class DogProfileResponse {
+    @SerializedName("success")
+    private boolean success;
+    
+    @SerializedName("profile")
+    private DogProfile profile;
+    
+    @SerializedName("error")
+    private String error;
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public DogProfile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(DogProfile profile) {
+        this.profile = profile;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    static final TypeAdapter<DogProfileResponse> ADAPTER = new JsonFields.ObjectAdapter<DogProfileResponse>() {
+        @Override
+        DogProfileResponse create() {
+            return new DogProfileResponse();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, DogProfileResponse value) throws IOException {
+            switch (name) {
+                case "success":
+                    value.success = JsonFields.readBoolean(in, value.success);
+                    break;
+                case "profile":
+                    value.profile = DogProfile.ADAPTER.read(in);
+                    break;
+                case "error":
+                    value.error = JsonFields.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, DogProfileResponse value) throws IOException {
+            out.name("success").value(value.success);
+            out.name("profile");
+            DogProfile.ADAPTER.write(out, value.profile);
+            out.name("error").value(value.error);
+        }
+    };
+}
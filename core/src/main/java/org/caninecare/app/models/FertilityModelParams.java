@@ -0,0 +1,338 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fertility models as exported by ml/export_model.py and served at
+ * /api/fertility-model; see FertilityModel for how they are evaluated.
+ */
+public class FertilityModelParams {
+
+    @SerializedName("format")
+    private int format;
+
+    @SerializedName("version")
+    private String version;
+
+    @SerializedName("features")
+    private List<String> features;
+
+    @SerializedName("breeds")
+    private Map<String, Integer> breeds;
+
+    @SerializedName("first_heat")
+    private Ensemble firstHeat;
+
+    @SerializedName("next_heat")
+    private Ensemble nextHeat;
+
+    public int getFormat() {
+        return format;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    public Map<String, Integer> getBreeds() {
+        return breeds;
+    }
+
+    public Ensemble getFirstHeat() {
+        return firstHeat;
+    }
+
+    public Ensemble getNextHeat() {
+        return nextHeat;
+    }
+
+    /**
+     * Weighted average of its estimators (scikit-learn VotingRegressor).
+     */
+    public static class Ensemble {
+
+        @SerializedName("weights")
+        private double[] weights;
+
+        @SerializedName("estimators")
+        private List<Estimator> estimators;
+
+        public double[] getWeights() {
+            return weights;
+        }
+
+        public List<Estimator> getEstimators() {
+            return estimators;
+        }
+
+        static final TypeAdapter<Ensemble> ADAPTER = new JsonFields.ObjectAdapter<Ensemble>() {
+            @Override
+            Ensemble create() {
+                return new Ensemble();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, Ensemble value) throws IOException {
+                switch (name) {
+                    case "weights":
+                        value.weights = JsonFields.readDoubles(in);
+                        break;
+                    case "estimators":
+                        value.estimators = JsonFields.readList(in, Estimator.ADAPTER);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, Ensemble value) throws IOException {
+                out.name("weights");
+                JsonFields.writeDoubles(out, value.weights);
+                out.name("estimators");
+                JsonFields.writeList(out, value.estimators, Estimator.ADAPTER);
+            }
+        };
+    }
+
+    /**
+     * "forest": mean of the trees; "boosting": init + learning_rate * sum of
+     * the trees; "linear": intercept + coef . features.
+     */
+    public static class Estimator {
+
+        @SerializedName("type")
+        private String type;
+
+        @SerializedName("trees")
+        private List<Tree> trees;
+
+        @SerializedName("init")
+        private double init;
+
+        @SerializedName("learning_rate")
+        private double learningRate;
+
+        @SerializedName("coef")
+        private double[] coef;
+
+        @SerializedName("intercept")
+        private double intercept;
+
+        public String getType() {
+            return type;
+        }
+
+        public List<Tree> getTrees() {
+            return trees;
+        }
+
+        public double getInit() {
+            return init;
+        }
+
+        public double getLearningRate() {
+            return learningRate;
+        }
+
+        public double[] getCoef() {
+            return coef;
+        }
+
+        public double getIntercept() {
+            return intercept;
+        }
+
+        static final TypeAdapter<Estimator> ADAPTER = new JsonFields.ObjectAdapter<Estimator>() {
+            @Override
+            Estimator create() {
+                return new Estimator();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, Estimator value) throws IOException {
+                switch (name) {
+                    case "type":
+                        value.type = JsonFields.readString(in);
+                        break;
+                    case "trees":
+                        value.trees = JsonFields.readList(in, Tree.ADAPTER);
+                        break;
+                    case "init":
+                        value.init = JsonFields.readDouble(in, value.init);
+                        break;
+                    case "learning_rate":
+                        value.learningRate = JsonFields.readDouble(in, value.learningRate);
+                        break;
+                    case "coef":
+                        value.coef = JsonFields.readDoubles(in);
+                        break;
+                    case "intercept":
+                        value.intercept = JsonFields.readDouble(in, value.intercept);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, Estimator value) throws IOException {
+                out.name("type").value(value.type);
+                out.name("trees");
+                JsonFields.writeList(out, value.trees, Tree.ADAPTER);
+                out.name("init");
+                JsonFields.writeDouble(out, value.init);
+                out.name("learning_rate");
+                JsonFields.writeDouble(out, value.learningRate);
+                out.name("coef");
+                JsonFields.writeDoubles(out, value.coef);
+                out.name("intercept");
+                JsonFields.writeDouble(out, value.intercept);
+            }
+        };
+    }
+
+    /**
+     * One decision tree as parallel node arrays; left is -1 at a leaf.
+     */
+    public static class Tree {
+
+        @SerializedName("left")
+        private int[] left;
+
+        @SerializedName("right")
+        private int[] right;
+
+        @SerializedName("feature")
+        private int[] feature;
+
+        @SerializedName("threshold")
+        private double[] threshold;
+
+        @SerializedName("value")
+        private double[] value;
+
+        public int[] getLeft() {
+            return left;
+        }
+
+        public int[] getRight() {
+            return right;
+        }
+
+        public int[] getFeature() {
+            return feature;
+        }
+
+        public double[] getThreshold() {
+            return threshold;
+        }
+
+        public double[] getValue() {
+            return value;
+        }
+
+        static final TypeAdapter<Tree> ADAPTER = new JsonFields.ObjectAdapter<Tree>() {
+            @Override
+            Tree create() {
+                return new Tree();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, Tree value) throws IOException {
+                switch (name) {
+                    case "left":
+                        value.left = JsonFields.readInts(in);
+                        break;
+                    case "right":
+                        value.right = JsonFields.readInts(in);
+                        break;
+                    case "feature":
+                        value.feature = JsonFields.readInts(in);
+                        break;
+                    case "threshold":
+                        value.threshold = JsonFields.readDoubles(in);
+                        break;
+                    case "value":
+                        value.value = JsonFields.readDoubles(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, Tree value) throws IOException {
+                out.name("left");
+                JsonFields.writeInts(out, value.left);
+                out.name("right");
+                JsonFields.writeInts(out, value.right);
+                out.name("feature");
+                JsonFields.writeInts(out, value.feature);
+                out.name("threshold");
+                JsonFields.writeDoubles(out, value.threshold);
+                out.name("value");
+                JsonFields.writeDoubles(out, value.value);
+            }
+        };
+    }
+
+    static final TypeAdapter<FertilityModelParams> ADAPTER = new JsonFields.ObjectAdapter<FertilityModelParams>() {
+        @Override
+        FertilityModelParams create() {
+            return new FertilityModelParams();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, FertilityModelParams value) throws IOException {
+            switch (name) {
+                case "format":
+                    value.format = JsonFields.readInt(in, value.format);
+                    break;
+                case "version":
+                    value.version = JsonFields.readString(in);
+                    break;
+                case "features":
+                    value.features = JsonFields.readList(in, JsonFields.STRING);
+                    break;
+                case "breeds":
+                    value.breeds = JsonFields.readIntMap(in);
+                    break;
+                case "first_heat":
+                    value.firstHeat = Ensemble.ADAPTER.read(in);
+                    break;
+                case "next_heat":
+                    value.nextHeat = Ensemble.ADAPTER.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FertilityModelParams value) throws IOException {
+            out.name("format").value(value.format);
+            out.name("version").value(value.version);
+            out.name("features");
+            JsonFields.writeList(out, value.features, JsonFields.STRING);
+            out.name("breeds");
+            JsonFields.writeIntMap(out, value.breeds);
+            out.name("first_heat");
+            Ensemble.ADAPTER.write(out, value.firstHeat);
+            out.name("next_heat");
+            Ensemble.ADAPTER.write(out, value.nextHeat);
+        }
+    };
+}
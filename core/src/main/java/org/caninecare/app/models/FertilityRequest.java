@@ -0,0 +1,94 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class FertilityRequest {
+    
+    @SerializedName("dog_name")
+    private String dogName;
+    
+    @SerializedName("breed")
+    private String breed;
+    
+    @SerializedName("age_months")
+    private int ageMonths;
+    
+    @SerializedName("weight_kg")
+    private float weightKg;
+    
+    @SerializedName("last_heat_days")
+    private Integer lastHeatDays;
+
+    public FertilityRequest(String dogName, String breed, int ageMonths, float weightKg, Integer lastHeatDays) {
+        this.dogName = dogName;
+        this.breed = breed;
+        this.ageMonths = ageMonths;
+        this.weightKg = weightKg;
+        this.lastHeatDays = lastHeatDays;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public String getBreed() {
+        return breed;
+    }
+
+    public int getAgeMonths() {
+        return ageMonths;
+    }
+
+    public float getWeightKg() {
+        return weightKg;
+    }
+
+    public Integer getLastHeatDays() {
+        return lastHeatDays;
+    }
+
+    static final TypeAdapter<FertilityRequest> ADAPTER = new JsonFields.ObjectAdapter<FertilityRequest>() {
+        @Override
+        FertilityRequest create() {
+            return new FertilityRequest(null, null, 0, 0, null);
+        }
+
+        @Override
+        void readField(JsonReader in, String name, FertilityRequest value) throws IOException {
+            switch (name) {
+                case "dog_name":
+                    value.dogName = JsonFields.readString(in);
+                    break;
+                case "breed":
+                    value.breed = JsonFields.readString(in);
+                    break;
+                case "age_months":
+                    value.ageMonths = JsonFields.readInt(in, value.ageMonths);
+                    break;
+                case "weight_kg":
+                    value.weightKg = JsonFields.readFloat(in, value.weightKg);
+                    break;
+                case "last_heat_days":
+                    value.lastHeatDays = JsonFields.readBoxedInt(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FertilityRequest value) throws IOException {
+            out.name("dog_name").value(value.dogName);
+            out.name("breed").value(value.breed);
+            out.name("age_months").value(value.ageMonths);
+            out.name("weight_kg");
+            JsonFields.writeFloat(out, value.weightKg);
+            out.name("last_heat_days").value(value.lastHeatDays);
+        }
+    };
+}
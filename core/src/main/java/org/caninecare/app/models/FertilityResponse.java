@@ -0,0 +1,160 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class FertilityResponse {
+    
+    @SerializedName("dog_name")
+    private String dogName;
+    
+    @SerializedName("breed")
+    private String breed;
+    
+    @SerializedName("age_months")
+    private int ageMonths;
+    
+    @SerializedName("weight_kg")
+    private float weightKg;
+    
+    @SerializedName("prediction_type")
+    private String predictionType;
+    
+    @SerializedName("prediction_value")
+    private float predictionValue;
+    
+    @SerializedName("prediction_unit")
+    private String predictionUnit;
+    
+    @SerializedName("estimated_date")
+    private String estimatedDate;
+    
+    @SerializedName("fertility_status")
+    private String fertilityStatus;
+    
+    @SerializedName("alert_level")
+    private String alertLevel;
+
+    public FertilityResponse() {
+    }
+
+    public FertilityResponse(String dogName, String breed, int ageMonths, float weightKg, String predictionType,
+                             float predictionValue, String predictionUnit, String estimatedDate,
+                             String fertilityStatus, String alertLevel) {
+        this.dogName = dogName;
+        this.breed = breed;
+        this.ageMonths = ageMonths;
+        this.weightKg = weightKg;
+        this.predictionType = predictionType;
+        this.predictionValue = predictionValue;
+        this.predictionUnit = predictionUnit;
+        this.estimatedDate = estimatedDate;
+        this.fertilityStatus = fertilityStatus;
+        this.alertLevel = alertLevel;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public String getBreed() {
+        return breed;
+    }
+
+    public int getAgeMonths() {
+        return ageMonths;
+    }
+
+    public float getWeightKg() {
+        return weightKg;
+    }
+
+    public String getPredictionType() {
+        return predictionType;
+    }
+
+    public float getPredictionValue() {
+        return predictionValue;
+    }
+
+    public String getPredictionUnit() {
+        return predictionUnit;
+    }
+
+    public String getEstimatedDate() {
+        return estimatedDate;
+    }
+
+    public String getFertilityStatus() {
+        return fertilityStatus;
+    }
+
+    public String getAlertLevel() {
+        return alertLevel;
+    }
+
+    static final TypeAdapter<FertilityResponse> ADAPTER = new JsonFields.ObjectAdapter<FertilityResponse>() {
+        @Override
+        FertilityResponse create() {
+            return new FertilityResponse();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, FertilityResponse value) throws IOException {
+            switch (name) {
+                case "dog_name":
+                    value.dogName = JsonFields.readString(in);
+                    break;
+                case "breed":
+                    value.breed = JsonFields.readString(in);
+                    break;
+                case "age_months":
+                    value.ageMonths = JsonFields.readInt(in, value.ageMonths);
+                    break;
+                case "weight_kg":
+                    value.weightKg = JsonFields.readFloat(in, value.weightKg);
+                    break;
+                case "prediction_type":
+                    value.predictionType = JsonFields.readString(in);
+                    break;
+                case "prediction_value":
+                    value.predictionValue = JsonFields.readFloat(in, value.predictionValue);
+                    break;
+                case "prediction_unit":
+                    value.predictionUnit = JsonFields.readString(in);
+                    break;
+                case "estimated_date":
+                    value.estimatedDate = JsonFields.readString(in);
+                    break;
+                case "fertility_status":
+                    value.fertilityStatus = JsonFields.readString(in);
+                    break;
+                case "alert_level":
+                    value.alertLevel = JsonFields.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, FertilityResponse value) throws IOException {
+            out.name("dog_name").value(value.dogName);
+            out.name("breed").value(value.breed);
+            out.name("age_months").value(value.ageMonths);
+            out.name("weight_kg");
+            JsonFields.writeFloat(out, value.weightKg);
+            out.name("prediction_type").value(value.predictionType);
+            out.name("prediction_value");
+            JsonFields.writeFloat(out, value.predictionValue);
+            out.name("prediction_unit").value(value.predictionUnit);
+            out.name("estimated_date").value(value.estimatedDate);
+            out.name("fertility_status").value(value.fertilityStatus);
+            out.name("alert_level").value(value.alertLevel);
+        }
+    };
+}
@@ -0,0 +1,70 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class HealthCheckRequest {
+    
+    @SerializedName("dog_name")
+    private String dogName;
+    
+    @SerializedName("temperature")
+    private float temperature;
+    
+    @SerializedName("activity_percent")
+    private int activityPercent;
+
+    public HealthCheckRequest(String dogName, float temperature, int activityPercent) {
+        this.dogName = dogName;
+        this.temperature = temperature;
+        this.activityPercent = activityPercent;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public float getTemperature() {
+        return temperature;
+    }
+
+    public int getActivityPercent() {
+        return activityPercent;
+    }
+
+    static final TypeAdapter<HealthCheckRequest> ADAPTER = new JsonFields.ObjectAdapter<HealthCheckRequest>() {
+        @Override
+        HealthCheckRequest create() {
+            return new HealthCheckRequest(null, 0, 0);
+        }
+
+        @Override
+        void readField(JsonReader in, String name, HealthCheckRequest value) throws IOException {
+            switch (name) {
+                case "dog_name":
+                    value.dogName = JsonFields.readString(in);
+                    break;
+                case "temperature":
+                    value.temperature = JsonFields.readFloat(in, value.temperature);
+                    break;
+                case "activity_percent":
+                    value.activityPercent = JsonFields.readInt(in, value.activityPercent);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, HealthCheckRequest value) throws IOException {
+            out.name("dog_name").value(value.dogName);
+            out.name("temperature");
+            JsonFields.writeFloat(out, value.temperature);
+            out.name("activity_percent").value(value.activityPercent);
+        }
+    };
+}
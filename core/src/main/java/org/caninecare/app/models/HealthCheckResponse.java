@@ -0,0 +1,138 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+public class HealthCheckResponse {
+    
+    @SerializedName("dog_name")
+    private String dogName;
+    
+    @SerializedName("temperature")
+    private float temperature;
+    
+    @SerializedName("activity_percent")
+    private int activityPercent;
+    
+    @SerializedName("health_status")
+    private String healthStatus;
+    
+    @SerializedName("alerts")
+    private List<String> alerts;
+    
+    @SerializedName("severity")
+    private String severity;
+    
+    @SerializedName("recommendations")
+    private List<String> recommendations;
+    
+    @SerializedName("timestamp")
+    private String timestamp;
+
+    public HealthCheckResponse() {
+    }
+
+    public HealthCheckResponse(String dogName, float temperature, int activityPercent, String healthStatus,
+                               List<String> alerts, String severity, List<String> recommendations,
+                               String timestamp) {
+        this.dogName = dogName;
+        this.temperature = temperature;
+        this.activityPercent = activityPercent;
+        this.healthStatus = healthStatus;
+        this.alerts = alerts;
+        this.severity = severity;
+        this.recommendations = recommendations;
+        this.timestamp = timestamp;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public float getTemperature() {
+        return temperature;
+    }
+
+    public int getActivityPercent() {
+        return activityPercent;
+    }
+
+    public String getHealthStatus() {
+        return healthStatus;
+    }
+
+    public List<String> getAlerts() {
+        return alerts;
+    }
+
+    public String getSeverity() {
+        return severity;
+    }
+
+    public List<String> getRecommendations() {
+        return recommendations;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    static final TypeAdapter<HealthCheckResponse> ADAPTER = new JsonFields.ObjectAdapter<HealthCheckResponse>() {
+        @Override
+        HealthCheckResponse create() {
+            return new HealthCheckResponse();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, HealthCheckResponse value) throws IOException {
+            switch (name) {
+                case "dog_name":
+                    value.dogName = JsonFields.readString(in);
+                    break;
+                case "temperature":
+                    value.temperature = JsonFields.readFloat(in, value.temperature);
+                    break;
+                case "activity_percent":
+                    value.activityPercent = JsonFields.readInt(in, value.activityPercent);
+                    break;
+                case "health_status":
+                    value.healthStatus = JsonFields.readString(in);
+                    break;
+                case "alerts":
+                    value.alerts = JsonFields.readList(in, JsonFields.STRING);
+                    break;
+                case "severity":
+                    value.severity = JsonFields.readString(in);
+                    break;
+                case "recommendations":
+                    value.recommendations = JsonFields.readList(in, JsonFields.STRING);
+                    break;
+                case "timestamp":
+                    value.timestamp = JsonFields.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, HealthCheckResponse value) throws IOException {
+            out.name("dog_name").value(value.dogName);
+            out.name("temperature");
+            JsonFields.writeFloat(out, value.temperature);
+            out.name("activity_percent").value(value.activityPercent);
+            out.name("health_status").value(value.healthStatus);
+            out.name("alerts");
+            JsonFields.writeList(out, value.alerts, JsonFields.STRING);
+            out.name("severity").value(value.severity);
+            out.name("recommendations");
+            JsonFields.writeList(out, value.recommendations, JsonFields.STRING);
+            out.name("timestamp").value(value.timestamp);
+        }
+    };
+}
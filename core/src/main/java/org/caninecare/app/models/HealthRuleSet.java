@@ -0,0 +1,272 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import java.util.List;
+
+/**
+ * Health rules as served by /api/health-rules, see HealthRuleEngine for how
+ * they are applied.
+ */
+public class HealthRuleSet {
+
+    @SerializedName("version")
+    private int version;
+
+    @SerializedName("rules")
+    private List<Rule> rules;
+
+    @SerializedName("default_recommendations")
+    private List<String> defaultRecommendations;
+
+    public HealthRuleSet() {
+    }
+
+    public HealthRuleSet(int version, List<Rule> rules, List<String> defaultRecommendations) {
+        this.version = version;
+        this.rules = rules;
+        this.defaultRecommendations = defaultRecommendations;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public List<String> getDefaultRecommendations() {
+        return defaultRecommendations;
+    }
+
+    public static class Rule {
+
+        @SerializedName("id")
+        private String id;
+
+        @SerializedName("group")
+        private String group;
+
+        @SerializedName("when")
+        private List<Condition> when;
+
+        @SerializedName("status")
+        private String status;
+
+        @SerializedName("severity")
+        private String severity;
+
+        @SerializedName("override")
+        private boolean override;
+
+        @SerializedName("alert")
+        private String alert;
+
+        @SerializedName("recommendations")
+        private List<String> recommendations;
+
+        public Rule() {
+        }
+
+        public Rule(String id, String group, List<Condition> when, String status, String severity,
+                    boolean override, String alert, List<String> recommendations) {
+            this.id = id;
+            this.group = group;
+            this.when = when;
+            this.status = status;
+            this.severity = severity;
+            this.override = override;
+            this.alert = alert;
+            this.recommendations = recommendations;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public List<Condition> getWhen() {
+            return when;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getSeverity() {
+            return severity;
+        }
+
+        public boolean isOverride() {
+            return override;
+        }
+
+        public String getAlert() {
+            return alert;
+        }
+
+        public List<String> getRecommendations() {
+            return recommendations;
+        }
+
+        static final TypeAdapter<Rule> ADAPTER = new JsonFields.ObjectAdapter<Rule>() {
+            @Override
+            Rule create() {
+                return new Rule();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, Rule value) throws IOException {
+                switch (name) {
+                    case "id":
+                        value.id = JsonFields.readString(in);
+                        break;
+                    case "group":
+                        value.group = JsonFields.readString(in);
+                        break;
+                    case "when":
+                        value.when = JsonFields.readList(in, Condition.ADAPTER);
+                        break;
+                    case "status":
+                        value.status = JsonFields.readString(in);
+                        break;
+                    case "severity":
+                        value.severity = JsonFields.readString(in);
+                        break;
+                    case "override":
+                        value.override = JsonFields.readBoolean(in, value.override);
+                        break;
+                    case "alert":
+                        value.alert = JsonFields.readString(in);
+                        break;
+                    case "recommendations":
+                        value.recommendations = JsonFields.readList(in, JsonFields.STRING);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, Rule value) throws IOException {
+                out.name("id").value(value.id);
+                out.name("group").value(value.group);
+                out.name("when");
+                JsonFields.writeList(out, value.when, Condition.ADAPTER);
+                out.name("status").value(value.status);
+                out.name("severity").value(value.severity);
+                out.name("override").value(value.override);
+                out.name("alert").value(value.alert);
+                out.name("recommendations");
+                JsonFields.writeList(out, value.recommendations, JsonFields.STRING);
+            }
+        };
+    }
+
+    public static class Condition {
+
+        @SerializedName("metric")
+        private String metric;
+
+        @SerializedName("op")
+        private String op;
+
+        @SerializedName("value")
+        private float value;
+
+        public Condition() {
+        }
+
+        public Condition(String metric, String op, float value) {
+            this.metric = metric;
+            this.op = op;
+            this.value = value;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public String getOp() {
+            return op;
+        }
+
+        public float getValue() {
+            return value;
+        }
+
+        static final TypeAdapter<Condition> ADAPTER = new JsonFields.ObjectAdapter<Condition>() {
+            @Override
+            Condition create() {
+                return new Condition();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, Condition value) throws IOException {
+                switch (name) {
+                    case "metric":
+                        value.metric = JsonFields.readString(in);
+                        break;
+                    case "op":
+                        value.op = JsonFields.readString(in);
+                        break;
+                    case "value":
+                        value.value = JsonFields.readFloat(in, value.value);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, Condition value) throws IOException {
+                out.name("metric").value(value.metric);
+                out.name("op").value(value.op);
+                out.name("value");
+                JsonFields.writeFloat(out, value.value);
+            }
+        };
+    }
+
+    static final TypeAdapter<HealthRuleSet> ADAPTER = new JsonFields.ObjectAdapter<HealthRuleSet>() {
+        @Override
+        HealthRuleSet create() {
+            return new HealthRuleSet();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, HealthRuleSet value) throws IOException {
+            switch (name) {
+                case "version":
+                    value.version = JsonFields.readInt(in, value.version);
+                    break;
+                case "rules":
+                    value.rules = JsonFields.readList(in, Rule.ADAPTER);
+                    break;
+                case "default_recommendations":
+                    value.defaultRecommendations = JsonFields.readList(in, JsonFields.STRING);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, HealthRuleSet value) throws IOException {
+            out.name("version").value(value.version);
+            out.name("rules");
+            JsonFields.writeList(out, value.rules, Rule.ADAPTER);
+            out.name("default_recommendations");
+            JsonFields.writeList(out, value.defaultRecommendations, JsonFields.STRING);
+        }
+    };
+}
@@ -0,0 +1,165 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class HeatCycle {
+    @SerializedName("id")
+    private String id;
+    
+    @SerializedName("dog_name")
+    private String dogName;
+    
+    @SerializedName("prediction_type")
+    private String predictionType;
+    
+    @SerializedName("prediction_value")
+    private float predictionValue;
+    
+    @SerializedName("prediction_unit")
+    private String predictionUnit;
+    
+    @SerializedName("estimated_date")
+    private String estimatedDate;
+    
+    @SerializedName("fertility_status")
+    private String fertilityStatus;
+    
+    @SerializedName("alert_level")
+    private String alertLevel;
+    
+    @SerializedName("created_at")
+    private String createdAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDogName() {
+        return dogName;
+    }
+
+    public void setDogName(String dogName) {
+        this.dogName = dogName;
+    }
+
+    public String getPredictionType() {
+        return predictionType;
+    }
+
+    public void setPredictionType(String predictionType) {
+        this.predictionType = predictionType;
+    }
+
+    public float getPredictionValue() {
+        return predictionValue;
+    }
+
+    public void setPredictionValue(float predictionValue) {
+        this.predictionValue = predictionValue;
+    }
+
+    public String getPredictionUnit() {
+        return predictionUnit;
+    }
+
+    public void setPredictionUnit(String predictionUnit) {
+        this.predictionUnit = predictionUnit;
+    }
+
+    public String getEstimatedDate() {
+        return estimatedDate;
+    }
+
+    public void setEstimatedDate(String estimatedDate) {
+        this.estimatedDate = estimatedDate;
+    }
+
+    public String getFertilityStatus() {
+        return fertilityStatus;
+    }
+
+    public void setFertilityStatus(String fertilityStatus) {
+        this.fertilityStatus = fertilityStatus;
+    }
+
+    public String getAlertLevel() {
+        return alertLevel;
+    }
+
+    public void setAlertLevel(String alertLevel) {
+        this.alertLevel = alertLevel;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    static final TypeAdapter<HeatCycle> ADAPTER = new JsonFields.ObjectAdapter<HeatCycle>() {
+        @Override
+        HeatCycle create() {
+            return new HeatCycle();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, HeatCycle value) throws IOException {
+            switch (name) {
+                case "id":
+                    value.id = JsonFields.readString(in);
+                    break;
+                case "dog_name":
+                    value.dogName = JsonFields.readString(in);
+                    break;
+                case "prediction_type":
+                    value.predictionType = JsonFields.readString(in);
+                    break;
+                case "prediction_value":
+                    value.predictionValue = JsonFields.readFloat(in, value.predictionValue);
+                    break;
+                case "prediction_unit":
+                    value.predictionUnit = JsonFields.readString(in);
+                    break;
+                case "estimated_date":
+                    value.estimatedDate = JsonFields.readString(in);
+                    break;
+                case "fertility_status":
+                    value.fertilityStatus = JsonFields.readString(in);
+                    break;
+                case "alert_level":
+                    value.alertLevel = JsonFields.readString(in);
+                    break;
+                case "created_at":
+                    value.createdAt = JsonFields.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, HeatCycle value) throws IOException {
+            out.name("id").value(value.id);
+            out.name("dog_name").value(value.dogName);
+            out.name("prediction_type").value(value.predictionType);
+            out.name("prediction_value");
+            JsonFields.writeFloat(out, value.predictionValue);
+            out.name("prediction_unit").value(value.predictionUnit);
+            out.name("estimated_date").value(value.estimatedDate);
+            out.name("fertility_status").value(value.fertilityStatus);
+            out.name("alert_level").value(value.alertLevel);
+            out.name("created_at").value(value.createdAt);
+        }
+    };
+}
@@ -0,0 +1,76 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+public class HeatCyclesResponse {
+    @SerializedName("cycles")
+    private List<HeatCycle> cycles;
+    
+    @SerializedName("count")
+    private int count;
+    
+    @SerializedName("error")
+    private String error;
+
+    public List<HeatCycle> getCycles() {
+        return cycles;
+    }
+
+    public void setCycles(List<HeatCycle> cycles) {
+        this.cycles = cycles;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    static final TypeAdapter<HeatCyclesResponse> ADAPTER = new JsonFields.ObjectAdapter<HeatCyclesResponse>() {
+        @Override
+        HeatCyclesResponse create() {
+            return new HeatCyclesResponse();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, HeatCyclesResponse value) throws IOException {
+            switch (name) {
+                case "cycles":
+                    value.cycles = JsonFields.readList(in, HeatCycle.ADAPTER);
+                    break;
+                case "count":
+                    value.count = JsonFields.readInt(in, value.count);
+                    break;
+                case "error":
+                    value.error = JsonFields.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, HeatCyclesResponse value) throws IOException {
+            out.name("cycles");
+            JsonFields.writeList(out, value.cycles, HeatCycle.ADAPTER);
+            out.name("count").value(value.count);
+            out.name("error").value(value.error);
+        }
+    };
+}
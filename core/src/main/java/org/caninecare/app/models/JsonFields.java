@@ -0,0 +1,289 @@
+package org.caninecare.app.models;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Building blocks for the models' TypeAdapters (see {@link ModelAdapters}).
+ *
+ * Values are read and written the way Gson's own adapters do it, so the
+ * JSON is the same as with reflection: a null for a primitive field keeps
+ * its default, strings also accept numbers and booleans, and floats are
+ * written with their shortest representation.
+ */
+final class JsonFields {
+
+    static final TypeAdapter<String> STRING = new TypeAdapter<String>() {
+        @Override
+        public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            return readString(in);
+        }
+    };
+
+    private JsonFields() {
+    }
+
+    /**
+     * A JSON object read into a new T and written field by field, with
+     * members the model does not know skipped.
+     */
+    abstract static class ObjectAdapter<T> extends TypeAdapter<T> {
+
+        abstract T create();
+
+        /**
+         * Reads the value of member {@code name}; must consume it even if unknown.
+         */
+        abstract void readField(JsonReader in, String name, T value) throws IOException;
+
+        abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        @Override
+        public final T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            T value = create();
+            in.beginObject();
+            while (in.hasNext()) {
+                readField(in, in.nextName(), value);
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public final void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, value);
+            out.endObject();
+        }
+    }
+
+    static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    static boolean readBoolean(JsonReader in, boolean fallback) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    static int readInt(JsonReader in, int fallback) throws IOException {
+        Integer value = readBoxedInt(in);
+        return value != null ? value : fallback;
+    }
+
+    static Integer readBoxedInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static long readLong(JsonReader in, long fallback) throws IOException {
+        Long value = readBoxedLong(in);
+        return value != null ? value : fallback;
+    }
+
+    static Long readBoxedLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static float readFloat(JsonReader in, float fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return (float) in.nextDouble();
+    }
+
+    static double readDouble(JsonReader in, double fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return in.nextDouble();
+    }
+
+    static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(adapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    static int[] readInts(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int[] values = new int[16];
+        int size = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = readInt(in, 0);
+        }
+        in.endArray();
+        return Arrays.copyOf(values, size);
+    }
+
+    static double[] readDoubles(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        double[] values = new double[16];
+        int size = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = readDouble(in, 0);
+        }
+        in.endArray();
+        return Arrays.copyOf(values, size);
+    }
+
+    static Map<String, Integer> readIntMap(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, Integer> map = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            if (map.put(key, readBoxedInt(in)) != null) {
+                throw new JsonSyntaxException("duplicate key: " + key);
+            }
+        }
+        in.endObject();
+        return map;
+    }
+
+    static void writeFloat(JsonWriter out, float value) throws IOException {
+        checkFinite(value);
+        out.value(Float.valueOf(value));
+    }
+
+    static void writeDouble(JsonWriter out, double value) throws IOException {
+        checkFinite(value);
+        out.value(value);
+    }
+
+    static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T item : list) {
+            adapter.write(out, item);
+        }
+        out.endArray();
+    }
+
+    static void writeInts(JsonWriter out, int[] values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (int value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    static void writeDoubles(JsonWriter out, double[] values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (double value : values) {
+            writeDouble(out, value);
+        }
+        out.endArray();
+    }
+
+    static void writeIntMap(JsonWriter out, Map<String, Integer> map) throws IOException {
+        if (map == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            out.name(String.valueOf(entry.getKey())).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    // Gson refuses NaN and infinities unless told otherwise, and so do we
+    private static void checkFinite(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(value
+                    + " is not a valid double value as per JSON specification.");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.caninecare.app.models;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * TypeAdapters for every model in this package, so Gson never falls back to
+ * reflection for them.
+ *
+ * Each model carries its adapter as a static ADAPTER: a plain switch over the
+ * member names that reads straight into the fields and writes them in
+ * declaration order, producing the same JSON as Gson's reflective adapter.
+ * That skips the reflection Gson would do the first time it sees each type
+ * and the per-field indirection on every read. When adding a field to a
+ * model, add it to the model's ADAPTER as well.
+ *
+ * The adapters are written by hand, not generated. Gson has no code
+ * generator of its own, and a processor for about twenty small classes
+ * would be more code to keep up than the adapters. ModelAdaptersTest holds
+ * every registered adapter to Gson's reflective output, so a field left out
+ * of an ADAPTER fails the tests instead of going missing on the wire.
+ */
+public final class ModelAdapters {
+
+    // Package-private for ModelAdaptersTest
+    static final Map<Class<?>, TypeAdapter<?>> ADAPTERS = new HashMap<>();
+
+    static {
+        ADAPTERS.put(AlertsResponse.class, AlertsResponse.ADAPTER);
+        ADAPTERS.put(AlertsResponse.Alert.class, AlertsResponse.Alert.ADAPTER);
+        ADAPTERS.put(AlertsResponse.Emergency.class, AlertsResponse.Emergency.ADAPTER);
+        ADAPTERS.put(DogProfile.class, DogProfile.ADAPTER);
+        ADAPTERS.put(DogProfileResponse.class, DogProfileResponse.ADAPTER);
+        ADAPTERS.put(FertilityModelParams.class, FertilityModelParams.ADAPTER);
+        ADAPTERS.put(FertilityModelParams.Ensemble.class, FertilityModelParams.Ensemble.ADAPTER);
+        ADAPTERS.put(FertilityModelParams.Estimator.class, FertilityModelParams.Estimator.ADAPTER);
+        ADAPTERS.put(FertilityModelParams.Tree.class, FertilityModelParams.Tree.ADAPTER);
+        ADAPTERS.put(FertilityRequest.class, FertilityRequest.ADAPTER);
+        ADAPTERS.put(FertilityResponse.class, FertilityResponse.ADAPTER);
+        ADAPTERS.put(HealthCheckRequest.class, HealthCheckRequest.ADAPTER);
+        ADAPTERS.put(HealthCheckResponse.class, HealthCheckResponse.ADAPTER);
+        ADAPTERS.put(HealthRuleSet.class, HealthRuleSet.ADAPTER);
+        ADAPTERS.put(HealthRuleSet.Rule.class, HealthRuleSet.Rule.ADAPTER);
+        ADAPTERS.put(HealthRuleSet.Condition.class, HealthRuleSet.Condition.ADAPTER);
+        ADAPTERS.put(HeatCycle.class, HeatCycle.ADAPTER);
+        ADAPTERS.put(HeatCyclesResponse.class, HeatCyclesResponse.ADAPTER);
+        ADAPTERS.put(SensorDataResponse.class, SensorDataResponse.ADAPTER);
+        ADAPTERS.put(SensorDataResponse.SensorData.class, SensorDataResponse.SensorData.ADAPTER);
+    }
+
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            return (TypeAdapter<T>) ADAPTERS.get(type.getRawType());
+        }
+    };
+
+    private ModelAdapters() {
+    }
+
+    /**
+     * A Gson that uses the models' adapters; use it wherever models are
+     * converted to or from JSON.
+     */
+    public static Gson newGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(FACTORY)
+                .create();
+    }
+}
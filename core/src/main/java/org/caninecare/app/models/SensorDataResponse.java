@@ -0,0 +1,194 @@
+package org.caninecare.app.models;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Model for sensor data response from API
+ */
+public class SensorDataResponse {
+    
+    @SerializedName("data")
+    private List<SensorData> data;
+    
+    @SerializedName("count")
+    private int count;
+    
+    @SerializedName("cursor")
+    private String cursor;
+    
+    @SerializedName("has_more")
+    private boolean hasMore;
+
+    public List<SensorData> getData() {
+        return data;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public static class SensorData {
+        @SerializedName("dog_name")
+        private String dogName;
+        
+        @SerializedName("temperature")
+        private float temperature;
+        
+        @SerializedName("activity_percent")
+        private int activityPercent;
+        
+        @SerializedName("health_status")
+        private String healthStatus;
+        
+        @SerializedName("timestamp")
+        private String timestamp;
+        
+        @SerializedName("latitude")
+        private double latitude;
+        
+        @SerializedName("longitude")
+        private double longitude;
+
+        public SensorData() {
+        }
+
+        public SensorData(String dogName, float temperature, int activityPercent, String healthStatus,
+                          String timestamp, double latitude, double longitude) {
+            this.dogName = dogName;
+            this.temperature = temperature;
+            this.activityPercent = activityPercent;
+            this.healthStatus = healthStatus;
+            this.timestamp = timestamp;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public String getDogName() {
+            return dogName;
+        }
+
+        public float getTemperature() {
+            return temperature;
+        }
+
+        public int getActivityPercent() {
+            return activityPercent;
+        }
+
+        public String getHealthStatus() {
+            return healthStatus;
+        }
+
+        public String getTimestamp() {
+            return timestamp;
+        }
+        
+        public double getLatitude() {
+            return latitude;
+        }
+        
+        public double getLongitude() {
+            return longitude;
+        }
+
+        static final TypeAdapter<SensorData> ADAPTER = new JsonFields.ObjectAdapter<SensorData>() {
+            @Override
+            SensorData create() {
+                return new SensorData();
+            }
+
+            @Override
+            void readField(JsonReader in, String name, SensorData value) throws IOException {
+                switch (name) {
+                    case "dog_name":
+                        value.dogName = JsonFields.readString(in);
+                        break;
+                    case "temperature":
+                        value.temperature = JsonFields.readFloat(in, value.temperature);
+                        break;
+                    case "activity_percent":
+                        value.activityPercent = JsonFields.readInt(in, value.activityPercent);
+                        break;
+                    case "health_status":
+                        value.healthStatus = JsonFields.readString(in);
+                        break;
+                    case "timestamp":
+                        value.timestamp = JsonFields.readString(in);
+                        break;
+                    case "latitude":
+                        value.latitude = JsonFields.readDouble(in, value.latitude);
+                        break;
+                    case "longitude":
+                        value.longitude = JsonFields.readDouble(in, value.longitude);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+
+            @Override
+            void writeFields(JsonWriter out, SensorData value) throws IOException {
+                out.name("dog_name").value(value.dogName);
+                out.name("temperature");
+                JsonFields.writeFloat(out, value.temperature);
+                out.name("activity_percent").value(value.activityPercent);
+                out.name("health_status").value(value.healthStatus);
+                out.name("timestamp").value(value.timestamp);
+                out.name("latitude");
+                JsonFields.writeDouble(out, value.latitude);
+                out.name("longitude");
+                JsonFields.writeDouble(out, value.longitude);
+            }
+        };
+    }
+
+    static final TypeAdapter<SensorDataResponse> ADAPTER = new JsonFields.ObjectAdapter<SensorDataResponse>() {
+        @Override
+        SensorDataResponse create() {
+            return new SensorDataResponse();
+        }
+
+        @Override
+        void readField(JsonReader in, String name, SensorDataResponse value) throws IOException {
+            switch (name) {
+                case "data":
+                    value.data = JsonFields.readList(in, SensorData.ADAPTER);
+                    break;
+                case "count":
+                    value.count = JsonFields.readInt(in, value.count);
+                    break;
+                case "cursor":
+                    value.cursor = JsonFields.readString(in);
+                    break;
+                case "has_more":
+                    value.hasMore = JsonFields.readBoolean(in, value.hasMore);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, SensorDataResponse value) throws IOException {
+            out.name("data");
+            JsonFields.writeList(out, value.data, SensorData.ADAPTER);
+            out.name("count").value(value.count);
+            out.name("cursor").value(value.cursor);
+            out.name("has_more").value(value.hasMore);
+        }
+    };
+}
@@ -0,0 +1,103 @@
+package org.caninecare.app.utils;
+
+/**
+ * API Configuration
+ * Update BASE_URL with your backend server IP address
+ */
+public class ApiConfig {
+    
+    // Backend server URL - CHANGE THIS TO YOUR COMPUTER'S IP
+    // Get IP: Run 'ipconfig' in Windows Command Prompt
+    // Example: http://192.168.1.100:5000/api/
+    public static final String BASE_URL = "http://10.203.156.124:5000/api/";
+    
+    // API Endpoints
+    public static final String HEALTH_CHECK = "health-check";
+    public static final String HEALTH_RULES = "health-rules";
+    public static final String PREDICT_FERTILITY = "predict-fertility";
+    public static final String FERTILITY_MODEL = "fertility-model";
+    public static final String BEHAVIOR_ANALYSIS = "behavior-analysis";
+    public static final String LOCATION_UPDATE = "location-update";
+    public static final String EMERGENCY_CHECK = "emergency-check";
+    public static final String SENSOR_DATA = "sensor-data";
+    public static final String ALERTS = "alerts";
+    public static final String DOG_PROFILE = "dog-profile/{dog_name}";
+    public static final String BREEDS = "breeds";
+    public static final String STATISTICS = "statistics";
+    public static final String API_HEALTH = "health";
+    public static final String SENSOR_STREAM = "sensor-stream";
+    
+    // Request timeout (seconds)
+    public static final int CONNECT_TIMEOUT = 30;
+    public static final int READ_TIMEOUT = 30;
+    public static final int WRITE_TIMEOUT = 30;
+    
+    // HTTP disk cache
+    public static final long HTTP_CACHE_SIZE = 10 * 1024 * 1024; // 10 MB
+    public static final long CACHE_MAX_AGE_BREEDS = 24 * 60 * 60; // seconds
+    public static final long CACHE_MAX_AGE_DOG_PROFILE = 60;
+    public static final long CACHE_MAX_AGE_HEAT_CYCLES = 5 * 60;
+    public static final long CACHE_MAX_AGE_HEALTH_RULES = 60 * 60;
+    public static final long CACHE_MAX_STALE = 7 * 24 * 60 * 60; // served when offline
+    
+    // Refresh intervals (milliseconds)
+    public static final long HOME_REFRESH_INTERVAL = 10000; // 10 seconds
+    public static final long SENSOR_REFRESH_INTERVAL = 5000; // 5 seconds
+    
+    // Adaptive polling (SensorPollScheduler): SENSOR_REFRESH_INTERVAL near a
+    // threshold, HOME_REFRESH_INTERVAL otherwise, widening while nothing changes
+    public static final long POLL_MAX_INTERVAL = 60000; // milliseconds
+    public static final long POLL_MAX_SERVER_DELAY = 5 * 60 * 1000; // cap on Retry-After
+    public static final float POLL_TEMP_MARGIN = 0.3f; // °C from fever/hypothermia
+    public static final float POLL_UNCHANGED_TEMP_DELTA = 0.1f;
+    public static final int POLL_UNCHANGED_ACTIVITY_DELTA = 2;
+    
+    // Incremental sensor history sync
+    public static final int SENSOR_SYNC_PAGE_SIZE = 200;
+    public static final int SENSOR_HISTORY_CAPACITY = 5000; // readings kept in memory
+    public static final int SENSOR_WINDOW_CAPACITY = 4096; // live window (SensorRingBuffer), ~100 KB
+    
+    // Local database (CanineCareDatabase)
+    public static final int LOCAL_SENSOR_CAPACITY = 20000; // readings kept on disk
+    
+    // Compressed long-term sensor history (SensorSeriesStore), a series per dog
+    public static final int SERIES_SEGMENT_BYTES = 256 * 1024; // ~15k readings per segment file
+    public static final long SERIES_SEGMENT_SPAN_HOURS = 24; // then a new segment is started
+    public static final int SERIES_RETENTION_DAYS = 365;
+    public static final int CHART_HISTORY_DAYS = 7; // span of the health screen's history charts
+    
+    // Per-dog baselines (AnomalyDetector): EWMA mean/variance and 5th/95th percentiles
+    public static final float ANOMALY_EWMA_ALPHA = 0.02f; // weight per reading, ~50 readings of memory
+    public static final float ANOMALY_Z_THRESHOLD = 4.0f; // deviations from the dog's mean
+    public static final int ANOMALY_WARMUP_READINGS = 50; // before anything is flagged
+    public static final float ANOMALY_MIN_TEMP_DEVIATION = 0.1f; // °C, floor for a flat baseline
+    public static final float ANOMALY_MIN_ACTIVITY_DEVIATION = 3.0f; // percent
+    public static final long ANOMALY_WARMUP_HOURS = 24; // history replayed after a restart
+    
+    // Alert history paging (AlertPager), keyset cursors on the alert id
+    public static final int ALERT_PAGE_SIZE = 50;
+    public static final int ALERT_PREFETCH_DISTANCE = 15; // rows from either end before the next page is fetched
+    public static final int ALERT_MAX_PAGES = 6; // pages kept in memory, the farthest is dropped
+    
+    // Offline write queue (WriteOutbox), drained by WorkManager once online
+    public static final int OUTBOX_BATCH_SIZE = 20; // entries per query while draining
+    public static final int OUTBOX_MAX_ATTEMPTS = 10; // then the entry is marked failed
+    public static final long OUTBOX_BACKOFF_MIN = 30; // seconds, doubled per retry by WorkManager
+    
+    // Live sensor stream (backend sends a keepalive every 15 s)
+    public static final int STREAM_READ_TIMEOUT = 45; // seconds
+    public static final long STREAM_RECONNECT_MIN_DELAY = 1000; // milliseconds
+    public static final long STREAM_RECONNECT_MAX_DELAY = 30000;
+    public static final int STREAM_FAILURES_BEFORE_FALLBACK = 3; // then poll until it recovers
+    
+    // Health thresholds
+    public static final float TEMP_NORMAL_MIN = 38.0f;
+    public static final float TEMP_NORMAL_MAX = 39.2f;
+    public static final float TEMP_FEVER = 39.5f;
+    public static final float TEMP_HYPOTHERMIA = 37.5f;
+    public static final float TEMP_CRITICAL_HIGH = 40.0f;
+    public static final float TEMP_CRITICAL_LOW = 37.0f;
+    
+    public static final int ACTIVITY_LOW_THRESHOLD = 20;
+    public static final int ACTIVITY_HIGH_THRESHOLD = 80;
+}
@@ -0,0 +1,36 @@
+package org.caninecare.app.utils;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Epoch milliseconds from {@link IsoTimestamps#parseMillis} as shown on
+ * screen. Those carry the backend's wall-clock time as if it were UTC, so
+ * they are formatted in UTC to show that same time.
+ */
+public final class DisplayDates {
+
+    private static final DateTimeFormatter DATE =
+            DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.getDefault()).withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE_TIME =
+            DateTimeFormatter.ofPattern("dd MMM yyyy, HH:mm", Locale.getDefault()).withZone(ZoneOffset.UTC);
+
+    private DisplayDates() {
+    }
+
+    /**
+     * e.g. "21 Oct 2025"; {@code fallback} for {@link IsoTimestamps#INVALID}.
+     */
+    public static String date(long millis, String fallback) {
+        return millis != IsoTimestamps.INVALID ? DATE.format(Instant.ofEpochMilli(millis)) : fallback;
+    }
+
+    /**
+     * e.g. "21 Oct 2025, 18:30"; {@code fallback} for {@link IsoTimestamps#INVALID}.
+     */
+    public static String dateTime(long millis, String fallback) {
+        return millis != IsoTimestamps.INVALID ? DATE_TIME.format(Instant.ofEpochMilli(millis)) : fallback;
+    }
+}
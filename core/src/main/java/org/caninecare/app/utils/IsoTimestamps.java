@@ -0,0 +1,180 @@
+package org.caninecare.app.utils;
+
+/**
+ * Allocation-free conversion between the backend's ISO-8601 timestamps
+ * (Python's datetime.isoformat(), e.g. "2024-05-01T14:03:07.125000") and
+ * microseconds or milliseconds since the epoch.
+ *
+ * Timestamps without an offset are taken as UTC. The backend writes local
+ * time without an offset, so the result orders readings correctly but is
+ * only a true epoch value when the backend runs on UTC.
+ */
+public final class IsoTimestamps {
+
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private IsoTimestamps() {
+    }
+
+    public static long parseMicros(CharSequence text) {
+        return text != null ? parseMicros(text, 0, text.length()) : INVALID;
+    }
+
+    /**
+     * Parses {@code text[start, end)}; returns {@link #INVALID} if it is not
+     * "yyyy-MM-dd[T ]HH:mm:ss[.f{1,9}][Z|+HH:mm|-HH:mm]".
+     */
+    public static long parseMicros(CharSequence text, int start, int end) {
+        if (end - start < 19) {
+            return INVALID;
+        }
+        int year = digits(text, start, 4);
+        int month = digits(text, start + 5, 2);
+        int day = digits(text, start + 8, 2);
+        int hour = digits(text, start + 11, 2);
+        int minute = digits(text, start + 14, 2);
+        int second = digits(text, start + 17, 2);
+        char separator = text.charAt(start + 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour > 23 || minute > 59 || second > 60
+                || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-'
+                || (separator != 'T' && separator != ' ')
+                || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':') {
+            return INVALID;
+        }
+
+        int i = start + 19;
+        long fraction = 0;
+        if (i < end && text.charAt(i) == '.') {
+            i++;
+            int fractionDigits = 0;
+            while (i < end && isDigit(text.charAt(i))) {
+                if (fractionDigits < 6) {
+                    fraction = fraction * 10 + (text.charAt(i) - '0');
+                }
+                fractionDigits++;
+                i++;
+            }
+            if (fractionDigits == 0) {
+                return INVALID;
+            }
+            for (int d = fractionDigits; d < 6; d++) {
+                fraction *= 10;
+            }
+        }
+
+        long offsetSeconds = 0;
+        if (i < end) {
+            char zone = text.charAt(i);
+            if (zone == 'Z' && i + 1 == end) {
+                i++;
+            } else if ((zone == '+' || zone == '-') && i + 6 == end && text.charAt(i + 3) == ':') {
+                int offsetHours = digits(text, i + 1, 2);
+                int offsetMinutes = digits(text, i + 4, 2);
+                if (offsetHours < 0 || offsetMinutes < 0) {
+                    return INVALID;
+                }
+                offsetSeconds = (offsetHours * 60L + offsetMinutes) * 60L * (zone == '+' ? 1 : -1);
+                i = end;
+            } else {
+                return INVALID;
+            }
+        }
+
+        long seconds = daysFromCivil(year, month, day) * SECONDS_PER_DAY
+                + hour * 3600L + minute * 60L + second - offsetSeconds;
+        return seconds * MICROS_PER_SECOND + fraction;
+    }
+
+    /**
+     * Milliseconds since the epoch for anything {@link #parseMicros(CharSequence)}
+     * accepts, or for a bare date "yyyy-MM-dd" (its midnight); {@link #INVALID}
+     * otherwise.
+     */
+    public static long parseMillis(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        if (text.length() == 10) {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 2);
+            int day = digits(text, 8, 2);
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                    || text.charAt(4) != '-' || text.charAt(7) != '-') {
+                return INVALID;
+            }
+            return daysFromCivil(year, month, day) * SECONDS_PER_DAY * 1000;
+        }
+        long micros = parseMicros(text, 0, text.length());
+        return micros != INVALID ? Math.floorDiv(micros, 1000) : INVALID;
+    }
+
+    /**
+     * Formats like Python's isoformat(): microseconds only when non-zero, no offset.
+     */
+    public static String format(long micros) {
+        long seconds = Math.floorDiv(micros, MICROS_PER_SECOND);
+        long fraction = Math.floorMod(micros, MICROS_PER_SECOND);
+        long days = Math.floorDiv(seconds, SECONDS_PER_DAY);
+        long secondOfDay = Math.floorMod(seconds, SECONDS_PER_DAY);
+
+        // Civil date from days since 1970-01-01 (H. Hinnant's algorithm)
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        StringBuilder out = new StringBuilder(26);
+        pad(out, year, 4).append('-');
+        pad(out, month, 2).append('-');
+        pad(out, day, 2).append('T');
+        pad(out, (int) (secondOfDay / 3600), 2).append(':');
+        pad(out, (int) (secondOfDay / 60 % 60), 2).append(':');
+        pad(out, (int) (secondOfDay % 60), 2);
+        if (fraction != 0) {
+            pad(out.append('.'), (int) fraction, 6);
+        }
+        return out.toString();
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static StringBuilder pad(StringBuilder out, int value, int width) {
+        for (int limit = 10, w = 1; w < width; w++, limit *= 10) {
+            if (value < limit) {
+                out.append('0');
+            }
+        }
+        return out.append(value);
+    }
+}
@@ -0,0 +1,175 @@
+package org.caninecare.app.api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.caninecare.app.models.AlertsResponse;
+import org.caninecare.app.models.HeatCyclesResponse;
+import org.caninecare.app.models.ModelAdapters;
+import org.caninecare.app.models.SensorDataResponse;
+import org.junit.Test;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MessagePackReaderTest {
+
+    private static final String SENSOR_PAGE = "{\"data\": ["
+            + "{\"dog_name\": \"Bella\", \"temperature\": 38.73, \"activity_percent\": 42,"
+            + " \"health_status\": \"Normal\", \"timestamp\": \"2024-05-01T14:03:07.125000\","
+            + " \"latitude\": 37.7749295, \"longitude\": -122.4194155},"
+            + "{\"dog_name\": \"Bella\", \"temperature\": 40.1, \"activity_percent\": 0,"
+            + " \"timestamp\": \"2024-05-01T14:03:09.125000\", \"latitude\": null, \"longitude\": null,"
+            + " \"firmware\": {\"version\": [1, 4, 2], \"beta\": false}}],"
+            + " \"count\": 2, \"cursor\": \"2024-05-01T14:03:09.125000\", \"has_more\": true}";
+
+    private static final String ALERTS_PAGE = "{\"alerts\": ["
+            + "{\"id\": 1714572187125000, \"dog_name\": \"Max\", \"health_status\": \"Critical Fever\","
+            + " \"severity\": \"critical\", \"alerts\": [\"CRITICAL: Temperature 41.2°C\", \"Low activity: 4%\"],"
+            + " \"timestamp\": \"2024-05-01T14:03:07.125000\", \"emergency_level\": \"critical\","
+            + " \"emergencies\": [{\"type\": \"HEATSTROKE\", \"message\": \"Temperature critical\","
+            + " \"action\": \"Cool the dog down and call a vet\"}],"
+            + " \"temperature\": 41.2, \"activity_percent\": 4, \"immobile_duration\": 1800},"
+            + "{\"id\": 1714572187125001, \"dog_name\": \"Max\", \"health_status\": \"Low Activity\","
+            + " \"severity\": \"medium\", \"alerts\": [], \"timestamp\": \"2024-05-01T14:04:07.125000\","
+            + " \"temperature\": 38.6, \"activity_percent\": 12}],"
+            + " \"count\": 2, \"oldest_id\": 1714572187125000, \"newest_id\": 1714572187125001,"
+            + " \"has_older\": false, \"has_newer\": true}";
+
+    private static final String HEAT_CYCLES = "{\"cycles\": ["
+            + "{\"id\": 7, \"dog_name\": \"Bella\", \"prediction_type\": \"next_heat\","
+            + " \"prediction_value\": 164.25, \"prediction_unit\": \"days\","
+            + " \"estimated_date\": \"2024-10-12\", \"fertility_status\": \"Not in Heat\","
+            + " \"alert_level\": \"info\", \"created_at\": \"2024-05-01T14:03:07.125000\"}],"
+            + " \"count\": 1, \"error\": null}";
+
+    private final Gson gson = ModelAdapters.newGson();
+
+    @Test
+    public void sensorPageDecodesLikeJson() throws IOException {
+        assertSameAsJson(SENSOR_PAGE, SensorDataResponse.class);
+    }
+
+    @Test
+    public void alertsPageDecodesLikeJson() throws IOException {
+        assertSameAsJson(ALERTS_PAGE, AlertsResponse.class);
+    }
+
+    @Test
+    public void heatCyclesDecodeLikeJson() throws IOException {
+        assertSameAsJson(HEAT_CYCLES, HeatCyclesResponse.class);
+    }
+
+    @Test
+    public void readsNumbersAsStringsAndWholeDoublesAsInts() throws IOException {
+        JsonReader reader = reader("[42, 38.5, 2.0, \"17\", \"x\"]");
+        reader.beginArray();
+        assertEquals("42", reader.nextString());
+        assertEquals("38.5", reader.nextString());
+        assertEquals(2, reader.nextInt());
+        assertEquals(17L, reader.nextLong());
+        assertEquals("x", reader.nextString());
+        reader.endArray();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void rejectsFractionalInts() throws IOException {
+        JsonReader reader = reader("[2.5]");
+        reader.beginArray();
+        try {
+            reader.nextInt();
+            fail();
+        } catch (NumberFormatException expected) {
+        }
+    }
+
+    @Test
+    public void skipsNestedValuesAndNames() throws IOException {
+        JsonReader reader = reader("{\"a\": {\"b\": [1, {\"c\": null}]}, \"d\": true}");
+        reader.beginObject();
+        reader.skipValue();
+        reader.skipValue();
+        assertEquals("d", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    public void readsBinaryAsUtf8String() throws IOException {
+        byte[] utf8 = "Beagle 🐶".getBytes(StandardCharsets.UTF_8);
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        packer.packBinaryHeader(utf8.length);
+        packer.writePayload(utf8);
+        JsonReader reader = new MessagePackReader(new ByteArrayInputStream(packer.toByteArray()));
+        assertEquals(JsonToken.STRING, reader.peek());
+        assertEquals("Beagle 🐶", reader.nextString());
+    }
+
+    private <T> void assertSameAsJson(String json, Class<T> type) throws IOException {
+        T fromJson = gson.getAdapter(type).read(new JsonReader(new StringReader(json)));
+        T fromMessagePack = gson.getAdapter(type).read(reader(json));
+        assertEquals(gson.toJson(fromJson), gson.toJson(fromMessagePack));
+    }
+
+    private static JsonReader reader(String json) throws IOException {
+        return new MessagePackReader(new ByteArrayInputStream(toMessagePack(json)));
+    }
+
+    /**
+     * Encodes a JSON document the way the backend's msgpack.packb does:
+     * integers as ints, anything with a fraction or exponent as float64.
+     */
+    static byte[] toMessagePack(String json) throws IOException {
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        pack(packer, new JsonParser().parse(json));
+        return packer.toByteArray();
+    }
+
+    private static void pack(MessageBufferPacker packer, JsonElement element) throws IOException {
+        if (element.isJsonNull()) {
+            packer.packNil();
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            packer.packMapHeader(object.size());
+            for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+                packer.packString(member.getKey());
+                pack(packer, member.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            packer.packArrayHeader(array.size());
+            for (JsonElement item : array) {
+                pack(packer, item);
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                packer.packBoolean(primitive.getAsBoolean());
+            } else if (primitive.isString()) {
+                packer.packString(primitive.getAsString());
+            } else if (primitive.getAsString().matches("-?\\d+")) {
+                packer.packLong(primitive.getAsLong());
+            } else {
+                packer.packDouble(primitive.getAsDouble());
+            }
+        }
+    }
+}
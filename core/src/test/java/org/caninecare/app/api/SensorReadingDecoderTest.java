@@ -0,0 +1,128 @@
+package org.caninecare.app.api;
+
+import org.caninecare.app.data.SensorRingBuffer;
+import org.caninecare.app.utils.IsoTimestamps;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SensorReadingDecoderTest {
+
+    private static final String READING = "{\"dog_name\": \"Bella\", \"temperature\": 38.73, \"activity_percent\": 42,"
+            + " \"latitude\": 37.7749295, \"longitude\": -122.4194155,"
+            + " \"timestamp\": \"2024-05-01T14:03:07.125000\"}";
+
+    @Test
+    public void decodesAReading() {
+        SensorRingBuffer ring = new SensorRingBuffer(4);
+        assertTrue(SensorReadingDecoder.decode(READING, ring));
+        assertEquals(1, ring.size());
+        assertEquals(IsoTimestamps.parseMicros("2024-05-01T14:03:07.125000"), ring.lastTimestamp());
+        assertEquals(38.73f, ring.lastTemperature(), 0f);
+        assertEquals(42, ring.lastActivity());
+        assertEquals(37.7749295f, ring.lastLatitude(), 0f);
+        assertEquals(-122.4194155f, ring.lastLongitude(), 0f);
+    }
+
+    @Test
+    public void skipsUnknownMembersOfAnyShape() {
+        String json = "{ \"extra\" : {\"nested\": [1, {\"a\": \"}\"}, [], null]},\n"
+                + "\t\"note\": \"say \\\"hi\\\"\", \"flag\": true, \"nothing\": null,"
+                + " \"temperature\": 39.1, \"timestamp\": \"2024-05-01 14:03:07\", \"list\": [\"]\"] }";
+        SensorRingBuffer ring = new SensorRingBuffer(4);
+        assertTrue(SensorReadingDecoder.decode(json, ring));
+        assertEquals(39.1f, ring.lastTemperature(), 0f);
+        assertEquals(0, ring.lastActivity());
+    }
+
+    @Test
+    public void readsNumbersInEveryJsonForm() {
+        assertEquals(-0.5f, temperatureOf("-0.5"), 0f);
+        assertEquals(3850f, temperatureOf("3.85e3"), 0f);
+        assertEquals(38.5f, temperatureOf("385E-1"), 0f);
+        assertEquals(38.5f, temperatureOf("0.00385e+4"), 0f);
+        assertEquals(0f, temperatureOf("null"), 0f);
+        assertEquals(0f, temperatureOf("0"), 0f);
+        // More than 18 significant digits
+        assertEquals(38.123456789012345f, temperatureOf("38.12345678901234567890123"), 0f);
+        assertEquals(1.2345678901234567e21f, temperatureOf("1234567890123456789012"), 0f);
+    }
+
+    @Test
+    public void matchesJavaParsingForSensorValues() {
+        Random random = new Random(7);
+        SensorRingBuffer ring = new SensorRingBuffer(1);
+        long timestamp = IsoTimestamps.parseMicros("2024-05-01T00:00:00");
+        for (int i = 0; i < 10_000; i++) {
+            String temperature = String.format(Locale.ROOT, "%.2f", 36 + random.nextDouble() * 6);
+            String latitude = String.valueOf(-90 + random.nextDouble() * 180);
+            String longitude = String.format(Locale.ROOT, "%.7f", -180 + random.nextDouble() * 360);
+            int activity = random.nextInt(101);
+            timestamp += 1_000_000;
+            String json = "{\"temperature\": " + temperature + ", \"activity_percent\": " + activity
+                    + ", \"latitude\": " + latitude + ", \"longitude\": " + longitude
+                    + ", \"timestamp\": \"" + IsoTimestamps.format(timestamp) + "\"}";
+            assertTrue(SensorReadingDecoder.decode(json, ring));
+            assertEquals(json, (float) Double.parseDouble(temperature), ring.lastTemperature(), 0f);
+            assertEquals(json, (float) Double.parseDouble(latitude), ring.lastLatitude(), 0f);
+            assertEquals(json, (float) Double.parseDouble(longitude), ring.lastLongitude(), 0f);
+            assertEquals(activity, ring.lastActivity());
+            assertEquals(timestamp, ring.lastTimestamp());
+        }
+    }
+
+    @Test
+    public void ignoresReadingsThatAreNotNewer() {
+        SensorRingBuffer ring = new SensorRingBuffer(4);
+        assertTrue(SensorReadingDecoder.decode(READING, ring));
+        assertFalse(SensorReadingDecoder.decode(READING, ring));
+        assertFalse(SensorReadingDecoder.decode(READING.replace("07.125000", "06"), ring));
+        assertEquals(1, ring.size());
+    }
+
+    @Test
+    public void leavesOtherDogsOutOfTheWindow() {
+        SensorRingBuffer ring = new SensorRingBuffer(4);
+        assertFalse(SensorReadingDecoder.decode(READING, "Max", ring));
+        assertFalse(SensorReadingDecoder.decode(READING, "Bell", ring));
+        assertEquals(0, ring.size());
+        assertTrue(SensorReadingDecoder.decode(READING, "Bella", ring));
+        // Readings without a dog_name are taken as the dog's own
+        assertTrue(SensorReadingDecoder.decode("{\"temperature\": 39.0, \"timestamp\": \"2024-05-01T14:03:09\"}",
+                "Bella", ring));
+        assertEquals(2, ring.size());
+    }
+
+    @Test
+    public void rejectsMalformedReadings() {
+        String[] malformed = {
+                "", "[]", "{}", "{\"temperature\": 38.5}", "{\"timestamp\": \"yesterday\"}",
+                "{\"timestamp\": \"2024-05-01T14:03:07\"", "{\"temperature\": , \"timestamp\": \"2024-05-01T14:03:07\"}",
+                "{\"temperature\": 38.5e, \"timestamp\": \"2024-05-01T14:03:07\"}",
+                "{\"temperature\": 38.5 \"timestamp\": \"2024-05-01T14:03:07\"}",
+                "{\"note\": \"unterminated, \"timestamp\": \"2024-05-01T14:03:07\"}",
+                "{\"extra\": ], \"timestamp\": \"2024-05-01T14:03:07\"}",
+                "{temperature: 38.5}"
+        };
+        for (String json : malformed) {
+            try {
+                SensorReadingDecoder.decode(json, new SensorRingBuffer(1));
+                fail("Decoded " + json);
+            } catch (IllegalArgumentException expected) {
+                // Rejected
+            }
+        }
+    }
+
+    private static float temperatureOf(String number) {
+        SensorRingBuffer ring = new SensorRingBuffer(1);
+        SensorReadingDecoder.decode("{\"temperature\": " + number + ", \"timestamp\": \"2024-05-01T14:03:07\"}", ring);
+        return ring.lastTemperature();
+    }
+}
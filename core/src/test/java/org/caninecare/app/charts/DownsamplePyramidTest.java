@@ -0,0 +1,189 @@
+package org.caninecare.app.charts;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DownsamplePyramidTest {
+
+    private static final int POINTS = 100_000;
+
+    @Test
+    public void emptyPyramidReturnsNothing() {
+        DownsamplePyramid pyramid = new DownsamplePyramid();
+        assertEquals(0, pyramid.query(0, 100, 10, new float[10], new float[10]));
+        pyramid.append(1, 2);
+        assertEquals(0, pyramid.query(0, 100, 0, new float[10], new float[10]));
+    }
+
+    @Test
+    public void smallSeriesIsDownsampledWithLttb() {
+        float[] x = LttbTest.ramp(1000);
+        float[] y = noise(1000, 1);
+        DownsamplePyramid pyramid = new DownsamplePyramid();
+        pyramid.appendAll(x, y, x.length);
+        assertEquals(1, pyramid.levels());
+
+        float[] outX = new float[100];
+        float[] outY = new float[100];
+        int count = pyramid.query(0, 999, 100, outX, outY);
+        int[] indices = new int[100];
+        assertEquals(Lttb.downsample(x, y, 0, 1000, 100, indices), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(x[indices[i]], outX[i], 0f);
+            assertEquals(y[indices[i]], outY[i], 0f);
+        }
+    }
+
+    @Test
+    public void eachLevelHasOnePointPerBucketOfTheLevelBelow() {
+        DownsamplePyramid pyramid = filled(POINTS);
+        assertEquals(POINTS, pyramid.size());
+        assertTrue(pyramid.levels() > 1);
+        for (int level = 1; level < pyramid.levels(); level++) {
+            int below = pyramid.levelSize(level - 1);
+            assertEquals((below + DownsamplePyramid.FANOUT - 1) / DownsamplePyramid.FANOUT, pyramid.levelSize(level));
+        }
+        // Levels stop once the top one is small enough to run LTTB over
+        assertTrue(pyramid.levelSize(pyramid.levels() - 1) < 512 * DownsamplePyramid.FANOUT);
+    }
+
+    @Test
+    public void queriesKeepTheEndsAndStayWithinBudget() {
+        DownsamplePyramid pyramid = filled(POINTS);
+        assertEquals(0f, pyramid.firstX(), 0f);
+        assertEquals(POINTS - 1, pyramid.lastX(), 0f);
+
+        float[] outX = new float[500];
+        float[] outY = new float[500];
+        float[][] ranges = {{0, POINTS - 1}, {-50, POINTS + 50}, {12_345, 67_890}, {500.5f, 520.5f}};
+        for (float[] range : ranges) {
+            int count = pyramid.query(range[0], range[1], 500, outX, outY);
+            assertTrue(count > 0 && count <= 500);
+            // Lines reach the edges: the first point is at or before the range, the last at or after
+            assertTrue(outX[0] <= Math.max(range[0], 0));
+            assertTrue(outX[count - 1] >= Math.min(range[1], POINTS - 1));
+            for (int i = 1; i < count; i++) {
+                assertTrue(outX[i] > outX[i - 1]);
+            }
+        }
+        // The whole series comes out with its first and last point
+        int count = pyramid.query(0, POINTS - 1, 500, outX, outY);
+        assertEquals(0f, outX[0], 0f);
+        assertEquals(POINTS - 1, outX[count - 1], 0f);
+    }
+
+    @Test
+    public void spikeSurvivesEveryLevel() {
+        float[] x = LttbTest.ramp(POINTS);
+        float[] y = new float[POINTS];
+        Arrays.fill(y, 38.5f);
+        y[77_777] = 41f;
+        DownsamplePyramid pyramid = new DownsamplePyramid();
+        pyramid.appendAll(x, y, POINTS);
+        float[] outX = new float[200];
+        float[] outY = new float[200];
+        int count = pyramid.query(0, POINTS - 1, 200, outX, outY);
+        float max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, outY[i]);
+        }
+        assertEquals(41f, max, 0f);
+    }
+
+    @Test
+    public void appendingOneAtATimeMatchesAppendingInBatches() {
+        float[] x = LttbTest.ramp(20_000);
+        float[] y = noise(20_000, 5);
+        DownsamplePyramid single = new DownsamplePyramid();
+        DownsamplePyramid batched = new DownsamplePyramid();
+        Random random = new Random(9);
+        int i = 0;
+        while (i < x.length) {
+            int batch = Math.min(x.length - i, 1 + random.nextInt(700));
+            for (int j = i; j < i + batch; j++) {
+                single.append(x[j], y[j]);
+            }
+            batched.appendAll(Arrays.copyOfRange(x, i, i + batch), Arrays.copyOfRange(y, i, i + batch), batch);
+            i += batch;
+            assertSameQueries(single, batched, i);
+        }
+        DownsamplePyramid whole = new DownsamplePyramid();
+        whole.appendAll(x, y, x.length);
+        assertSameQueries(whole, batched, x.length);
+    }
+
+    @Test
+    public void droppingTheOldestMatchesBuildingFromTheRest() {
+        float[] x = LttbTest.ramp(20_000);
+        float[] y = noise(20_000, 6);
+        DownsamplePyramid evicted = new DownsamplePyramid();
+        evicted.appendAll(x, y, x.length);
+        evicted.removeFirst(15_000);
+        DownsamplePyramid rest = new DownsamplePyramid();
+        rest.appendAll(Arrays.copyOfRange(x, 15_000, x.length), Arrays.copyOfRange(y, 15_000, y.length), 5_000);
+        assertSameQueries(rest, evicted, x[15_000], x[x.length - 1]);
+        assertEquals(x[15_000], evicted.firstX(), 0f);
+
+        // And it keeps appending from there
+        evicted.append(x[x.length - 1] + 1, 3);
+        rest.append(x[x.length - 1] + 1, 3);
+        assertSameQueries(rest, evicted, x[15_000], x[x.length - 1] + 1);
+    }
+
+    @Test
+    public void clearStartsOver() {
+        DownsamplePyramid pyramid = filled(POINTS);
+        pyramid.clear();
+        assertEquals(0, pyramid.size());
+        assertEquals(1, pyramid.levels());
+        pyramid.append(5, 6);
+        float[] outX = new float[4];
+        float[] outY = new float[4];
+        assertEquals(1, pyramid.query(0, 10, 4, outX, outY));
+        assertEquals(5f, outX[0], 0f);
+        assertEquals(6f, outY[0], 0f);
+    }
+
+    private static void assertSameQueries(DownsamplePyramid expected, DownsamplePyramid actual, int size) {
+        assertSameQueries(expected, actual, 0, size);
+    }
+
+    private static void assertSameQueries(DownsamplePyramid expected, DownsamplePyramid actual, float first, float last) {
+        float size = last - first;
+        assertEquals(expected.levels(), actual.levels());
+        for (int level = 0; level < expected.levels(); level++) {
+            assertEquals(expected.levelSize(level), actual.levelSize(level));
+        }
+        float[] expectedX = new float[300];
+        float[] expectedY = new float[300];
+        float[] actualX = new float[300];
+        float[] actualY = new float[300];
+        for (float[] range : new float[][]{{first, last}, {first + size / 3f, first + size / 2f}, {last - 100, last}}) {
+            int count = expected.query(range[0], range[1], 300, expectedX, expectedY);
+            assertEquals(count, actual.query(range[0], range[1], 300, actualX, actualY));
+            assertArrayEquals(Arrays.copyOf(expectedX, count), Arrays.copyOf(actualX, count), 0f);
+            assertArrayEquals(Arrays.copyOf(expectedY, count), Arrays.copyOf(actualY, count), 0f);
+        }
+    }
+
+    private static DownsamplePyramid filled(int size) {
+        DownsamplePyramid pyramid = new DownsamplePyramid();
+        pyramid.appendAll(LttbTest.ramp(size), noise(size, 11), size);
+        return pyramid;
+    }
+
+    private static float[] noise(int size, long seed) {
+        Random random = new Random(seed);
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = 38.5f + (float) random.nextGaussian() * 0.3f;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,96 @@
+package org.caninecare.app.charts;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LttbTest {
+
+    @Test
+    public void keepsEveryPointWhenUnderTheThreshold() {
+        float[] x = {0, 1, 2, 3};
+        float[] y = {5, 6, 5, 6};
+        int[] out = new int[8];
+        assertEquals(4, Lttb.downsample(x, y, 0, 4, 4, out));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Arrays.copyOf(out, 4));
+        assertEquals(2, Lttb.downsample(x, y, 1, 3, 100, out));
+        assertArrayEquals(new int[]{1, 2}, Arrays.copyOf(out, 2));
+        assertEquals(0, Lttb.downsample(x, y, 2, 2, 10, out));
+    }
+
+    @Test
+    public void keepsTheEndsBelowThreePoints() {
+        float[] x = ramp(100);
+        float[] y = ramp(100);
+        int[] out = new int[3];
+        assertEquals(0, Lttb.downsample(x, y, 0, 100, 0, out));
+        assertEquals(0, Lttb.downsample(x, y, 0, 100, -1, out));
+        assertEquals(1, Lttb.downsample(x, y, 10, 100, 1, out));
+        assertEquals(10, out[0]);
+        assertEquals(2, Lttb.downsample(x, y, 10, 100, 2, out));
+        assertEquals(10, out[0]);
+        assertEquals(99, out[1]);
+    }
+
+    @Test
+    public void picksOnePointPerBucketBetweenTheEnds() {
+        Random random = new Random(3);
+        float[] x = ramp(10_000);
+        float[] y = new float[x.length];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = (float) random.nextGaussian();
+        }
+        int[] out = new int[1000];
+        for (int[] range : new int[][]{{0, 10_000}, {17, 9_001}, {5000, 5100}}) {
+            int from = range[0];
+            int to = range[1];
+            for (int threshold : new int[]{3, 4, 7, 100, 1000}) {
+                if (threshold >= to - from) {
+                    continue;
+                }
+                int count = Lttb.downsample(x, y, from, to, threshold, out);
+                assertEquals(threshold, count);
+                assertEquals(from, out[0]);
+                assertEquals(to - 1, out[count - 1]);
+                double bucketSize = (double) (to - from - 2) / (threshold - 2);
+                for (int bucket = 0; bucket < threshold - 2; bucket++) {
+                    int index = out[bucket + 1];
+                    assertTrue(index >= from + 1 + (int) (bucket * bucketSize));
+                    assertTrue(index < from + 1 + (int) ((bucket + 1) * bucketSize));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keepsASpike() {
+        float[] x = ramp(5000);
+        float[] y = new float[x.length];
+        Arrays.fill(y, 38.5f);
+        y[3217] = 40.2f;
+        y[1234] = 36.1f;
+        int[] out = new int[50];
+        int count = Lttb.downsample(x, y, 0, x.length, 50, out);
+        boolean spike = false;
+        boolean dip = false;
+        for (int i = 0; i < count; i++) {
+            spike |= out[i] == 3217;
+            dip |= out[i] == 1234;
+        }
+        assertTrue(spike);
+        assertTrue(dip);
+    }
+
+    static float[] ramp(int size) {
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,68 @@
+package org.caninecare.app.data;
+
+import org.caninecare.app.models.SensorDataResponse;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SensorHistoryStoreTest {
+
+    @Test
+    public void keepsOneDogButMovesTheCursorPastOthers() {
+        SensorRingBuffer window = new SensorRingBuffer(8);
+        SensorHistoryStore store = new SensorHistoryStore("Bella", 8, window);
+
+        assertEquals(2, store.append(Arrays.asList(reading("Bella", "2024-05-01T14:03:01"),
+                reading("Max", "2024-05-01T14:03:02"), reading("Bella", "2024-05-01T14:03:03"))));
+        assertFalse(store.append(reading("Max", "2024-05-01T14:03:04")));
+
+        assertEquals("2024-05-01T14:03:04", store.getCursor());
+        assertEquals(2, store.size());
+        assertEquals(2, window.size());
+        assertEquals("2024-05-01T14:03:03", store.getLatest().getTimestamp());
+        // Already behind the cursor
+        assertFalse(store.append(reading("Bella", "2024-05-01T14:03:04")));
+    }
+
+    @Test
+    public void restoresOnlyTheDogsSavedReadings() {
+        SensorHistoryStore store = new SensorHistoryStore("Bella", 8, new SensorRingBuffer(8));
+        store.append(reading("Max", "2024-05-01T14:03:05"));
+        store.restore(Arrays.asList(reading("Bella", "2024-05-01T14:03:01"),
+                reading("Max", "2024-05-01T14:03:02"), reading("Bella", "2024-05-01T14:03:03")));
+
+        assertEquals(2, store.size());
+        assertEquals(2, store.getWindow().size());
+        // Live readings got further than the saved ones
+        assertEquals("2024-05-01T14:03:05", store.getCursor());
+    }
+
+    @Test
+    public void restoresTheCursorWhenNothingArrivedYet() {
+        SensorHistoryStore store = new SensorHistoryStore("Bella", 8, new SensorRingBuffer(8));
+        assertNull(store.getCursor());
+        store.restore(Arrays.asList(reading("Bella", "2024-05-01T14:03:01"), reading("Bella", "2024-05-01T14:03:03")));
+        assertEquals("2024-05-01T14:03:03", store.getCursor());
+        assertTrue(store.isRestored());
+    }
+
+    @Test
+    public void sharesOneStoreAndWindowPerDog() {
+        SensorHistoryStore bella = SensorHistoryStore.forDog("Bella");
+        assertSame(bella, SensorHistoryStore.forDog("Bella"));
+        assertSame(SensorRingBuffer.forDog("Bella"), bella.getWindow());
+        assertEquals("Bella", bella.getDogName());
+        assertNotSame(SensorRingBuffer.forDog("Max"), bella.getWindow());
+    }
+
+    private static SensorDataResponse.SensorData reading(String dogName, String timestamp) {
+        return new SensorDataResponse.SensorData(dogName, 38.5f, 40, "Normal", timestamp, 0, 0);
+    }
+}
@@ -0,0 +1,166 @@
+package org.caninecare.app.data.series;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SeriesCodecTest {
+
+    @Test
+    public void bitsRoundTripAtAnyWidthAndOffset() {
+        Random random = new Random(1);
+        int fields = 20_000;
+        long[] values = new long[fields];
+        int[] widths = new int[fields];
+        ByteBuffer buffer = ByteBuffer.allocate(3 + fields * 8);
+        BitWriter writer = new BitWriter(buffer, 3, 0);
+        long bits = 0;
+        for (int i = 0; i < fields; i++) {
+            widths[i] = 1 + random.nextInt(64);
+            values[i] = widths[i] == 64 ? random.nextLong() : random.nextLong() & ((1L << widths[i]) - 1);
+            writer.write(values[i], widths[i]);
+            bits += widths[i];
+        }
+        assertEquals(bits, writer.position());
+        assertEquals((long) fields * 64 - bits, writer.remaining());
+
+        BitReader reader = new BitReader(buffer, 3);
+        for (int i = 0; i < fields; i++) {
+            assertEquals("field " + i, values[i], reader.read(widths[i]));
+        }
+        assertEquals(bits, reader.position());
+        // Bytes before the base are never touched
+        assertEquals(0, buffer.get(0) | buffer.get(1) | buffer.get(2));
+    }
+
+    @Test
+    public void writerOnlyKeepsTheHighBitsOfAValue() {
+        ByteBuffer buffer = ByteBuffer.allocate(2);
+        BitWriter writer = new BitWriter(buffer, 0, 0);
+        writer.write(-1L, 3);
+        writer.writeBit(false);
+        writer.write(0b1010_1010_1010L, 4);
+        assertEquals((byte) 0b1110_1010, buffer.get(0));
+        assertEquals(0, buffer.get(1));
+    }
+
+    @Test
+    public void resumedWriterClearsBitsLeftByAnAbandonedAppend() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        BitWriter writer = new BitWriter(buffer, 0, 0);
+        writer.write(0b101, 3);
+        writer.write(0xFFFFFF, 24);
+
+        BitWriter resumed = new BitWriter(buffer, 0, 3);
+        resumed.write(0, 2);
+        assertEquals((byte) 0b1010_0000, buffer.get(0));
+        BitReader reader = new BitReader(buffer, 0);
+        assertEquals(0b101, reader.read(3));
+        assertEquals(0, reader.read(5));
+    }
+
+    @Test
+    public void readingsRoundTrip() {
+        Random random = new Random(2);
+        int count = 50_000;
+        long[] timestamps = new long[count];
+        float[] temperatures = new float[count];
+        int[] activities = new int[count];
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+
+        long timestamp = 1_714_572_187_125_000L;
+        float temperature = 38.5f;
+        int activity = 40;
+        double latitude = 37.7749295;
+        double longitude = -122.4194155;
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(8)) {
+                case 0:
+                    // Jitter, gaps and a cadence change
+                    timestamp += random.nextInt(3_000_000);
+                    break;
+                case 1:
+                    timestamp += (long) random.nextInt(Integer.MAX_VALUE) * 1000;
+                    break;
+                case 2:
+                    temperature = i % 97 == 0 ? Float.NaN : 35 + random.nextFloat() * 7;
+                    activity = random.nextBoolean() ? random.nextInt(101) : random.nextInt();
+                    break;
+                case 3:
+                    latitude += random.nextGaussian() * 1e-4;
+                    longitude = random.nextBoolean() ? longitude : -longitude;
+                    break;
+                default:
+                    timestamp += 5_000_000;
+                    activity += random.nextInt(15) - 7;
+            }
+            timestamps[i] = timestamp;
+            temperatures[i] = temperature;
+            activities[i] = activity;
+            latitudes[i] = latitude;
+            longitudes[i] = longitude;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (((long) count * SeriesCodec.MAX_READING_BITS + 7) / 8));
+        BitWriter writer = new BitWriter(buffer, 0, 0);
+        SeriesCodec encoder = new SeriesCodec();
+        for (int i = 0; i < count; i++) {
+            long before = writer.position();
+            encoder.write(writer, timestamps[i], temperatures[i], activities[i], latitudes[i], longitudes[i]);
+            assertTrue(writer.position() - before <= SeriesCodec.MAX_READING_BITS);
+        }
+        assertEquals(count, encoder.count());
+
+        BitReader reader = new BitReader(buffer, 0);
+        SeriesCodec decoder = new SeriesCodec();
+        for (int i = 0; i < count; i++) {
+            decoder.read(reader);
+            assertEquals(timestamps[i], decoder.timestamp());
+            assertEquals(Float.floatToRawIntBits(temperatures[i]), Float.floatToRawIntBits(decoder.temperature()));
+            assertEquals(activities[i], decoder.activity());
+            assertEquals(Double.doubleToRawLongBits(latitudes[i]), Double.doubleToRawLongBits(decoder.latitude()));
+            assertEquals(Double.doubleToRawLongBits(longitudes[i]), Double.doubleToRawLongBits(decoder.longitude()));
+        }
+        assertEquals(writer.position(), reader.position());
+    }
+
+    @Test
+    public void worstCaseReadingFitsTheBound() {
+        ByteBuffer buffer = ByteBuffer.allocate(SeriesCodec.MAX_READING_BITS * 3 / 8);
+        BitWriter writer = new BitWriter(buffer, 0, 0);
+        SeriesCodec codec = new SeriesCodec();
+        codec.write(writer, Long.MIN_VALUE / 2, 0f, 0, 0.0, 0.0);
+        long first = writer.position();
+        assertTrue(first <= SeriesCodec.MAX_READING_BITS);
+        codec.write(writer, Long.MAX_VALUE / 2, Float.intBitsToFloat(0x80000001), Integer.MIN_VALUE,
+                Double.longBitsToDouble(0x8000000000000001L), Double.longBitsToDouble(-1L));
+        assertTrue(writer.position() - first <= SeriesCodec.MAX_READING_BITS);
+
+        BitReader reader = new BitReader(buffer, 0);
+        SeriesCodec decoder = new SeriesCodec();
+        decoder.read(reader);
+        decoder.read(reader);
+        assertEquals(Long.MAX_VALUE / 2, decoder.timestamp());
+        assertEquals(Integer.MIN_VALUE, decoder.activity());
+        assertEquals(-1L, Double.doubleToRawLongBits(decoder.longitude()));
+    }
+
+    @Test
+    public void steadyCadenceTakesAFewBitsPerReading() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        BitWriter writer = new BitWriter(buffer, 0, 0);
+        SeriesCodec codec = new SeriesCodec();
+        long timestamp = 1_714_572_187_000_000L;
+        for (int i = 0; i < 1000; i++) {
+            codec.write(writer, timestamp + i * 5_000_000L, 38.5f, 40, 37.7749295, -122.4194155);
+        }
+        // The first reading is raw (256 bits) and the second sets the cadence
+        // (a 32 bit delta-of-delta); from then on each reading is five '0' bits
+        assertEquals(256 + (5 + 32 + 4) + 998 * 5, writer.position());
+    }
+}
@@ -0,0 +1,164 @@
+package org.caninecare.app.data.series;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SeriesSegmentTest {
+
+    private static final long START = 1_714_572_187_000_000L;
+    private static final long STEP = 5_000_000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void committedReadingsSurviveReopening() throws IOException {
+        File file = folder.newFile("a.seg");
+        SeriesSegment segment = SeriesSegment.create(file, 4096);
+        append(segment, 0, 100);
+        segment.commit();
+        // Appended but never committed, as if the process died here
+        append(segment, 100, 10);
+
+        SeriesSegment reopened = SeriesSegment.open(file);
+        assertFalse(reopened.isSealed());
+        assertEquals(100, reopened.count());
+        assertEquals(START, reopened.firstTimestamp());
+        assertEquals(timestamp(99), reopened.lastTimestamp());
+        assertReadings(reopened, 0, 100);
+
+        // The writer resumes over the abandoned bits
+        append(reopened, 100, 50);
+        reopened.commit();
+        assertReadings(SeriesSegment.open(file), 0, 150);
+    }
+
+    @Test
+    public void sealedSegmentIsReadOnly() throws IOException {
+        File file = folder.newFile("a.seg");
+        SeriesSegment segment = SeriesSegment.create(file, 4096);
+        append(segment, 0, 60);
+        segment.seal();
+        assertTrue(segment.isSealed());
+        assertFalse(segment.append(timestamp(60), 38.5f, 40, 1, 2));
+
+        SeriesSegment reopened = SeriesSegment.open(file);
+        assertTrue(reopened.isSealed());
+        assertFalse(reopened.isCompacted());
+        assertEquals(60, reopened.count());
+        assertEquals(timestamp(59), reopened.lastTimestamp());
+        assertFalse(reopened.append(timestamp(60), 38.5f, 40, 1, 2));
+        assertReadings(reopened, 0, 60);
+    }
+
+    @Test
+    public void fullSegmentRefusesAppends() throws IOException {
+        SeriesSegment segment = SeriesSegment.create(folder.newFile("a.seg"), 256);
+        int appended = 0;
+        while (segment.append(timestamp(appended), 38.5f + appended % 7, appended % 101, 37.77, -122.42)) {
+            appended++;
+        }
+        assertTrue(appended > 0);
+        assertEquals(appended, segment.count());
+        assertTrue(segment.usedBytes() <= SeriesSegment.HEADER_BYTES + 256);
+    }
+
+    @Test
+    public void scansOnlyTheRange() throws IOException {
+        SeriesSegment segment = SeriesSegment.create(folder.newFile("a.seg"), 4096);
+        append(segment, 0, 100);
+        List<Long> seen = new ArrayList<>();
+        ReadingVisitor visitor = (t, temperature, activity, latitude, longitude) -> seen.add(t);
+
+        assertEquals(11, segment.scan(timestamp(20), timestamp(30), visitor));
+        assertEquals(timestamp(20), (long) seen.get(0));
+        assertEquals(timestamp(30), (long) seen.get(10));
+
+        seen.clear();
+        assertEquals(1, segment.scan(timestamp(20) + 1, timestamp(21) + 1, visitor));
+        assertEquals(0, segment.scan(timestamp(100), Long.MAX_VALUE, visitor));
+        assertEquals(0, segment.scan(Long.MIN_VALUE, START - 1, visitor));
+        assertEquals(100, segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, visitor));
+    }
+
+    @Test
+    public void compactedSegmentHoldsExactlyItsReadings() throws IOException {
+        SeriesSegment source = SeriesSegment.create(folder.newFile("a.seg"), 1 << 16);
+        append(source, 0, 1000);
+        SeriesSegment.ReadingColumns columns = new SeriesSegment.ReadingColumns();
+        source.scan(Long.MIN_VALUE, Long.MAX_VALUE, columns);
+        assertEquals(1000, columns.size());
+
+        File file = new File(folder.getRoot(), "b.seg");
+        SeriesSegment.writeCompacted(file, columns);
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        SeriesSegment compacted = SeriesSegment.open(file);
+        assertTrue(compacted.isSealed());
+        assertTrue(compacted.isCompacted());
+        assertEquals(compacted.usedBytes(), file.length());
+        assertEquals(source.usedBytes(), compacted.usedBytes());
+        assertEquals(timestamp(999), compacted.lastTimestamp());
+        assertReadings(compacted, 0, 1000);
+    }
+
+    @Test
+    public void rejectsFilesThatAreNotSegments() throws IOException {
+        File empty = folder.newFile("empty.seg");
+        File text = folder.newFile("text.seg");
+        try (FileOutputStream out = new FileOutputStream(text)) {
+            out.write("not a segment at all, just some text".getBytes("UTF-8"));
+        }
+        File truncated = folder.newFile("truncated.seg");
+        SeriesSegment segment = SeriesSegment.create(truncated, 4096);
+        append(segment, 0, 200);
+        segment.seal();
+        try (RandomAccessFile raf = new RandomAccessFile(truncated, "rw")) {
+            raf.setLength(SeriesSegment.HEADER_BYTES + 10);
+        }
+
+        for (File file : new File[]{empty, text, truncated}) {
+            try {
+                SeriesSegment.open(file);
+                fail("Opened " + file.getName());
+            } catch (IOException expected) {
+                // Rejected
+            }
+        }
+    }
+
+    private static long timestamp(int i) {
+        return START + i * STEP + (i % 3) * 1000;
+    }
+
+    private static void append(SeriesSegment segment, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            assertTrue(segment.append(timestamp(i), 38 + (i % 20) / 10f, i % 101, 37.77 + i * 1e-6, -122.42));
+        }
+    }
+
+    private static void assertReadings(SeriesSegment segment, int from, int count) throws IOException {
+        int[] next = {from};
+        int visited = segment.scan(Long.MIN_VALUE, Long.MAX_VALUE, (t, temperature, activity, latitude, longitude) -> {
+            int i = next[0]++;
+            assertEquals(timestamp(i), t);
+            assertEquals(38 + (i % 20) / 10f, temperature, 0f);
+            assertEquals(i % 101, activity);
+            assertEquals(37.77 + i * 1e-6, latitude, 0.0);
+            assertEquals(-122.42, longitude, 0.0);
+        });
+        assertEquals(count, visited);
+    }
+}
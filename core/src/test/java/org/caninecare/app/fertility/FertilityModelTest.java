@@ -0,0 +1,124 @@
+package org.caninecare.app.fertility;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+
+import org.caninecare.app.models.FertilityModelParams;
+import org.caninecare.app.models.FertilityRequest;
+import org.caninecare.app.models.FertilityResponse;
+import org.caninecare.app.models.ModelAdapters;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class FertilityModelTest {
+
+    private static final double TOLERANCE = 1e-6;
+
+    /**
+     * First heat: a two-stump forest (weight 3) and a linear model (weight 1).
+     * Next heat: one boosted stump, init 150, learning rate 0.5.
+     */
+    private static final String SMALL_MODEL = "{\"format\": 1, \"version\": \"test\","
+            + " \"features\": [\"Age_Months\", \"Weight_kg\", \"Breed_enc\", \"Days_Since_Last_Heat\","
+            + " \"Weight_Category\", \"Age_Category\", \"Weight_Age_Ratio\"],"
+            + " \"breeds\": {\"Beagle\": 0, \"Pug\": 1},"
+            + " \"first_heat\": {\"weights\": [3, 1], \"estimators\": ["
+            + "{\"type\": \"forest\", \"trees\": ["
+            + stump(1, "10.1", 6, 9) + ", " + stump(2, "0.5", 8, 12) + "]},"
+            + "{\"type\": \"linear\", \"coef\": [0.1, 0, 0, 0, 0, 0, 0], \"intercept\": 5}]},"
+            + " \"next_heat\": {\"weights\": [1], \"estimators\": ["
+            + "{\"type\": \"boosting\", \"init\": 150, \"learning_rate\": 0.5, \"trees\": ["
+            + stump(3, "100.5", 20, -40) + "]}]}}";
+
+    private final Gson gson = ModelAdapters.newGson();
+
+    @Test
+    public void evaluatesASmallModelExactly() {
+        FertilityModel model = FertilityModel.compile(gson.fromJson(SMALL_MODEL, FertilityModelParams.class));
+
+        // weight 9.5 <= 10.1 -> 6, Pug -> 12; forest 9, linear 5 + 0.1 * 20 = 7
+        assertEquals((3 * 9 + 7) / 4.0, model.predictValue("Pug", 20, 9.5f, null), 1e-12);
+        // Unknown breeds encode as -1 -> 8; forest 7, linear 6
+        assertEquals((3 * 7 + 6) / 4.0, model.predictValue("Akita", 10, 9.5f, null), 1e-12);
+        assertEquals(150 + 0.5 * 20, model.predictValue("Pug", 20, 9.5f, 50), 1e-12);
+        assertEquals(150 + 0.5 * -40, model.predictValue("Pug", 20, 9.5f, 200), 1e-12);
+    }
+
+    @Test
+    public void comparesFloat32FeaturesLikeScikitLearn() {
+        FertilityModel model = FertilityModel.compile(gson.fromJson(SMALL_MODEL, FertilityModelParams.class));
+
+        // (float) 10.1 is just above the double 10.1, so the tree goes right -> 9
+        assertEquals((3 * (9 + 8) / 2.0 + 6) / 4.0, model.predictValue("Beagle", 10, 10.1f, null), 1e-12);
+        assertEquals((3 * (6 + 8) / 2.0 + 6) / 4.0, model.predictValue("Beagle", 10, 10.09f, null), 1e-12);
+    }
+
+    @Test
+    public void roundsAndClassifiesLikeTheBackend() {
+        FertilityModel model = FertilityModel.compile(gson.fromJson(SMALL_MODEL, FertilityModelParams.class));
+
+        FertilityResponse next = model.predict(new FertilityRequest("Bella", "Pug", 20, 9.5f, 50));
+        assertEquals("Next Heat", next.getPredictionType());
+        assertEquals(160f, next.getPredictionValue(), 0f);
+        assertEquals("Normal Cycle", next.getFertilityStatus());
+
+        FertilityResponse first = model.predict(new FertilityRequest("Bella", "Akita", 10, 9.5f, null));
+        assertEquals("First Heat", first.getPredictionType());
+        assertEquals(6.8f, first.getPredictionValue(), 0f);
+    }
+
+    /**
+     * Runs against the fixture ml/export_model.py --fixture writes: the real
+     * export plus scikit-learn's predict() for every row of the training data.
+     * Fails when the fixture has not been generated, rather than passing
+     * without checking anything.
+     */
+    @Test
+    public void matchesScikitLearnOnTheTrainingData() throws IOException {
+        InputStream in = getClass().getResourceAsStream("/fertility/sklearn_fixture.json");
+        assertNotNull("Missing fertility/sklearn_fixture.json; generate it with"
+                + " python CanineCare-Backend/ml/export_model.py --fixture", in);
+        Fixture fixture;
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            fixture = gson.fromJson(reader, Fixture.class);
+        }
+        assertFalse(fixture.cases.isEmpty());
+
+        FertilityModel model = FertilityModel.compile(fixture.model);
+        for (Case c : fixture.cases) {
+            assertEquals(c.breed + " " + c.ageMonths + " months " + c.weightKg + " kg, last heat " + c.lastHeatDays,
+                    c.expected, model.predictValue(c.breed, c.ageMonths, c.weightKg, c.lastHeatDays), TOLERANCE);
+        }
+    }
+
+    private static String stump(int feature, String threshold, double left, double right) {
+        return "{\"left\": [1, -1, -1], \"right\": [2, -1, -1], \"feature\": [" + feature + ", -2, -2],"
+                + " \"threshold\": [" + threshold + ", -2, -2], \"value\": [0, " + left + ", " + right + "]}";
+    }
+
+    private static class Fixture {
+        FertilityModelParams model;
+        List<Case> cases;
+    }
+
+    private static class Case {
+        String breed;
+        @SerializedName("age_months")
+        int ageMonths;
+        @SerializedName("weight_kg")
+        float weightKg;
+        @SerializedName("last_heat_days")
+        Integer lastHeatDays;
+        double expected;
+    }
+}
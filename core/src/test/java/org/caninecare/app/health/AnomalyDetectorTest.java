@@ -0,0 +1,99 @@
+package org.caninecare.app.health;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.caninecare.app.utils.ApiConfig.ANOMALY_EWMA_ALPHA;
+import static org.caninecare.app.utils.ApiConfig.ANOMALY_MIN_ACTIVITY_DEVIATION;
+import static org.caninecare.app.utils.ApiConfig.ANOMALY_MIN_TEMP_DEVIATION;
+import static org.caninecare.app.utils.ApiConfig.ANOMALY_WARMUP_READINGS;
+import static org.caninecare.app.utils.ApiConfig.ANOMALY_Z_THRESHOLD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnomalyDetectorTest {
+
+    private static final long START_MICROS = 1_714_550_400_000_000L;
+    private static final long INTERVAL_MICROS = 2_000_000L;
+
+    private final AnomalyDetector detector = new AnomalyDetector(ANOMALY_EWMA_ALPHA, ANOMALY_Z_THRESHOLD,
+            ANOMALY_WARMUP_READINGS, ANOMALY_MIN_TEMP_DEVIATION, ANOMALY_MIN_ACTIVITY_DEVIATION);
+
+    /**
+     * Two collars interleaved, as the backend feed has them, with the app's
+     * settings. Bella has a fever spike during the warm-up, a ten-reading
+     * fever, a lethargic spell and a single spike; Max stays normal. A
+     * replayed (not newer) reading is ignored.
+     */
+    @Test
+    public void raisesOneAlarmPerEpisodeOfAReplayedTrace() {
+        Random random = new Random(16);
+        List<AnomalyDetector.Anomaly> alarms = new ArrayList<>();
+        int reported = 0;
+        for (int i = 0; i < 1_200; i++) {
+            long timestamp = START_MICROS + i * INTERVAL_MICROS;
+            // Noise stays within 1.5 deviations of the floor on either metric
+            float temperature = 38.6f + (random.nextFloat() - 0.5f) * 0.3f;
+            int activity = 40 + random.nextInt(11) - 5;
+            if (i == 10 || (i >= 600 && i < 610) || i == 1_000) {
+                temperature = 40.8f;
+            }
+            if (i >= 800 && i < 820) {
+                activity = 2;
+            }
+            reported += detector.observe("Bella", timestamp, temperature, activity, alarms::add);
+            reported += detector.observe("Max", timestamp + 1, 38.4f + (random.nextFloat() - 0.5f) * 0.3f,
+                    55 + random.nextInt(11) - 5, alarms::add);
+            if (i == 1_000) {
+                reported += detector.observe("Bella", timestamp, 41.5f, activity, alarms::add);
+            }
+        }
+
+        assertEquals(3, reported);
+        assertEquals(3, alarms.size());
+        assertAlarm(alarms.get(0), AnomalyDetector.METRIC_TEMPERATURE, 600, true);
+        assertAlarm(alarms.get(1), AnomalyDetector.METRIC_ACTIVITY, 800, false);
+        assertAlarm(alarms.get(2), AnomalyDetector.METRIC_TEMPERATURE, 1_000, true);
+        assertEquals(1_200, detector.readings("Max"));
+    }
+
+    @Test
+    public void callsTheListenerWithoutHoldingTheLock() throws InterruptedException {
+        warmUp("Bella");
+        boolean[] otherCallerFinished = new boolean[1];
+        int reported = detector.observe("Bella", START_MICROS + 1_000 * INTERVAL_MICROS, 40.8f, 40, anomaly -> {
+            // Would deadlock if the listener ran inside observe's lock
+            Thread other = new Thread(() -> detector.observe("Max", START_MICROS, 38.6f, 40, a -> { }));
+            other.start();
+            try {
+                other.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            otherCallerFinished[0] = !other.isAlive();
+        });
+        assertEquals(1, reported);
+        assertTrue(otherCallerFinished[0]);
+        assertEquals(1, detector.readings("Max"));
+    }
+
+    private void warmUp(String dogName) {
+        for (int i = 0; i < ANOMALY_WARMUP_READINGS * 2; i++) {
+            assertEquals(0, detector.observe(dogName, START_MICROS + i * INTERVAL_MICROS,
+                    38.6f + (i % 3 - 1) * 0.05f, 40 + i % 3 - 1, anomaly -> { }));
+        }
+    }
+
+    private static void assertAlarm(AnomalyDetector.Anomaly alarm, String metric, int reading, boolean high) {
+        assertEquals("Bella", alarm.getDogName());
+        assertEquals(metric, alarm.getMetric());
+        assertEquals(START_MICROS + reading * INTERVAL_MICROS, alarm.getTimestampMicros());
+        assertEquals(high, alarm.isHigh());
+        assertFalse(Math.abs(alarm.getZScore()) < ANOMALY_Z_THRESHOLD);
+    }
+}
@@ -0,0 +1,211 @@
+package org.caninecare.app.health;
+
+import org.caninecare.app.models.HealthCheckResponse;
+import org.caninecare.app.models.HealthRuleSet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.caninecare.app.utils.ApiConfig.ACTIVITY_HIGH_THRESHOLD;
+import static org.caninecare.app.utils.ApiConfig.ACTIVITY_LOW_THRESHOLD;
+import static org.caninecare.app.utils.ApiConfig.TEMP_CRITICAL_HIGH;
+import static org.caninecare.app.utils.ApiConfig.TEMP_CRITICAL_LOW;
+import static org.caninecare.app.utils.ApiConfig.TEMP_FEVER;
+import static org.caninecare.app.utils.ApiConfig.TEMP_HYPOTHERMIA;
+import static org.caninecare.app.utils.ApiConfig.TEMP_NORMAL_MAX;
+import static org.caninecare.app.utils.ApiConfig.TEMP_NORMAL_MIN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class HealthRuleEngineTest {
+
+    private final HealthRuleEngine engine = HealthRuleEngine.compile(DefaultHealthRules.ruleSet());
+
+    @Test
+    public void defaultRulesAgreeWithTheBackend() {
+        // Every threshold is hit exactly, and either side of it
+        for (int t = 3500; t <= 4200; t += 5) {
+            float temperature = t / 100f;
+            for (int activity = 0; activity <= 100; activity++) {
+                HealthCheckResponse response = engine.evaluate("Bella", temperature, activity);
+                String reading = temperature + "°C, " + activity + "%";
+                Expected expected = healthCheck(temperature, activity);
+                assertEquals(reading, expected.status, response.getHealthStatus());
+                assertEquals(reading, expected.severity, response.getSeverity());
+                assertEquals(reading, expected.alerts, response.getAlerts().size());
+                assertEquals(reading, expected.recommendations, response.getRecommendations());
+            }
+        }
+    }
+
+    @Test
+    public void fillsAlertTemplates() {
+        HealthCheckResponse response = engine.evaluate("Bella", 40.5f, 10);
+        assertEquals("Critical: Fever + Lethargy", response.getHealthStatus());
+        assertEquals(Arrays.asList("CRITICAL: Temperature 40.5°C (Normal: 38-39.2°C)",
+                "Low activity: 10% (Possible lethargy)"), response.getAlerts());
+        assertEquals("Bella", response.getDogName());
+    }
+
+    @Test
+    public void onlyTheFirstMatchOfAGroupCounts() {
+        HealthRuleSet rules = new HealthRuleSet(3, Arrays.asList(
+                rule("g", "<", 50, "First", "medium", "first"),
+                rule("g", "<", 60, "Second", "critical", "second"),
+                rule(null, "<", 70, "Third", "high", "third"),
+                rule(null, "<", 80, "Fourth", "low", "fourth")), Collections.singletonList("default"));
+        HealthRuleEngine custom = HealthRuleEngine.compile(rules);
+        assertEquals(3, custom.getVersion());
+
+        HealthCheckResponse response = custom.evaluate("Bella", 38.5f, 40);
+        assertEquals("First", response.getHealthStatus());
+        assertEquals("high", response.getSeverity());
+        assertEquals(Arrays.asList("first", "third", "fourth"), response.getAlerts());
+        assertEquals(Arrays.asList("first", "third", "fourth"), response.getRecommendations());
+
+        response = custom.evaluate("Bella", 38.5f, 55);
+        assertEquals("Second", response.getHealthStatus());
+        assertEquals("critical", response.getSeverity());
+
+        response = custom.evaluate("Bella", 38.5f, 90);
+        assertEquals("Normal", response.getHealthStatus());
+        assertEquals("low", response.getSeverity());
+        assertEquals(Collections.singletonList("default"), response.getRecommendations());
+    }
+
+    @Test
+    public void emptyRuleSetIsAlwaysNormal() {
+        HealthRuleEngine empty = HealthRuleEngine.compile(new HealthRuleSet());
+        HealthCheckResponse response = empty.evaluate("Bella", 42f, 0);
+        assertEquals("Normal", response.getHealthStatus());
+        assertEquals("low", response.getSeverity());
+        assertEquals(Collections.emptyList(), response.getAlerts());
+        assertEquals(Collections.emptyList(), response.getRecommendations());
+    }
+
+    @Test
+    public void rejectsUnknownRules() {
+        List<HealthRuleSet.Condition> badMetric = Collections.singletonList(
+                new HealthRuleSet.Condition("heart_rate", ">", 100));
+        List<HealthRuleSet.Condition> badOp = Collections.singletonList(
+                new HealthRuleSet.Condition("temperature", "==", 39));
+        List<HealthRuleSet.Condition> ok = Collections.singletonList(
+                new HealthRuleSet.Condition("temperature", ">", 39));
+        List<HealthRuleSet.Rule> invalid = Arrays.asList(
+                new HealthRuleSet.Rule("a", null, badMetric, "A", "low", false, null, null),
+                new HealthRuleSet.Rule("b", null, badOp, "B", "low", false, null, null),
+                new HealthRuleSet.Rule("c", null, ok, "C", "urgent", false, null, null));
+        for (HealthRuleSet.Rule rule : invalid) {
+            try {
+                HealthRuleEngine.compile(new HealthRuleSet(1, Collections.singletonList(rule), null));
+                fail("Compiled rule " + rule.getId());
+            } catch (IllegalArgumentException expected) {
+                // Rejected
+            }
+        }
+
+        List<HealthRuleSet.Rule> tooManyGroups = new ArrayList<>();
+        for (int i = 0; i <= Long.SIZE; i++) {
+            tooManyGroups.add(new HealthRuleSet.Rule("r" + i, "g" + i, ok, null, null, false, null, null));
+        }
+        try {
+            HealthRuleEngine.compile(new HealthRuleSet(1, tooManyGroups, null));
+            fail("Compiled " + tooManyGroups.size() + " groups");
+        } catch (IllegalArgumentException expected) {
+            // Rejected
+        }
+    }
+
+    private static HealthRuleSet.Rule rule(String group, String op, float activity, String status,
+                                           String severity, String text) {
+        return new HealthRuleSet.Rule(text, group,
+                Collections.singletonList(new HealthRuleSet.Condition("activity_percent", op, activity)),
+                status, severity, false, text, Collections.singletonList(text));
+    }
+
+    private static final class Expected {
+        String status = "Normal";
+        String severity = "low";
+        int alerts;
+        List<String> recommendations = new ArrayList<>();
+    }
+
+    /**
+     * health_check() and get_health_recommendations() of the backend, line for line.
+     */
+    private static Expected healthCheck(float temperature, int activity) {
+        Expected e = new Expected();
+        if (temperature >= TEMP_CRITICAL_HIGH) {
+            e.status = "Critical Fever";
+            e.severity = "critical";
+            e.alerts++;
+        } else if (temperature >= TEMP_FEVER) {
+            e.status = "Fever Detected";
+            e.severity = "high";
+            e.alerts++;
+        } else if (temperature <= TEMP_CRITICAL_LOW) {
+            e.status = "Critical Hypothermia";
+            e.severity = "critical";
+            e.alerts++;
+        } else if (temperature <= TEMP_HYPOTHERMIA) {
+            e.status = "Hypothermia Risk";
+            e.severity = "high";
+            e.alerts++;
+        } else if (temperature < TEMP_NORMAL_MIN || temperature > TEMP_NORMAL_MAX) {
+            e.status = "Temperature Abnormal";
+            e.severity = "medium";
+            e.alerts++;
+        }
+
+        if (activity < ACTIVITY_LOW_THRESHOLD) {
+            if (e.status.equals("Normal")) {
+                e.status = "Low Activity";
+            }
+            e.alerts++;
+            if (e.severity.equals("low")) {
+                e.severity = "medium";
+            }
+        } else if (activity > ACTIVITY_HIGH_THRESHOLD) {
+            if (e.status.equals("Normal")) {
+                e.status = "High Activity";
+            }
+            e.alerts++;
+            if (e.severity.equals("low")) {
+                e.severity = "medium";
+            }
+        }
+
+        if (temperature >= TEMP_FEVER && activity < ACTIVITY_LOW_THRESHOLD) {
+            e.status = "Critical: Fever + Lethargy";
+            e.severity = "critical";
+        }
+
+        List<String> r = e.recommendations;
+        if (temperature >= TEMP_CRITICAL_HIGH) {
+            Collections.addAll(r, "🚨 EMERGENCY: Contact veterinarian immediately",
+                    "Keep dog hydrated and cool", "Monitor temperature every 30 minutes");
+        } else if (temperature >= TEMP_FEVER) {
+            Collections.addAll(r, "Contact veterinarian soon", "Keep dog hydrated",
+                    "Monitor temperature every 2 hours");
+        } else if (temperature <= TEMP_CRITICAL_LOW) {
+            Collections.addAll(r, "🚨 EMERGENCY: Contact veterinarian immediately",
+                    "Warm the dog gradually with blankets", "Avoid direct heat sources");
+        } else if (temperature <= TEMP_HYPOTHERMIA) {
+            Collections.addAll(r, "Warm the dog gradually", "Contact veterinarian");
+        }
+        if (activity < ACTIVITY_LOW_THRESHOLD) {
+            Collections.addAll(r, "Monitor for signs of pain or discomfort", "Check for appetite changes",
+                    "Ensure adequate rest");
+        } else if (activity > ACTIVITY_HIGH_THRESHOLD) {
+            Collections.addAll(r, "Check for stress triggers", "Provide calming environment",
+                    "Monitor for anxiety symptoms");
+        }
+        if (r.isEmpty()) {
+            Collections.addAll(r, "✅ Continue regular monitoring", "Maintain healthy diet and exercise");
+        }
+        return e;
+    }
+}
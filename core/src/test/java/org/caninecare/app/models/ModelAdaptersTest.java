@@ -0,0 +1,109 @@
+package org.caninecare.app.models;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Every adapter registered in {@link ModelAdapters} against Gson's
+ * reflective adapter: a model with every field set, and one with none,
+ * must be written as the same JSON, and read back from that JSON with
+ * nothing lost. A field missing from an ADAPTER fails here.
+ */
+public class ModelAdaptersTest {
+
+    private static final int MAX_DEPTH = 4;
+
+    private final Gson reflective = new Gson();
+    private final Gson adapted = ModelAdapters.newGson();
+    private final Random random = new Random(21);
+
+    @Test
+    public void everyAdapterMatchesReflectionWithEveryFieldSet() throws IllegalAccessException {
+        assertFalse(ModelAdapters.ADAPTERS.isEmpty());
+        for (Class<?> type : ModelAdapters.ADAPTERS.keySet()) {
+            assertRoundTrip(type, populate(type, 0));
+        }
+    }
+
+    @Test
+    public void everyAdapterMatchesReflectionWithNoFieldSet() {
+        for (Class<?> type : ModelAdapters.ADAPTERS.keySet()) {
+            assertRoundTrip(type, reflective.fromJson("{}", type));
+        }
+    }
+
+    private void assertRoundTrip(Class<?> type, Object model) {
+        String expected = reflective.toJson(model);
+        assertEquals(type.getName() + " written", expected, adapted.toJson(model));
+        assertEquals(type.getName() + " read", expected, reflective.toJson(adapted.fromJson(expected, type)));
+    }
+
+    private Object populate(Class<?> type, int depth) throws IllegalAccessException {
+        Object model = reflective.fromJson("{}", type);
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0) {
+                    continue;
+                }
+                field.setAccessible(true);
+                field.set(model, valueOf(field.getGenericType(), depth));
+            }
+        }
+        return model;
+    }
+
+    private Object valueOf(Type type, int depth) throws IllegalAccessException {
+        Class<?> raw = TypeToken.get(type).getRawType();
+        if (raw == String.class) {
+            // Escapes and non-ASCII are written the same way too
+            return "v" + random.nextInt(1000) + " \"é\"\n";
+        } else if (raw == int.class || raw == Integer.class) {
+            return random.nextInt(2000) - 1000;
+        } else if (raw == long.class || raw == Long.class) {
+            return 1_714_572_187_125_000L + random.nextInt(1_000_000);
+        } else if (raw == float.class || raw == Float.class) {
+            return random.nextInt(100_000) / 100f;
+        } else if (raw == double.class || raw == Double.class) {
+            return random.nextDouble() * 200 - 100;
+        } else if (raw == boolean.class || raw == Boolean.class) {
+            return random.nextBoolean();
+        } else if (raw.isArray()) {
+            Object array = Array.newInstance(raw.getComponentType(), 3);
+            for (int i = 0; i < 3; i++) {
+                Array.set(array, i, valueOf(raw.getComponentType(), depth));
+            }
+            return array;
+        } else if (List.class.isAssignableFrom(raw)) {
+            Type element = ((ParameterizedType) type).getActualTypeArguments()[0];
+            List<Object> list = new ArrayList<>();
+            for (int i = 0; i < 2 && depth < MAX_DEPTH; i++) {
+                list.add(valueOf(element, depth + 1));
+            }
+            return list;
+        } else if (Map.class.isAssignableFrom(raw)) {
+            Type value = ((ParameterizedType) type).getActualTypeArguments()[1];
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < 2; i++) {
+                map.put("k" + i, valueOf(value, depth + 1));
+            }
+            return map;
+        }
+        return depth < MAX_DEPTH ? populate(raw, depth + 1) : null;
+    }
+}
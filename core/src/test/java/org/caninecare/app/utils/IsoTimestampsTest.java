@@ -0,0 +1,113 @@
+package org.caninecare.app.utils;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class IsoTimestampsTest {
+
+    private static long micros(OffsetDateTime time) {
+        return ChronoUnit.MICROS.between(OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), time);
+    }
+
+    private static long micros(String localDateTime) {
+        return micros(LocalDateTime.parse(localDateTime).atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    public void parsesPythonIsoformat() {
+        assertEquals(micros("2024-05-01T14:03:07.125"), IsoTimestamps.parseMicros("2024-05-01T14:03:07.125000"));
+        assertEquals(micros("2024-05-01T14:03:07"), IsoTimestamps.parseMicros("2024-05-01T14:03:07"));
+        assertEquals(micros("2024-05-01T14:03:07"), IsoTimestamps.parseMicros("2024-05-01 14:03:07"));
+        assertEquals(micros("2024-02-29T23:59:59"), IsoTimestamps.parseMicros("2024-02-29T23:59:59"));
+        assertEquals(micros("1969-12-31T23:59:59.5"), IsoTimestamps.parseMicros("1969-12-31T23:59:59.500000"));
+    }
+
+    @Test
+    public void scalesFractionsOfAnyLength() {
+        long second = IsoTimestamps.parseMicros("2024-05-01T14:03:07");
+        assertEquals(second + 100_000, IsoTimestamps.parseMicros("2024-05-01T14:03:07.1"));
+        assertEquals(second + 120_000, IsoTimestamps.parseMicros("2024-05-01T14:03:07.12"));
+        assertEquals(second + 123_456, IsoTimestamps.parseMicros("2024-05-01T14:03:07.123456"));
+        // Beyond microseconds the digits are dropped, not rounded
+        assertEquals(second + 123_456, IsoTimestamps.parseMicros("2024-05-01T14:03:07.123456789"));
+        assertEquals(second + 1, IsoTimestamps.parseMicros("2024-05-01T14:03:07.000001"));
+    }
+
+    @Test
+    public void appliesOffsets() {
+        assertEquals(micros(OffsetDateTime.parse("2024-05-01T14:03:07.25Z")),
+                IsoTimestamps.parseMicros("2024-05-01T14:03:07.250Z"));
+        assertEquals(micros(OffsetDateTime.parse("2024-05-01T14:03:07+02:00")),
+                IsoTimestamps.parseMicros("2024-05-01T14:03:07+02:00"));
+        assertEquals(micros(OffsetDateTime.parse("2024-05-01T00:30:00.5-05:30")),
+                IsoTimestamps.parseMicros("2024-05-01T00:30:00.5-05:30"));
+        assertEquals(micros(OffsetDateTime.parse("2024-12-31T23:00:00-01:00")),
+                IsoTimestamps.parseMicros("2024-12-31T23:00:00-01:00"));
+    }
+
+    @Test
+    public void rejectsMalformedText() {
+        String[] malformed = {
+                null, "", "2024-05-01", "2024-05-01T14:03", "2024-13-01T14:03:07", "2024-05-00T14:03:07",
+                "2024-05-01T24:03:07", "2024-05-01X14:03:07", "2024/05/01T14:03:07", "2024-05-01T14:03:07.",
+                "2024-05-01T14:03:07.12a", "2024-05-01T14:03:07+0200", "2024-05-01T14:03:07+02:00:00",
+                "2024-05-01T14:03:07Zjunk", "2024-05-01T14:03:07+aa:00", "２０２４-05-01T14:03:07"
+        };
+        for (String text : malformed) {
+            assertEquals(text, IsoTimestamps.INVALID, IsoTimestamps.parseMicros(text));
+        }
+    }
+
+    @Test
+    public void parsesARegionOfLongerText() {
+        String json = "{\"timestamp\": \"2024-05-01T14:03:07.125000\"}";
+        int start = json.indexOf("2024");
+        assertEquals(micros("2024-05-01T14:03:07.125"),
+                IsoTimestamps.parseMicros(json, start, start + 26));
+    }
+
+    @Test
+    public void parsesMillisAndBareDates() {
+        assertEquals(micros("2024-05-01T00:00:00") / 1000, IsoTimestamps.parseMillis("2024-05-01"));
+        assertEquals(micros("2024-05-01T14:03:07.1259") / 1000, IsoTimestamps.parseMillis("2024-05-01T14:03:07.125999"));
+        // Floored, not truncated towards zero, before the epoch
+        assertEquals(-1, IsoTimestamps.parseMillis("1969-12-31T23:59:59.999500"));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis("2024-05-32"));
+        assertEquals(IsoTimestamps.INVALID, IsoTimestamps.parseMillis(null));
+    }
+
+    @Test
+    public void formatsLikeIsoformat() {
+        assertEquals("2024-05-01T14:03:07", IsoTimestamps.format(micros("2024-05-01T14:03:07")));
+        assertEquals("2024-05-01T14:03:07.125000", IsoTimestamps.format(micros("2024-05-01T14:03:07.125")));
+        assertEquals("2024-05-01T14:03:07.000001", IsoTimestamps.format(micros("2024-05-01T14:03:07") + 1));
+        assertEquals("1970-01-01T00:00:00", IsoTimestamps.format(0));
+        assertEquals("1969-12-31T23:59:59.999999", IsoTimestamps.format(-1));
+    }
+
+    @Test
+    public void formatAndParseAgreeWithJavaTime() {
+        Random random = new Random(42);
+        long min = micros("1900-01-01T00:00:00");
+        long max = micros("2200-01-01T00:00:00");
+        for (int i = 0; i < 10_000; i++) {
+            long value = min + (long) (random.nextDouble() * (max - min));
+            if (i % 3 == 0) {
+                value -= value % 1_000_000;
+            }
+            String formatted = IsoTimestamps.format(value);
+            LocalDateTime expected = LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000),
+                    Math.floorMod(value, 1_000_000) * 1000, ZoneOffset.UTC);
+            assertEquals(value, micros(LocalDateTime.parse(formatted).atOffset(ZoneOffset.UTC)));
+            assertEquals(expected, LocalDateTime.parse(formatted));
+            assertEquals(value, IsoTimestamps.parseMicros(formatted));
+        }
+    }
+}